@@ -1,7 +1,6 @@
 package org.mockserver.client;
 
 import com.google.common.annotations.VisibleForTesting;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.client.MockServerEventBus.EventType;
 import org.mockserver.closurecallback.websocketregistry.LocalCallbackRegistry;
 import org.mockserver.configuration.ConfigurationProperties;
@@ -15,6 +14,7 @@ import org.mockserver.model.*;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.closurecallback.websocketclient.WebSocketClient;
 import org.mockserver.closurecallback.websocketclient.WebSocketException;
+import org.mockserver.socket.NettyTransport;
 
 import java.util.UUID;
 import java.util.concurrent.Future;
@@ -247,7 +247,7 @@ public class ForwardChainExpectation {
             LocalCallbackRegistry.registerCallback(clientId, expectationCallback);
             LocalCallbackRegistry.registerCallback(clientId, expectationForwardResponseCallback);
             final WebSocketClient<T> webSocketClient = new WebSocketClient<>(
-                new NioEventLoopGroup(ConfigurationProperties.webSocketClientEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(WebSocketClient.class.getSimpleName() + "-eventLoop")),
+                NettyTransport.eventLoopGroup(ConfigurationProperties.webSocketClientEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(WebSocketClient.class.getSimpleName() + "-eventLoop")),
                 clientId,
                 mockServerLogger
             );
@@ -1,7 +1,7 @@
 package org.mockserver.client;
 
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.NettyRuntime;
 import org.mockserver.Version;
 import org.mockserver.client.MockServerEventBus.EventType;
 import org.mockserver.configuration.ConfigurationProperties;
@@ -13,6 +13,7 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.model.*;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.*;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.mockserver.stop.Stoppable;
 import org.mockserver.verify.Verification;
@@ -21,9 +22,9 @@ import org.mockserver.verify.VerificationTimes;
 
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Function;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
@@ -33,6 +34,7 @@ import static org.apache.commons.lang3.StringUtils.*;
 import static org.mockserver.configuration.ConfigurationProperties.maxFutureTimeout;
 import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.mock.HttpStateHandler.LOG_SEPARATOR;
+import static org.mockserver.mock.HttpStateHandler.NEXT_CURSOR_HEADER_NAME;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.MediaType.APPLICATION_JSON_UTF_8;
 import static org.mockserver.model.PortBinding.portBinding;
@@ -47,7 +49,7 @@ public class MockServerClient implements Stoppable {
 
     private static final MockServerLogger MOCK_SERVER_LOGGER = new MockServerLogger(MockServerClient.class);
     private static final Map<Integer, MockServerEventBus> EVENT_BUS_MAP = new ConcurrentHashMap<>();
-    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
+    private final EventLoopGroup eventLoopGroup = NettyTransport.eventLoopGroup(Math.min(5, NettyRuntime.availableProcessors()), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
     private final String host;
     private final String contextPath;
     private final Class<MockServerClient> clientClass;
@@ -457,6 +459,35 @@ public class MockServerClient implements Stoppable {
         return clientClass.cast(this);
     }
 
+    /**
+     * Register requests that will be verified later so MockServer keeps a live count of matching
+     * requests as they are received, verifying exactly the same requests then avoids scanning
+     * the whole request log, for example:
+     * <pre>
+     * mockServerClient
+     *  .registerVerification(
+     *      request()
+     *          .withPath("/some_path")
+     *  );
+     * </pre>
+     *
+     * @param httpRequests the http requests that will be verified
+     */
+    public MockServerClient registerVerification(HttpRequest... httpRequests) {
+        if (httpRequests == null || httpRequests.length == 0 || httpRequests[0] == null) {
+            throw new IllegalArgumentException("registerVerification(HttpRequest...) requires a non null non empty array of HttpRequest objects");
+        }
+
+        sendRequest(
+            request()
+                .withMethod("PUT")
+                .withContentType(APPLICATION_JSON_UTF_8)
+                .withPath(calculatePath("registerVerification"))
+                .withBody(httpRequestSerializer.serialize(httpRequests), StandardCharsets.UTF_8)
+        );
+        return clientClass.cast(this);
+    }
+
     /**
      * Verify a list of requests have been sent in the order specified for example:
      * <pre>
@@ -596,6 +627,19 @@ public class MockServerClient implements Stoppable {
         return httpResponse.getBodyAsString();
     }
 
+    /**
+     * Retrieve the recorded requests that match the httpRequest parameter one page at a time, use null for the parameter to retrieve all requests
+     * <p>
+     * Each page is requested as NDJSON when the iterator reaches the end of the previous page so large numbers of recorded requests can be read without retrieving them all at once
+     *
+     * @param httpRequest the http request that is matched against when deciding whether to return each request, use null for the parameter to retrieve for all requests
+     * @param pageSize    the maximum number of requests retrieved from MockServer in each page
+     * @return an iterator over all requests that have been recorded by the MockServer in the order they have been received and including duplicates where the same request has been received multiple times
+     */
+    public Iterator<HttpRequest> retrieveRecordedRequestsIterator(HttpRequest httpRequest, int pageSize) {
+        return new RetrievePageIterator<>(RetrieveType.REQUESTS, httpRequest, pageSize, httpRequestSerializer::deserialize);
+    }
+
     /**
      * Retrieve the recorded requests and responses that match the httpRequest parameter, use null for the parameter to retrieve all requests and responses
      *
@@ -631,6 +675,19 @@ public class MockServerClient implements Stoppable {
         return httpResponse.getBodyAsString();
     }
 
+    /**
+     * Retrieve the recorded requests and responses that match the httpRequest parameter one page at a time, use null for the parameter to retrieve all requests and responses
+     * <p>
+     * Each page is requested as NDJSON when the iterator reaches the end of the previous page so large numbers of recorded requests and responses can be read without retrieving them all at once
+     *
+     * @param httpRequest the http request that is matched against when deciding whether to return each request (and its corresponding response), use null for the parameter to retrieve for all requests
+     * @param pageSize    the maximum number of requests and responses retrieved from MockServer in each page
+     * @return an iterator over all requests and responses that have been recorded by the MockServer in the order they have been received and including duplicates where the same request has been received multiple times
+     */
+    public Iterator<LogEventRequestAndResponse> retrieveRecordedRequestsAndResponsesIterator(HttpRequest httpRequest, int pageSize) {
+        return new RetrievePageIterator<>(RetrieveType.REQUEST_RESPONSES, httpRequest, pageSize, httpRequestResponseSerializer::deserialize);
+    }
+
     /**
      * Retrieve the request-response combinations that have been recorded as a list of expectations, only those that match the httpRequest parameter are returned, use null to retrieve all requests
      *
@@ -935,4 +992,70 @@ public class MockServerClient implements Stoppable {
         );
         return httpResponse.getBodyAsString();
     }
+
+    private class RetrievePageIterator<T> implements Iterator<T> {
+
+        private final RetrieveType retrieveType;
+        private final HttpRequest httpRequest;
+        private final int pageSize;
+        private final Function<String, T> deserializer;
+        private final Deque<T> page = new ArrayDeque<>();
+        private String cursor;
+        private boolean lastPage;
+
+        RetrievePageIterator(RetrieveType retrieveType, HttpRequest httpRequest, int pageSize, Function<String, T> deserializer) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be greater than zero");
+            }
+            this.retrieveType = retrieveType;
+            this.httpRequest = httpRequest;
+            this.pageSize = pageSize;
+            this.deserializer = deserializer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (page.isEmpty() && !lastPage) {
+                retrieveNextPage();
+            }
+            return !page.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.poll();
+        }
+
+        private void retrieveNextPage() {
+            HttpRequest retrieveRequest = request()
+                .withMethod("PUT")
+                .withContentType(APPLICATION_JSON_UTF_8)
+                .withPath(calculatePath("retrieve"))
+                .withQueryStringParameter("type", retrieveType.name())
+                .withQueryStringParameter("format", Format.NDJSON.name())
+                .withQueryStringParameter("limit", String.valueOf(pageSize))
+                .withBody(httpRequest != null ? httpRequestSerializer.serialize(httpRequest) : "", StandardCharsets.UTF_8);
+            if (cursor != null) {
+                retrieveRequest.withQueryStringParameter("cursor", cursor);
+            }
+            HttpResponse httpResponse = sendRequest(retrieveRequest);
+            String ndJson = httpResponse.getBodyAsString();
+            if (isNotBlank(ndJson)) {
+                for (String line : ndJson.split("\n")) {
+                    if (isNotBlank(line)) {
+                        page.add(deserializer.apply(line));
+                    }
+                }
+            }
+            String nextCursor = httpResponse.getFirstHeader(NEXT_CURSOR_HEADER_NAME);
+            if (isNotBlank(nextCursor)) {
+                cursor = nextCursor;
+            } else {
+                lastPage = true;
+            }
+        }
+    }
 }
@@ -13,6 +13,7 @@ import javax.tools.SimpleJavaFileObject;
 import javax.tools.ToolProvider;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.Assert.assertTrue;
@@ -266,7 +267,8 @@ public class CompileGeneratedJavaCodeTest {
     private boolean compileJavaCode(final String javaCode) throws URISyntaxException {
         JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
 
-        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, null), null, null, null,
+        // compiled class is written to the temp directory so it doesn't end up in the module's source tree
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(null, null, null), null, Arrays.asList("-d", System.getProperty("java.io.tmpdir")), null,
             Collections.singletonList(
                 new SimpleJavaFileObject(new URI("TestClass"), JavaFileObject.Kind.SOURCE) {
                     public CharSequence getCharContent(boolean ignoreEncodingErrors) {
@@ -0,0 +1,159 @@
+package org.mockserver.client;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Resolves the host names of forwarded and proxied requests without blocking the event loop, lookups run on a separate
+ * thread pool and results are cached for the configured time to live, concurrent lookups of the same host name share a
+ * single lookup
+ * <p>
+ * failed lookups are not cached so a host name that can't be resolved is looked up again on the next request
+ *
+ * @author jamesdbloom
+ */
+public class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    private static final int LOOKUP_THREAD_COUNT = 8;
+    private static final int MAX_CACHED_HOST_NAMES = 10000;
+    private static CachingAddressResolverGroup instance;
+    private final HostNameLookup hostNameLookup;
+    private final long timeToLiveMillis;
+    private final ConcurrentMap<String, CachedLookup> cache = new ConcurrentHashMap<>();
+    private final ExecutorService lookupExecutor;
+
+    /**
+     * Looks up the addresses of a host name, the default uses the JVM's resolver
+     */
+    public interface HostNameLookup {
+        InetAddress[] lookup(String hostName) throws UnknownHostException;
+    }
+
+    /**
+     * @param hostNameLookup   used to look up host names not in the cache
+     * @param timeToLiveMillis time in milliseconds a lookup result is cached for, 0 or less disables caching
+     */
+    public CachingAddressResolverGroup(HostNameLookup hostNameLookup, long timeToLiveMillis) {
+        this.hostNameLookup = hostNameLookup;
+        this.timeToLiveMillis = timeToLiveMillis;
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(LOOKUP_THREAD_COUNT, LOOKUP_THREAD_COUNT, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new Scheduler.SchedulerThreadFactory("DnsLookup"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.lookupExecutor = threadPoolExecutor;
+    }
+
+    /**
+     * @return resolver shared by all clients so lookups are cached across clients
+     */
+    public static synchronized CachingAddressResolverGroup getInstance() {
+        if (instance == null) {
+            instance = new CachingAddressResolverGroup(InetAddress::getAllByName, TimeUnit.SECONDS.toMillis(ConfigurationProperties.dnsCacheTimeToLive()));
+        }
+        return instance;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new CachingNameResolver(executor).asAddressResolver();
+    }
+
+    CompletableFuture<InetAddress[]> lookup(String hostName) {
+        long now = System.currentTimeMillis();
+        CachedLookup cachedLookup = cache.get(hostName);
+        if (cachedLookup == null || cachedLookup.isExpired(now)) {
+            if (cache.size() >= MAX_CACHED_HOST_NAMES) {
+                cache.values().removeIf(existing -> existing.isExpired(now));
+            }
+            CachedLookup newLookup = new CachedLookup();
+            cachedLookup = cache.compute(hostName, (key, existing) -> existing == null || existing.isExpired(now) ? newLookup : existing);
+            if (cachedLookup == newLookup) {
+                lookupExecutor.execute(() -> {
+                    try {
+                        InetAddress[] addresses = hostNameLookup.lookup(hostName);
+                        newLookup.expiresAt = System.currentTimeMillis() + timeToLiveMillis;
+                        newLookup.addresses.complete(addresses);
+                    } catch (Throwable throwable) {
+                        cache.remove(hostName, newLookup);
+                        newLookup.addresses.completeExceptionally(throwable);
+                    }
+                });
+            }
+        }
+        return cachedLookup.addresses;
+    }
+
+    /**
+     * @return number of host names cached or being looked up
+     */
+    int size() {
+        return cache.size();
+    }
+
+    private static class CachedLookup {
+        private final CompletableFuture<InetAddress[]> addresses = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        private boolean isExpired(long now) {
+            // a lookup still in progress is shared rather than repeated
+            return addresses.isDone() && expiresAt <= now;
+        }
+    }
+
+    private class CachingNameResolver extends InetNameResolver {
+
+        private CachingNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) throws UnknownHostException {
+            InetAddress ipAddress = ipAddress(inetHost);
+            if (ipAddress != null) {
+                promise.trySuccess(ipAddress);
+            } else {
+                lookup(inetHost).whenComplete((addresses, throwable) -> {
+                    if (throwable != null) {
+                        promise.tryFailure(throwable);
+                    } else {
+                        promise.trySuccess(addresses[0]);
+                    }
+                });
+            }
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) throws UnknownHostException {
+            InetAddress ipAddress = ipAddress(inetHost);
+            if (ipAddress != null) {
+                promise.trySuccess(Collections.singletonList(ipAddress));
+            } else {
+                lookup(inetHost).whenComplete((addresses, throwable) -> {
+                    if (throwable != null) {
+                        promise.tryFailure(throwable);
+                    } else {
+                        promise.trySuccess(Arrays.asList(addresses));
+                    }
+                });
+            }
+        }
+
+        private InetAddress ipAddress(String inetHost) throws UnknownHostException {
+            // ip addresses don't need to be looked up
+            byte[] ipAddress = NetUtil.createByteArrayFromIpAddressString(inetHost);
+            return ipAddress != null ? InetAddress.getByAddress(ipAddress) : null;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package org.mockserver.client;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import org.mockserver.model.HttpResponse;
+import io.netty.util.AttributeKey;
 import org.mockserver.model.Message;
 
 import java.util.concurrent.CompletableFuture;
@@ -13,19 +13,40 @@ import static org.mockserver.client.NettyHttpClient.RESPONSE_FUTURE;
 @ChannelHandler.Sharable
 public class HttpClientConnectionErrorHandler extends ChannelDuplexHandler {
 
+    static final AttributeKey<Boolean> RESPONSE_STARTED = AttributeKey.valueOf("RESPONSE_STARTED");
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        ctx.channel().attr(RESPONSE_STARTED).set(true);
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // the codec after this handler completes responses delimited by the connection closing once the channel is inactive
+        super.channelInactive(ctx);
+        failResponse(ctx, "Channel set as inactive before valid response has been received");
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        failResponse(ctx, "Channel handler removed before valid response has been received");
+        super.handlerRemoved(ctx);
+    }
+
+    private void failResponse(ChannelHandlerContext ctx, String message) {
         CompletableFuture<? extends Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
         if (responseFuture != null && !responseFuture.isDone()) {
-            responseFuture.completeExceptionally(new SocketConnectionException("Channel handler removed before valid response has been received"));
+            responseFuture.completeExceptionally(new SocketConnectionException(message));
+            // a pooled connection must be released otherwise the pool never gets back its permit
+            HttpClientConnectionPool.release(ctx.channel(), null);
         }
-        super.handlerRemoved(ctx);
     }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         CompletableFuture<? extends Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
-        if (!responseFuture.isDone()) {
+        if (responseFuture != null && !responseFuture.isDone()) {
             responseFuture.completeExceptionally(cause);
         }
         super.exceptionCaught(ctx, cause);
@@ -0,0 +1,177 @@
+package org.mockserver.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.socket.NettyTransport;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockserver.client.HttpClientKeepAliveHandler.RESPONSE_KEEP_ALIVE;
+import static org.mockserver.client.NettyHttpClient.REMOTE_SOCKET;
+import static org.mockserver.client.NettyHttpClient.SECURE;
+
+/**
+ * Keep-alive connections for each remote address (and TLS setting), so forwarded requests don't open a new connection and
+ * perform a new TLS handshake for every request, each event loop has its own pools so a forwarded request reuses a
+ * connection on the same event loop as the inbound request
+ * <p>
+ * a connection is checked it is still open before it is reused and is closed if it stays idle in the pool for longer than
+ * the idle timeout or if the response doesn't allow the connection to be kept alive (i.e. an HTTP/1.0 response without
+ * "connection: keep-alive" or any response with "connection: close")
+ *
+ * @author jamesdbloom
+ */
+class HttpClientConnectionPool {
+
+    static final AttributeKey<ChannelPool> CHANNEL_POOL = AttributeKey.valueOf("CHANNEL_POOL");
+    private static final AttributeKey<ScheduledFuture<?>> IDLE_TIMEOUT = AttributeKey.valueOf("IDLE_TIMEOUT");
+    private static final AttributeKey<Boolean> REUSED = AttributeKey.valueOf("REUSED");
+    private final AbstractChannelPoolMap<PoolKey, FixedChannelPool> channelPools;
+
+    HttpClientConnectionPool(HttpClientInitializer httpClientInitializer, int maxConnections, long idleTimeoutMillis) {
+        AbstractChannelPoolHandler channelPoolHandler = new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel channel) {
+                httpClientInitializer.initChannel((SocketChannel) channel);
+            }
+
+            @Override
+            public void channelAcquired(Channel channel) {
+                ScheduledFuture<?> idleTimeout = channel.attr(IDLE_TIMEOUT).getAndSet(null);
+                if (idleTimeout != null) {
+                    idleTimeout.cancel(false);
+                }
+            }
+
+            @Override
+            public void channelReleased(Channel channel) {
+                channel.attr(REUSED).set(true);
+                if (idleTimeoutMillis > 0) {
+                    channel.attr(IDLE_TIMEOUT).set(channel.eventLoop().schedule(() -> channel.close(), idleTimeoutMillis, MILLISECONDS));
+                }
+            }
+        };
+        this.channelPools = new AbstractChannelPoolMap<PoolKey, FixedChannelPool>() {
+            @Override
+            protected FixedChannelPool newPool(PoolKey poolKey) {
+                Bootstrap bootstrap = new Bootstrap()
+                    .group(poolKey.eventLoopGroup)
+                    .channel(NettyTransport.socketChannelClass(poolKey.eventLoopGroup))
+                    .resolver(CachingAddressResolverGroup.getInstance())
+                    .option(ChannelOption.AUTO_READ, true)
+                    .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, poolKey.connectionTimeoutMillis)
+                    .attr(SECURE, poolKey.secure)
+                    .attr(REMOTE_SOCKET, poolKey.remoteAddress)
+                    .remoteAddress(poolKey.remoteAddress);
+                // connections are only released back to the pool once the response has been received so a full pool waits
+                // at most the connection timeout for another request to complete
+                return new FixedChannelPool(
+                    bootstrap,
+                    channelPoolHandler,
+                    ChannelHealthChecker.ACTIVE,
+                    FixedChannelPool.AcquireTimeoutAction.FAIL,
+                    poolKey.connectionTimeoutMillis,
+                    maxConnections,
+                    Integer.MAX_VALUE,
+                    true,
+                    true
+                );
+            }
+        };
+    }
+
+    Future<Channel> acquire(EventLoopGroup eventLoopGroup, InetSocketAddress remoteAddress, boolean secure, int connectionTimeoutMillis) {
+        FixedChannelPool channelPool = channelPools.get(new PoolKey(eventLoopGroup, remoteAddress, secure, connectionTimeoutMillis));
+        return channelPool.acquire().addListener(future -> {
+            if (future.isSuccess()) {
+                ((Channel) future.getNow()).attr(CHANNEL_POOL).set(channelPool);
+            }
+        });
+    }
+
+    /**
+     * @return true if the channel was released back to its pool by an earlier request, a reused connection may have been
+     * closed by the server while it was idle without the close having been noticed yet
+     */
+    static boolean isReused(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(REUSED).get());
+    }
+
+    /**
+     * @return true if {@link #release(Channel, HttpResponse)} will return the channel to its pool without closing it
+     */
+    static boolean canBeReused(Channel channel, HttpResponse httpResponse) {
+        return channel.attr(CHANNEL_POOL).get() != null && httpResponse != null && Boolean.TRUE.equals(channel.attr(RESPONSE_KEEP_ALIVE).get());
+    }
+
+    /**
+     * Returns the channel to its pool if the response allows the connection to be reused otherwise closes it, channels that
+     * are not pooled are always closed
+     * <p>
+     * a pooled channel is only released once each time it is acquired, so it is safe to call this for every failure
+     */
+    static void release(Channel channel, HttpResponse httpResponse) {
+        ChannelPool channelPool = channel.attr(CHANNEL_POOL).getAndSet(null);
+        Boolean keepAlive = channel.attr(RESPONSE_KEEP_ALIVE).getAndSet(null);
+        if (channelPool != null && httpResponse != null && Boolean.TRUE.equals(keepAlive)) {
+            channelPool.release(channel);
+        } else if (channelPool != null) {
+            // the pool must always be told the channel is no longer in use so the connection count is decremented
+            channel.close().addListener(future -> channelPool.release(channel));
+        } else {
+            channel.close();
+        }
+    }
+
+    private static class PoolKey {
+        private final EventLoopGroup eventLoopGroup;
+        private final InetSocketAddress remoteAddress;
+        private final boolean secure;
+        private final int connectionTimeoutMillis;
+
+        private PoolKey(EventLoopGroup eventLoopGroup, InetSocketAddress remoteAddress, boolean secure, int connectionTimeoutMillis) {
+            this.eventLoopGroup = eventLoopGroup;
+            this.remoteAddress = remoteAddress;
+            this.secure = secure;
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PoolKey poolKey = (PoolKey) o;
+            return secure == poolKey.secure &&
+                connectionTimeoutMillis == poolKey.connectionTimeoutMillis &&
+                Objects.equals(eventLoopGroup, poolKey.eventLoopGroup) &&
+                Objects.equals(remoteAddress, poolKey.remoteAddress);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventLoopGroup, remoteAddress, secure, connectionTimeoutMillis);
+        }
+    }
+}
@@ -5,9 +5,11 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.ssl.NotSslRecordException;
+import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
 
 import javax.net.ssl.SSLException;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockserver.client.NettyHttpClient.RESPONSE_FUTURE;
 
@@ -20,8 +22,17 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
 
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
-        ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
-        ctx.close();
+        CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+        HttpResponse httpResponse = response instanceof HttpResponse ? (HttpResponse) response : null;
+        if (HttpClientConnectionPool.canBeReused(ctx.channel(), httpResponse)) {
+            // returned to its pool before the response is completed so the next request can reuse the connection
+            HttpClientConnectionPool.release(ctx.channel(), httpResponse);
+            responseFuture.complete(response);
+        } else {
+            // completed before the channel is closed so the pipeline isn't removed before the response has been handed over
+            responseFuture.complete(response);
+            HttpClientConnectionPool.release(ctx.channel(), httpResponse);
+        }
     }
 
     @Override
@@ -29,8 +40,11 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
         if (isNotSslException(cause)) {
             cause.printStackTrace();
         }
-        ctx.channel().attr(RESPONSE_FUTURE).get().completeExceptionally(cause);
-        ctx.close();
+        CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+        if (responseFuture != null) {
+            responseFuture.completeExceptionally(cause);
+        }
+        HttpClientConnectionPool.release(ctx.channel(), null);
     }
 
     private boolean isNotSslException(Throwable cause) {
@@ -30,6 +30,7 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final boolean forwardProxyClient;
     private final boolean isHttp;
     private final HttpClientConnectionErrorHandler httpClientConnectionHandler;
+    private final HttpClientKeepAliveHandler httpClientKeepAliveHandler;
     private final HttpClientHandler httpClientHandler;
     private final ProxyConfiguration proxyConfiguration;
     private final NettySslContextFactory nettySslContextFactory;
@@ -39,6 +40,7 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
         this.isHttp = isHttp;
+        this.httpClientKeepAliveHandler = new HttpClientKeepAliveHandler();
         this.httpClientHandler = new HttpClientHandler();
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
@@ -68,7 +70,7 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
         if (secure) {
             InetSocketAddress remoteAddress = channel.attr(REMOTE_SOCKET).get();
-            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient).newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
+            pipeline.addLast(nettySslContextFactory.createClientSslHandler(forwardProxyClient, channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
         }
 
         // add logging
@@ -83,6 +85,8 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
             pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
 
+            pipeline.addLast(httpClientKeepAliveHandler);
+
             pipeline.addLast(new MockServerClientHttpCodec(mockServerLogger));
         } else {
             pipeline.addLast(new MockServerClientBinaryCodec());
@@ -0,0 +1,29 @@
+package org.mockserver.client;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.AttributeKey;
+
+/**
+ * Records on the channel whether the connection can be reused after each response, decided from the response's protocol
+ * version and connection header, before the response is converted so the connection pool can close connections that
+ * won't be kept alive (i.e. an HTTP/1.0 response without "connection: keep-alive")
+ *
+ * @author jamesdbloom
+ */
+@ChannelHandler.Sharable
+public class HttpClientKeepAliveHandler extends ChannelInboundHandlerAdapter {
+
+    static final AttributeKey<Boolean> RESPONSE_KEEP_ALIVE = AttributeKey.valueOf("RESPONSE_KEEP_ALIVE");
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpResponse) {
+            ctx.channel().attr(RESPONSE_KEEP_ALIVE).set(HttpUtil.isKeepAlive((HttpResponse) msg));
+        }
+        super.channelRead(ctx, msg);
+    }
+}
@@ -4,12 +4,15 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -18,6 +21,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -31,6 +35,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockserver.client.HttpClientConnectionErrorHandler.RESPONSE_STARTED;
+
 public class NettyHttpClient {
 
     static final AttributeKey<Boolean> SECURE = AttributeKey.valueOf("SECURE");
@@ -41,6 +48,7 @@ public class NettyHttpClient {
     private final ProxyConfiguration proxyConfiguration;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
 
     public NettyHttpClient(MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, ProxyConfiguration proxyConfiguration, boolean forwardProxyClient) {
         this(mockServerLogger, eventLoopGroup, proxyConfiguration, forwardProxyClient, new NettySslContextFactory(mockServerLogger));
@@ -52,6 +60,15 @@ public class NettyHttpClient {
         this.proxyConfiguration = proxyConfiguration;
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        if (forwardProxyClient && ConfigurationProperties.forwardConnectionPoolMaxConnections() > 0) {
+            this.connectionPool = new HttpClientConnectionPool(
+                new HttpClientInitializer(proxyConfiguration, mockServerLogger, true, nettySslContextFactory, true),
+                ConfigurationProperties.forwardConnectionPoolMaxConnections(),
+                ConfigurationProperties.forwardConnectionPoolIdleTimeout()
+            );
+        } else {
+            this.connectionPool = null;
+        }
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -72,27 +89,19 @@ public class NettyHttpClient {
 
             final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis)
-                .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
-                .attr(REMOTE_SOCKET, remoteAddress)
-                .attr(RESPONSE_FUTURE, responseFuture)
-                .handler(new HttpClientInitializer(proxyConfiguration, mockServerLogger, forwardProxyClient, nettySslContextFactory, true))
-                .connect(remoteAddress)
-                .addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        // send the HTTP request
-                        future.channel().writeAndFlush(httpRequest);
-                    } else {
-                        httpResponseFuture.completeExceptionally(future.cause());
+            if (connectionPool != null) {
+                sendRequestOnPooledConnection(httpRequest, remoteAddress, connectionTimeoutMillis, responseFuture);
+            } else {
+                sendRequestOnNewConnection(httpRequest, remoteAddress, connectionTimeoutMillis, responseFuture);
+            }
+
+            // a caller that stops waiting (i.e. after maxSocketTimeout) fails the response so a pooled connection is released
+            httpResponseFuture
+                .whenComplete((httpResponse, throwable) -> {
+                    if (throwable != null) {
+                        responseFuture.completeExceptionally(throwable);
                     }
                 });
-
             responseFuture
                 .whenComplete((message, throwable) -> {
                     if (throwable == null) {
@@ -108,6 +117,77 @@ public class NettyHttpClient {
         }
     }
 
+    private void sendRequestOnPooledConnection(HttpRequest httpRequest, InetSocketAddress remoteAddress, Integer connectionTimeoutMillis, CompletableFuture<Message> responseFuture) {
+        connectionPool
+            .acquire(currentEventLoop(), remoteAddress, httpRequest.isSecure() != null && httpRequest.isSecure(), connectionTimeoutMillis)
+            .addListener(future -> {
+                if (future.isSuccess()) {
+                    Channel channel = (Channel) future.getNow();
+                    boolean reused = HttpClientConnectionPool.isReused(channel);
+                    CompletableFuture<Message> channelResponseFuture = new CompletableFuture<>();
+                    channel.attr(RESPONSE_STARTED).set(false);
+                    channel.attr(RESPONSE_FUTURE).set(channelResponseFuture);
+                    // the connection is released even if nothing is waiting for the response any more
+                    ScheduledFuture<?> responseTimeout = channel.eventLoop().schedule(() -> channelResponseFuture.completeExceptionally(
+                        new SocketCommunicationException("Response was not received after " + ConfigurationProperties.maxSocketTimeout() + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", null)
+                    ), ConfigurationProperties.maxSocketTimeout(), MILLISECONDS);
+                    responseFuture
+                        .whenComplete((message, throwable) -> {
+                            if (throwable != null) {
+                                channelResponseFuture.completeExceptionally(throwable);
+                            }
+                        });
+                    channelResponseFuture
+                        .whenComplete((message, throwable) -> {
+                            responseTimeout.cancel(false);
+                            if (throwable == null) {
+                                responseFuture.complete(message);
+                            } else {
+                                HttpClientConnectionPool.release(channel, null);
+                                if (reused && !Boolean.TRUE.equals(channel.attr(RESPONSE_STARTED).get()) && !(throwable instanceof SocketCommunicationException) && !responseFuture.isDone()) {
+                                    // the server closed the idle connection before it received the request so retry once on a new connection
+                                    sendRequestOnNewConnection(httpRequest, remoteAddress, connectionTimeoutMillis, responseFuture);
+                                } else {
+                                    responseFuture.completeExceptionally(throwable);
+                                }
+                            }
+                        });
+                    // send the HTTP request
+                    channel.writeAndFlush(httpRequest).addListener((ChannelFutureListener) writeFuture -> {
+                        if (!writeFuture.isSuccess()) {
+                            channelResponseFuture.completeExceptionally(writeFuture.cause());
+                        }
+                    });
+                } else {
+                    responseFuture.completeExceptionally(future.cause());
+                }
+            });
+    }
+
+    private void sendRequestOnNewConnection(HttpRequest httpRequest, InetSocketAddress remoteAddress, Integer connectionTimeoutMillis, CompletableFuture<Message> responseFuture) {
+        new Bootstrap()
+            .group(currentEventLoop())
+            .channel(NettyTransport.socketChannelClass(eventLoopGroup))
+            .resolver(CachingAddressResolverGroup.getInstance())
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis)
+            .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
+            .attr(REMOTE_SOCKET, remoteAddress)
+            .attr(RESPONSE_FUTURE, responseFuture)
+            .handler(new HttpClientInitializer(proxyConfiguration, mockServerLogger, forwardProxyClient, nettySslContextFactory, true))
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    // send the HTTP request
+                    future.channel().writeAndFlush(httpRequest);
+                } else {
+                    responseFuture.completeExceptionally(future.cause());
+                }
+            });
+    }
+
     public CompletableFuture<BinaryMessage> sendRequest(final BinaryMessage binaryRequest, final boolean isSecure, InetSocketAddress remoteAddress, Integer connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfiguration != null && proxyConfiguration.getType() == ProxyConfiguration.Type.HTTP) {
@@ -119,8 +199,9 @@ public class NettyHttpClient {
             final CompletableFuture<BinaryMessage> binaryResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .group(currentEventLoop())
+                .channel(NettyTransport.socketChannelClass(eventLoopGroup))
+                .resolver(CachingAddressResolverGroup.getInstance())
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -161,11 +242,28 @@ public class NettyHttpClient {
         }
     }
 
+    /**
+     * requests sent while handling an inbound request on one of this client's event loops (i.e. forwarded or proxied
+     * requests) are registered on the same event loop as the inbound request so the response is handled without
+     * switching threads, otherwise any event loop is used
+     */
+    private EventLoopGroup currentEventLoop() {
+        for (EventExecutor eventExecutor : eventLoopGroup) {
+            if (eventExecutor.inEventLoop()) {
+                return (EventLoop) eventExecutor;
+            }
+        }
+        return eventLoopGroup;
+    }
+
     public HttpResponse sendRequest(HttpRequest httpRequest, long timeout, TimeUnit unit) {
+        CompletableFuture<HttpResponse> httpResponseFuture = sendRequest(httpRequest);
         try {
-            return sendRequest(httpRequest).get(timeout, unit);
+            return httpResponseFuture.get(timeout, unit);
         } catch (TimeoutException e) {
-            throw new SocketCommunicationException("Response was not received from MockServer after " + ConfigurationProperties.maxSocketTimeout() + " milliseconds, to wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", e.getCause());
+            SocketCommunicationException socketCommunicationException = new SocketCommunicationException("Response was not received from MockServer after " + ConfigurationProperties.maxSocketTimeout() + " milliseconds, to wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", e.getCause());
+            httpResponseFuture.completeExceptionally(socketCommunicationException);
+            throw socketCommunicationException;
         } catch (InterruptedException | ExecutionException ex) {
             Throwable cause = ex.getCause();
             if (cause instanceof SocketConnectionException) {
@@ -2,7 +2,9 @@ package org.mockserver.collections;
 
 import java.util.Collection;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author jamesdbloom
@@ -10,6 +12,8 @@ import java.util.function.Consumer;
 public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     private int maxSize;
     private final Consumer<E> onEvictCallback;
+    // ConcurrentLinkedDeque.size() traverses the whole deque so the number of elements is tracked separately
+    private final AtomicInteger count = new AtomicInteger();
 
     public CircularConcurrentLinkedDeque(int maxSize, Consumer<E> onEvictCallback) {
         this.maxSize = maxSize;
@@ -24,7 +28,7 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     public boolean add(E element) {
         if (maxSize > 0) {
             evictExcessElements();
-            return super.add(element);
+            return added(super.add(element));
         } else {
             return false;
         }
@@ -49,34 +53,75 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     public boolean offer(E element) {
         if (maxSize > 0) {
             evictExcessElements();
-            return super.offer(element);
+            return added(super.offer(element));
         } else {
             return false;
         }
     }
 
+    private boolean added(boolean added) {
+        if (added) {
+            count.incrementAndGet();
+        }
+        return added;
+    }
+
     private void evictExcessElements() {
-        if (onEvictCallback == null) {
-            while (size() >= maxSize) {
-                super.poll();
+        while (count.get() >= maxSize && evictOldest()) {
+            // evict until there is space for a new element
+        }
+    }
+
+    /**
+     * Removes the oldest element and passes it to the evict callback
+     *
+     * @return true if an element was removed or false if the deque was empty
+     */
+    public boolean evictOldest() {
+        E element = pollFirst();
+        if (element != null) {
+            if (onEvictCallback != null) {
+                onEvictCallback.accept(element);
             }
+            return true;
         } else {
-            while (size() >= maxSize) {
-                onEvictCallback.accept(super.poll());
-            }
+            return false;
         }
     }
 
     public void clear() {
-        if (onEvictCallback == null) {
-            super.clear();
-        } else {
-            while (size() > 0) {
-                onEvictCallback.accept(super.poll());
-            }
+        while (evictOldest()) {
+            // evict all elements so evict callback is called for each element
         }
     }
 
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    // poll, pop, remove() and removeFirst / removeLast all delegate to pollFirst or pollLast
+    @Override
+    public E pollFirst() {
+        return removed(super.pollFirst());
+    }
+
+    @Override
+    public E pollLast() {
+        return removed(super.pollLast());
+    }
+
+    // remove(Object) delegates to removeFirstOccurrence
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return removed(super.removeFirstOccurrence(o));
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return removed(super.removeLastOccurrence(o));
+    }
+
     /**
      * @deprecated use removeItem instead
      */
@@ -86,9 +131,44 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     }
 
     public boolean removeItem(E e) {
-        if (onEvictCallback != null) {
-            onEvictCallback.accept(e);
+        if (super.remove(e)) {
+            if (onEvictCallback != null) {
+                onEvictCallback.accept(e);
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    // bulk removals unlink elements through the iterator which would leave the element count out of sync
+
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean removed(boolean removed) {
+        if (removed) {
+            count.decrementAndGet();
+        }
+        return removed;
+    }
+
+    private E removed(E removed) {
+        if (removed != null) {
+            count.decrementAndGet();
         }
-        return super.remove(e);
+        return removed;
     }
 }
@@ -0,0 +1,42 @@
+package org.mockserver.collections;
+
+import java.util.*;
+
+/**
+ * Merges iterators that are each already sorted into a single sorted iterator, only the
+ * next element of each iterator is held so the merged elements are never copied into a list
+ *
+ * @author jamesdbloom
+ */
+public class MergingIterator<E> implements Iterator<E> {
+
+    private final PriorityQueue<Map.Entry<E, Iterator<E>>> heads;
+
+    public MergingIterator(Comparator<? super E> comparator, List<Iterator<E>> iterators) {
+        this.heads = new PriorityQueue<>(Math.max(1, iterators.size()), (first, second) -> comparator.compare(first.getKey(), second.getKey()));
+        for (Iterator<E> iterator : iterators) {
+            advance(iterator);
+        }
+    }
+
+    private void advance(Iterator<E> iterator) {
+        if (iterator.hasNext()) {
+            heads.add(new AbstractMap.SimpleImmutableEntry<>(iterator.next(), iterator));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public E next() {
+        Map.Entry<E, Iterator<E>> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.getValue());
+        return head.getKey();
+    }
+}
@@ -8,9 +8,12 @@ import com.google.common.net.InetAddresses;
 import io.netty.util.NettyRuntime;
 import io.netty.util.internal.SystemPropertyUtil;
 import org.mockserver.file.FileReader;
+import org.mockserver.log.EventLogOverflowPolicy;
+import org.mockserver.log.EventLogWaitStrategy;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.jdk.CertificateSigningRequest;
 import org.slf4j.event.Level;
@@ -41,10 +44,31 @@ public class ConfigurationProperties {
     private static final String DEFAULT_LOG_LEVEL = "INFO";
     private static final long DEFAULT_MAX_TIMEOUT = 20;
     private static final int DEFAULT_CONNECT_TIMEOUT = 20000;
+    private static final int DEFAULT_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS = 100;
+    private static final long DEFAULT_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT = 30000;
+    private static final int DEFAULT_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES = 3;
+    private static final long DEFAULT_FORWARD_UPSTREAM_EJECTION_TIME = 30000;
+    private static final long DEFAULT_FORWARD_RESPONSE_CACHE_SIZE = 0;
+    private static final int DEFAULT_STREAMING_PROXY_CAPTURED_BODY_SIZE = 65536;
+    private static final long DEFAULT_DNS_CACHE_TIME_TO_LIVE = 30;
+    private static final NettyTransport DEFAULT_NETTY_TRANSPORT = NettyTransport.AUTO;
     private static final String DEFAULT_MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "false";
     private static final int DEFAULT_MAX_FUTURE_TIMEOUT = 60;
     private static final String DEFAULT_OUTPUT_MEMORY_USAGE_CSV = "false";
     private static final int DEFAULT_MAX_WEB_SOCKET_EXPECTATIONS = 1500;
+    private static final long DEFAULT_MAX_LOG_RETAINED_BYTES = 0;
+    private static final long DEFAULT_MAX_LOG_ENTRY_AGE = 0;
+    private static final int DEFAULT_MAX_VERIFICATION_FAILURE_REQUESTS = 50;
+    private static final int DEFAULT_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH = 65536;
+    private static final String DEFAULT_FULL_VERIFICATION_FAILURE_REPORTS = "false";
+    private static final long DEFAULT_EVENT_LOG_NOTIFICATION_INTERVAL = 0;
+    private static final long DEFAULT_EVENT_LOG_EXPORT_MAX_FILE_SIZE = 100 * 1024 * 1024;
+    private static final int DEFAULT_EVENT_LOG_AGGREGATE_SAMPLE_RATE = 1000;
+    private static final int DEFAULT_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE = 1024;
+    private static final int DEFAULT_EVENT_LOG_SHARDS = 1;
+    private static final EventLogWaitStrategy DEFAULT_EVENT_LOG_WAIT_STRATEGY = EventLogWaitStrategy.BLOCKING;
+    private static final EventLogOverflowPolicy DEFAULT_EVENT_LOG_OVERFLOW_POLICY = EventLogOverflowPolicy.DROP;
+    private static final int DEFAULT_EVENT_LOG_OVERFLOW_SAMPLE_RATE = 10;
     private static final int DEFAULT_MAX_INITIAL_LINE_LENGTH = Integer.MAX_VALUE;
     private static final int DEFAULT_MAX_HEADER_SIZE = Integer.MAX_VALUE;
     private static final int DEFAULT_MAX_CHUNK_SIZE = Integer.MAX_VALUE;
@@ -61,6 +85,8 @@ public class ConfigurationProperties {
     private static final String DEFAULT_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN = "";
     private static final String DEFAULT_FORWARD_PROXY_TLS_X509_CERTIFICATES_TRUST_MANAGER_TYPE = "ANY";
     private static final String DEFAULT_FORWARD_PROXY_TLS_CUSTOM_TRUST_X509_CERTIFICATES = "";
+    private static final int DEFAULT_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE = 1000;
+    private static final long DEFAULT_FORWARD_PROXY_TLS_SESSION_TIMEOUT = 3600;
     private static final String DEFAULT_FORWARD_PROXY_TLS_PRIVATE_KEY = "";
     private static final String DEFAULT_FORWARD_PROXY_TLS_X509_CERTIFICATE_CHAIN = "";
     private static final String DEFAULT_CORS_ALLOW_HEADERS = "Allow, Content-Encoding, Content-Length, Content-Type, ETag, Expires, Last-Modified, Location, Server, Vary, Authorization";
@@ -74,17 +100,45 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_ENABLE_CORS_FOR_ALL_RESPONSES = "mockserver.enableCORSForAllResponses";
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
+    private static final String MOCKSERVER_MAX_LOG_RETAINED_BYTES = "mockserver.maxLogRetainedBytes";
+    private static final String MOCKSERVER_MAX_LOG_ENTRY_AGE = "mockserver.maxLogEntryAge";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
+    private static final String MOCKSERVER_MAX_VERIFICATION_FAILURE_REQUESTS = "mockserver.maxVerificationFailureRequests";
+    private static final String MOCKSERVER_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH = "mockserver.maxVerificationFailureMessageLength";
+    private static final String MOCKSERVER_FULL_VERIFICATION_FAILURE_REPORTS = "mockserver.fullVerificationFailureReports";
+    private static final String MOCKSERVER_EVENT_LOG_NOTIFICATION_INTERVAL = "mockserver.eventLogNotificationInterval";
+    private static final String MOCKSERVER_EVENT_LOG_SHARDS = "mockserver.eventLogShards";
+    private static final String MOCKSERVER_EVENT_LOG_WAIT_STRATEGY = "mockserver.eventLogWaitStrategy";
+    private static final String MOCKSERVER_EVENT_LOG_OVERFLOW_POLICY = "mockserver.eventLogOverflowPolicy";
+    private static final String MOCKSERVER_EVENT_LOG_OVERFLOW_SAMPLE_RATE = "mockserver.eventLogOverflowSampleRate";
+    private static final String MOCKSERVER_EVENT_LOG_EXPORT_DIRECTORY = "mockserver.eventLogExportDirectory";
+    private static final String MOCKSERVER_EVENT_LOG_AGGREGATE_ONLY = "mockserver.eventLogAggregateOnly";
+    private static final String MOCKSERVER_EVENT_LOG_SAMPLE_RATES = "mockserver.eventLogSampleRates";
+    private static final String MOCKSERVER_EVENT_LOG_EXPECTATION_SAMPLE_RATES = "mockserver.eventLogExpectationSampleRates";
+    private static final String MOCKSERVER_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE = "mockserver.eventLogBodyDeduplicationMinSize";
+    private static final String MOCKSERVER_EVENT_LOG_AGGREGATE_SAMPLE_RATE = "mockserver.eventLogAggregateSampleRate";
+    private static final String MOCKSERVER_EVENT_LOG_EXPORT_TYPES = "mockserver.eventLogExportTypes";
+    private static final String MOCKSERVER_EVENT_LOG_EXPORT_MAX_FILE_SIZE = "mockserver.eventLogExportMaxFileSize";
+    private static final String MOCKSERVER_EVENT_LOG_EXPORT_COMPRESS = "mockserver.eventLogExportCompress";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
     private static final String MOCKSERVER_MAX_INITIAL_LINE_LENGTH = "mockserver.maxInitialLineLength";
     private static final String MOCKSERVER_MAX_HEADER_SIZE = "mockserver.maxHeaderSize";
     private static final String MOCKSERVER_MAX_CHUNK_SIZE = "mockserver.maxChunkSize";
     private static final String MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.nioEventLoopThreadCount";
+    private static final String MOCKSERVER_NETTY_TRANSPORT = "mockserver.nettyTransport";
     private static final String MOCKSERVER_ACTION_HANDLER_THREAD_COUNT = "mockserver.actionHandlerThreadCount";
     private static final String MOCKSERVER_WEB_SOCKET_CLIENT_EVENT_LOOP_THREAD_COUNT = "mockserver.webSocketClientEventLoopThreadCount";
     private static final String MOCKSERVER_MAX_SOCKET_TIMEOUT = "mockserver.maxSocketTimeout";
     private static final String MOCKSERVER_MAX_FUTURE_TIMEOUT = "mockserver.maxFutureTimeout";
     private static final String MOCKSERVER_SOCKET_CONNECTION_TIMEOUT = "mockserver.socketConnectionTimeout";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS = "mockserver.forwardConnectionPoolMaxConnections";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT = "mockserver.forwardConnectionPoolIdleTimeout";
+    private static final String MOCKSERVER_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES = "mockserver.forwardUpstreamEjectionConsecutiveFailures";
+    private static final String MOCKSERVER_FORWARD_UPSTREAM_EJECTION_TIME = "mockserver.forwardUpstreamEjectionTime";
+    private static final String MOCKSERVER_FORWARD_RESPONSE_CACHE_SIZE = "mockserver.forwardResponseCacheSize";
+    private static final String MOCKSERVER_STREAMING_PROXY = "mockserver.streamingProxy";
+    private static final String MOCKSERVER_STREAMING_PROXY_CAPTURED_BODY_SIZE = "mockserver.streamingProxyCapturedBodySize";
+    private static final String MOCKSERVER_DNS_CACHE_TIME_TO_LIVE = "mockserver.dnsCacheTimeToLive";
     private static final String MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "mockserver.alwaysCloseSocketConnections";
     private static final String MOCKSERVER_SSL_CERTIFICATE_DOMAIN_NAME = "mockserver.sslCertificateDomainName";
     private static final String MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_DOMAINS = "mockserver.sslSubjectAlternativeNameDomains";
@@ -100,6 +154,8 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN = "mockserver.tlsMutualAuthenticationCertificateChain";
     private static final String MOCKSERVER_FORWARD_PROXY_TLS_X509_CERTIFICATES_TRUST_MANAGER_TYPE = "mockserver.forwardProxyTLSX509CertificatesTrustManagerType";
     private static final String MOCKSERVER_FORWARD_PROXY_TLS_CUSTOM_TRUST_X509_CERTIFICATES = "mockserver.forwardProxyTLSCustomTrustX509Certificates";
+    private static final String MOCKSERVER_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE = "mockserver.forwardProxyTLSSessionCacheSize";
+    private static final String MOCKSERVER_FORWARD_PROXY_TLS_SESSION_TIMEOUT = "mockserver.forwardProxyTLSSessionTimeout";
     private static final String MOCKSERVER_FORWARD_PROXY_TLS_PRIVATE_KEY = "mockserver.forwardProxyPrivateKey";
     private static final String MOCKSERVER_FORWARD_PROXY_TLS_X509_CERTIFICATE_CHAIN = "mockserver.forwardProxyCertificateChain";
     private static final String MOCKSERVER_LOG_LEVEL = "mockserver.logLevel";
@@ -107,6 +163,7 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_DISABLE_SYSTEM_OUT = "mockserver.disableSystemOut";
     private static final String MOCKSERVER_DETAILED_MATCH_FAILURES = "mockserver.detailedMatchFailures";
     private static final String MOCKSERVER_MATCHERS_FAIL_FAST = "mockserver.matchersFailFast";
+    private static final String MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED = "mockserver.summariseExpectationsNotMatched";
     private static final String MOCKSERVER_LOCAL_BOUND_IP = "mockserver.localBoundIP";
     private static final String MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION = "mockserver.attemptToProxyIfNoMatchingExpectation";
     @Deprecated
@@ -208,6 +265,7 @@ public class ConfigurationProperties {
     private static boolean disableSystemOut = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DISABLE_SYSTEM_OUT, "MOCKSERVER_DISABLE_SYSTEM_OUT", "" + false));
     private static boolean detailedMatchFailures = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DETAILED_MATCH_FAILURES, "MOCKSERVER_DETAILED_MATCH_FAILURES", "" + true));
     private static boolean matchersFailFast = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DETAILED_MATCH_FAILURES, "MOCKSERVER_DETAILED_MATCH_FAILURES", "" + true));
+    private static boolean summariseExpectationsNotMatched = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED, "MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED", "" + false));
     private static boolean attemptToProxyIfNoMatchingExpectation = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION, "MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION", "" + true));
     private static boolean enableMTLS = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_REQUIRED, "MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_REQUIRED", DEFAULT_TLS_MUTUAL_AUTHENTICATION_REQUIRED));
     private static String tlsMutualAuthenticationCertificateChain = readPropertyHierarchically(MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN, "MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN", DEFAULT_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN);
@@ -237,6 +295,7 @@ public class ConfigurationProperties {
         disableSystemOut = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DISABLE_SYSTEM_OUT, "MOCKSERVER_DISABLE_SYSTEM_OUT", "" + false));
         detailedMatchFailures = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DETAILED_MATCH_FAILURES, "MOCKSERVER_DETAILED_MATCH_FAILURES", "" + true));
         matchersFailFast = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_DETAILED_MATCH_FAILURES, "MOCKSERVER_DETAILED_MATCH_FAILURES", "" + true));
+        summariseExpectationsNotMatched = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED, "MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED", "" + false));
         attemptToProxyIfNoMatchingExpectation = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION, "MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION", "" + true));
         enableMTLS = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_REQUIRED, "MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_REQUIRED", DEFAULT_TLS_MUTUAL_AUTHENTICATION_REQUIRED));
         tlsMutualAuthenticationCertificateChain = readPropertyHierarchically(MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN, "MOCKSERVER_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN", DEFAULT_TLS_MUTUAL_AUTHENTICATION_CERTIFICATE_CHAIN);
@@ -291,6 +350,297 @@ public class ConfigurationProperties {
         System.setProperty(MOCKSERVER_MAX_LOG_ENTRIES, "" + count);
     }
 
+    public static long maxLogRetainedBytes() {
+        return readLongProperty(MOCKSERVER_MAX_LOG_RETAINED_BYTES, "MOCKSERVER_MAX_LOG_RETAINED_BYTES", DEFAULT_MAX_LOG_RETAINED_BYTES);
+    }
+
+    /**
+     * The maximum estimated size in bytes of all log entries (including request and response bodies) held in the event log,
+     * when exceeded the oldest log entries are evicted, the default is 0 which means log entries are only limited by maxLogEntries
+     *
+     * @param bytes maximum estimated size in bytes of all log entries
+     */
+    public static void maxLogRetainedBytes(long bytes) {
+        System.setProperty(MOCKSERVER_MAX_LOG_RETAINED_BYTES, "" + bytes);
+    }
+
+    public static long maxLogEntryAge() {
+        return readLongProperty(MOCKSERVER_MAX_LOG_ENTRY_AGE, "MOCKSERVER_MAX_LOG_ENTRY_AGE", DEFAULT_MAX_LOG_ENTRY_AGE);
+    }
+
+    /**
+     * The maximum age in milliseconds of log entries held in the event log, older log entries are evicted,
+     * the default is 0 which means log entries are never evicted because of their age
+     *
+     * @param milliseconds maximum age of log entries in milliseconds
+     */
+    public static void maxLogEntryAge(long milliseconds) {
+        System.setProperty(MOCKSERVER_MAX_LOG_ENTRY_AGE, "" + milliseconds);
+    }
+
+    public static int maxVerificationFailureRequests() {
+        return readIntegerProperty(MOCKSERVER_MAX_VERIFICATION_FAILURE_REQUESTS, "MOCKSERVER_MAX_VERIFICATION_FAILURE_REQUESTS", DEFAULT_MAX_VERIFICATION_FAILURE_REQUESTS);
+    }
+
+    /**
+     * The maximum number of recorded requests included in a verification failure message, when more requests have been recorded
+     * only those closest to where the verification failed are included, the default is 50
+     *
+     * @param count maximum number of recorded requests in a verification failure message
+     */
+    public static void maxVerificationFailureRequests(int count) {
+        System.setProperty(MOCKSERVER_MAX_VERIFICATION_FAILURE_REQUESTS, "" + count);
+    }
+
+    public static int maxVerificationFailureMessageLength() {
+        return readIntegerProperty(MOCKSERVER_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH, "MOCKSERVER_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH", DEFAULT_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH);
+    }
+
+    /**
+     * The maximum number of characters of recorded requests included in a verification failure message, the default is 65536
+     *
+     * @param length maximum number of characters of recorded requests in a verification failure message
+     */
+    public static void maxVerificationFailureMessageLength(int length) {
+        System.setProperty(MOCKSERVER_MAX_VERIFICATION_FAILURE_MESSAGE_LENGTH, "" + length);
+    }
+
+    public static boolean fullVerificationFailureReports() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_FULL_VERIFICATION_FAILURE_REPORTS, "MOCKSERVER_FULL_VERIFICATION_FAILURE_REPORTS", DEFAULT_FULL_VERIFICATION_FAILURE_REPORTS));
+    }
+
+    /**
+     * If true verification failure messages include every recorded request, if false (the default) the number of
+     * recorded requests and the length of the failure message are limited by maxVerificationFailureRequests and
+     * maxVerificationFailureMessageLength
+     *
+     * @param enable include every recorded request in verification failure messages
+     */
+    public static void fullVerificationFailureReports(boolean enable) {
+        System.setProperty(MOCKSERVER_FULL_VERIFICATION_FAILURE_REPORTS, "" + enable);
+    }
+
+    public static long eventLogNotificationInterval() {
+        return readLongProperty(MOCKSERVER_EVENT_LOG_NOTIFICATION_INTERVAL, "MOCKSERVER_EVENT_LOG_NOTIFICATION_INTERVAL", DEFAULT_EVENT_LOG_NOTIFICATION_INTERVAL);
+    }
+
+    /**
+     * The minimum interval in milliseconds between notifications to log listeners (such as the dashboard), new log entries
+     * are always coalesced into a single notification per batch processed by the log ring buffer, the default is 0
+     *
+     * @param milliseconds minimum interval between log listener notifications
+     */
+    public static void eventLogNotificationInterval(long milliseconds) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_NOTIFICATION_INTERVAL, "" + milliseconds);
+    }
+
+    public static int eventLogShards() {
+        return readIntegerProperty(MOCKSERVER_EVENT_LOG_SHARDS, "MOCKSERVER_EVENT_LOG_SHARDS", DEFAULT_EVENT_LOG_SHARDS);
+    }
+
+    /**
+     * The number of ring buffers (each with its own thread and log storage) used to process log entries, log entries from
+     * each thread are always added to the same shard and queries merge all shards in the order log entries were stored,
+     * increasing the number of shards allows log processing to use more cores under heavy load, the default is 1
+     *
+     * @param shards number of event log shards
+     */
+    public static void eventLogShards(int shards) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_SHARDS, "" + shards);
+    }
+
+    public static EventLogWaitStrategy eventLogWaitStrategy() {
+        return readEnumProperty(MOCKSERVER_EVENT_LOG_WAIT_STRATEGY, "MOCKSERVER_EVENT_LOG_WAIT_STRATEGY", EventLogWaitStrategy.class, DEFAULT_EVENT_LOG_WAIT_STRATEGY);
+    }
+
+    /**
+     * How the event log ring buffer threads wait for new log entries, the wait strategy is applied when MockServer starts
+     * <p>
+     * BLOCKING - lowest CPU usage, the default
+     * SLEEPING - low CPU usage when idle with lower latency than BLOCKING
+     * YIELDING - low latency but uses a core while waiting
+     * BUSY_SPIN - lowest latency but always uses a whole core for each event log shard
+     *
+     * @param waitStrategy event log wait strategy, allowed values: BLOCKING, SLEEPING, YIELDING, BUSY_SPIN
+     */
+    public static void eventLogWaitStrategy(String waitStrategy) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_WAIT_STRATEGY, waitStrategy);
+    }
+
+    public static EventLogOverflowPolicy eventLogOverflowPolicy() {
+        return readEnumProperty(MOCKSERVER_EVENT_LOG_OVERFLOW_POLICY, "MOCKSERVER_EVENT_LOG_OVERFLOW_POLICY", EventLogOverflowPolicy.class, DEFAULT_EVENT_LOG_OVERFLOW_POLICY);
+    }
+
+    /**
+     * What happens to a log entry when the event log ring buffer is full
+     * <p>
+     * DROP - drop the log entry, the default
+     * BLOCK - block the thread adding the log entry until the ring buffer has space
+     * DROP_DEBUG_AND_TRACE - drop DEBUG and TRACE log entries and block for all other log entries
+     * SAMPLE - block for one in every eventLogOverflowSampleRate log entries and drop the others
+     *
+     * @param overflowPolicy event log overflow policy, allowed values: DROP, BLOCK, DROP_DEBUG_AND_TRACE, SAMPLE
+     */
+    public static void eventLogOverflowPolicy(String overflowPolicy) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_OVERFLOW_POLICY, overflowPolicy);
+    }
+
+    public static int eventLogOverflowSampleRate() {
+        return readIntegerProperty(MOCKSERVER_EVENT_LOG_OVERFLOW_SAMPLE_RATE, "MOCKSERVER_EVENT_LOG_OVERFLOW_SAMPLE_RATE", DEFAULT_EVENT_LOG_OVERFLOW_SAMPLE_RATE);
+    }
+
+    /**
+     * When the eventLogOverflowPolicy is SAMPLE one in every sampleRate log entries added while the event log ring buffer is full is kept, the default is 10
+     *
+     * @param sampleRate one in how many log entries to keep when the event log ring buffer is full
+     */
+    public static void eventLogOverflowSampleRate(int sampleRate) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_OVERFLOW_SAMPLE_RATE, "" + sampleRate);
+    }
+
+    public static boolean eventLogAggregateOnly() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_EVENT_LOG_AGGREGATE_ONLY, "MOCKSERVER_EVENT_LOG_AGGREGATE_ONLY", "false"));
+    }
+
+    /**
+     * Count received requests, response status codes and latencies by method and path, and matches by expectation id,
+     * instead of keeping every received request and response in the event log, only one in every eventLogAggregateSampleRate
+     * requests is kept as individual log entries, verifications that only match on method and path are answered from the counts,
+     * the mode is applied when MockServer starts, the default is false
+     *
+     * @param aggregateOnly true to only keep counts of most requests and responses
+     */
+    public static void eventLogAggregateOnly(boolean aggregateOnly) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_AGGREGATE_ONLY, "" + aggregateOnly);
+    }
+
+    public static int eventLogAggregateSampleRate() {
+        return readIntegerProperty(MOCKSERVER_EVENT_LOG_AGGREGATE_SAMPLE_RATE, "MOCKSERVER_EVENT_LOG_AGGREGATE_SAMPLE_RATE", DEFAULT_EVENT_LOG_AGGREGATE_SAMPLE_RATE);
+    }
+
+    /**
+     * When eventLogAggregateOnly is enabled one in every sampleRate requests is also kept as individual log entries, 0 means none are kept, the default is 1000
+     *
+     * @param sampleRate one in how many requests to keep as individual log entries
+     */
+    public static void eventLogAggregateSampleRate(int sampleRate) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_AGGREGATE_SAMPLE_RATE, "" + sampleRate);
+    }
+
+    public static Map<LogEntry.LogMessageType, Double> eventLogSampleRates() {
+        Map<LogEntry.LogMessageType, Double> sampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        readDoubleMapProperty(MOCKSERVER_EVENT_LOG_SAMPLE_RATES, "MOCKSERVER_EVENT_LOG_SAMPLE_RATES").forEach((type, sampleRate) -> {
+            try {
+                sampleRates.put(LogEntry.LogMessageType.valueOf(type.toUpperCase()), sampleRate);
+            } catch (IllegalArgumentException iae) {
+                MOCK_SERVER_LOGGER.logEvent(
+                    new LogEntry()
+                        .setType(LogEntry.LogMessageType.EXCEPTION)
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("invalid value [" + type + "] for " + MOCKSERVER_EVENT_LOG_SAMPLE_RATES + " the only supported values are: " + Arrays.toString(LogEntry.LogMessageType.values()))
+                        .setThrowable(iae)
+                );
+            }
+        });
+        return sampleRates;
+    }
+
+    /**
+     * Sample rates for RECEIVED_REQUEST, EXPECTATION_MATCHED and EXPECTATION_RESPONSE log entries as a comma separated list of type=rate,
+     * for example "RECEIVED_REQUEST=10,EXPECTATION_RESPONSE=0.5", a rate of 1 or more keeps one in every rate entries, a rate between
+     * 0 and 1 keeps each entry with that probability and a rate of 0 keeps no entries, the matched and response entries for a request
+     * are only kept if its received request entry was kept, requests that are not kept are still counted for registered verifications,
+     * the rates are applied when MockServer starts, the default is "" which keeps every entry
+     *
+     * @param sampleRates comma separated list of log message type=sample rate
+     */
+    public static void eventLogSampleRates(String sampleRates) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_SAMPLE_RATES, sampleRates);
+    }
+
+    public static Map<String, Double> eventLogExpectationSampleRates() {
+        return readDoubleMapProperty(MOCKSERVER_EVENT_LOG_EXPECTATION_SAMPLE_RATES, "MOCKSERVER_EVENT_LOG_EXPECTATION_SAMPLE_RATES");
+    }
+
+    /**
+     * Sample rates for the EXPECTATION_MATCHED and EXPECTATION_RESPONSE log entries of requests matched by specific expectations as a
+     * comma separated list of expectation id=rate, for example "health-check=100", rates are the same as for eventLogSampleRates and
+     * override them once a request is matched, the rates are applied when MockServer starts, the default is ""
+     *
+     * @param sampleRates comma separated list of expectation id=sample rate
+     */
+    public static void eventLogExpectationSampleRates(String sampleRates) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_EXPECTATION_SAMPLE_RATES, sampleRates);
+    }
+
+    public static int eventLogBodyDeduplicationMinSize() {
+        return readIntegerProperty(MOCKSERVER_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE, "MOCKSERVER_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE", DEFAULT_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE);
+    }
+
+    /**
+     * Request and response bodies in the event log at least this size are stored once and shared by every log entry with an identical
+     * body, smaller bodies are not shared as hashing them costs more than it saves, a negative value disables sharing, the default is 1024
+     *
+     * @param minSize minimum size in bytes of bodies shared between log entries
+     */
+    public static void eventLogBodyDeduplicationMinSize(int minSize) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_BODY_DEDUPLICATION_MIN_SIZE, "" + minSize);
+    }
+
+    public static String eventLogExportDirectory() {
+        return readPropertyHierarchically(MOCKSERVER_EVENT_LOG_EXPORT_DIRECTORY, "MOCKSERVER_EVENT_LOG_EXPORT_DIRECTORY", "");
+    }
+
+    /**
+     * Directory to write every log entry to as rotating newline delimited JSON files, files are written by a dedicated
+     * thread so exporting never blocks the event log, the default is "" which means log entries are not exported
+     *
+     * @param directory directory to write exported log entries to, created if it does not exist
+     */
+    public static void eventLogExportDirectory(String directory) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_EXPORT_DIRECTORY, directory);
+    }
+
+    public static Set<LogEntry.LogMessageType> eventLogExportTypes() {
+        return readEnumSetProperty(MOCKSERVER_EVENT_LOG_EXPORT_TYPES, "MOCKSERVER_EVENT_LOG_EXPORT_TYPES", LogEntry.LogMessageType.class);
+    }
+
+    /**
+     * Comma separated list of the log message types to export, for example "RECEIVED_REQUEST,EXPECTATION_RESPONSE",
+     * the default is "" which means log entries of every type are exported
+     *
+     * @param types comma separated list of log message types to export
+     */
+    public static void eventLogExportTypes(String types) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_EXPORT_TYPES, types);
+    }
+
+    public static long eventLogExportMaxFileSize() {
+        return readLongProperty(MOCKSERVER_EVENT_LOG_EXPORT_MAX_FILE_SIZE, "MOCKSERVER_EVENT_LOG_EXPORT_MAX_FILE_SIZE", DEFAULT_EVENT_LOG_EXPORT_MAX_FILE_SIZE);
+    }
+
+    /**
+     * The uncompressed size in bytes after which a new export file is started, the default is 104857600 (i.e. 100MB)
+     *
+     * @param bytes maximum uncompressed size of each export file in bytes
+     */
+    public static void eventLogExportMaxFileSize(long bytes) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_EXPORT_MAX_FILE_SIZE, "" + bytes);
+    }
+
+    public static boolean eventLogExportCompress() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_EVENT_LOG_EXPORT_COMPRESS, "MOCKSERVER_EVENT_LOG_EXPORT_COMPRESS", "false"));
+    }
+
+    /**
+     * Gzip compress exported log entry files, the default is false
+     *
+     * @param compress true to gzip compress export files
+     */
+    public static void eventLogExportCompress(boolean compress) {
+        System.setProperty(MOCKSERVER_EVENT_LOG_EXPORT_COMPRESS, "" + compress);
+    }
+
     public static int ringBufferSize() {
         return nextPowerOfTwo(defaultMaxLogEntries());
     }
@@ -352,14 +702,45 @@ public class ConfigurationProperties {
         return readIntegerProperty(MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT, "MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT", DEFAULT_NIO_EVENT_LOOP_THREAD_COUNT);
     }
 
+    /**
+     * Number of threads in the event loop that handles inbound connections, forwarded and proxied requests use the same
+     * event loop as the inbound request, the default is the number of available processors with a minimum of 35
+     *
+     * @param count number of event loop threads
+     */
     public static void nioEventLoopThreadCount(int count) {
         System.setProperty(MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT, "" + count);
     }
 
+    public static NettyTransport nettyTransport() {
+        return readEnumProperty(MOCKSERVER_NETTY_TRANSPORT, "MOCKSERVER_NETTY_TRANSPORT", NettyTransport.class, DEFAULT_NETTY_TRANSPORT);
+    }
+
+    /**
+     * Socket transport used by MockServer and its clients, the transport is applied when event loops are created, i.e. when
+     * MockServer starts, if the transport isn't available NIO is used
+     * <p>
+     * AUTO - epoll if available, then io_uring if available, otherwise NIO, the default
+     * NIO - java NIO, available on all platforms
+     * EPOLL - native epoll, requires Linux and netty-transport-native-epoll on the classpath
+     * IO_URING - native io_uring, requires a recent Linux kernel and netty-incubator-transport-native-io_uring on the classpath
+     *
+     * @param transport socket transport, allowed values: AUTO, NIO, EPOLL, IO_URING
+     */
+    public static void nettyTransport(String transport) {
+        System.setProperty(MOCKSERVER_NETTY_TRANSPORT, transport);
+    }
+
     public static int actionHandlerThreadCount() {
         return readIntegerProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "MOCKSERVER_ACTION_HANDLER_THREAD_COUNT", DEFAULT_ACTION_HANDLER_THREAD_COUNT);
     }
 
+    /**
+     * Number of threads used to apply delays and run callbacks, the default is the number of available processors with a
+     * minimum of 20
+     *
+     * @param count number of action handler threads
+     */
     public static void actionHandlerThreadCount(int count) {
         System.setProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "" + count);
     }
@@ -396,6 +777,122 @@ public class ConfigurationProperties {
         System.setProperty(MOCKSERVER_SOCKET_CONNECTION_TIMEOUT, "" + milliseconds);
     }
 
+    public static int forwardConnectionPoolMaxConnections() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS, "MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS", DEFAULT_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Forwarded and proxied requests reuse keep-alive connections from a pool for each remote address and event loop,
+     * requests wait for a connection once this many are in use for the same remote address on the same event loop, 0 or
+     * less disables pooling so each request opens its own connection, the default is 100
+     *
+     * @param maxConnections maximum number of connections for each remote address and event loop
+     */
+    public static void forwardConnectionPoolMaxConnections(int maxConnections) {
+        System.setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS, "" + maxConnections);
+    }
+
+    public static long forwardConnectionPoolIdleTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT", DEFAULT_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Pooled connections that haven't been used for this long are closed, the default is 30 seconds
+     *
+     * @param milliseconds idle time in milliseconds after which a pooled connection is closed
+     */
+    public static void forwardConnectionPoolIdleTimeout(long milliseconds) {
+        System.setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "" + milliseconds);
+    }
+
+    public static int forwardUpstreamEjectionConsecutiveFailures() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES, "MOCKSERVER_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES", DEFAULT_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES);
+    }
+
+    /**
+     * An upstream target of a forward with multiple upstreams is ejected from load balancing after this many consecutive
+     * requests to it fail, 0 or less disables ejection, the default is 3
+     *
+     * @param consecutiveFailures number of consecutive failures after which an upstream target is ejected
+     */
+    public static void forwardUpstreamEjectionConsecutiveFailures(int consecutiveFailures) {
+        System.setProperty(MOCKSERVER_FORWARD_UPSTREAM_EJECTION_CONSECUTIVE_FAILURES, "" + consecutiveFailures);
+    }
+
+    public static long forwardUpstreamEjectionTime() {
+        return readLongProperty(MOCKSERVER_FORWARD_UPSTREAM_EJECTION_TIME, "MOCKSERVER_FORWARD_UPSTREAM_EJECTION_TIME", DEFAULT_FORWARD_UPSTREAM_EJECTION_TIME);
+    }
+
+    /**
+     * An ejected upstream target is not chosen again until this much time has passed, unless all the upstream targets of
+     * the forward are ejected, the default is 30 seconds
+     *
+     * @param milliseconds time in milliseconds an upstream target is ejected for
+     */
+    public static void forwardUpstreamEjectionTime(long milliseconds) {
+        System.setProperty(MOCKSERVER_FORWARD_UPSTREAM_EJECTION_TIME, "" + milliseconds);
+    }
+
+    public static long forwardResponseCacheSize() {
+        return readLongProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_SIZE, "MOCKSERVER_FORWARD_RESPONSE_CACHE_SIZE", DEFAULT_FORWARD_RESPONSE_CACHE_SIZE);
+    }
+
+    /**
+     * Maximum approximate size in bytes of the in memory cache of responses to forwarded and proxied GET requests, responses
+     * are cached and revalidated following their Cache-Control, Expires, ETag, Last-Modified and Vary headers and the least
+     * recently used responses are evicted when the cache is full, 0 or less disables the cache, the default is 0
+     *
+     * @param bytes maximum size in bytes of the cached responses
+     */
+    public static void forwardResponseCacheSize(long bytes) {
+        System.setProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_SIZE, "" + bytes);
+    }
+
+    public static boolean streamingProxy() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_STREAMING_PROXY, "MOCKSERVER_STREAMING_PROXY", "" + false));
+    }
+
+    /**
+     * If true requests that are proxied because they don't match any expectation are streamed to the remote host and the response
+     * is streamed back without holding the whole request or response body in memory, only the start of each body is captured
+     * for matching and the event log, requests that match an expectation are handled as normal, the default is false
+     *
+     * @param enable streaming of proxied requests and responses
+     */
+    public static void streamingProxy(boolean enable) {
+        System.setProperty(MOCKSERVER_STREAMING_PROXY, "" + enable);
+    }
+
+    public static int streamingProxyCapturedBodySize() {
+        return readIntegerProperty(MOCKSERVER_STREAMING_PROXY_CAPTURED_BODY_SIZE, "MOCKSERVER_STREAMING_PROXY_CAPTURED_BODY_SIZE", DEFAULT_STREAMING_PROXY_CAPTURED_BODY_SIZE);
+    }
+
+    /**
+     * Number of bytes at the start of each streamed request and response body that are captured for matching and the event log,
+     * requests with a body no larger than this are handled as normal if they match an expectation, the default is 65536
+     *
+     * @param size maximum number of bytes captured from each streamed body
+     */
+    public static void streamingProxyCapturedBodySize(int size) {
+        System.setProperty(MOCKSERVER_STREAMING_PROXY_CAPTURED_BODY_SIZE, "" + size);
+    }
+
+    public static long dnsCacheTimeToLive() {
+        return readLongProperty(MOCKSERVER_DNS_CACHE_TIME_TO_LIVE, "MOCKSERVER_DNS_CACHE_TIME_TO_LIVE", DEFAULT_DNS_CACHE_TIME_TO_LIVE);
+    }
+
+    /**
+     * Host names of forwarded and proxied requests are resolved without blocking the event loop and the result is cached
+     * for this long, in addition to any caching by the JVM, 0 or less disables caching, the default is 30 seconds
+     * <p>
+     * this is read when the first request is forwarded or proxied
+     *
+     * @param seconds time in seconds a resolved host name is cached for
+     */
+    public static void dnsCacheTimeToLive(long seconds) {
+        System.setProperty(MOCKSERVER_DNS_CACHE_TIME_TO_LIVE, "" + seconds);
+    }
+
     public static void alwaysCloseSocketConnections(boolean alwaysClose) {
         System.setProperty(MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS, "" + alwaysClose);
         alwaysCloseConnections = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS, "MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS", DEFAULT_MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS));
@@ -711,6 +1208,33 @@ public class ConfigurationProperties {
         forwardProxyCertificateChain = readPropertyHierarchically(MOCKSERVER_FORWARD_PROXY_TLS_X509_CERTIFICATE_CHAIN, "MOCKSERVER_FORWARD_PROXY_TLS_X509_CERTIFICATE_CHAIN", DEFAULT_FORWARD_PROXY_TLS_X509_CERTIFICATE_CHAIN);
     }
 
+    public static int forwardProxyTLSSessionCacheSize() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE, "MOCKSERVER_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE", DEFAULT_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE);
+    }
+
+    /**
+     * Number of TLS sessions cached for outbound TLS connections, sessions are cached for each remote host and port so later connections
+     * to the same host and port can resume the session instead of performing a full handshake, 0 uses the JVM default, the default is 1000
+     *
+     * @param cacheSize maximum number of cached TLS sessions
+     */
+    public static void forwardProxyTLSSessionCacheSize(int cacheSize) {
+        System.setProperty(MOCKSERVER_FORWARD_PROXY_TLS_SESSION_CACHE_SIZE, "" + cacheSize);
+    }
+
+    public static long forwardProxyTLSSessionTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_PROXY_TLS_SESSION_TIMEOUT, "MOCKSERVER_FORWARD_PROXY_TLS_SESSION_TIMEOUT", DEFAULT_FORWARD_PROXY_TLS_SESSION_TIMEOUT);
+    }
+
+    /**
+     * Time after which a cached TLS session for outbound TLS connections can no longer be resumed, 0 uses the JVM default, the default is 3600 seconds
+     *
+     * @param seconds time in seconds a cached TLS session can be resumed for
+     */
+    public static void forwardProxyTLSSessionTimeout(long seconds) {
+        System.setProperty(MOCKSERVER_FORWARD_PROXY_TLS_SESSION_TIMEOUT, "" + seconds);
+    }
+
     public static Level logLevel() {
         return logLevel;
     }
@@ -780,6 +1304,24 @@ public class ConfigurationProperties {
         matchersFailFast = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_MATCHERS_FAIL_FAST, "MOCKSERVER_MATCHERS_FAIL_FAST", "" + true));
     }
 
+    public static boolean summariseExpectationsNotMatched() {
+        return summariseExpectationsNotMatched;
+    }
+
+    /**
+     * If true a single log event is recorded for each request listing the id and first non-matching field of every expectation that did
+     * not match, instead of a log event (including a copy of the expectation and the reason it did not match) for each expectation that
+     * did not match, this stops the size of the event log growing with the number of active expectations
+     * <p>
+     * The default is false
+     *
+     * @param enable enabled a single summary log event for expectations that did not match
+     */
+    public static void summariseExpectationsNotMatched(boolean enable) {
+        System.setProperty(MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED, "" + enable);
+        summariseExpectationsNotMatched = Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED, "MOCKSERVER_SUMMARISE_EXPECTATIONS_NOT_MATCHED", "" + false));
+    }
+
     public static boolean metricsEnabled() {
         return metricsEnabled;
     }
@@ -1112,6 +1654,63 @@ public class ConfigurationProperties {
         }
     }
 
+    private static <T extends Enum<T>> T readEnumProperty(String key, String environmentVariableKey, Class<T> enumType, T defaultValue) {
+        String value = readPropertyHierarchically(key, environmentVariableKey, defaultValue.name());
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase());
+        } catch (IllegalArgumentException iae) {
+            MOCK_SERVER_LOGGER.logEvent(
+                new LogEntry()
+                    .setType(LogEntry.LogMessageType.EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("invalid value [" + value + "] for " + key + " the only supported values are: " + Arrays.toString(enumType.getEnumConstants()))
+                    .setThrowable(iae)
+            );
+            return defaultValue;
+        }
+    }
+
+    private static <T extends Enum<T>> Set<T> readEnumSetProperty(String key, String environmentVariableKey, Class<T> enumType) {
+        Set<T> values = EnumSet.noneOf(enumType);
+        for (String value : readPropertyHierarchically(key, environmentVariableKey, "").split(",")) {
+            if (isNotBlank(value)) {
+                try {
+                    values.add(Enum.valueOf(enumType, value.trim().toUpperCase()));
+                } catch (IllegalArgumentException iae) {
+                    MOCK_SERVER_LOGGER.logEvent(
+                        new LogEntry()
+                            .setType(LogEntry.LogMessageType.EXCEPTION)
+                            .setLogLevel(Level.ERROR)
+                            .setMessageFormat("invalid value [" + value + "] for " + key + " the only supported values are: " + Arrays.toString(enumType.getEnumConstants()))
+                            .setThrowable(iae)
+                    );
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, Double> readDoubleMapProperty(String key, String environmentVariableKey) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String entry : readPropertyHierarchically(key, environmentVariableKey, "").split(",")) {
+            if (isNotBlank(entry)) {
+                String[] keyAndValue = entry.split("=");
+                try {
+                    values.put(keyAndValue[0].trim(), Double.parseDouble(keyAndValue[1].trim()));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    MOCK_SERVER_LOGGER.logEvent(
+                        new LogEntry()
+                            .setType(LogEntry.LogMessageType.EXCEPTION)
+                            .setLogLevel(Level.ERROR)
+                            .setMessageFormat("invalid value [" + entry + "] for " + key + " values must be in the format key=number")
+                            .setThrowable(e)
+                    );
+                }
+            }
+        }
+        return values;
+    }
+
     private static Integer readIntegerProperty(String key, String environmentVariableKey, int defaultValue) {
         try {
             return Integer.parseInt(readPropertyHierarchically(key, environmentVariableKey, "" + defaultValue));
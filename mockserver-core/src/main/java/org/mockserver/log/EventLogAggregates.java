@@ -0,0 +1,248 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * Rolling counts of received requests per method and path (with response status codes and latencies) and of matches
+ * per expectation id, used instead of individual request and response log entries so the memory used by the event log
+ * doesn't grow with the number of requests received, the number of methods and paths counted separately is limited
+ * <p>
+ * log entries of the same request can be aggregated by different event log shards in parallel so aggregating and
+ * clearing are synchronized, aggregates can be read from any thread
+ *
+ * @author jamesdbloom
+ */
+public class EventLogAggregates {
+
+    static final int MAX_PENDING_REQUESTS = 65536;
+    // paths containing ids would otherwise add a route for every request
+    static final int MAX_ROUTES = 10000;
+    private final Map<String, RouteAggregate> routes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> expectationMatches = new ConcurrentHashMap<>();
+    private final PendingRequests<PendingRequest> pendingRequests = new PendingRequests<>(MAX_PENDING_REQUESTS);
+    private volatile RouteAggregate otherRoutes = new RouteAggregate("*", "*");
+    private final int sampleRate;
+    private long sampleCounter;
+
+    /**
+     * @param sampleRate one in how many requests are also kept as individual log entries, 0 or less means none are kept
+     */
+    public EventLogAggregates(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return true if the log entry should also be kept as an individual entry in the event log
+     */
+    synchronized boolean aggregate(LogEntry logEntry) {
+        HttpRequest httpRequest = logEntry.getHttpRequest();
+        if (httpRequest == null) {
+            return true;
+        }
+        switch (logEntry.getType()) {
+            case RECEIVED_REQUEST: {
+                route(httpRequest).received();
+                boolean sampled = sampleRate > 0 && sampleCounter++ % sampleRate == 0;
+                pendingRequests.put(httpRequest, new PendingRequest(logEntry.getEpochTime(), sampled));
+                return sampled;
+            }
+            case EXPECTATION_MATCHED:
+            case REQUEST_MATCH_SUMMARY: {
+                if (logEntry.getType() == LogEntry.LogMessageType.EXPECTATION_MATCHED && logEntry.getExpectation() != null) {
+                    expectationMatches.computeIfAbsent(logEntry.getExpectation().getId(), id -> new AtomicLong()).incrementAndGet();
+                }
+                PendingRequest pendingRequest = pendingRequests.get(httpRequest);
+                return pendingRequest != null && pendingRequest.sampled;
+            }
+            case EXPECTATION_RESPONSE:
+            case EXPECTATION_NOT_MATCHED_RESPONSE:
+            case FORWARDED_REQUEST: {
+                PendingRequest pendingRequest = pendingRequests.remove(httpRequest);
+                route(httpRequest).responded(logEntry.getHttpResponse(), pendingRequest != null ? logEntry.getEpochTime() - pendingRequest.epochTime : -1);
+                // forwarded requests are always kept as they are needed to retrieve recorded expectations
+                return logEntry.getType() == LogEntry.LogMessageType.FORWARDED_REQUEST || (pendingRequest != null && pendingRequest.sampled);
+            }
+            default:
+                return true;
+        }
+    }
+
+    private RouteAggregate route(HttpRequest httpRequest) {
+        String method = httpRequest.getMethod() != null ? httpRequest.getMethod().getValue() : "";
+        String path = httpRequest.getPath() != null ? httpRequest.getPath().getValue() : "";
+        String key = method + " " + path;
+        RouteAggregate route = routes.get(key);
+        if (route == null && routes.size() >= MAX_ROUTES) {
+            return otherRoutes;
+        }
+        return route != null ? route : routes.computeIfAbsent(key, k -> new RouteAggregate(method, path));
+    }
+
+    /**
+     * @return true if more methods and paths were received than are counted separately, the requests for the methods and
+     * paths received after the limit was reached are counted together as method "*" and path "*" so counts for those
+     * methods and paths are too low
+     */
+    boolean hasOtherRoutes() {
+        return otherRoutes.getCount() > 0;
+    }
+
+    /**
+     * Counts can only answer verifications that match on method and path
+     */
+    static boolean isRouteOnly(HttpRequest httpRequest) {
+        return httpRequest.getQueryStringParameterList().isEmpty()
+            && httpRequest.getBody() == null
+            && httpRequest.getHeaderList().isEmpty()
+            && httpRequest.getCookieList().isEmpty()
+            && httpRequest.isKeepAlive() == null
+            && httpRequest.isSecure() == null
+            && httpRequest.getSocketAddress() == null;
+    }
+
+    /**
+     * @return number of requests received for every method and path that matches
+     */
+    long count(HttpRequestMatcher httpRequestMatcher) {
+        long count = 0;
+        for (RouteAggregate route : routes.values()) {
+            if (httpRequestMatcher.matches(route.request)) {
+                count += route.getCount();
+            }
+        }
+        if (httpRequestMatcher.matches(otherRoutes.request)) {
+            count += otherRoutes.getCount();
+        }
+        return count;
+    }
+
+    synchronized void clear(HttpRequestMatcher httpRequestMatcher) {
+        if (httpRequestMatcher == null) {
+            routes.clear();
+            otherRoutes = new RouteAggregate("*", "*");
+            expectationMatches.clear();
+            pendingRequests.clear();
+        } else {
+            routes.values().removeIf(route -> httpRequestMatcher.matches(route.request));
+        }
+    }
+
+    /**
+     * @return aggregates for each method and path ordered by method and path, followed by the aggregate of all the methods
+     * and paths received after the maximum number of routes was reached (if any)
+     */
+    public List<RouteAggregate> routes() {
+        List<RouteAggregate> routes = this.routes.values()
+            .stream()
+            .sorted(Comparator.comparing(RouteAggregate::getMethod).thenComparing(RouteAggregate::getPath))
+            .collect(Collectors.toList());
+        if (hasOtherRoutes()) {
+            routes.add(otherRoutes);
+        }
+        return routes;
+    }
+
+    /**
+     * @return number of requests matched by each expectation keyed by expectation id
+     */
+    public Map<String, Long> expectationMatchCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        expectationMatches.forEach((id, count) -> counts.put(id, count.get()));
+        return counts;
+    }
+
+    private static class PendingRequest {
+        private final long epochTime;
+        private final boolean sampled;
+
+        private PendingRequest(long epochTime, boolean sampled) {
+            this.epochTime = epochTime;
+            this.sampled = sampled;
+        }
+    }
+
+    public static class RouteAggregate {
+        private final String method;
+        private final String path;
+        private final HttpRequest request;
+        private final Map<Integer, Long> statusCodes = new TreeMap<>();
+        private long count;
+        private long responseCount;
+        private long totalLatency;
+        private long minLatency = -1;
+        private long maxLatency = -1;
+
+        private RouteAggregate(String method, String path) {
+            this.method = method;
+            this.path = path;
+            this.request = request().withMethod(method).withPath(path);
+        }
+
+        private synchronized void received() {
+            count++;
+        }
+
+        private synchronized void responded(HttpResponse httpResponse, long latency) {
+            if (httpResponse != null) {
+                // no status code is returned as 200
+                statusCodes.merge(httpResponse.getStatusCode() != null ? httpResponse.getStatusCode() : 200, 1L, Long::sum);
+            }
+            if (latency >= 0) {
+                responseCount++;
+                totalLatency += latency;
+                minLatency = minLatency == -1 ? latency : Math.min(minLatency, latency);
+                maxLatency = Math.max(maxLatency, latency);
+            }
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return number of responses for each status code
+         */
+        public synchronized Map<Integer, Long> getStatusCodes() {
+            return new TreeMap<>(statusCodes);
+        }
+
+        /**
+         * @return shortest time in milliseconds between receiving a request and logging its response or -1 if no responses
+         */
+        public synchronized long getMinLatency() {
+            return minLatency;
+        }
+
+        /**
+         * @return longest time in milliseconds between receiving a request and logging its response or -1 if no responses
+         */
+        public synchronized long getMaxLatency() {
+            return maxLatency;
+        }
+
+        /**
+         * @return average time in milliseconds between receiving a request and logging its response or -1 if no responses
+         */
+        public synchronized double getAverageLatency() {
+            return responseCount > 0 ? (double) totalLatency / responseCount : -1;
+        }
+    }
+}
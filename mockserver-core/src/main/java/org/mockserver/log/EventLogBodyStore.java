@@ -0,0 +1,179 @@
+package org.mockserver.log;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.Body;
+import org.mockserver.model.BodyWithContentType;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.util.*;
+
+/**
+ * Content addressed store of the request and response bodies in the event log, log entries with identical bodies share
+ * a single body instance which is released once the last log entry referencing it is evicted
+ * <p>
+ * the requests and responses of a log entry can still be used by the thread that logged them (i.e. a response that is
+ * logged and then written) so they are never modified, a copy referencing the shared body is set on the log entry instead
+ *
+ * @author jamesdbloom
+ */
+class EventLogBodyStore {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.farmHashFingerprint64();
+    private final int minSize;
+    private final Map<Long, List<StoredBody>> bodiesByHash = new HashMap<>();
+    // log entries reference the shared instance so it can be released without hashing the body again
+    private final Map<Body<?>, StoredBody> bodiesByIdentity = new IdentityHashMap<>();
+    private long storedBytes;
+
+    /**
+     * @param minSize minimum size in bytes of the bodies that are shared
+     */
+    EventLogBodyStore(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * @return a body store or null if sharing is disabled
+     */
+    static EventLogBodyStore eventLogBodyStore(int minSize) {
+        return minSize >= 0 ? new EventLogBodyStore(minSize) : null;
+    }
+
+    /**
+     * Replaces the log entry's requests and response with copies that reference the shared instance of each body
+     *
+     * @return estimated size in bytes of the bodies that were already stored for other log entries
+     */
+    synchronized long share(LogEntry logEntry) {
+        long sharedBytes = 0;
+        HttpRequest[] httpRequests = logEntry.getHttpRequests();
+        if (httpRequests != null) {
+            HttpRequest[] sharedHttpRequests = null;
+            for (int i = 0; i < httpRequests.length; i++) {
+                HttpRequest httpRequest = httpRequests[i];
+                if (httpRequest != null && httpRequest.getBody() != null) {
+                    StoredBody storedBody = acquire(httpRequest.getBody());
+                    if (storedBody != null) {
+                        if (storedBody.body != httpRequest.getBody()) {
+                            if (sharedHttpRequests == null) {
+                                sharedHttpRequests = Arrays.copyOf(httpRequests, httpRequests.length);
+                            }
+                            sharedHttpRequests[i] = httpRequest.clone().withBody(storedBody.body);
+                        }
+                        sharedBytes += storedBody.references > 1 ? storedBody.size : 0;
+                    }
+                }
+            }
+            if (sharedHttpRequests != null) {
+                logEntry.setHttpRequests(sharedHttpRequests);
+            }
+        }
+        HttpResponse httpResponse = logEntry.getHttpResponse();
+        if (httpResponse != null && httpResponse.getBody() != null) {
+            StoredBody storedBody = acquire(httpResponse.getBody());
+            if (storedBody != null) {
+                if (storedBody.body != httpResponse.getBody()) {
+                    logEntry.setHttpResponse(httpResponse.clone().withBody((BodyWithContentType<?>) storedBody.body));
+                }
+                sharedBytes += storedBody.references > 1 ? storedBody.size : 0;
+            }
+        }
+        return sharedBytes;
+    }
+
+    private StoredBody acquire(Body<?> body) {
+        StoredBody storedBody = bodiesByIdentity.get(body);
+        if (storedBody == null) {
+            byte[] rawBytes = body.getRawBytes();
+            if (rawBytes == null || rawBytes.length < minSize) {
+                return null;
+            }
+            long hash = HASH_FUNCTION.hashBytes(rawBytes).asLong();
+            List<StoredBody> candidates = bodiesByHash.computeIfAbsent(hash, key -> new ArrayList<>(1));
+            for (StoredBody candidate : candidates) {
+                // different bodies with the same hash or bodies with the same bytes but a different type or content type
+                if (candidate.body.equals(body)) {
+                    storedBody = candidate;
+                    break;
+                }
+            }
+            if (storedBody == null) {
+                storedBody = new StoredBody(body, hash, candidates);
+                candidates.add(storedBody);
+                bodiesByIdentity.put(body, storedBody);
+                storedBytes += storedBody.size;
+            }
+        }
+        storedBody.references++;
+        return storedBody;
+    }
+
+    /**
+     * Releases the log entry's references to shared bodies, bodies no longer referenced by any log entry are removed
+     */
+    synchronized void release(LogEntry logEntry) {
+        HttpRequest[] httpRequests = logEntry.getHttpRequests();
+        if (httpRequests != null) {
+            for (HttpRequest httpRequest : httpRequests) {
+                if (httpRequest != null && httpRequest.getBody() != null) {
+                    release(httpRequest.getBody());
+                }
+            }
+        }
+        HttpResponse httpResponse = logEntry.getHttpResponse();
+        if (httpResponse != null && httpResponse.getBody() != null) {
+            release(httpResponse.getBody());
+        }
+    }
+
+    private void release(Body<?> body) {
+        StoredBody storedBody = bodiesByIdentity.get(body);
+        if (storedBody != null && --storedBody.references == 0) {
+            bodiesByIdentity.remove(body);
+            storedBody.candidates.remove(storedBody);
+            if (storedBody.candidates.isEmpty()) {
+                bodiesByHash.remove(storedBody.hash);
+            }
+            storedBytes -= storedBody.size;
+        }
+    }
+
+    /**
+     * @return number of distinct bodies stored
+     */
+    synchronized int size() {
+        return bodiesByIdentity.size();
+    }
+
+    /**
+     * @return estimated size in bytes of the distinct bodies stored
+     */
+    synchronized long storedBytes() {
+        return storedBytes;
+    }
+
+    synchronized void clear() {
+        bodiesByHash.clear();
+        bodiesByIdentity.clear();
+        storedBytes = 0;
+    }
+
+    private static class StoredBody {
+        private final Body<?> body;
+        private final long size;
+        // kept so the hash doesn't need to be recalculated when the body is released
+        private final long hash;
+        private final List<StoredBody> candidates;
+        private int references;
+
+        private StoredBody(Body<?> body, long hash, List<StoredBody> candidates) {
+            this.body = body;
+            this.hash = hash;
+            this.size = LogEntry.estimatedBodySize(body);
+            this.candidates = candidates;
+        }
+    }
+}
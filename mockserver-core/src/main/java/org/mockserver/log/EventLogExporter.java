@@ -0,0 +1,167 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.serialization.NdJsonSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockserver.metrics.Metrics.Name.EVENT_LOG_EXPORT_DROPPED_COUNT;
+
+/**
+ * Writes log entries to rotating newline delimited JSON files, log entries are queued and written in batches
+ * by a dedicated thread so the event log ring buffer is never blocked by file IO, if the writer falls too far
+ * behind log entries are dropped and counted instead
+ *
+ * @author jamesdbloom
+ */
+public class EventLogExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLogExporter.class);
+    private static final DateTimeFormatter FILE_NAME_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss.SSS");
+    private static final int QUEUE_SIZE = 65536;
+    private static final int BATCH_SIZE = 4096;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private final File directory;
+    private final Set<LogEntry.LogMessageType> types;
+    private final long maxFileSize;
+    private final boolean compress;
+    private final NdJsonSerializer ndJsonSerializer;
+    private final BlockingQueue<LogEntry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private OutputStream outputStream;
+    private long fileSize;
+    private int fileCount;
+
+    /**
+     * @param directory   directory to write export files to, created if it does not exist
+     * @param types       log message types to export, if empty log entries of every type are exported
+     * @param maxFileSize uncompressed size in bytes after which a new file is started
+     * @param compress    gzip compress export files
+     */
+    public EventLogExporter(MockServerLogger mockServerLogger, String directory, Set<LogEntry.LogMessageType> types, long maxFileSize, boolean compress) {
+        this.directory = new File(directory);
+        this.types = types;
+        this.maxFileSize = maxFileSize;
+        this.compress = compress;
+        this.ndJsonSerializer = new NdJsonSerializer(mockServerLogger);
+        this.writerThread = new Scheduler.SchedulerThreadFactory("EventLogExporter").newThread(this::writeLoop);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a log entry to be exported without blocking, log entries must not be modified after being exported
+     */
+    public void export(LogEntry logEntry) {
+        if (running && (types.isEmpty() || types.contains(logEntry.getType())) && !queue.offer(logEntry)) {
+            droppedCount.incrementAndGet();
+            Metrics.increment(EVENT_LOG_EXPORT_DROPPED_COUNT);
+        }
+    }
+
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Writes all queued log entries and closes the current file
+     */
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(SECONDS.toMillis(10));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<LogEntry> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder ndJson = new StringBuilder();
+        while (running || !queue.isEmpty()) {
+            try {
+                LogEntry logEntry = queue.poll(100, MILLISECONDS);
+                if (logEntry != null) {
+                    batch.add(logEntry);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (LogEntry batchLogEntry : batch) {
+                        ndJson.setLength(0);
+                        byte[] bytes;
+                        try {
+                            bytes = ndJsonSerializer.append(ndJson, batchLogEntry).toString().getBytes(UTF_8);
+                        } catch (RuntimeException re) {
+                            logger.warn("Exception serializing log entry for export, for log entry: " + batchLogEntry, re);
+                            continue;
+                        }
+                        write(bytes);
+                    }
+                    batch.clear();
+                    if (queue.isEmpty() && outputStream != null) {
+                        // only flush when idle so bursts are written in large buffered blocks
+                        outputStream.flush();
+                    }
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable throwable) {
+                logger.error("Exception writing log entries to export file in " + directory.getAbsolutePath(), throwable);
+                batch.clear();
+                closeFile();
+            }
+        }
+        closeFile();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (outputStream == null || fileSize >= maxFileSize) {
+            closeFile();
+            openFile();
+        }
+        outputStream.write(bytes);
+        fileSize += bytes.length;
+    }
+
+    private void openFile() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+        }
+        File file = new File(directory, "mockserver-event-log-" + FILE_NAME_DATE_FORMAT.format(LocalDateTime.now()) + "-" + fileCount++ + (compress ? ".ndjson.gz" : ".ndjson"));
+        OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        outputStream = compress ? new GZIPOutputStream(fileOutputStream, BUFFER_SIZE) : fileOutputStream;
+        fileSize = 0;
+    }
+
+    private void closeFile() {
+        if (outputStream != null) {
+            try {
+                outputStream.close();
+            } catch (IOException ioe) {
+                logger.error("Exception closing log entry export file in " + directory.getAbsolutePath(), ioe);
+            }
+            outputStream = null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.mockserver.log;
+
+/**
+ * What happens to a log entry when the event log ring buffer is full
+ *
+ * @author jamesdbloom
+ */
+public enum EventLogOverflowPolicy {
+    /**
+     * drop the log entry, the default
+     */
+    DROP,
+    /**
+     * block the thread adding the log entry until the ring buffer has space
+     */
+    BLOCK,
+    /**
+     * drop DEBUG and TRACE log entries and block for all other log entries
+     */
+    DROP_DEBUG_AND_TRACE,
+    /**
+     * block for one in every eventLogOverflowSampleRate log entries and drop the others
+     */
+    SAMPLE
+}
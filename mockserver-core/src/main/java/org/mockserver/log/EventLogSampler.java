@@ -0,0 +1,110 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.HttpRequest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+
+/**
+ * Decides which received request, expectation matched, request match summary and expectation response log entries are kept in the event log
+ * <p>
+ * a rate of 1 or more keeps one in every rate entries, a rate between 0 and 1 keeps each entry with that probability and a rate of 0
+ * keeps no entries, the decision for a received request is reused for the matched and response entries of the same request so a
+ * request is either kept with its response or not at all, unless an expectation sample rate overrides it once the request is matched
+ * <p>
+ * synchronized because log entries of the same request can be sampled by different event log shards in parallel
+ *
+ * @author jamesdbloom
+ */
+class EventLogSampler {
+
+    static final int MAX_PENDING_REQUESTS = 65536;
+    private final Map<LogEntry.LogMessageType, Double> typeSampleRates;
+    private final Map<String, Double> expectationSampleRates;
+    private final Map<LogEntry.LogMessageType, long[]> typeCounters = new EnumMap<>(LogEntry.LogMessageType.class);
+    private final Map<String, long[]> expectationCounters = new HashMap<>();
+    private final PendingRequests<Boolean> pendingRequests = new PendingRequests<>(MAX_PENDING_REQUESTS);
+
+    EventLogSampler(Map<LogEntry.LogMessageType, Double> typeSampleRates, Map<String, Double> expectationSampleRates) {
+        this.typeSampleRates = typeSampleRates;
+        this.expectationSampleRates = expectationSampleRates;
+    }
+
+    /**
+     * @return a sampler or null if no sample rates are configured
+     */
+    static EventLogSampler eventLogSampler(Map<LogEntry.LogMessageType, Double> typeSampleRates, Map<String, Double> expectationSampleRates) {
+        if (typeSampleRates.isEmpty() && expectationSampleRates.isEmpty()) {
+            return null;
+        } else {
+            return new EventLogSampler(typeSampleRates, expectationSampleRates);
+        }
+    }
+
+    /**
+     * @return true if the log entry should be kept in the event log
+     */
+    synchronized boolean sampled(LogEntry logEntry) {
+        LogEntry.LogMessageType type = logEntry.getType();
+        HttpRequest httpRequest = logEntry.getHttpRequest();
+        if (httpRequest == null) {
+            return true;
+        }
+        if (type == EXPECTATION_NOT_MATCHED_RESPONSE || type == FORWARDED_REQUEST) {
+            // not sampled but no more log entries will be sampled for the request
+            pendingRequests.remove(httpRequest);
+            return true;
+        }
+        if (type != RECEIVED_REQUEST && type != EXPECTATION_MATCHED && type != REQUEST_MATCH_SUMMARY && type != EXPECTATION_RESPONSE) {
+            return true;
+        }
+        if (type == RECEIVED_REQUEST) {
+            boolean sampled = sampled(typeSampleRates.get(type), typeCounters.computeIfAbsent(type, key -> new long[1]));
+            pendingRequests.put(httpRequest, sampled);
+            return sampled;
+        }
+        Boolean sampled = type == EXPECTATION_RESPONSE ? pendingRequests.remove(httpRequest) : pendingRequests.get(httpRequest);
+        if (type == EXPECTATION_MATCHED && logEntry.getExpectation() != null && expectationSampleRates.containsKey(logEntry.getExpectation().getId())) {
+            String expectationId = logEntry.getExpectation().getId();
+            sampled = sampled(expectationSampleRates.get(expectationId), expectationCounters.computeIfAbsent(expectationId, key -> new long[1]));
+            pendingRequests.put(httpRequest, sampled);
+        } else if (sampled == null || typeSampleRates.containsKey(type)) {
+            // no decision for the request (i.e. not logged when received) or an explicit rate for this type
+            sampled = (sampled == null || sampled) && sampled(typeSampleRates.get(type), typeCounters.computeIfAbsent(type, key -> new long[1]));
+        }
+        return sampled;
+    }
+
+    /**
+     * @return true if some received requests may not be kept in the event log
+     */
+    boolean samplesReceivedRequests() {
+        Double sampleRate = typeSampleRates.get(RECEIVED_REQUEST);
+        return sampleRate != null && sampleRate != 1;
+    }
+
+    private static boolean sampled(Double sampleRate, long[] counter) {
+        if (sampleRate == null || sampleRate == 1) {
+            return true;
+        } else if (sampleRate <= 0) {
+            return false;
+        } else if (sampleRate < 1) {
+            return ThreadLocalRandom.current().nextDouble() < sampleRate;
+        } else {
+            return counter[0]++ % Math.round(sampleRate) == 0;
+        }
+    }
+
+    synchronized int pendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    synchronized void clear() {
+        pendingRequests.clear();
+    }
+}
@@ -0,0 +1,40 @@
+package org.mockserver.log;
+
+import com.lmax.disruptor.*;
+
+/**
+ * How the event log ring buffer thread waits for new log entries
+ *
+ * @author jamesdbloom
+ */
+public enum EventLogWaitStrategy {
+    /**
+     * lowest CPU usage, uses a lock and condition variable, the default
+     */
+    BLOCKING,
+    /**
+     * spins, then yields, then parks, low CPU usage when idle with better latency than BLOCKING
+     */
+    SLEEPING,
+    /**
+     * spins then yields, low latency but uses a core while waiting
+     */
+    YIELDING,
+    /**
+     * lowest latency but always uses a whole core, only suitable when more cores than threads are available
+     */
+    BUSY_SPIN;
+
+    public WaitStrategy waitStrategy() {
+        switch (this) {
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+}
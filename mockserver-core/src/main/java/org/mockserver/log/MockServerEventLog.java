@@ -1,13 +1,18 @@
 package org.mockserver.log;
 
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
 import org.mockserver.collections.CircularConcurrentLinkedDeque;
+import org.mockserver.collections.MergingIterator;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.LogEntryPage;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.LogEventRequestAndResponse;
@@ -24,7 +29,11 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -33,8 +42,12 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.log.model.LogEntry.LOG_ENTRY_TIME_COMPARATOR;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.logging.MockServerLogger.writeToSystemOut;
+import static org.mockserver.metrics.Metrics.Name.EVENT_LOG_DROPPED_COUNT;
+import static org.mockserver.metrics.Metrics.Name.EVENT_LOG_RING_BUFFER_OCCUPANCY;
 
 /**
  * @author jamesdbloom
@@ -51,19 +64,28 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     private static final Predicate<LogEntry> recordedExpectationLogPredicate = input
         -> input.getType() == FORWARDED_REQUEST;
     private static final Function<LogEntry, HttpRequest[]> logEntryToRequest = LogEntry::getHttpRequests;
-    private static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
-    private static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
+    public static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
+    public static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
         logEntry -> new LogEventRequestAndResponse()
             .withHttpRequest(logEntry.getHttpRequest())
             .withHttpResponse(logEntry.getHttpResponse())
             .withTimestamp(logEntry.getTimestamp());
-    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
+    private static final String[] EXCLUDED_FIELDS = {"id", "shards", "eventLogExporter", "bodyStore"};
     private MockServerLogger mockServerLogger;
-    private CircularConcurrentLinkedDeque<LogEntry> eventLog = new CircularConcurrentLinkedDeque<>(ConfigurationProperties.maxLogEntries(), LogEntry::clear);
+    private final EventLogShard[] shards;
+    private final Map<HttpRequest, VerificationCounter> verificationCounters = new ConcurrentHashMap<>();
     private MatcherBuilder matcherBuilder;
     private HttpRequestSerializer httpRequestSerializer;
     private final boolean asynchronousEventProcessing;
-    private Disruptor<LogEntry> disruptor;
+    private final AtomicLong sequence = new AtomicLong(0);
+    private final AtomicLong overflowCount = new AtomicLong(0);
+    private final AtomicLong storedLogEntriesCount = new AtomicLong(0);
+    private long maxRetainedBytesPerShard;
+    private long maxLogEntryAge;
+    private final EventLogExporter eventLogExporter;
+    private final EventLogAggregates aggregates;
+    private final EventLogSampler sampler;
+    private final EventLogBodyStore bodyStore;
 
     public MockServerEventLog(MockServerLogger mockServerLogger, Scheduler scheduler, boolean asynchronousEventProcessing) {
         super(scheduler);
@@ -71,88 +93,422 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(mockServerLogger);
         this.httpRequestSerializer = new HttpRequestSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
-        startRingBuffer();
+        int shardCount = asynchronousEventProcessing ? Math.max(1, ConfigurationProperties.eventLogShards()) : 1;
+        this.shards = new EventLogShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new EventLogShard(shardCount == 1 ? "EventLog" : "EventLog-" + i, maxSizePerShard(ConfigurationProperties.maxLogEntries(), shardCount));
+        }
+        setMaxRetainedBytes(ConfigurationProperties.maxLogRetainedBytes());
+        setMaxLogEntryAge(ConfigurationProperties.maxLogEntryAge());
+        if (isNotBlank(ConfigurationProperties.eventLogExportDirectory())) {
+            this.eventLogExporter = new EventLogExporter(
+                mockServerLogger,
+                ConfigurationProperties.eventLogExportDirectory(),
+                ConfigurationProperties.eventLogExportTypes(),
+                ConfigurationProperties.eventLogExportMaxFileSize(),
+                ConfigurationProperties.eventLogExportCompress()
+            );
+        } else {
+            this.eventLogExporter = null;
+        }
+        this.aggregates = ConfigurationProperties.eventLogAggregateOnly() ? new EventLogAggregates(ConfigurationProperties.eventLogAggregateSampleRate()) : null;
+        this.sampler = EventLogSampler.eventLogSampler(ConfigurationProperties.eventLogSampleRates(), ConfigurationProperties.eventLogExpectationSampleRates());
+        this.bodyStore = EventLogBodyStore.eventLogBodyStore(ConfigurationProperties.eventLogBodyDeduplicationMinSize());
+    }
+
+    /**
+     * Passes the aggregates to the consumer once all previously added log entries have been counted
+     * or null if the event log is not in aggregate only mode
+     */
+    public void retrieveAggregates(Consumer<EventLogAggregates> aggregatesConsumer) {
+        publishQuery(new LogEntry()
+            .setType(RUNNABLE)
+            .setConsumer(() -> aggregatesConsumer.accept(aggregates))
+        );
+    }
+
+    private static int maxSizePerShard(int maxSize, int shardCount) {
+        return (int) Math.ceil((double) maxSize / shardCount);
     }
 
     public void add(LogEntry logEntry) {
         if (asynchronousEventProcessing) {
-            if (!disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
-                // if ring buffer full only write WARN and ERROR to logger
-                if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
-                    logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
-                }
+            // log entries from the same thread always use the same shard so they are processed in order
+            EventLogShard shard = shards.length == 1 ? shards[0] : shards[(int) (Thread.currentThread().getId() % shards.length)];
+            if (!shard.disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
+                overflow(shard, logEntry);
             }
         } else {
-            processLogEntry(logEntry);
+            long logEntrySequence = processLogEntry(shards[0], logEntry);
+            notifyListeners(this, logEntrySequence, logEntrySequence);
+        }
+    }
+
+    private void overflow(EventLogShard shard, LogEntry logEntry) {
+        boolean block;
+        switch (ConfigurationProperties.eventLogOverflowPolicy()) {
+            case BLOCK:
+                block = true;
+                break;
+            case DROP_DEBUG_AND_TRACE:
+                block = logEntry.getLogLevel().toInt() >= Level.INFO.toInt();
+                break;
+            case SAMPLE:
+                block = overflowCount.incrementAndGet() % Math.max(1, ConfigurationProperties.eventLogOverflowSampleRate()) == 0;
+                break;
+            default:
+                block = false;
+        }
+        // never block the ring buffer thread on its own ring buffer
+        if (block && Thread.currentThread() != shard.handlerThread) {
+            shard.disruptor.publishEvent(logEntry);
+        } else {
+            Metrics.increment(EVENT_LOG_DROPPED_COUNT);
+            // if ring buffer full only write WARN and ERROR to logger
+            if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
+                logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
+            }
         }
     }
 
+    /**
+     * @return number of log entries waiting in all ring buffers
+     */
+    public long ringBufferOccupancy() {
+        long occupancy = 0;
+        for (EventLogShard shard : shards) {
+            RingBuffer<LogEntry> ringBuffer = shard.disruptor.getRingBuffer();
+            occupancy += ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+        }
+        return occupancy;
+    }
+
     public int size() {
-        return eventLog.size();
+        int size = 0;
+        for (EventLogShard shard : shards) {
+            size += shard.eventLog.size();
+        }
+        return size;
     }
 
     public void setMaxSize(int maxSize) {
-        eventLog.setMaxSize(maxSize);
+        for (EventLogShard shard : shards) {
+            shard.eventLog.setMaxSize(maxSizePerShard(maxSize, shards.length));
+        }
     }
 
-    private void startRingBuffer() {
-        disruptor = new Disruptor<>(LogEntry::new, ConfigurationProperties.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
+    /**
+     * @param maxRetainedBytes maximum estimated size in bytes of all log entries, 0 or less means no limit
+     */
+    public void setMaxRetainedBytes(long maxRetainedBytes) {
+        this.maxRetainedBytesPerShard = maxRetainedBytes > 0 ? (long) Math.ceil((double) maxRetainedBytes / shards.length) : 0;
+    }
+
+    /**
+     * @param maxLogEntryAge maximum age of log entries in milliseconds, 0 or less means no limit
+     */
+    public void setMaxLogEntryAge(long maxLogEntryAge) {
+        this.maxLogEntryAge = maxLogEntryAge;
+    }
 
-        final ExceptionHandler<LogEntry> errorHandler = new ExceptionHandler<LogEntry>() {
-            @Override
-            public void handleEventException(Throwable ex, long sequence, LogEntry logEntry) {
-                logger.error("Exception handling log entry in log ring buffer, for log entry: " + logEntry, ex);
+    /**
+     * Shards store log entries in parallel so a log entry can be visible before a log entry with a lower sequence number
+     * that another shard is still processing, the low-water mark is the highest sequence number at or below which every
+     * log entry has been processed so paging cursors and notified ranges never pass a log entry that appears later
+     *
+     * @return highest sequence number at or below which every log entry has been processed by its shard
+     */
+    public long lowWaterMark() {
+        long lowWaterMark = sequence.get();
+        for (EventLogShard shard : shards) {
+            synchronized (shard) {
+                // a shard assigns the sequence number and processes the log entry while holding its lock, so once the
+                // lock is free every sequence number the shard assigned up to the low-water mark has been processed
             }
+        }
+        return lowWaterMark;
+    }
+
+    /**
+     * @return number of log entries stored since the event log was created, entries that were only aggregated or sampled out are not included
+     */
+    public long storedLogEntriesCount() {
+        return storedLogEntriesCount.get();
+    }
 
-            @Override
-            public void handleOnStartException(Throwable ex) {
-                logger.error("Exception starting log ring buffer", ex);
+    /**
+     * @return estimated size in bytes of all log entries
+     */
+    public long retainedBytes() {
+        long retainedBytes = 0;
+        for (EventLogShard shard : shards) {
+            retainedBytes += shard.retainedBytes.get();
+        }
+        return retainedBytes;
+    }
+
+    private class EventLogShard {
+        private final CircularConcurrentLinkedDeque<LogEntry> eventLog;
+        // the same log entries ordered by time so time range queries and clears can seek directly to the first entry in range
+        private final ConcurrentSkipListSet<LogEntry> timeIndex = new ConcurrentSkipListSet<>(LOG_ENTRY_TIME_COMPARATOR);
+        private final AtomicLong retainedBytes = new AtomicLong(0);
+        private final Disruptor<LogEntry> disruptor;
+        private long batchFirstSequence = -1;
+        private long batchLastSequence = -1;
+        private volatile Thread handlerThread;
+
+        private EventLogShard(String name, int maxSize) {
+            eventLog = new CircularConcurrentLinkedDeque<>(maxSize, logEntry -> evict(this, logEntry));
+            disruptor = new Disruptor<>(LogEntry::new, ConfigurationProperties.ringBufferSize(), new Scheduler.SchedulerThreadFactory(name), ProducerType.MULTI, ConfigurationProperties.eventLogWaitStrategy().waitStrategy());
+
+            final ExceptionHandler<LogEntry> errorHandler = new ExceptionHandler<LogEntry>() {
+                @Override
+                public void handleEventException(Throwable ex, long sequence, LogEntry logEntry) {
+                    logger.error("Exception handling log entry in log ring buffer, for log entry: " + logEntry, ex);
+                }
+
+                @Override
+                public void handleOnStartException(Throwable ex) {
+                    logger.error("Exception starting log ring buffer", ex);
+                }
+
+                @Override
+                public void handleOnShutdownException(Throwable ex) {
+                    logger.error("Exception during shutdown of log ring buffer", ex);
+                }
+            };
+            disruptor.setDefaultExceptionHandler(errorHandler);
+
+            disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
+                if (handlerThread == null) {
+                    handlerThread = Thread.currentThread();
+                }
+                if (logEntry.getType() != RUNNABLE) {
+                    // copy out of the ring buffer slot as the slot is reused once the ring buffer wraps
+                    batchLastSequence = processLogEntry(this, logEntry.cloneAndClear());
+                    if (batchFirstSequence == -1) {
+                        batchFirstSequence = batchLastSequence;
+                    }
+                } else {
+                    // queries must not see log entries that expired since the last log entry was added
+                    evictExpiredLogEntries(this);
+                    logEntry.getConsumer().run();
+                }
+                if (endOfBatch && batchFirstSequence != -1) {
+                    // notify once per batch so listeners don't slow down the ring buffer during bursts
+                    notifyListeners(MockServerEventLog.this, batchFirstSequence, batchLastSequence);
+                    batchFirstSequence = -1;
+                }
+                if (endOfBatch && ConfigurationProperties.metricsEnabled()) {
+                    Metrics.set(EVENT_LOG_RING_BUFFER_OCCUPANCY, (int) ringBufferOccupancy());
+                }
+            });
+
+            disruptor.start();
+        }
+    }
+
+    private long processLogEntry(EventLogShard shard, LogEntry logEntry) {
+        // each shard only takes its own lock so shards add log entries in parallel, the sequence number is
+        // assigned under the shard lock so every shard holds its log entries in sequence order
+        synchronized (shard) {
+            logEntry.setSequence(sequence.incrementAndGet());
+            // in aggregate only mode most request and response entries are only counted
+            boolean aggregated = aggregates != null && !aggregates.aggregate(logEntry);
+            boolean sampledOut = !aggregated && sampler != null && !sampler.sampled(logEntry);
+            boolean stored = !aggregated && !sampledOut && shard.eventLog.add(logEntry);
+            if (stored) {
+                shard.timeIndex.add(logEntry);
+                if (bodyStore != null) {
+                    // bodies already retained by other log entries are only counted once
+                    logEntry.setRetainedSize(logEntry.getRetainedSize() - bodyStore.share(logEntry));
+                }
+                shard.retainedBytes.addAndGet(logEntry.getRetainedSize());
+                storedLogEntriesCount.incrementAndGet();
+            }
+            if (logEntry.getType() == RECEIVED_REQUEST) {
+                for (VerificationCounter verificationCounter : verificationCounters.values()) {
+                    if (stored) {
+                        verificationCounter.added(logEntry);
+                    } else if (aggregated || sampledOut) {
+                        // only counted so registered verifications see every request without retaining anything per request
+                        verificationCounter.counted(logEntry);
+                    }
+                }
             }
+            if (stored) {
+                if (maxRetainedBytesPerShard > 0) {
+                    // always keep the newest entry even if it is bigger than the whole budget
+                    while (shard.retainedBytes.get() > maxRetainedBytesPerShard && shard.eventLog.peekFirst() != logEntry && shard.eventLog.evictOldest()) {
+                        // evict oldest until within budget
+                    }
+                }
+                evictExpiredLogEntries(shard);
+            }
+        }
+        if (eventLogExporter != null) {
+            eventLogExporter.export(logEntry);
+        }
+        writeToSystemOut(logger, logEntry);
+        return logEntry.getSequence();
+    }
 
-            @Override
-            public void handleOnShutdownException(Throwable ex) {
-                logger.error("Exception during shutdown of log ring buffer", ex);
+    private void evictExpiredLogEntries(EventLogShard shard) {
+        if (maxLogEntryAge > 0) {
+            // entries are stored oldest first so only the head of the log needs to be checked
+            long oldestRetained = TimeService.currentTimeMillis() - maxLogEntryAge;
+            synchronized (shard) {
+                LogEntry oldest = shard.eventLog.peekFirst();
+                while (oldest != null && oldest.getEpochTime() < oldestRetained && shard.eventLog.evictOldest()) {
+                    oldest = shard.eventLog.peekFirst();
+                }
             }
-        };
-        disruptor.setDefaultExceptionHandler(errorHandler);
+        }
+    }
 
-        disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
-            if (logEntry.getType() != RUNNABLE) {
-                processLogEntry(logEntry);
-            } else {
-                logEntry.getConsumer().run();
+    /**
+     * Runs the action while holding the lock of every shard so no log entry can be added or evicted meanwhile, shard
+     * locks are always taken in the same order and adding a log entry only holds the lock of its own shard so this can't deadlock
+     */
+    private void withAllShardsLocked(int shardIndex, Runnable action) {
+        if (shardIndex == shards.length) {
+            action.run();
+        } else {
+            synchronized (shards[shardIndex]) {
+                withAllShardsLocked(shardIndex + 1, action);
             }
-        });
+        }
+    }
 
-        disruptor.start();
+    // called by the event log of the shard which is only modified while holding the shard lock
+    private void evict(EventLogShard shard, LogEntry logEntry) {
+        shard.timeIndex.remove(logEntry);
+        shard.retainedBytes.addAndGet(-logEntry.getRetainedSize());
+        if (bodyStore != null) {
+            bodyStore.release(logEntry);
+        }
+        // entries are not cleared as queries running on other shards may still be reading them
+        if (logEntry.getType() == RECEIVED_REQUEST) {
+            for (VerificationCounter verificationCounter : verificationCounters.values()) {
+                verificationCounter.evicted(logEntry);
+            }
+        }
     }
 
-    private void processLogEntry(LogEntry logEntry) {
-        eventLog.add(logEntry);
-        notifyListeners(this);
-        writeToSystemOut(logger, logEntry);
+    /**
+     * Runs the consumer of a RUNNABLE log entry once every shard has processed all log entries added before it,
+     * the consumer runs on the thread of the last shard to reach it and the other shards continue processing
+     */
+    private void publishQuery(LogEntry runnableLogEntry) {
+        if (shards.length == 1) {
+            shards[0].disruptor.publishEvent(runnableLogEntry);
+        } else {
+            Runnable query = runnableLogEntry.getConsumer();
+            AtomicInteger remainingShards = new AtomicInteger(shards.length);
+            for (EventLogShard shard : shards) {
+                shard.disruptor.publishEvent(new LogEntry()
+                    .setType(RUNNABLE)
+                    .setConsumer(() -> {
+                        if (remainingShards.decrementAndGet() == 0) {
+                            query.run();
+                        }
+                    })
+                );
+            }
+        }
+    }
+
+    /**
+     * @return log entries from every shard merged in sequence order
+     */
+    private Stream<LogEntry> eventLogStream() {
+        if (shards.length == 1) {
+            return shards[0].eventLog.stream();
+        } else {
+            List<Iterator<LogEntry>> shardIterators = new ArrayList<>();
+            for (EventLogShard shard : shards) {
+                shardIterators.add(shard.eventLog.iterator());
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new MergingIterator<>(Comparator.comparingLong(LogEntry::getSequence), shardIterators), Spliterator.ORDERED), false);
+        }
+    }
+
+    /**
+     * @return log entries logged between start time and end time (inclusive) in sequence order, found by seeking the time index of each shard
+     * <p>
+     * the time of a log entry is set when it is created, before its sequence number is assigned, so time order doesn't follow sequence order
+     * and the entries in the range are sorted by sequence number so the cursor of a page (the last sequence number returned) doesn't skip any
+     */
+    private Stream<LogEntry> eventLogStream(Long startTime, Long endTime, Predicate<LogEntry> pageFilter) {
+        List<LogEntry> logEntries = new ArrayList<>();
+        for (EventLogShard shard : shards) {
+            for (LogEntry logEntry : timeRange(shard, startTime, endTime)) {
+                if (pageFilter.test(logEntry)) {
+                    logEntries.add(logEntry);
+                }
+            }
+        }
+        logEntries.sort(Comparator.comparingLong(LogEntry::getSequence));
+        return logEntries.stream();
+    }
+
+    private NavigableSet<LogEntry> timeRange(EventLogShard shard, Long startTime, Long endTime) {
+        LogEntry fromElement = new LogEntry().setEpochTime(startTime != null ? startTime : Long.MIN_VALUE).setSequence(Long.MIN_VALUE);
+        LogEntry toElement = new LogEntry().setEpochTime(endTime != null ? endTime : Long.MAX_VALUE).setSequence(Long.MAX_VALUE);
+        return shard.timeIndex.subSet(fromElement, true, toElement, true);
+    }
+
+    private Stream<LogEntry> eventLogStreamInReverse() {
+        if (shards.length == 1) {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(shards[0].eventLog.descendingIterator(), 0), false);
+        } else {
+            List<Iterator<LogEntry>> shardIterators = new ArrayList<>();
+            for (EventLogShard shard : shards) {
+                shardIterators.add(shard.eventLog.descendingIterator());
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new MergingIterator<>(Comparator.comparingLong(LogEntry::getSequence).reversed(), shardIterators), Spliterator.ORDERED), false);
+        }
     }
 
     public void stop() {
-        try {
-            disruptor.shutdown(2, SECONDS);
-        } catch (Throwable throwable) {
-            if (!(throwable instanceof com.lmax.disruptor.TimeoutException)) {
-                writeToSystemOut(logger, new LogEntry()
-                    .setLogLevel(Level.WARN)
-                    .setMessageFormat("exception while shutting down log ring buffer")
-                    .setThrowable(throwable)
-                );
+        for (EventLogShard shard : shards) {
+            try {
+                shard.disruptor.shutdown(2, SECONDS);
+            } catch (Throwable throwable) {
+                if (!(throwable instanceof com.lmax.disruptor.TimeoutException)) {
+                    writeToSystemOut(logger, new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception while shutting down log ring buffer")
+                        .setThrowable(throwable)
+                    );
+                }
             }
         }
+        if (eventLogExporter != null) {
+            eventLogExporter.stop();
+        }
     }
 
     public void reset() {
         CompletableFuture<String> future = new CompletableFuture<>();
-        disruptor.publishEvent(new LogEntry()
+        publishQuery(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
-                eventLog.clear();
+                withAllShardsLocked(0, () -> {
+                    for (EventLogShard shard : shards) {
+                        shard.eventLog.clear();
+                    }
+                    verificationCounters.clear();
+                    if (aggregates != null) {
+                        aggregates.clear(null);
+                    }
+                    if (sampler != null) {
+                        sampler.clear();
+                    }
+                    if (bodyStore != null) {
+                        bodyStore.clear();
+                    }
+                });
                 future.complete("done");
                 notifyListeners(this);
             })
@@ -164,31 +520,94 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     public void clear(HttpRequest httpRequest) {
+        clear(httpRequest, null, null);
+    }
+
+    /**
+     * Clears log entries matching the request that were logged between start time and end time (inclusive), clearing
+     * all log entries up to an end time only removes entries from the head of the log so can be done frequently
+     * <p>
+     * requests that were only aggregated or sampled out are counted by registered verifications without a time, so those
+     * counts are only cleared when no time range is given
+     *
+     * @param startTime epoch time in milliseconds, if null log entries are not filtered by start time
+     * @param endTime   epoch time in milliseconds, if null log entries are not filtered by end time
+     */
+    public void clear(HttpRequest httpRequest, Long startTime, Long endTime) {
+        if (startTime == null && endTime == null) {
+            clearLogEntries(httpRequest);
+        } else {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            publishQuery(new LogEntry()
+                .setType(RUNNABLE)
+                .setConsumer(() -> {
+                    HttpRequestMatcher requestMatcher = httpRequest != null ? matcherBuilder.transformsToMatcher(httpRequest) : null;
+                    for (EventLogShard shard : shards) {
+                        synchronized (shard) {
+                            if (requestMatcher == null && startTime == null) {
+                                // entries are stored oldest first so entries up to the end time are at the head of the log
+                                LogEntry oldest = shard.eventLog.peekFirst();
+                                while (oldest != null && oldest.getEpochTime() <= endTime && shard.eventLog.evictOldest()) {
+                                    oldest = shard.eventLog.peekFirst();
+                                }
+                            }
+                            // entries logged out of order with the head of the log
+                            for (LogEntry logEntry : new ArrayList<>(timeRange(shard, startTime, endTime))) {
+                                if (requestMatcher == null || logEntry.matches(requestMatcher)) {
+                                    shard.eventLog.removeItem(logEntry);
+                                }
+                            }
+                        }
+                    }
+                    future.complete("done");
+                    notifyListeners(this);
+                })
+            );
+            try {
+                future.get(2, SECONDS);
+            } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
+            }
+        }
+    }
+
+    private void clearLogEntries(HttpRequest httpRequest) {
         CompletableFuture<String> future = new CompletableFuture<>();
-        disruptor.publishEvent(new LogEntry()
+        publishQuery(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
-                if (httpRequest != null) {
-                    HttpRequestMatcher requestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-                    for (LogEntry logEntry : new LinkedList<>(eventLog)) {
-                        HttpRequest[] requests = logEntry.getHttpRequests();
-                        boolean matches = false;
-                        if (requests != null) {
-                            for (HttpRequest request : requests) {
-                                if (requestMatcher.matches(request)) {
+                HttpRequestMatcher requestMatcher = httpRequest != null ? matcherBuilder.transformsToMatcher(httpRequest) : null;
+                for (EventLogShard shard : shards) {
+                    synchronized (shard) {
+                        if (requestMatcher != null) {
+                            for (LogEntry logEntry : new LinkedList<>(shard.eventLog)) {
+                                HttpRequest[] requests = logEntry.getHttpRequests();
+                                boolean matches = false;
+                                if (requests != null) {
+                                    for (HttpRequest request : requests) {
+                                        if (requestMatcher.matches(request)) {
+                                            matches = true;
+                                        }
+                                    }
+                                } else {
                                     matches = true;
                                 }
+                                if (matches) {
+                                    shard.eventLog.removeItem(logEntry);
+                                }
                             }
                         } else {
-                            matches = true;
-                        }
-                        if (matches) {
-                            eventLog.removeItem(logEntry);
+                            shard.eventLog.clear();
                         }
                     }
-                } else {
-                    eventLog.clear();
                 }
+                if (aggregates != null) {
+                    aggregates.clear(requestMatcher);
+                }
+                verificationCounters.forEach((verificationHttpRequest, verificationCounter) -> {
+                    if (requestMatcher == null || requestMatcher.matches(verificationHttpRequest)) {
+                        verificationCounter.clearUnstored();
+                    }
+                });
                 future.complete("done");
                 notifyListeners(this);
             })
@@ -215,6 +634,42 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         );
     }
 
+    public void retrieveMessageLogEntries(HttpRequest httpRequest, LogEntryPage logEntryPage, Consumer<Stream<LogEntry>> streamConsumer) {
+        retrieveLogEntries(
+            httpRequest,
+            logEntryPage,
+            logEntry -> true,
+            streamConsumer
+        );
+    }
+
+    public void retrieveRequestLogEntries(HttpRequest httpRequest, LogEntryPage logEntryPage, Consumer<Stream<LogEntry>> streamConsumer) {
+        retrieveLogEntries(
+            httpRequest,
+            logEntryPage,
+            requestLogPredicate,
+            streamConsumer
+        );
+    }
+
+    public void retrieveRequestResponseMessageLogEntries(HttpRequest httpRequest, LogEntryPage logEntryPage, Consumer<Stream<LogEntry>> streamConsumer) {
+        retrieveLogEntries(
+            httpRequest,
+            logEntryPage,
+            requestResponseLogPredicate,
+            streamConsumer
+        );
+    }
+
+    public void retrieveRecordedExpectationLogEntries(HttpRequest httpRequest, LogEntryPage logEntryPage, Consumer<Stream<LogEntry>> streamConsumer) {
+        retrieveLogEntries(
+            httpRequest,
+            logEntryPage,
+            recordedExpectationLogPredicate,
+            streamConsumer
+        );
+    }
+
     public void retrieveRequests(HttpRequest httpRequest, Consumer<List<HttpRequest>> listConsumer) {
         retrieveLogEntries(
             httpRequest,
@@ -264,26 +719,45 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     private void retrieveLogEntries(HttpRequest httpRequest, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
-        disruptor.publishEvent(new LogEntry()
+        retrieveLogEntries(httpRequest, null, logEntryPredicate, consumer);
+    }
+
+    private void retrieveLogEntries(HttpRequest httpRequest, LogEntryPage logEntryPage, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
+        publishQuery(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-                consumer.accept(this.eventLog
-                    .stream()
+                Stream<LogEntry> logEntryStream;
+                if (logEntryPage != null) {
+                    // log entries still being processed by other shards are left for the next page so the cursor doesn't pass them
+                    long lowWaterMark = lowWaterMark();
+                    Predicate<LogEntry> pageFilter = logEntry -> logEntry.getSequence() <= lowWaterMark && logEntryPage.includes(logEntry);
+                    if (logEntryPage.isTimeRange()) {
+                        logEntryStream = eventLogStream(logEntryPage.getStartTime(), logEntryPage.getTo(), pageFilter);
+                    } else {
+                        // page filter first as it is much cheaper than request matching
+                        logEntryStream = eventLogStream().filter(pageFilter);
+                    }
+                } else {
+                    logEntryStream = eventLogStream();
+                }
+                logEntryStream = logEntryStream
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                );
+                    .filter(logEntryPredicate);
+                if (logEntryPage != null && logEntryPage.isLimited()) {
+                    logEntryStream = logEntryStream.limit(logEntryPage.getLimit());
+                }
+                consumer.accept(logEntryStream);
             })
         );
     }
 
     private <T> void retrieveLogEntries(HttpRequest httpRequest, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
+        publishQuery(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-                consumer.accept(this.eventLog
-                    .stream()
+                consumer.accept(eventLogStream()
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                     .map(logEntryMapper)
@@ -293,13 +767,12 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     public <T> void retrieveLogEntriesInReverse(HttpRequest httpRequest, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
+        publishQuery(new LogEntry()
             .setType(RUNNABLE)
             .setConsumer(() -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
                 consumer.accept(
-                    StreamSupport
-                        .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
+                    eventLogStreamInReverse()
                         .filter(logItem -> logItem.matches(httpRequestMatcher))
                         .filter(logEntryPredicate)
                         .map(logEntryMapper)
@@ -308,6 +781,42 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         );
     }
 
+    /**
+     * Maintain a live count of received requests matching each pattern so that later verifications
+     * using exactly the same request pattern do not need to scan the event log
+     *
+     * @param httpRequests the request patterns that will be verified
+     */
+    public void registerVerification(HttpRequest... httpRequests) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        publishQuery(new LogEntry()
+            .setType(RUNNABLE)
+            .setConsumer(() -> {
+                // hold every shard lock so no log entry is missed or counted twice by shards still adding log entries
+                withAllShardsLocked(0, () -> {
+                    for (HttpRequest httpRequest : httpRequests) {
+                        if (httpRequest != null && !verificationCounters.containsKey(httpRequest)) {
+                            VerificationCounter verificationCounter = new VerificationCounter(matcherBuilder.transformsToMatcher(httpRequest));
+                            eventLogStream()
+                                .filter(requestLogPredicate)
+                                .forEach(verificationCounter::added);
+                            verificationCounters.put(httpRequest, verificationCounter);
+                        }
+                    }
+                });
+                future.complete("done");
+            })
+        );
+        try {
+            future.get(2, SECONDS);
+        } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
+        }
+    }
+
+    public boolean isVerificationRegistered(HttpRequest httpRequest) {
+        return httpRequest != null && verificationCounters.containsKey(httpRequest);
+    }
+
     public Future<String> verify(Verification verification) {
         CompletableFuture<String> result = new CompletableFuture<>();
         verify(verification, result::complete);
@@ -316,33 +825,83 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
     public void verify(Verification verification, Consumer<String> resultConsumer) {
         if (verification != null) {
-            retrieveRequests(verification.getHttpRequest(), httpRequests -> {
-                if (!verification.getTimes().matches(httpRequests.size())) {
-                    retrieveRequests(null, allRequests -> {
-                        String failureMessage;
-                        String serializedRequestToBeVerified = httpRequestSerializer.serialize(true, verification.getHttpRequest());
-                        String serializedAllRequestInLog = allRequests.size() == 1 ? httpRequestSerializer.serialize(true, allRequests.get(0)) : httpRequestSerializer.serialize(true, allRequests);
-                        failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
-                        final Object[] arguments = new Object[]{verification.getHttpRequest(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
-                        mockServerLogger.logEvent(
-                            new LogEntry()
-                                .setType(VERIFICATION_FAILED)
-                                .setLogLevel(Level.INFO)
-                                .setHttpRequest(verification.getHttpRequest())
-                                .setMessageFormat("request not found " + verification.getTimes() + ", expected:{}but was:{}")
-                                .setArguments(arguments)
-                        );
-                        resultConsumer.accept(failureMessage);
-                    });
-                } else {
-                    resultConsumer.accept("");
+            VerificationCounter verificationCounter = verification.getHttpRequest() != null ? verificationCounters.get(verification.getHttpRequest()) : null;
+            if (aggregates != null && verification.getHttpRequest() != null && EventLogAggregates.isRouteOnly(verification.getHttpRequest())) {
+                // most requests are only counted so verify against the counts
+                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verification.getHttpRequest());
+                if (aggregates.hasOtherRoutes()) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.WARN)
+                            .setHttpRequest(verification.getHttpRequest())
+                            .setMessageFormat("verification for request:{}may count too few requests, more than " + EventLogAggregates.MAX_ROUTES + " methods and paths have been received so the requests for the methods and paths received after that are only counted together")
+                            .setArguments(verification.getHttpRequest())
+                    );
                 }
-            });
+                publishQuery(new LogEntry()
+                    .setType(RUNNABLE)
+                    .setConsumer(() -> {
+                        if (!verification.getTimes().matches((int) Math.min(aggregates.count(httpRequestMatcher), Integer.MAX_VALUE))) {
+                            verificationFailed(verification, resultConsumer);
+                        } else {
+                            resultConsumer.accept("");
+                        }
+                    })
+                );
+            } else if (verificationCounter != null) {
+                // read counter on the ring buffer thread so all previously logged requests are counted
+                publishQuery(new LogEntry()
+                    .setType(RUNNABLE)
+                    .setConsumer(() -> {
+                        if (!verification.getTimes().matches(verificationCounter.count())) {
+                            verificationFailed(verification, resultConsumer);
+                        } else {
+                            resultConsumer.accept("");
+                        }
+                    })
+                );
+            } else {
+                if (aggregates != null || (sampler != null && sampler.samplesReceivedRequests())) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.WARN)
+                            .setHttpRequest(verification.getHttpRequest())
+                            .setMessageFormat("verification for request:{}only counts the received requests kept in the event log, requests that were only aggregated or sampled out are not counted, register the verification before the requests are received to count every request")
+                            .setArguments(verification.getHttpRequest())
+                    );
+                }
+                retrieveRequests(verification.getHttpRequest(), httpRequests -> {
+                    if (!verification.getTimes().matches(httpRequests.size())) {
+                        verificationFailed(verification, resultConsumer);
+                    } else {
+                        resultConsumer.accept("");
+                    }
+                });
+            }
         } else {
             resultConsumer.accept("");
         }
     }
 
+    private void verificationFailed(Verification verification, Consumer<String> resultConsumer) {
+        retrieveRequests(null, allRequests -> {
+            String failureMessage;
+            String serializedRequestToBeVerified = httpRequestSerializer.serialize(true, verification.getHttpRequest());
+            String serializedAllRequestInLog = allRequests.size() == 1 ? httpRequestSerializer.serialize(true, allRequests.get(0)) : httpRequestSerializer.serialize(true, allRequests);
+            failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
+            final Object[] arguments = new Object[]{verification.getHttpRequest(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(VERIFICATION_FAILED)
+                    .setLogLevel(Level.INFO)
+                    .setHttpRequest(verification.getHttpRequest())
+                    .setMessageFormat("request not found " + verification.getTimes() + ", expected:{}but was:{}")
+                    .setArguments(arguments)
+            );
+            resultConsumer.accept(failureMessage);
+        });
+    }
+
     public Future<String> verify(VerificationSequence verification) {
         CompletableFuture<String> result = new CompletableFuture<>();
         verify(verification, result::complete);
@@ -350,40 +909,124 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     public void verify(VerificationSequence verificationSequence, Consumer<String> resultConsumer) {
-        retrieveRequests(null, allRequests -> {
-            String failureMessage = "";
-            if (verificationSequence != null) {
-                int requestLogCounter = 0;
-                for (HttpRequest verificationHttpRequest : verificationSequence.getHttpRequests()) {
-                    if (verificationHttpRequest != null) {
-                        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
-                        boolean foundRequest = false;
-                        for (; !foundRequest && requestLogCounter < allRequests.size(); requestLogCounter++) {
-                            if (httpRequestMatcher.matches(allRequests.get(requestLogCounter))) {
-                                // move on to next request
-                                foundRequest = true;
-                            }
-                        }
-                        if (!foundRequest) {
-                            String serializedRequestToBeVerified = httpRequestSerializer.serialize(true, verificationSequence.getHttpRequests());
-                            String serializedAllRequestInLog = allRequests.size() == 1 ? httpRequestSerializer.serialize(true, allRequests.get(0)) : httpRequestSerializer.serialize(true, allRequests);
-                            failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
-                            final Object[] arguments = new Object[]{verificationSequence.getHttpRequests(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setType(VERIFICATION_FAILED)
-                                    .setLogLevel(Level.INFO)
-                                    .setHttpRequests(verificationSequence.getHttpRequests().toArray(new HttpRequest[0]))
-                                    .setMessageFormat("request sequence not found, expected:{}but was:{}")
-                                    .setArguments(arguments)
-                            );
+        List<VerificationCounter> sequenceCounters = verificationSequenceCounters(verificationSequence);
+        if (sequenceCounters != null) {
+            publishQuery(new LogEntry()
+                .setType(RUNNABLE)
+                .setConsumer(() -> {
+                    long previousMatch = 0;
+                    for (VerificationCounter verificationCounter : sequenceCounters) {
+                        previousMatch = verificationCounter.firstAfter(previousMatch);
+                        if (previousMatch == -1) {
                             break;
                         }
                     }
+                    if (previousMatch == -1) {
+                        verifyByScanningLog(verificationSequence, resultConsumer);
+                    } else {
+                        resultConsumer.accept("");
+                    }
+                })
+            );
+        } else {
+            verifyByScanningLog(verificationSequence, resultConsumer);
+        }
+    }
+
+    private List<VerificationCounter> verificationSequenceCounters(VerificationSequence verificationSequence) {
+        if (verificationSequence == null || verificationCounters.isEmpty()) {
+            return null;
+        }
+        List<VerificationCounter> sequenceCounters = new ArrayList<>();
+        for (HttpRequest verificationHttpRequest : verificationSequence.getHttpRequests()) {
+            if (verificationHttpRequest != null) {
+                VerificationCounter verificationCounter = verificationCounters.get(verificationHttpRequest);
+                if (verificationCounter == null) {
+                    // only use counters when every request in the sequence is registered
+                    return null;
                 }
+                sequenceCounters.add(verificationCounter);
             }
-            resultConsumer.accept(failureMessage);
-        });
+        }
+        return sequenceCounters;
+    }
+
+    private void verifyByScanningLog(VerificationSequence verificationSequence, Consumer<String> resultConsumer) {
+        publishQuery(new LogEntry()
+            .setType(RUNNABLE)
+            .setConsumer(() -> {
+                String failureMessage = "";
+                if (verificationSequence != null) {
+                    // single pass over the log that stops as soon as the whole sequence has been found
+                    Iterator<HttpRequest> requestLog = receivedRequests().iterator();
+                    int requestLogCounter = 0;
+                    int matchedRequests = 0;
+                    int lastMatchedRequest = 0;
+                    for (HttpRequest verificationHttpRequest : verificationSequence.getHttpRequests()) {
+                        if (verificationHttpRequest != null) {
+                            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
+                            boolean foundRequest = false;
+                            while (!foundRequest && requestLog.hasNext()) {
+                                foundRequest = httpRequestMatcher.matches(requestLog.next());
+                                requestLogCounter++;
+                            }
+                            if (!foundRequest) {
+                                // the whole log has been read so the counter is the total number of requests
+                                failureMessage = sequenceVerificationFailed(verificationSequence, matchedRequests, lastMatchedRequest, requestLogCounter);
+                                break;
+                            }
+                            matchedRequests++;
+                            lastMatchedRequest = requestLogCounter - 1;
+                        }
+                    }
+                }
+                resultConsumer.accept(failureMessage);
+            })
+        );
+    }
+
+    private String sequenceVerificationFailed(VerificationSequence verificationSequence, int matchedRequests, int lastMatchedRequest, int totalRequests) {
+        boolean fullReport = ConfigurationProperties.fullVerificationFailureReports();
+        int maxRequests = ConfigurationProperties.maxVerificationFailureRequests();
+        List<HttpRequest> reportedRequests;
+        int firstReportedRequest = 0;
+        if (fullReport || totalRequests <= maxRequests) {
+            reportedRequests = receivedRequests().collect(Collectors.toList());
+        } else {
+            // only report the requests closest to where the sequence stopped matching, starting from the last matched request
+            firstReportedRequest = Math.max(0, Math.min(lastMatchedRequest, totalRequests - maxRequests));
+            reportedRequests = receivedRequests().skip(firstReportedRequest).limit(maxRequests).collect(Collectors.toList());
+        }
+        String serializedRequestToBeVerified = httpRequestSerializer.serialize(true, verificationSequence.getHttpRequests());
+        String serializedRequestsInLog = reportedRequests.size() == 1 ? httpRequestSerializer.serialize(true, reportedRequests.get(0)) : httpRequestSerializer.serialize(true, reportedRequests);
+        int maxMessageLength = ConfigurationProperties.maxVerificationFailureMessageLength();
+        boolean truncated = reportedRequests.size() < totalRequests;
+        if (!fullReport && serializedRequestsInLog.length() > maxMessageLength) {
+            serializedRequestsInLog = serializedRequestsInLog.substring(0, maxMessageLength) + "...";
+            truncated = true;
+        }
+        String failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedRequestsInLog + ">";
+        if (truncated) {
+            failureMessage += ", matched first " + matchedRequests + " of " + verificationSequence.getHttpRequests().size() + " requests in sequence, showing " + reportedRequests.size() + " of " + totalRequests + " requests from request " + (firstReportedRequest + 1);
+        }
+        final Object[] arguments = new Object[]{verificationSequence.getHttpRequests(), reportedRequests.size() == 1 ? reportedRequests.get(0) : reportedRequests};
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(VERIFICATION_FAILED)
+                .setLogLevel(Level.INFO)
+                .setHttpRequests(verificationSequence.getHttpRequests().toArray(new HttpRequest[0]))
+                .setMessageFormat("request sequence not found, expected:{}but was:{}")
+                .setArguments(arguments)
+        );
+        return failureMessage;
+    }
+
+    private Stream<HttpRequest> receivedRequests() {
+        return eventLogStream()
+            .filter(requestLogPredicate)
+            .map(logEntryToRequest)
+            .filter(Objects::nonNull)
+            .flatMap(Arrays::stream);
     }
 
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
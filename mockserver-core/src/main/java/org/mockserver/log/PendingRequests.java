@@ -0,0 +1,69 @@
+package org.mockserver.log;
+
+import org.mockserver.model.HttpRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State kept for each received request until its response is logged, the same request object is logged when received,
+ * matched and responded to so requests are tracked by identity
+ * <p>
+ * requests where the response is never logged (i.e. connection closed) would otherwise be retained forever, so once the
+ * maximum size is reached the oldest request is removed for each new request
+ * <p>
+ * not thread safe, callers synchronize
+ *
+ * @author jamesdbloom
+ */
+class PendingRequests<T> {
+
+    private final Map<RequestIdentity, T> pendingRequests;
+
+    PendingRequests(int maxSize) {
+        this.pendingRequests = new LinkedHashMap<RequestIdentity, T>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RequestIdentity, T> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    void put(HttpRequest httpRequest, T value) {
+        pendingRequests.put(new RequestIdentity(httpRequest), value);
+    }
+
+    T get(HttpRequest httpRequest) {
+        return pendingRequests.get(new RequestIdentity(httpRequest));
+    }
+
+    T remove(HttpRequest httpRequest) {
+        return pendingRequests.remove(new RequestIdentity(httpRequest));
+    }
+
+    int size() {
+        return pendingRequests.size();
+    }
+
+    void clear() {
+        pendingRequests.clear();
+    }
+
+    private static class RequestIdentity {
+        private final HttpRequest httpRequest;
+
+        private RequestIdentity(HttpRequest httpRequest) {
+            this.httpRequest = httpRequest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RequestIdentity && ((RequestIdentity) o).httpRequest == httpRequest;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(httpRequest);
+        }
+    }
+}
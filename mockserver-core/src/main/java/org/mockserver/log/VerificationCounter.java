@@ -0,0 +1,99 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.HttpRequestMatcher;
+
+import java.util.Arrays;
+
+/**
+ * Live count of the received requests in the event log that match a registered verification pattern,
+ * the sequence numbers of matching log entries are kept in ascending order so sequence verifications
+ * can find the next match with a binary search instead of rescanning the event log
+ * <p>
+ * requests that were only aggregated or sampled out are not in the event log so they can't be evicted and have no
+ * place in a sequence, they are only counted and the count is reset when the matching requests are cleared
+ * <p>
+ * synchronized because shards add log entries in parallel, so a sequence number can also arrive after a higher one
+ *
+ * @author jamesdbloom
+ */
+class VerificationCounter {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private final HttpRequestMatcher httpRequestMatcher;
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+    private long unstoredCount;
+
+    VerificationCounter(HttpRequestMatcher httpRequestMatcher) {
+        this.httpRequestMatcher = httpRequestMatcher;
+    }
+
+    synchronized void added(LogEntry logEntry) {
+        if (logEntry.matches(httpRequestMatcher)) {
+            if (tail == sequences.length) {
+                if (head > sequences.length / 2) {
+                    // more than half already evicted so compact instead of growing
+                    System.arraycopy(sequences, head, sequences, 0, tail - head);
+                } else {
+                    sequences = Arrays.copyOfRange(sequences, head, sequences.length * 2);
+                }
+                tail -= head;
+                head = 0;
+            }
+            long sequence = logEntry.getSequence();
+            if (head == tail || sequences[tail - 1] < sequence) {
+                sequences[tail++] = sequence;
+            } else {
+                // added by a shard after a later match from another shard
+                int index = Arrays.binarySearch(sequences, head, tail, sequence);
+                if (index < 0) {
+                    index = -index - 1;
+                    System.arraycopy(sequences, index, sequences, index + 1, tail - index);
+                    sequences[index] = sequence;
+                    tail++;
+                }
+            }
+        }
+    }
+
+    synchronized void evicted(LogEntry logEntry) {
+        // log entries are evicted oldest first so an evicted match is always at the head
+        if (head < tail && sequences[head] == logEntry.getSequence()) {
+            head++;
+        } else {
+            int index = Arrays.binarySearch(sequences, head, tail, logEntry.getSequence());
+            if (index >= 0) {
+                System.arraycopy(sequences, index + 1, sequences, index, tail - index - 1);
+                tail--;
+            }
+        }
+    }
+
+    synchronized void counted(LogEntry logEntry) {
+        if (logEntry.matches(httpRequestMatcher)) {
+            unstoredCount++;
+        }
+    }
+
+    synchronized void clearUnstored() {
+        unstoredCount = 0;
+    }
+
+    synchronized int count() {
+        return (int) Math.min(tail - head + unstoredCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param sequence sequence number of the previous match
+     * @return sequence number of the first match logged after the sequence number provided or -1 if there is none
+     */
+    synchronized long firstAfter(long sequence) {
+        int index = Arrays.binarySearch(sequences, head, tail, sequence + 1);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < tail ? sequences[index] : -1;
+    }
+}
@@ -14,10 +14,11 @@ import org.mockserver.serialization.ObjectMapperFactory;
 import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Comparator;
 
 import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.model.HttpRequest.request;
@@ -30,13 +31,25 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
     private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
     private static final String[] EXCLUDED_FIELDS = {
         "id",
+        "sequence",
         "timestamp",
         "message",
-        "throwable"
+        "updatedArguments",
+        "throwable",
+        "retainedSize"
     };
+    // approximate size of a log entry's object graph excluding request and response bodies
+    private static final int ESTIMATED_LOG_ENTRY_OVERHEAD = 1024;
     private String id;
+    private long sequence = -1;
     private Level logLevel = Level.INFO;
-    public static final DateFormat LOG_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    public static final DateTimeFormatter LOG_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    /**
+     * orders log entries by the time they were logged, log entries logged in the same millisecond are ordered by sequence
+     */
+    public static final Comparator<LogEntry> LOG_ENTRY_TIME_COMPARATOR = Comparator.comparingLong(LogEntry::getEpochTime).thenComparingLong(LogEntry::getSequence);
+    // timestamps only have second precision so most log entries reuse the last formatted timestamp
+    private static volatile FormattedTimestamp lastFormattedTimestamp = new FormattedTimestamp(Long.MIN_VALUE, "");
     private long epochTime = TimeService.currentTimeMillis();
     private String timestamp;
     private LogEntry.LogMessageType type;
@@ -52,7 +65,9 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
 
     private String messageFormat;
     private Object[] arguments;
+    private Object[] updatedArguments;
     private String message;
+    private long retainedSize = -1;
 
     public LogEntry() {
 
@@ -66,18 +81,82 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
         return id;
     }
 
+    /**
+     * position of this entry in the event log, assigned when the entry is added to the event log
+     */
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public LogEntry setSequence(long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    /**
+     * estimate of the memory retained by this entry, dominated by request and response bodies,
+     * calculated once when first requested so it doesn't change while the entry is in the event log
+     */
+    @JsonIgnore
+    public long getRetainedSize() {
+        if (retainedSize == -1) {
+            long size = ESTIMATED_LOG_ENTRY_OVERHEAD;
+            if (httpRequests != null) {
+                for (HttpRequest httpRequest : httpRequests) {
+                    if (httpRequest != null) {
+                        size += estimatedBodySize(httpRequest.getBody());
+                    }
+                }
+            }
+            if (httpResponse != null) {
+                size += estimatedBodySize(httpResponse.getBody());
+            }
+            retainedSize = size;
+        }
+        return retainedSize;
+    }
+
+    /**
+     * @param retainedSize estimate of the memory retained by this entry, i.e. excluding bodies shared with other entries
+     */
+    public LogEntry setRetainedSize(long retainedSize) {
+        this.retainedSize = retainedSize;
+        return this;
+    }
+
+    /**
+     * estimate of the memory retained by a request or response body
+     */
+    public static long estimatedBodySize(Body<?> body) {
+        if (body == null) {
+            return 0;
+        }
+        byte[] rawBytes = body.getRawBytes();
+        if (rawBytes == null) {
+            return 0;
+        }
+        // string bodies hold both the raw bytes and the decoded string (two bytes per char)
+        return body instanceof BinaryBody ? rawBytes.length : rawBytes.length * 3L;
+    }
+
     public void clear() {
+        sequence = -1;
+        retainedSize = -1;
         logLevel = Level.INFO;
         epochTime = -1;
         httpRequests = null;
+        httpUpdatedRequests = null;
         timestamp = null;
         httpResponse = null;
+        httpUpdatedResponse = null;
         httpError = null;
         expectation = null;
         throwable = null;
         consumer = null;
         messageFormat = null;
         arguments = null;
+        updatedArguments = null;
         message = null;
     }
 
@@ -105,11 +184,34 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
 
     public String getTimestamp() {
         if (timestamp == null) {
-            timestamp = LOG_DATE_FORMAT.format(new Date(epochTime));
+            timestamp = formatTimestamp(epochTime);
         }
         return timestamp;
     }
 
+    /**
+     * thread safe formatting of an epoch time in milliseconds using LOG_DATE_FORMAT
+     */
+    public static String formatTimestamp(long epochTime) {
+        long epochSecond = Math.floorDiv(epochTime, 1000L);
+        FormattedTimestamp formattedTimestamp = lastFormattedTimestamp;
+        if (formattedTimestamp.epochSecond != epochSecond) {
+            formattedTimestamp = new FormattedTimestamp(epochSecond, LOG_DATE_FORMAT.format(Instant.ofEpochSecond(epochSecond)));
+            lastFormattedTimestamp = formattedTimestamp;
+        }
+        return formattedTimestamp.timestamp;
+    }
+
+    private static class FormattedTimestamp {
+        private final long epochSecond;
+        private final String timestamp;
+
+        private FormattedTimestamp(long epochSecond, String timestamp) {
+            this.epochSecond = epochSecond;
+            this.timestamp = timestamp;
+        }
+    }
+
     public LogEntry.LogMessageType getType() {
         return type;
     }
@@ -161,6 +263,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
 
     public LogEntry setHttpRequests(HttpRequest[] httpRequests) {
         this.httpRequests = httpRequests;
+        this.httpUpdatedRequests = null;
         return this;
     }
 
@@ -178,6 +281,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
         } else {
             this.httpRequests = new HttpRequest[]{request()};
         }
+        this.httpUpdatedRequests = null;
         return this;
     }
 
@@ -198,6 +302,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
 
     public LogEntry setHttpResponse(HttpResponse httpResponse) {
         this.httpResponse = httpResponse;
+        this.httpUpdatedResponse = null;
         return this;
     }
 
@@ -248,16 +353,19 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
 
     public LogEntry setMessageFormat(String messageFormat) {
         this.messageFormat = messageFormat;
+        this.message = null;
         return this;
     }
 
+    /**
+     * arguments are only converted for logging (i.e. bodies converted to LogEventBody)
+     * the first time they are read, so that adding a log entry only retains references
+     */
     public Object[] getArguments() {
-        return arguments;
-    }
-
-    public LogEntry setArguments(Object... arguments) {
-        if (arguments != null) {
-            this.arguments = Arrays
+        if (arguments == null) {
+            return null;
+        } else if (updatedArguments == null) {
+            updatedArguments = Arrays
                 .stream(arguments)
                 .map(argument -> {
                     if (argument instanceof HttpRequest) {
@@ -269,9 +377,14 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
                     }
                 })
                 .toArray(Object[]::new);
-        } else {
-            this.arguments = null;
         }
+        return updatedArguments;
+    }
+
+    public LogEntry setArguments(Object... arguments) {
+        this.arguments = arguments;
+        this.updatedArguments = null;
+        this.message = null;
         if (matchDifference != null) {
             matchDifference.addDifference(messageFormat, arguments);
         }
@@ -282,7 +395,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
     public String getMessage() {
         if (message == null) {
             if (arguments != null) {
-                message = formatLogMessage(messageFormat, arguments);
+                message = formatLogMessage(messageFormat, getArguments());
             } else {
                 message = messageFormat;
             }
@@ -371,11 +484,17 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
             .setHttpError(getHttpError())
             .setExpectation(getExpectation())
             .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
+            .setArguments(arguments)
             .setThrowable(getThrowable())
             .setConsumer(getConsumer());
     }
 
+    public LogEntry cloneAndClear() {
+        LogEntry clone = clone();
+        clear();
+        return clone;
+    }
+
     @Override
     public void translateTo(LogEntry event, long sequence) {
         event
@@ -387,7 +506,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
             .setHttpError(getHttpError())
             .setExpectation(getExpectation())
             .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
+            .setArguments(arguments)
             .setThrowable(getThrowable())
             .setConsumer(getConsumer());
         clear();
@@ -411,6 +530,7 @@ public class LogEntry extends ObjectWithJsonToString implements EventTranslator<
         EXPECTATION_NOT_MATCHED_RESPONSE,
         EXPECTATION_MATCHED,
         EXPECTATION_NOT_MATCHED,
+        REQUEST_MATCH_SUMMARY,
         VERIFICATION,
         VERIFICATION_FAILED,
         FORWARDED_REQUEST,
@@ -0,0 +1,121 @@
+package org.mockserver.log.model;
+
+import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+
+/**
+ * Restricts which log entries are retrieved, entries are always returned in the order they were logged (by sequence number)
+ * even when filtered by time, so the cursor of the next page never skips an entry
+ *
+ * @author jamesdbloom
+ */
+public class LogEntryPage extends ObjectWithReflectiveEqualsHashCodeToString {
+
+    private Integer limit;
+    private Long cursor;
+    private Long since;
+    private Long from;
+    private Long to;
+
+    public static LogEntryPage logEntryPage() {
+        return new LogEntryPage();
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * The maximum number of log entries to return
+     *
+     * @param limit maximum number of log entries, if null all log entries are returned
+     */
+    public LogEntryPage withLimit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Only return log entries logged after the entry with this sequence number,
+     * the cursor for the next page is the sequence number of the last log entry returned
+     *
+     * @param cursor sequence number of the last log entry already retrieved, if null log entries are returned from the start of the log
+     */
+    public LogEntryPage withCursor(Long cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public Long getSince() {
+        return since;
+    }
+
+    /**
+     * Only return log entries logged at or after this time
+     *
+     * @param since epoch time in milliseconds, if null log entries are not filtered by time
+     */
+    public LogEntryPage withSince(Long since) {
+        this.since = since;
+        return this;
+    }
+
+    public Long getFrom() {
+        return from;
+    }
+
+    /**
+     * Only return log entries logged at or after this time, the same as since
+     *
+     * @param from epoch time in milliseconds, if null log entries are not filtered by start time
+     */
+    public LogEntryPage withFrom(Long from) {
+        this.from = from;
+        return this;
+    }
+
+    public Long getTo() {
+        return to;
+    }
+
+    /**
+     * Only return log entries logged at or before this time
+     *
+     * @param to epoch time in milliseconds, if null log entries are not filtered by end time
+     */
+    public LogEntryPage withTo(Long to) {
+        this.to = to;
+        return this;
+    }
+
+    /**
+     * @return the latest of since and from or null if neither is set
+     */
+    public Long getStartTime() {
+        if (since == null) {
+            return from;
+        } else if (from == null) {
+            return since;
+        } else {
+            return Math.max(since, from);
+        }
+    }
+
+    public boolean isTimeRange() {
+        return since != null || from != null || to != null;
+    }
+
+    public boolean includes(LogEntry logEntry) {
+        Long startTime = getStartTime();
+        return (cursor == null || logEntry.getSequence() > cursor)
+            && (startTime == null || logEntry.getEpochTime() >= startTime)
+            && (to == null || logEntry.getEpochTime() <= to);
+    }
+
+    public boolean isLimited() {
+        return limit != null && limit >= 0;
+    }
+}
@@ -95,7 +95,8 @@ public class MockServerLogger {
 
     public static void writeToSystemOut(Logger logger, LogEntry logEntry) {
         if (!ConfigurationProperties.disableSystemOut()) {
-            if (isEnabled(logEntry.getLogLevel()) &&
+            // check level before reading message as formatting message serialises arguments
+            if (isEnabled(logEntry.getLogLevel()) && isEnabled(logger, logEntry.getLogLevel()) &&
                 isNotBlank(logEntry.getMessage())) {
                 switch (logEntry.getLogLevel()) {
                     case ERROR:
@@ -118,6 +119,23 @@ public class MockServerLogger {
         }
     }
 
+    private static boolean isEnabled(final Logger logger, final Level level) {
+        switch (level) {
+            case ERROR:
+                return logger.isErrorEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case TRACE:
+                return logger.isTraceEnabled();
+            default:
+                return false;
+        }
+    }
+
     public static boolean isEnabled(final Level level) {
         return (logLevel() == null && level.toInt() >= Level.WARN.toInt())
             || (logLevel() != null && level.toInt() >= logLevel().toInt());
@@ -13,6 +13,7 @@ import org.mockserver.serialization.model.*;
 import org.slf4j.event.Level;
 
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.mockserver.character.Character.NEW_LINE;
@@ -227,9 +228,23 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
     }
 
     public boolean matches(final MatchDifference matchDifference, final HttpRequest request) {
-        StringBuilder becauseBuilder = new StringBuilder();
-        boolean overallMatch = matches(matchDifference, request, becauseBuilder);
-        if (!controlPlaneMatcher) {
+        return matches(matchDifference, request, (Map<String, String>) null);
+    }
+
+    /**
+     * @param expectationsNotMatched if not null the expectation id and first non-matching field are added to this map when the request
+     *                               doesn't match instead of logging a separate event, so a single summary can be logged for all expectations
+     */
+    public boolean matches(final MatchDifference matchDifference, final HttpRequest request, final Map<String, String> expectationsNotMatched) {
+        boolean summarise = expectationsNotMatched != null && this.expectation != null;
+        // the reason is only needed when logging a separate event
+        StringBuilder becauseBuilder = summarise ? null : new StringBuilder();
+        MatchDifference difference = matchDifference != null || !summarise ? matchDifference : new MatchDifference(request);
+        boolean overallMatch = matches(difference, request, becauseBuilder);
+        if (summarise && !overallMatch) {
+            String firstFailedField = difference.getFirstFailedField();
+            expectationsNotMatched.put(this.expectation.getId(), firstFailedField != null ? firstFailedField : isActive() ? "not operator" : "inactive");
+        } else if (!controlPlaneMatcher) {
             if (overallMatch) {
                 mockServerLogger.logEvent(
                     new LogEntry()
@@ -238,7 +253,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
                         .setHttpRequest(request)
                         .setExpectation(this.expectation)
                         .setMessageFormat(this.expectation == null ? REQUEST_DID_MATCH : EXPECTATION_DID_MATCH)
-                        .setArguments(request, (this.expectation == null ? this : this.expectation.clone()))
+                        .setArguments(request, (this.expectation == null ? this : this.expectation.snapshot()))
                 );
             } else {
                 becauseBuilder.replace(0, 1, "");
@@ -249,13 +264,20 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
                         .setHttpRequest(request)
                         .setExpectation(this.expectation)
                         .setMessageFormat(this.expectation == null ? REQUEST_DID_NOT_MATCH : becauseBuilder.length() > 0 ? EXPECTATION_DID_NOT_MATCH : EXPECTATION_DID_NOT_MATCH_WITHOUT_BECAUSE)
-                        .setArguments(request, (this.expectation == null ? this : this.expectation.clone()), becauseBuilder.toString())
+                        .setArguments(request, (this.expectation == null ? this : this.expectation.snapshot()), becauseBuilder.toString())
                 );
             }
         }
         return overallMatch;
     }
 
+    /**
+     * Matches without logging a match or non-match event, for checking if a request would match before deciding how to handle it
+     */
+    public boolean matchesQuietly(final HttpRequest request) {
+        return matches(null, request, (StringBuilder) null);
+    }
+
     public boolean isBlank() {
         return httpRequest == null;
     }
@@ -322,7 +344,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
 
     private boolean failFast(Matcher<?> matcher, MatchDifference matchDifference, StringBuilder becauseBuilder, boolean fieldMatches, String fieldName) {
         // update because builder
-        if (!controlPlaneMatcher) {
+        if (!controlPlaneMatcher && becauseBuilder != null) {
             becauseBuilder
                 .append(NEW_LINE)
                 .append(fieldName).append((fieldMatches ? MATCHED : DID_NOT_MATCH));
@@ -333,7 +355,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
             }
         }
         if (!fieldMatches) {
-            if (!controlPlaneMatcher) {
+            if (!controlPlaneMatcher && becauseBuilder != null) {
                 if (matchDifference.getHttpRequest().isNot()) {
                     becauseBuilder
                         .append(REQUEST_NOT_OPERATOR_IS_ENABLED);
@@ -350,7 +372,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
         }
         // update match difference and potentially fail fast
         if (!fieldMatches) {
-            matchDifference.incrementFailures();
+            matchDifference.fieldFailed(fieldName);
         }
         if (matcher != null && !matcher.isBlank() && matchersFailFast()) {
             return combinedResultAreTrue(matchDifference.getFailures() != 0, matchDifference.getHttpRequest().isNot(), this.httpRequest.isNot(), not);
@@ -17,6 +17,7 @@ public class MatchDifference {
     private final Map<String, List<String>> differences = new ConcurrentHashMap<>();
     private String fieldName;
     private Integer failures = 0;
+    private String firstFailedField;
 
     public MatchDifference(HttpRequest httpRequest) {
         this.httpRequest = httpRequest;
@@ -55,6 +56,21 @@ public class MatchDifference {
         return this;
     }
 
+    @SuppressWarnings("UnusedReturnValue")
+    protected MatchDifference fieldFailed(String fieldName) {
+        if (this.firstFailedField == null) {
+            this.firstFailedField = fieldName;
+        }
+        return incrementFailures();
+    }
+
+    /**
+     * @return name of the first field that did not match or null if every field compared so far matched
+     */
+    public String getFirstFailedField() {
+        return firstFailedField;
+    }
+
     public Integer getFailures() {
         return failures;
     }
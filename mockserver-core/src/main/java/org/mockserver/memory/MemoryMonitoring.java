@@ -4,29 +4,51 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.ui.MockServerLogListener;
 import org.mockserver.ui.MockServerMatcherListener;
 import org.mockserver.ui.MockServerMatcherNotifier;
+import org.slf4j.event.Level;
 
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.mockserver.character.Character.NEW_LINE;
+import static org.mockserver.metrics.Metrics.Name.*;
 
+/**
+ * Sizes the event log and expectations from the estimated retained size of log entries and expectations and the heap
+ * still live after garbage collection, maximums are recalculated every 500 updates and after garbage collections,
+ * increases are applied gradually while decreases are applied immediately to avoid running out of heap
+ * <p>
+ * retained sizes are estimated from the size of request and response bodies plus a fixed overhead per log entry or
+ * expectation, they are not measured from the heap, the live heap is only used to bound the space available
+ *
+ * @author jamesdbloom
+ */
 public class MemoryMonitoring implements MockServerLogListener, MockServerMatcherListener {
 
+    private static final MockServerLogger MOCK_SERVER_LOGGER = new MockServerLogger(MemoryMonitoring.class);
+
     private static final AtomicInteger memoryUpdateFrequency = new AtomicInteger(0);
     private static final AtomicInteger currentLogEntriesCount = new AtomicInteger(0);
     private static final AtomicInteger currentExpectationsCount = new AtomicInteger(0);
@@ -34,6 +56,25 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     private static final String CSV_FILE = "memoryUsage_" + new SimpleDateFormat("yyyy-MM-dd").format(new Date()) + ".csv";
     private static final int MAX_LOG_ENTRIES_UPPER_LIMIT = 60000;
     private static final int MAX_EXPECTATIONS_UPPER_LIMIT = 5000;
+    // once retained sizes are estimated small log entries can use more of the heap
+    private static final int ESTIMATED_MAX_LOG_ENTRIES_UPPER_LIMIT = 500000;
+    private static final int MIN_LOG_ENTRIES = 100;
+    private static final int MIN_EXPECTATIONS = 100;
+    // share of the heap not used by other live objects, the remainder is left for requests in flight
+    private static final double LOG_ENTRIES_HEAP_FRACTION = 0.5;
+    private static final double EXPECTATIONS_HEAP_FRACTION = 0.1;
+    // approximate size of an expectation and its matchers excluding request and response bodies
+    private static final int ESTIMATED_EXPECTATION_OVERHEAD = 8 * 1024;
+    private static final int EXPECTATION_SAMPLE_SIZE = 100;
+    private static final long MIN_GARBAGE_COLLECTION_UPDATE_INTERVAL_MILLIS = 1000;
+    private static final String GARBAGE_COLLECTION_NOTIFICATION = "com.sun.management.gc.notification";
+    private static final AtomicBoolean garbageCollectionListenerRegistered = new AtomicBoolean(false);
+    // weakly referenced so instances are not retained by the platform garbage collector beans
+    private static final Set<MemoryMonitoring> garbageCollectionListeners = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final MockServerEventLog mockServerLog;
+    private final RequestMatchers requestMatchers;
+    private final AtomicLong lastGarbageCollectionUpdate = new AtomicLong(0);
+    private final AtomicLong lastStoredLogEntriesCount = new AtomicLong(0);
 
     static {
         if (ConfigurationProperties.outputMemoryUsageCsv()) {
@@ -59,14 +100,58 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     }
 
     public MemoryMonitoring(MockServerEventLog mockServerLog, RequestMatchers requestMatchers) {
+        this.mockServerLog = mockServerLog;
+        this.requestMatchers = requestMatchers;
         if (mockServerLog != null) {
             mockServerLog.registerListener(this);
         }
         if (requestMatchers != null) {
             requestMatchers.registerListener(this);
         }
+        if (mockServerLog != null && requestMatchers != null) {
+            garbageCollectionListeners.add(this);
+            registerGarbageCollectionListener();
+        }
+    }
+
+    private static void registerGarbageCollectionListener() {
+        if (garbageCollectionListenerRegistered.compareAndSet(false, true)) {
+            NotificationListener notificationListener = (notification, handback) -> {
+                MemoryMonitoring[] memoryMonitors;
+                synchronized (garbageCollectionListeners) {
+                    memoryMonitors = garbageCollectionListeners.toArray(new MemoryMonitoring[0]);
+                }
+                for (MemoryMonitoring memoryMonitoring : memoryMonitors) {
+                    memoryMonitoring.garbageCollected();
+                }
+            };
+            for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (garbageCollectorMXBean instanceof NotificationEmitter) {
+                    ((NotificationEmitter) garbageCollectorMXBean).addNotificationListener(notificationListener, notification -> GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()), null);
+                }
+            }
+        }
     }
 
+    private void garbageCollected() {
+        long now = System.currentTimeMillis();
+        long lastUpdate = lastGarbageCollectionUpdate.get();
+        // young collections can be very frequent so limit how often maximums are recalculated
+        if (now - lastUpdate >= MIN_GARBAGE_COLLECTION_UPDATE_INTERVAL_MILLIS && lastGarbageCollectionUpdate.compareAndSet(lastUpdate, now)) {
+            try {
+                updateMemoryUsageMaximums();
+                mockServerLog.setMaxSize(ConfigurationProperties.maxLogEntries());
+                requestMatchers.setMaxSize(ConfigurationProperties.maxExpectations());
+            } catch (RuntimeException e) {
+                MOCK_SERVER_LOGGER.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception while updating memory usage maximums after garbage collection")
+                        .setThrowable(e)
+                );
+            }
+        }
+    }
 
     private static Summary getJVMMemory(MemoryType heap) {
         return new Summary(memoryPoolMXBeans.stream().filter(bean -> bean.getType() == heap).collect(Collectors.toList()));
@@ -77,6 +162,65 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
         return (heap.getNet().getMax() - heap.getNet().getUsed()) / 1024L;
     }
 
+    /**
+     * @return heap used after the most recent garbage collection of each heap pool, or currently used if a pool hasn't been collected
+     */
+    public long liveHeapBytes() {
+        long liveHeapBytes = 0;
+        for (MemoryPoolMXBean memoryPoolMXBean : memoryPoolMXBeans) {
+            if (memoryPoolMXBean.getType() == MemoryType.HEAP) {
+                MemoryUsage collectionUsage = memoryPoolMXBean.getCollectionUsage();
+                liveHeapBytes += collectionUsage != null && collectionUsage.getUsed() > 0 ? collectionUsage.getUsed() : memoryPoolMXBean.getUsage().getUsed();
+            }
+        }
+        return liveHeapBytes;
+    }
+
+    /**
+     * @return average estimated retained size of log entries in bytes or 0 if there are no log entries
+     */
+    public long averageLogEntrySize() {
+        int size = mockServerLog != null ? mockServerLog.size() : 0;
+        return size > 0 ? mockServerLog.retainedBytes() / size : 0;
+    }
+
+    /**
+     * @return average estimated retained size of a sample of expectations in bytes or 0 if there are no expectations
+     */
+    public long averageExpectationSize() {
+        if (requestMatchers == null || requestMatchers.isEmpty()) {
+            return 0;
+        }
+        List<Expectation> expectations = requestMatchers.retrieveActiveExpectations(null);
+        int step = Math.max(1, expectations.size() / EXPECTATION_SAMPLE_SIZE);
+        long totalSize = 0;
+        int sampled = 0;
+        for (int i = 0; i < expectations.size(); i += step) {
+            totalSize += estimatedRetainedSize(expectations.get(i));
+            sampled++;
+        }
+        return sampled > 0 ? totalSize / sampled : 0;
+    }
+
+    private static long estimatedRetainedSize(Expectation expectation) {
+        long size = ESTIMATED_EXPECTATION_OVERHEAD;
+        if (expectation.getHttpRequest() != null) {
+            // matchers hold a copy of the body and a parsed form of it
+            size += LogEntry.estimatedBodySize(expectation.getHttpRequest().getBody()) * 2;
+        }
+        if (expectation.getHttpResponse() != null) {
+            size += LogEntry.estimatedBodySize(expectation.getHttpResponse().getBody());
+        }
+        return size;
+    }
+
+    private long availableHeapBytes(long averageExpectationSize) {
+        long retainedBytes = (mockServerLog != null ? mockServerLog.retainedBytes() : 0) + averageExpectationSize * (requestMatchers != null ? requestMatchers.size() : 0);
+        // log entries and expectations are part of the live heap so only the rest of the live heap is unavailable
+        long otherLiveHeapBytes = Math.max(0, liveHeapBytes() - retainedBytes);
+        return Math.max(0, Runtime.getRuntime().maxMemory() - otherLiveHeapBytes);
+    }
+
     public void logMemoryMetrics() {
         if (ConfigurationProperties.outputMemoryUsageCsv()) {
             String line = buildStatistics().stream().map(Pair::getValue).map(String::valueOf).collect(Collectors.joining(","));
@@ -108,7 +252,17 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     }
 
     public int adjustedMaxLogEntries() {
-        return Math.min(startingMaxLogEntries() + (currentLogEntriesCount.get() / 2), MAX_LOG_ENTRIES_UPPER_LIMIT);
+        long averageLogEntrySize = averageLogEntrySize();
+        return adjustedMaxLogEntries(averageLogEntrySize, availableHeapBytes(averageExpectationSize()));
+    }
+
+    private int adjustedMaxLogEntries(long averageLogEntrySize, long availableHeapBytes) {
+        if (averageLogEntrySize <= 0) {
+            // nothing estimated yet
+            return Math.min(startingMaxLogEntries() + (currentLogEntriesCount.get() / 2), MAX_LOG_ENTRIES_UPPER_LIMIT);
+        }
+        int target = capacity((long) (availableHeapBytes * LOG_ENTRIES_HEAP_FRACTION), averageLogEntrySize, MIN_LOG_ENTRIES, ESTIMATED_MAX_LOG_ENTRIES_UPPER_LIMIT);
+        return smoothed(ConfigurationProperties.defaultMaxLogEntries(), target);
     }
 
     public int startingMaxExpectations() {
@@ -116,7 +270,35 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     }
 
     public int adjustedMaxExpectations() {
-        return Math.min(startingMaxExpectations() + (currentExpectationsCount.get() / 2), MAX_EXPECTATIONS_UPPER_LIMIT);
+        long averageExpectationSize = averageExpectationSize();
+        return adjustedMaxExpectations(averageExpectationSize, availableHeapBytes(averageExpectationSize));
+    }
+
+    private int adjustedMaxExpectations(long averageExpectationSize, long availableHeapBytes) {
+        if (averageExpectationSize <= 0) {
+            // nothing estimated yet
+            return Math.min(startingMaxExpectations() + (currentExpectationsCount.get() / 2), MAX_EXPECTATIONS_UPPER_LIMIT);
+        }
+        int target = capacity((long) (availableHeapBytes * EXPECTATIONS_HEAP_FRACTION), averageExpectationSize, MIN_EXPECTATIONS, MAX_EXPECTATIONS_UPPER_LIMIT);
+        return smoothed(ConfigurationProperties.defaultMaxExpectations(), target);
+    }
+
+    /**
+     * @return number of items of the average size that fit in the budget, between the lower and upper limits
+     */
+    static int capacity(long budgetBytes, long averageSize, int lowerLimit, int upperLimit) {
+        return (int) Math.max(lowerLimit, Math.min(upperLimit, budgetBytes / Math.max(1, averageSize)));
+    }
+
+    /**
+     * @return half way to the target when increasing or the target when decreasing
+     */
+    static int smoothed(int current, int target) {
+        if (current <= 0 || target <= current) {
+            return target;
+        } else {
+            return current + Math.max(1, (target - current) / 2);
+        }
     }
 
     @Override
@@ -128,6 +310,18 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
         }
     }
 
+    @Override
+    public void updated(MockServerEventLog mockServerLog, long firstSequence, long lastSequence) {
+        currentLogEntriesCount.set(mockServerLog.size());
+        // sequence ranges from different shards overlap and include entries that were only aggregated or sampled out
+        long storedLogEntriesCount = mockServerLog.storedLogEntriesCount();
+        long added = storedLogEntriesCount - lastStoredLogEntriesCount.getAndAccumulate(storedLogEntriesCount, Math::max);
+        if (added > 0 && shouldUpdate((int) Math.min(added, Integer.MAX_VALUE))) {
+            updateMemoryUsageMaximums();
+            mockServerLog.setMaxSize(ConfigurationProperties.maxLogEntries());
+        }
+    }
+
     @Override
     public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
         currentExpectationsCount.set(requestMatchers.size());
@@ -138,12 +332,28 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     }
 
     private boolean shouldUpdate() {
-        return memoryUpdateFrequency.incrementAndGet() % 500 == 0;
+        return shouldUpdate(1);
+    }
+
+    private boolean shouldUpdate(int updates) {
+        // notifications can cover a batch of updates so check if a multiple of 500 was crossed
+        int previousUpdates = memoryUpdateFrequency.getAndAdd(updates);
+        return previousUpdates / 500 != (previousUpdates + updates) / 500;
     }
 
     public void updateMemoryUsageMaximums() {
-        ConfigurationProperties.defaultMaxExpectations(adjustedMaxExpectations());
-        ConfigurationProperties.defaultMaxLogEntries(adjustedMaxLogEntries());
+        long averageLogEntrySize = averageLogEntrySize();
+        long averageExpectationSize = averageExpectationSize();
+        long availableHeapBytes = availableHeapBytes(averageExpectationSize);
+        ConfigurationProperties.defaultMaxExpectations(adjustedMaxExpectations(averageExpectationSize, availableHeapBytes));
+        ConfigurationProperties.defaultMaxLogEntries(adjustedMaxLogEntries(averageLogEntrySize, availableHeapBytes));
+        if (ConfigurationProperties.metricsEnabled()) {
+            Metrics.set(MEMORY_MAX_LOG_ENTRIES, ConfigurationProperties.maxLogEntries());
+            Metrics.set(MEMORY_MAX_EXPECTATIONS, ConfigurationProperties.maxExpectations());
+            Metrics.set(MEMORY_AVERAGE_LOG_ENTRY_SIZE, (int) Math.min(Integer.MAX_VALUE, averageLogEntrySize));
+            Metrics.set(MEMORY_AVERAGE_EXPECTATION_SIZE, (int) Math.min(Integer.MAX_VALUE, averageExpectationSize));
+            Metrics.set(MEMORY_LIVE_HEAP_KB, (int) Math.min(Integer.MAX_VALUE, liveHeapBytes() / 1024L));
+        }
         logMemoryMetrics();
     }
 }
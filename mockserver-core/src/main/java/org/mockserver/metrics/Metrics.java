@@ -106,6 +106,21 @@ public class Metrics {
         ACTION_ERROR_COUNT,
         WEBSOCKET_CALLBACK_CLIENT_COUNT,
         WEBSOCKET_CALLBACK_RESPONSE_HANDLER_COUNT,
-        WEBSOCKET_CALLBACK_FORWARD_HANDLER_COUNT
+        WEBSOCKET_CALLBACK_FORWARD_HANDLER_COUNT,
+        EVENT_LOG_DROPPED_COUNT,
+        EVENT_LOG_RING_BUFFER_OCCUPANCY,
+        EVENT_LOG_EXPORT_DROPPED_COUNT,
+        MEMORY_MAX_LOG_ENTRIES,
+        MEMORY_MAX_EXPECTATIONS,
+        MEMORY_AVERAGE_LOG_ENTRY_SIZE,
+        MEMORY_AVERAGE_EXPECTATION_SIZE,
+        MEMORY_LIVE_HEAP_KB,
+        TLS_CLIENT_FULL_HANDSHAKE_COUNT,
+        TLS_CLIENT_RESUMED_HANDSHAKE_COUNT,
+        FORWARD_UPSTREAM_FAILURE_COUNT,
+        FORWARD_UPSTREAM_EJECTED_COUNT,
+        FORWARD_RESPONSE_CACHE_HIT_COUNT,
+        FORWARD_RESPONSE_CACHE_MISS_COUNT,
+        FORWARD_RESPONSE_CACHE_REVALIDATED_COUNT
     }
 }
@@ -16,7 +16,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 @SuppressWarnings("rawtypes")
 public class Expectation extends ObjectWithJsonToString {
 
-    private static final String[] excludedFields = {"id", "created"};
+    private static final String[] excludedFields = {"id", "created", "snapshot"};
     private static final AtomicInteger EXPECTATION_COUNTER = new AtomicInteger(0);
     private static final long START_TIME = System.currentTimeMillis();
     private int hashCode;
@@ -37,6 +37,8 @@ public class Expectation extends ObjectWithJsonToString {
     private HttpObjectCallback httpForwardObjectCallback;
     private HttpOverrideForwardedRequest httpOverrideForwardedRequest;
     private HttpError httpError;
+    @JsonIgnore
+    private volatile Expectation snapshot;
 
     public static final Comparator<Expectation> EXPECTATION_PRIORITY_COMPARATOR = Comparator
         .comparing(Expectation::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
@@ -74,6 +76,7 @@ public class Expectation extends ObjectWithJsonToString {
 
     public Expectation withId(String key) {
         this.id = key;
+        this.snapshot = null;
         return this;
     }
 
@@ -90,6 +93,7 @@ public class Expectation extends ObjectWithJsonToString {
 
     public Expectation withCreated(long created) {
         this.created = created;
+        this.snapshot = null;
         return this;
     }
 
@@ -181,6 +185,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a response", httpResponse.getType());
             this.httpResponse = httpResponse;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -191,6 +196,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a response template", httpTemplate.getType());
             this.httpResponseTemplate = httpTemplate;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -201,6 +207,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a response class callback", httpClassCallback.getType());
             this.httpResponseClassCallback = httpClassCallback;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -211,6 +218,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a response object callback", httpObjectCallback.getType());
             this.httpResponseObjectCallback = httpObjectCallback;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -220,6 +228,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a forward", httpForward.getType());
             this.httpForward = httpForward;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -230,6 +239,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a forward template", httpTemplate.getType());
             this.httpForwardTemplate = httpTemplate;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -240,6 +250,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a forward class callback", httpClassCallback.getType());
             this.httpForwardClassCallback = httpClassCallback;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -251,6 +262,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a forward object callback", httpObjectCallback.getType());
             this.httpForwardObjectCallback = httpObjectCallback;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -260,6 +272,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("a forward replace", httpOverrideForwardedRequest.getType());
             this.httpOverrideForwardedRequest = httpOverrideForwardedRequest;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -269,6 +282,7 @@ public class Expectation extends ObjectWithJsonToString {
             validationErrors("an error", httpError.getType());
             this.httpError = httpError;
             this.hashCode = 0;
+            this.snapshot = null;
         }
         return this;
     }
@@ -321,7 +335,12 @@ public class Expectation extends ObjectWithJsonToString {
 
     public boolean decrementRemainingMatches() {
         if (times != null) {
-            return times.decrement();
+            // same monitor as snapshot() so a snapshot cloned before the decrement can't be stored after it
+            synchronized (this) {
+                boolean decremented = times.decrement();
+                this.snapshot = null;
+                return decremented;
+            }
         }
         return false;
     }
@@ -348,6 +367,24 @@ public class Expectation extends ObjectWithJsonToString {
             .thenError(httpError);
     }
 
+    /**
+     * a copy of this expectation's current state (i.e. remaining times) that must not be modified,
+     * shared by all log entries until this expectation next changes, to avoid cloning on every log event
+     */
+    public Expectation snapshot() {
+        Expectation snapshot = this.snapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.snapshot;
+                if (snapshot == null) {
+                    snapshot = clone();
+                    this.snapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
     @Override
     @JsonIgnore
     public String[] fieldsExcludedFromEqualsAndHashCode() {
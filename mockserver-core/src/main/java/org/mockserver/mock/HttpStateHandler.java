@@ -2,10 +2,14 @@ package org.mockserver.mock;
 
 import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
 import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.EventLogAggregates;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.LogEntryPage;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
+import org.mockserver.mock.action.HttpForwardLoadBalancer;
+import org.mockserver.mock.action.HttpForwardResponseCache;
 import org.mockserver.model.*;
 import org.mockserver.persistence.ExpectationFileSystemPersistence;
 import org.mockserver.persistence.ExpectationFileWatcher;
@@ -23,13 +27,17 @@ import org.slf4j.event.Level;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
 import static io.netty.handler.codec.http.HttpResponseStatus.*;
@@ -40,7 +48,11 @@ import static org.apache.commons.lang3.StringUtils.*;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.ConfigurationProperties.addSubjectAlternativeName;
 import static org.mockserver.configuration.ConfigurationProperties.maxFutureTimeout;
+import static org.mockserver.log.MockServerEventLog.logEntryToExpectation;
+import static org.mockserver.log.MockServerEventLog.logEntryToHttpRequestAndHttpResponse;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.log.model.LogEntryPage.logEntryPage;
+import static org.mockserver.model.ConnectionOptions.connectionOptions;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 import static org.slf4j.event.Level.TRACE;
@@ -52,6 +64,9 @@ public class HttpStateHandler {
 
     public static final String LOG_SEPARATOR = NEW_LINE + "------------------------------------" + NEW_LINE;
     public static final String PATH_PREFIX = "/mockserver";
+    public static final String NEXT_CURSOR_HEADER_NAME = "X-MockServer-Next-Cursor";
+    public static final MediaType NDJSON_UTF_8 = MediaType.create("application", "x-ndjson").withCharset(UTF_8);
+    private static final int NDJSON_CHUNK_SIZE = 8192;
     private final String uniqueLoopPreventionHeaderValue = "MockServer_" + UUID.randomUUID().toString();
     private final MockServerEventLog mockServerLog;
     private final Scheduler scheduler;
@@ -70,12 +85,19 @@ public class HttpStateHandler {
     private VerificationSerializer verificationSerializer;
     private VerificationSequenceSerializer verificationSequenceSerializer;
     private LogEntrySerializer logEntrySerializer;
+    private NdJsonSerializer ndJsonSerializer;
+    private EventLogAggregatesSerializer eventLogAggregatesSerializer;
+    private UpstreamTargetSerializer upstreamTargetSerializer;
     private MemoryMonitoring memoryMonitoring;
+    // forwarding
+    private final HttpForwardResponseCache httpForwardResponseCache = new HttpForwardResponseCache();
+    private final HttpForwardLoadBalancer httpForwardLoadBalancer;
 
     public HttpStateHandler(MockServerLogger mockServerLogger, Scheduler scheduler) {
         this.mockServerLogger = mockServerLogger.setHttpStateHandler(this);
         this.scheduler = scheduler;
         this.webSocketClientRegistry = new WebSocketClientRegistry(mockServerLogger);
+        this.httpForwardLoadBalancer = new HttpForwardLoadBalancer(mockServerLogger);
         this.mockServerLog = new MockServerEventLog(mockServerLogger, scheduler, true);
         this.requestMatchers = new RequestMatchers(mockServerLogger, scheduler, webSocketClientRegistry);
         if (ConfigurationProperties.persistExpectations()) {
@@ -97,11 +119,14 @@ public class HttpStateHandler {
         if (isNotBlank(request.getBodyAsString())) {
             requestMatcher = getHttpRequestSerializer().deserialize(request.getBodyAsString());
         }
+        // log entries can also be cleared by time, i.e. to continuously clear old history
+        Long from = parseLongParameter(request, "from");
+        Long to = parseLongParameter(request, "to");
         try {
             ClearType retrieveType = ClearType.valueOf(defaultIfEmpty(request.getFirstQueryStringParameter("type").toUpperCase(), "ALL"));
             switch (retrieveType) {
                 case LOG:
-                    mockServerLog.clear(requestMatcher);
+                    mockServerLog.clear(requestMatcher, from, to);
                     mockServerLogger.logEvent(
                         new LogEntry()
                             .setType(CLEARED)
@@ -123,7 +148,7 @@ public class HttpStateHandler {
                     );
                     break;
                 case ALL:
-                    mockServerLog.clear(requestMatcher);
+                    mockServerLog.clear(requestMatcher, from, to);
                     requestMatchers.clear(requestMatcher);
                     mockServerLogger.logEvent(
                         new LogEntry()
@@ -138,13 +163,17 @@ public class HttpStateHandler {
         } catch (IllegalArgumentException iae) {
             throw new IllegalArgumentException("\"" + request.getFirstQueryStringParameter("type") + "\" is not a valid value for \"type\" parameter, only the following values are supported " + Arrays.stream(ClearType.values()).map(input -> input.name().toLowerCase()).collect(Collectors.toList()));
         }
-        System.gc();
+        if (from == null && to == null) {
+            System.gc();
+        }
     }
 
     public void reset() {
         requestMatchers.reset();
         mockServerLog.reset();
         webSocketClientRegistry.reset();
+        httpForwardResponseCache.clear();
+        httpForwardLoadBalancer.clear();
         mockServerLogger.logEvent(
             new LogEntry()
                 .setType(CLEARED)
@@ -185,6 +214,10 @@ public class HttpStateHandler {
         }
     }
 
+    public boolean hasMatchingExpectation(HttpRequest request) {
+        return !requestMatchers.isEmpty() && requestMatchers.hasMatchingExpectation(request);
+    }
+
     public void postProcess(Expectation expectation) {
         requestMatchers.postProcess(expectation);
     }
@@ -199,6 +232,7 @@ public class HttpStateHandler {
         CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
         HttpResponse response = response().withStatusCode(OK.code());
         if (request != null) {
+            LogEntryPage logEntryPage = toLogEntryPage(request);
             try {
                 final HttpRequest httpRequest = isNotBlank(request.getBodyAsString()) ? getHttpRequestSerializer().deserialize(request.getBodyAsString()) : null;
                 Format format = Format.valueOf(defaultIfEmpty(request.getFirstQueryStringParameter("format").toUpperCase(), "JSON"));
@@ -214,20 +248,28 @@ public class HttpStateHandler {
                                 .setMessageFormat("retrieving logs that match:{}")
                                 .setArguments(arguments)
                         );
-                        mockServerLog.retrieveMessageLogEntries(httpRequest, (List<LogEntry> logEntries) -> {
-                            StringBuilder stringBuffer = new StringBuilder();
-                            for (int i = 0; i < logEntries.size(); i++) {
-                                LogEntry messageLogEntry = logEntries.get(i);
-                                stringBuffer
-                                    .append(messageLogEntry.getTimestamp())
-                                    .append(" - ")
-                                    .append(messageLogEntry.getMessage());
-                                if (i < logEntries.size() - 1) {
-                                    stringBuffer.append(LOG_SEPARATOR);
-                                }
+                        mockServerLog.retrieveMessageLogEntries(httpRequest, logEntryPage, (Stream<LogEntry> logEntries) -> {
+                            if (format == Format.NDJSON) {
+                                writeLogEntries(response, logEntryPage, logEntries, format, Stream::of, null, null);
+                            } else {
+                                AtomicLong lastSequence = new AtomicLong(-1);
+                                StringBuilder stringBuffer = new StringBuilder();
+                                logEntries
+                                    .filter(Objects::nonNull)
+                                    .forEach(messageLogEntry -> {
+                                        if (lastSequence.get() != -1) {
+                                            stringBuffer.append(LOG_SEPARATOR);
+                                        }
+                                        lastSequence.set(messageLogEntry.getSequence());
+                                        stringBuffer
+                                            .append(messageLogEntry.getTimestamp())
+                                            .append(" - ")
+                                            .append(messageLogEntry.getMessage());
+                                    });
+                                stringBuffer.append(NEW_LINE);
+                                response.withBody(stringBuffer.toString(), MediaType.PLAIN_TEXT_UTF_8);
+                                withNextCursor(response, logEntryPage, lastSequence.get());
                             }
-                            stringBuffer.append(NEW_LINE);
-                            response.withBody(stringBuffer.toString(), MediaType.PLAIN_TEXT_UTF_8);
                             httpResponseFuture.complete(response);
                         });
                         break;
@@ -242,47 +284,23 @@ public class HttpStateHandler {
                                 .setMessageFormat("retrieving requests in " + format.name().toLowerCase() + " that match:{}")
                                 .setArguments(arguments)
                         );
-                        switch (format) {
-                            case JAVA:
-                                mockServerLog
-                                    .retrieveRequests(
-                                        httpRequest,
-                                        requests -> {
-                                            response.withBody(
-                                                getHttpRequestToJavaSerializer().serialize(requests),
-                                                MediaType.create("application", "java").withCharset(UTF_8)
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
+                        mockServerLog
+                            .retrieveRequestLogEntries(
+                                httpRequest,
+                                logEntryPage,
+                                logEntries -> {
+                                    writeLogEntries(
+                                        response,
+                                        logEntryPage,
+                                        logEntries,
+                                        format,
+                                        logEntry -> Arrays.stream(logEntry.getHttpRequests()),
+                                        getHttpRequestToJavaSerializer()::serialize,
+                                        getHttpRequestSerializer()::serialize
                                     );
-                                break;
-                            case JSON:
-                                mockServerLog
-                                    .retrieveRequests(
-                                        httpRequest,
-                                        requests -> {
-                                            response.withBody(
-                                                getHttpRequestSerializer().serialize(requests),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
-                            case LOG_ENTRIES:
-                                mockServerLog
-                                    .retrieveRequestLogEntries(
-                                        httpRequest,
-                                        logEntries -> {
-                                            response.withBody(
-                                                getLogEntrySerializer().serialize(logEntries),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
-                        }
+                                    httpResponseFuture.complete(response);
+                                }
+                            );
                         break;
                     }
                     case REQUEST_RESPONSES: {
@@ -295,37 +313,27 @@ public class HttpStateHandler {
                                 .setMessageFormat("retrieving requests and responses in " + format.name().toLowerCase() + " that match:{}")
                                 .setArguments(arguments)
                         );
-                        switch (format) {
-                            case JAVA:
-                                response.withBody("JAVA not supported for REQUEST_RESPONSES", MediaType.create("text", "plain").withCharset(UTF_8));
-                                httpResponseFuture.complete(response);
-                                break;
-                            case JSON:
-                                mockServerLog
-                                    .retrieveRequestResponses(
-                                        httpRequest,
-                                        httpRequestAndHttpResponses -> {
-                                            response.withBody(
-                                                getHttpRequestResponseSerializer().serialize(httpRequestAndHttpResponses),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
-                            case LOG_ENTRIES:
-                                mockServerLog
-                                    .retrieveRequestResponseMessageLogEntries(
-                                        httpRequest,
-                                        logEntries -> {
-                                            response.withBody(
-                                                getLogEntrySerializer().serialize(logEntries),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
+                        if (format == Format.JAVA) {
+                            response.withBody("JAVA not supported for REQUEST_RESPONSES", MediaType.create("text", "plain").withCharset(UTF_8));
+                            httpResponseFuture.complete(response);
+                        } else {
+                            mockServerLog
+                                .retrieveRequestResponseMessageLogEntries(
+                                    httpRequest,
+                                    logEntryPage,
+                                    logEntries -> {
+                                        writeLogEntries(
+                                            response,
+                                            logEntryPage,
+                                            logEntries,
+                                            format,
+                                            logEntry -> Stream.of(logEntryToHttpRequestAndHttpResponse.apply(logEntry)),
+                                            null,
+                                            getHttpRequestResponseSerializer()::serialize
+                                        );
+                                        httpResponseFuture.complete(response);
+                                    }
+                                );
                         }
                         break;
                     }
@@ -339,47 +347,23 @@ public class HttpStateHandler {
                                 .setMessageFormat("retrieving recorded expectations in " + format.name().toLowerCase() + " that match:{}")
                                 .setArguments(arguments)
                         );
-                        switch (format) {
-                            case JAVA:
-                                mockServerLog
-                                    .retrieveRecordedExpectations(
-                                        httpRequest,
-                                        requests -> {
-                                            response.withBody(
-                                                getExpectationToJavaSerializer().serialize(requests),
-                                                MediaType.create("application", "java").withCharset(UTF_8)
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
+                        mockServerLog
+                            .retrieveRecordedExpectationLogEntries(
+                                httpRequest,
+                                logEntryPage,
+                                logEntries -> {
+                                    writeLogEntries(
+                                        response,
+                                        logEntryPage,
+                                        logEntries,
+                                        format,
+                                        logEntry -> Stream.of(logEntryToExpectation.apply(logEntry)),
+                                        getExpectationToJavaSerializer()::serialize,
+                                        getExpectationSerializer()::serialize
                                     );
-                                break;
-                            case JSON:
-                                mockServerLog
-                                    .retrieveRecordedExpectations(
-                                        httpRequest,
-                                        requests -> {
-                                            response.withBody(
-                                                getExpectationSerializer().serialize(requests),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
-                            case LOG_ENTRIES:
-                                mockServerLog
-                                    .retrieveRecordedExpectationLogEntries(
-                                        httpRequest,
-                                        logEntries -> {
-                                            response.withBody(
-                                                getLogEntrySerializer().serialize(logEntries),
-                                                MediaType.JSON_UTF_8
-                                            );
-                                            httpResponseFuture.complete(response);
-                                        }
-                                    );
-                                break;
-                        }
+                                    httpResponseFuture.complete(response);
+                                }
+                            );
                         break;
                     }
                     case ACTIVE_EXPECTATIONS: {
@@ -402,10 +386,42 @@ public class HttpStateHandler {
                             case LOG_ENTRIES:
                                 response.withBody("LOG_ENTRIES not supported for ACTIVE_EXPECTATIONS", MediaType.create("text", "plain").withCharset(UTF_8));
                                 break;
+                            case NDJSON:
+                                StringBuilder ndJson = new StringBuilder();
+                                expectations.forEach(expectation -> getNdJsonSerializer().append(ndJson, expectation));
+                                response
+                                    .withBody(ndJson.toString(), NDJSON_UTF_8)
+                                    .withConnectionOptions(connectionOptions().withChunkSize(NDJSON_CHUNK_SIZE));
+                                break;
                         }
                         httpResponseFuture.complete(response);
                         break;
                     }
+                    case AGGREGATES: {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setType(RETRIEVED)
+                                .setLogLevel(Level.INFO)
+                                .setMessageFormat("retrieving event log aggregates")
+                        );
+                        mockServerLog.retrieveAggregates(aggregates -> {
+                            // aggregates are only counted when eventLogAggregateOnly is enabled
+                            response.withBody(getEventLogAggregatesSerializer().serialize(aggregates != null ? aggregates : new EventLogAggregates(0)), MediaType.JSON_UTF_8);
+                            httpResponseFuture.complete(response);
+                        });
+                        break;
+                    }
+                    case UPSTREAMS: {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setType(RETRIEVED)
+                                .setLogLevel(Level.INFO)
+                                .setMessageFormat("retrieving forward upstream statistics")
+                        );
+                        response.withBody(getUpstreamTargetSerializer().serialize(httpForwardLoadBalancer.targets()), MediaType.JSON_UTF_8);
+                        httpResponseFuture.complete(response);
+                        break;
+                    }
                 }
 
                 try {
@@ -425,6 +441,88 @@ public class HttpStateHandler {
         }
     }
 
+    private LogEntryPage toLogEntryPage(HttpRequest request) {
+        return logEntryPage()
+            .withLimit(parseIntParameter(request, "limit"))
+            .withCursor(parseLongParameter(request, "cursor"))
+            .withSince(parseLongParameter(request, "since"))
+            .withFrom(parseLongParameter(request, "from"))
+            .withTo(parseLongParameter(request, "to"));
+    }
+
+    private Integer parseIntParameter(HttpRequest request, String name) {
+        Long value = parseLongParameter(request, name);
+        if (value != null && (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE)) {
+            throw new IllegalArgumentException("\"" + value + "\" is not a valid value for \"" + name + "\" parameter, the maximum value is " + Integer.MAX_VALUE);
+        }
+        return value != null ? value.intValue() : null;
+    }
+
+    private Long parseLongParameter(HttpRequest request, String name) {
+        String value = request.getFirstQueryStringParameter(name);
+        if (isNotBlank(value)) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException("\"" + value + "\" is not a valid value for \"" + name + "\" parameter, only numeric values are supported");
+            }
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * serialises log entries while the stream is read from the log so only the serialised form of each entry is retained
+     */
+    private <T> void writeLogEntries(HttpResponse response, LogEntryPage logEntryPage, Stream<LogEntry> logEntries, Format format, Function<LogEntry, Stream<T>> logEntryMapper, Function<List<T>, String> javaSerializer, Function<List<T>, String> jsonSerializer) {
+        AtomicLong lastSequence = new AtomicLong(-1);
+        Stream<LogEntry> trackedLogEntries = logEntries
+            .filter(Objects::nonNull)
+            .peek(logEntry -> lastSequence.set(logEntry.getSequence()));
+        switch (format) {
+            case JAVA:
+                response.withBody(
+                    javaSerializer.apply(trackedLogEntries.flatMap(logEntryMapper).filter(Objects::nonNull).collect(Collectors.toList())),
+                    MediaType.create("application", "java").withCharset(UTF_8)
+                );
+                break;
+            case JSON:
+                response.withBody(
+                    jsonSerializer.apply(trackedLogEntries.flatMap(logEntryMapper).filter(Objects::nonNull).collect(Collectors.toList())),
+                    MediaType.JSON_UTF_8
+                );
+                break;
+            case LOG_ENTRIES:
+                response.withBody(
+                    getLogEntrySerializer().serialize(trackedLogEntries.collect(Collectors.toList())),
+                    MediaType.JSON_UTF_8
+                );
+                break;
+            case NDJSON:
+                StringBuilder ndJson = new StringBuilder();
+                trackedLogEntries
+                    .flatMap(logEntryMapper)
+                    .filter(Objects::nonNull)
+                    .forEach(item -> getNdJsonSerializer().append(ndJson, item));
+                response
+                    .withBody(ndJson.toString(), NDJSON_UTF_8)
+                    .withConnectionOptions(connectionOptions().withChunkSize(NDJSON_CHUNK_SIZE));
+                break;
+        }
+        withNextCursor(response, logEntryPage, lastSequence.get());
+    }
+
+    private void withNextCursor(HttpResponse response, LogEntryPage logEntryPage, long lastSequence) {
+        // only returned when a page size is requested so unpaged responses are unchanged
+        if (logEntryPage.isLimited() && lastSequence != -1) {
+            response.withHeader(NEXT_CURSOR_HEADER_NAME, String.valueOf(lastSequence));
+        }
+    }
+
+    public void registerVerification(HttpRequest... httpRequests) {
+        mockServerLog.registerVerification(httpRequests);
+    }
+
     public Future<String> verify(Verification verification) {
         CompletableFuture<String> result = new CompletableFuture<>();
         verify(verification, result::complete);
@@ -490,6 +588,21 @@ public class HttpStateHandler {
                 responseWriter.writeResponse(request, retrieve(request), true);
                 canHandle.complete(true);
 
+            } else if (request.matches("PUT", PATH_PREFIX + "/registerVerification", "/registerVerification")) {
+
+                HttpRequest[] verificationRequests = getHttpRequestSerializer().deserializeArray(request.getBodyAsString());
+                registerVerification(verificationRequests);
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(VERIFICATION)
+                        .setLogLevel(Level.INFO)
+                        .setHttpRequests(verificationRequests)
+                        .setMessageFormat("registered verification counters for requests that match:{}")
+                        .setArguments(verificationRequests.length == 1 ? verificationRequests[0] : verificationRequests)
+                );
+                responseWriter.writeResponse(request, CREATED);
+                canHandle.complete(true);
+
             } else if (request.matches("PUT", PATH_PREFIX + "/verify", "/verify")) {
 
                 Verification verification = getVerificationSerializer().deserialize(request.getBodyAsString());
@@ -583,6 +696,14 @@ public class HttpStateHandler {
         return scheduler;
     }
 
+    public HttpForwardResponseCache getHttpForwardResponseCache() {
+        return httpForwardResponseCache;
+    }
+
+    public HttpForwardLoadBalancer getHttpForwardLoadBalancer() {
+        return httpForwardLoadBalancer;
+    }
+
     public String getUniqueLoopPreventionHeaderName() {
         return "x-forwarded-by";
     }
@@ -656,4 +777,25 @@ public class HttpStateHandler {
         }
         return logEntrySerializer;
     }
+
+    private NdJsonSerializer getNdJsonSerializer() {
+        if (this.ndJsonSerializer == null) {
+            this.ndJsonSerializer = new NdJsonSerializer(mockServerLogger);
+        }
+        return ndJsonSerializer;
+    }
+
+    private EventLogAggregatesSerializer getEventLogAggregatesSerializer() {
+        if (this.eventLogAggregatesSerializer == null) {
+            this.eventLogAggregatesSerializer = new EventLogAggregatesSerializer(mockServerLogger);
+        }
+        return eventLogAggregatesSerializer;
+    }
+
+    private UpstreamTargetSerializer getUpstreamTargetSerializer() {
+        if (this.upstreamTargetSerializer == null) {
+            this.upstreamTargetSerializer = new UpstreamTargetSerializer(mockServerLogger);
+        }
+        return upstreamTargetSerializer;
+    }
 }
@@ -67,7 +67,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 .setLogLevel(Level.DEBUG)
                                 .setHttpRequest(expectation.getHttpRequest())
                                 .setMessageFormat("updated expectation:{}")
-                                .setArguments(expectation.clone())
+                                .setArguments(expectation.snapshot())
                         );
                         if (expectation.getAction() != null) {
                             Metrics.increment(expectation.getAction().getType());
@@ -104,7 +104,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                     .setLogLevel(Level.INFO)
                                     .setHttpRequest(expectation.getHttpRequest())
                                     .setMessageFormat("updated expectation:{}")
-                                    .setArguments(expectation.clone())
+                                    .setArguments(expectation.snapshot())
                             );
                             if (expectation.getAction() != null) {
                                 Metrics.increment(expectation.getAction().getType());
@@ -142,7 +142,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                 .setLogLevel(Level.INFO)
                 .setHttpRequest(expectation.getHttpRequest())
                 .setMessageFormat("creating expectation:{}")
-                .setArguments(expectation.clone())
+                .setArguments(expectation.snapshot())
         );
         return httpRequestMatcher;
     }
@@ -167,9 +167,10 @@ public class RequestMatchers extends MockServerMatcherNotifier {
 
     public Expectation firstMatchingExpectation(HttpRequest httpRequest) {
         Expectation matchingExpectation = null;
+        Map<String, String> expectationsNotMatched = ConfigurationProperties.summariseExpectationsNotMatched() ? new LinkedHashMap<>() : null;
         for (HttpRequestMatcher httpRequestMatcher : getHttpRequestMatchersCopy()) {
             boolean remainingMatchesDecremented = false;
-            if (httpRequestMatcher.matches(new MatchDifference(httpRequest), httpRequest)) {
+            if (httpRequestMatcher.matches(new MatchDifference(httpRequest), httpRequest, expectationsNotMatched)) {
                 matchingExpectation = httpRequestMatcher.getExpectation();
                 httpRequestMatcher.setResponseInProgress(true);
                 if (matchingExpectation.decrementRemainingMatches()) {
@@ -185,6 +186,16 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                 break;
             }
         }
+        if (expectationsNotMatched != null && !expectationsNotMatched.isEmpty()) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(REQUEST_MATCH_SUMMARY)
+                    .setLogLevel(Level.INFO)
+                    .setHttpRequest(httpRequest)
+                    .setMessageFormat("request:{}didn't match expectations:{}")
+                    .setArguments(httpRequest, expectationsNotMatched)
+            );
+        }
         if (ConfigurationProperties.metricsEnabled()) {
             if (matchingExpectation == null || matchingExpectation.getAction() == null) {
                 Metrics.increment(EXPECTATION_NOT_MATCHED_COUNT);
@@ -197,6 +208,18 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return matchingExpectation;
     }
 
+    /**
+     * Checks if any active expectation matches the request without logging or counting the match against the expectation
+     */
+    public boolean hasMatchingExpectation(HttpRequest httpRequest) {
+        for (HttpRequestMatcher httpRequestMatcher : getHttpRequestMatchersCopy()) {
+            if (httpRequestMatcher.matchesQuietly(httpRequest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void clear(HttpRequest httpRequest) {
         if (httpRequest != null) {
             HttpRequestMatcher clearHttpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
@@ -239,7 +262,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                         .setLogLevel(Level.INFO)
                         .setHttpRequest(httpRequestMatcher.getExpectation().getHttpRequest())
                         .setMessageFormat("removed expectation:{}")
-                        .setArguments(httpRequestMatcher.getExpectation().clone())
+                        .setArguments(httpRequestMatcher.getExpectation().snapshot())
                 );
             }
             if (httpRequestMatcher.getExpectation() != null) {
@@ -1,6 +1,7 @@
 package org.mockserver.mock.action;
 
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.AttributeKey;
 import org.mockserver.client.NettyHttpClient;
@@ -21,6 +22,7 @@ import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
@@ -60,6 +62,9 @@ public class ActionHandler {
 
     // forwarding
     private NettyHttpClient httpClient;
+    // owned by the state handler so they are cleared on reset
+    private final HttpForwardResponseCache httpForwardResponseCache;
+    private final HttpForwardLoadBalancer httpForwardLoadBalancer;
     private HopByHopHeaderFilter hopByHopHeaderFilter = new HopByHopHeaderFilter();
     private HttpRequestToCurlSerializer httpRequestToCurlSerializer;
 
@@ -67,6 +72,8 @@ public class ActionHandler {
         this.httpStateHandler = httpStateHandler;
         this.scheduler = httpStateHandler.getScheduler();
         this.mockServerLogger = httpStateHandler.getMockServerLogger();
+        this.httpForwardResponseCache = httpStateHandler.getHttpForwardResponseCache();
+        this.httpForwardLoadBalancer = httpStateHandler.getHttpForwardLoadBalancer();
         this.httpRequestToCurlSerializer = new HttpRequestToCurlSerializer(mockServerLogger);
         this.httpClient = new NettyHttpClient(mockServerLogger, eventLoopGroup, proxyConfiguration, true, nettySslContextFactory);
     }
@@ -84,6 +91,7 @@ public class ActionHandler {
         }
         final Expectation expectation = httpStateHandler.firstMatchingExpectation(request);
         Runnable expectationPostProcessor = () -> httpStateHandler.postProcess(expectation);
+        final EventLoop eventLoop = ctx != null && ctx.channel() != null ? ctx.channel().eventLoop() : null;
         final boolean potentiallyHttpProxy = attemptToProxyIfNoMatchingExpectation() && !isEmpty(request.getFirstHeader(HOST.toString())) && !localAddresses.contains(request.getFirstHeader(HOST.toString()));
 
         if (expectation != null && expectation.getAction() != null) {
@@ -123,7 +131,7 @@ public class ActionHandler {
                 case FORWARD: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
                         final HttpForwardActionResult responseFuture = getHttpForwardActionHandler().handle((HttpForward) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, eventLoop);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -131,7 +139,7 @@ public class ActionHandler {
                 case FORWARD_TEMPLATE: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
                         final HttpForwardActionResult responseFuture = getHttpForwardTemplateActionHandler().handle((HttpTemplate) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, eventLoop);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -139,7 +147,7 @@ public class ActionHandler {
                 case FORWARD_CLASS_CALLBACK: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
                         final HttpForwardActionResult responseFuture = getHttpForwardClassCallbackActionHandler().handle((HttpClassCallback) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, eventLoop);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -153,7 +161,7 @@ public class ActionHandler {
                 case FORWARD_REPLACE: {
                     scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
                         final HttpForwardActionResult responseFuture = getHttpOverrideForwardedRequestCallbackActionHandler().handle((HttpOverrideForwardedRequest) action, request);
-                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous);
+                        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, eventLoop);
                         expectationPostProcessor.run();
                     }), synchronous, action.getDelay());
                     break;
@@ -202,7 +210,13 @@ public class ActionHandler {
 
                 final InetSocketAddress remoteAddress = getRemoteAddress(ctx);
                 final HttpRequest clonedRequest = hopByHopHeaderFilter.onRequest(request).withHeader(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue());
-                final HttpForwardActionResult responseFuture = new HttpForwardActionResult(clonedRequest, httpClient.sendRequest(clonedRequest, remoteAddress, potentiallyHttpProxy ? 1000 : ConfigurationProperties.socketConnectionTimeout()), null, remoteAddress);
+                final HttpResponse cachedResponse = httpForwardResponseCache.get(clonedRequest, remoteAddress);
+                final HttpForwardActionResult responseFuture;
+                if (cachedResponse != null) {
+                    responseFuture = new HttpForwardActionResult(clonedRequest, CompletableFuture.completedFuture(cachedResponse), null, remoteAddress).setCacheHit(true);
+                } else {
+                    responseFuture = new HttpForwardActionResult(clonedRequest, httpForwardResponseCache.sendRequest(clonedRequest, remoteAddress, cacheMiss -> httpClient.sendRequest(cacheMiss, remoteAddress, potentiallyHttpProxy ? 1000 : ConfigurationProperties.socketConnectionTimeout())), null, remoteAddress);
+                }
                 scheduler.submit(responseFuture, () -> {
                     try {
                         HttpResponse response = responseFuture.getHttpResponse().get(maxFutureTimeout(), MILLISECONDS);
@@ -228,7 +242,7 @@ public class ActionHandler {
                                     .setHttpRequest(request)
                                     .setHttpResponse(response)
                                     .setExpectation(request, response)
-                                    .setMessageFormat("returning response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}")
+                                    .setMessageFormat("returning " + (responseFuture.isCacheHit() ? "cached " : "") + "response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}")
                                     .setArguments(response, request, httpRequestToCurlSerializer.toCurl(request, remoteAddress))
                             );
                         }
@@ -269,7 +283,7 @@ public class ActionHandler {
                             returnNotFound(responseWriter, request, throwable.getMessage());
                         }
                     }
-                }, synchronous);
+                }, synchronous, eventLoop);
 
             }
 
@@ -316,6 +330,14 @@ public class ActionHandler {
     }
 
     void writeForwardActionResponse(final HttpForwardActionResult responseFuture, final ResponseWriter responseWriter, final HttpRequest request, final Action action, boolean synchronous) {
+        writeForwardActionResponse(responseFuture, responseWriter, request, action, synchronous, null);
+    }
+
+    /**
+     * @param eventLoop event loop of the inbound channel or null, forwarded requests without a delay are sent from the inbound
+     *                  channel's event loop so the response is written from it instead of hopping to the scheduler threads
+     */
+    void writeForwardActionResponse(final HttpForwardActionResult responseFuture, final ResponseWriter responseWriter, final HttpRequest request, final Action action, boolean synchronous, EventLoop eventLoop) {
         scheduler.submit(responseFuture, () -> {
             try {
                 HttpResponse response = responseFuture.getHttpResponse().get(maxFutureTimeout(), MILLISECONDS);
@@ -327,14 +349,13 @@ public class ActionHandler {
                         .setHttpRequest(request)
                         .setHttpResponse(response)
                         .setExpectation(request, response)
-                        .setMessageFormat("returning response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}for action:{}")
-                        .setMessageFormat("returning response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}for action:{}")
+                        .setMessageFormat("returning " + (responseFuture.isCacheHit() ? "cached " : "") + "response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}for action:{}")
                         .setArguments(response, responseFuture.getHttpRequest(), httpRequestToCurlSerializer.toCurl(responseFuture.getHttpRequest(), responseFuture.getRemoteAddress()), action)
                 );
             } catch (Throwable throwable) {
                 handleExceptionDuringForwardingRequest(action, request, responseWriter, throwable);
             }
-        }, synchronous);
+        }, synchronous, eventLoop);
     }
 
     void handleExceptionDuringForwardingRequest(Action action, HttpRequest request, ResponseWriter responseWriter, Throwable exception) {
@@ -461,7 +482,7 @@ public class ActionHandler {
 
     private HttpForwardActionHandler getHttpForwardActionHandler() {
         if (httpForwardActionHandler == null) {
-            httpForwardActionHandler = new HttpForwardActionHandler(mockServerLogger, httpClient);
+            httpForwardActionHandler = new HttpForwardActionHandler(mockServerLogger, httpClient, httpForwardResponseCache, httpForwardLoadBalancer);
         }
         return httpForwardActionHandler;
     }
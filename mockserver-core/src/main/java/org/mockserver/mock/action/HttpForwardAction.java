@@ -22,16 +22,30 @@ public abstract class HttpForwardAction {
 
     protected final MockServerLogger mockServerLogger;
     private final NettyHttpClient httpClient;
+    private final HttpForwardResponseCache responseCache;
     private HopByHopHeaderFilter hopByHopHeaderFilter = new HopByHopHeaderFilter();
 
     HttpForwardAction(MockServerLogger mockServerLogger, NettyHttpClient httpClient) {
+        this(mockServerLogger, httpClient, null);
+    }
+
+    HttpForwardAction(MockServerLogger mockServerLogger, NettyHttpClient httpClient, HttpForwardResponseCache responseCache) {
         this.mockServerLogger = mockServerLogger;
         this.httpClient = httpClient;
+        this.responseCache = responseCache;
     }
 
     protected HttpForwardActionResult sendRequest(HttpRequest request, @Nullable InetSocketAddress remoteAddress, Function<HttpResponse, HttpResponse> overrideHttpResponse) {
         try {
-            return new HttpForwardActionResult(request, httpClient.sendRequest(hopByHopHeaderFilter.onRequest(request), remoteAddress), overrideHttpResponse, remoteAddress);
+            HttpRequest forwardedRequest = hopByHopHeaderFilter.onRequest(request);
+            if (responseCache != null) {
+                HttpResponse cachedResponse = responseCache.get(forwardedRequest, remoteAddress);
+                if (cachedResponse != null) {
+                    return new HttpForwardActionResult(request, CompletableFuture.completedFuture(cachedResponse), overrideHttpResponse, remoteAddress).setCacheHit(true);
+                }
+                return new HttpForwardActionResult(request, responseCache.sendRequest(forwardedRequest, remoteAddress, cacheMiss -> httpClient.sendRequest(cacheMiss, remoteAddress)), overrideHttpResponse, remoteAddress);
+            }
+            return new HttpForwardActionResult(request, httpClient.sendRequest(forwardedRequest, remoteAddress), overrideHttpResponse, remoteAddress);
         } catch (Exception e) {
             mockServerLogger.logEvent(
                 new LogEntry()
@@ -4,6 +4,7 @@ import org.mockserver.client.NettyHttpClient;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpForward;
 import org.mockserver.model.HttpRequest;
+import org.mockserver.model.SocketAddress;
 
 import java.net.InetSocketAddress;
 
@@ -12,17 +13,45 @@ import java.net.InetSocketAddress;
  */
 public class HttpForwardActionHandler extends HttpForwardAction {
 
+    private final HttpForwardLoadBalancer loadBalancer;
+
     public HttpForwardActionHandler(MockServerLogger logFormatter, NettyHttpClient httpClient) {
-        super(logFormatter, httpClient);
+        this(logFormatter, httpClient, null);
+    }
+
+    public HttpForwardActionHandler(MockServerLogger logFormatter, NettyHttpClient httpClient, HttpForwardResponseCache responseCache) {
+        this(logFormatter, httpClient, responseCache, new HttpForwardLoadBalancer(logFormatter));
+    }
+
+    public HttpForwardActionHandler(MockServerLogger logFormatter, NettyHttpClient httpClient, HttpForwardResponseCache responseCache, HttpForwardLoadBalancer loadBalancer) {
+        super(logFormatter, httpClient, responseCache);
+        this.loadBalancer = loadBalancer;
     }
 
     public HttpForwardActionResult handle(HttpForward httpForward, HttpRequest httpRequest) {
+        if (httpForward.getUpstreams() != null && !httpForward.getUpstreams().isEmpty()) {
+            return handleUpstreams(httpForward, httpRequest);
+        }
         if (httpForward.getScheme().equals(HttpForward.Scheme.HTTPS)) {
             httpRequest.withSecure(true);
         } else {
             httpRequest.withSecure(false);
         }
-        return sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()), null);
+        return sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()), null);
+    }
+
+    private HttpForwardActionResult handleUpstreams(HttpForward httpForward, HttpRequest httpRequest) {
+        HttpForwardLoadBalancer.UpstreamTarget upstream = loadBalancer.select(httpForward.getUpstreams(), httpForward.getLoadBalancing());
+        SocketAddress socketAddress = upstream.getSocketAddress();
+        httpRequest.withSecure(socketAddress.getScheme() == SocketAddress.Scheme.HTTPS);
+        long startNanos = System.nanoTime();
+        HttpForwardActionResult result = sendRequest(httpRequest, InetSocketAddress.createUnresolved(socketAddress.getHost(), socketAddress.getPort()), null);
+        if (result.isCacheHit()) {
+            loadBalancer.release(upstream);
+        } else {
+            result.getHttpResponse().whenComplete((httpResponse, throwable) -> loadBalancer.complete(upstream, startNanos, throwable));
+        }
+        return result;
     }
 
 }
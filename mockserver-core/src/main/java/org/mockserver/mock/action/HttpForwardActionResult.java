@@ -14,6 +14,7 @@ public class HttpForwardActionResult {
     private CompletableFuture<HttpResponse> httpResponse;
     private final Function<HttpResponse, HttpResponse> overrideHttpResponse;
     private final AtomicBoolean overrideHttpResponseApplied = new AtomicBoolean(false);
+    private boolean cacheHit;
 
     public HttpForwardActionResult(HttpRequest httpRequest, CompletableFuture<HttpResponse> httpResponse, Function<HttpResponse, HttpResponse> overrideHttpResponse) {
         this(httpRequest, httpResponse, overrideHttpResponse, null);
@@ -54,4 +55,16 @@ public class HttpForwardActionResult {
     public InetSocketAddress getRemoteAddress() {
         return remoteAddress;
     }
+
+    /**
+     * @return true if the response was served from the forwarded response cache without sending the request
+     */
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public HttpForwardActionResult setCacheHit(boolean cacheHit) {
+        this.cacheHit = cacheHit;
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package org.mockserver.mock.action;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.HttpForward;
+import org.mockserver.model.SocketAddress;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockserver.metrics.Metrics.Name.FORWARD_UPSTREAM_EJECTED_COUNT;
+import static org.mockserver.metrics.Metrics.Name.FORWARD_UPSTREAM_FAILURE_COUNT;
+
+/**
+ * Chooses the upstream target for each request of a forward with multiple upstreams and tracks the outcome of the
+ * requests sent to each target, a target is ejected for the configured time after the configured number of consecutive
+ * requests to it fail, if all the targets of a forward are ejected they are all used
+ * <p>
+ * ties are broken by starting each selection at the next target in round robin order so load is spread evenly when the
+ * targets are equally good
+ *
+ * @author jamesdbloom
+ */
+public class HttpForwardLoadBalancer {
+
+    private static final double EWMA_WEIGHT = 0.3;
+    private final MockServerLogger mockServerLogger;
+    private final ConcurrentMap<String, UpstreamTarget> targets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<String>, AtomicInteger> roundRobinCounters = new ConcurrentHashMap<>();
+
+    public HttpForwardLoadBalancer(MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+    }
+
+    /**
+     * @return the chosen target, the caller must call {@link #complete(UpstreamTarget, long, Throwable)} once the request completes
+     */
+    public UpstreamTarget select(List<SocketAddress> upstreams, HttpForward.LoadBalancing loadBalancing) {
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>(upstreams.size());
+        List<UpstreamTarget> all = new ArrayList<>(upstreams.size());
+        List<UpstreamTarget> candidates = new ArrayList<>(upstreams.size());
+        for (SocketAddress upstream : upstreams) {
+            String key = key(upstream);
+            UpstreamTarget target = targets.computeIfAbsent(key, k -> new UpstreamTarget(upstream));
+            keys.add(key);
+            all.add(target);
+            if (!target.isEjected(now)) {
+                candidates.add(target);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = all;
+        }
+        int offset = Math.floorMod(roundRobinCounters.computeIfAbsent(keys, k -> new AtomicInteger()).getAndIncrement(), candidates.size());
+        UpstreamTarget chosen = candidates.get(offset);
+        if (loadBalancing == HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS || loadBalancing == HttpForward.LoadBalancing.EWMA_LATENCY) {
+            double lowestScore = score(chosen, loadBalancing);
+            for (int i = 1; i < candidates.size(); i++) {
+                UpstreamTarget candidate = candidates.get((offset + i) % candidates.size());
+                double score = score(candidate, loadBalancing);
+                if (score < lowestScore) {
+                    chosen = candidate;
+                    lowestScore = score;
+                }
+            }
+        }
+        chosen.outstandingRequests.incrementAndGet();
+        return chosen;
+    }
+
+    private double score(UpstreamTarget target, HttpForward.LoadBalancing loadBalancing) {
+        if (loadBalancing == HttpForward.LoadBalancing.EWMA_LATENCY) {
+            // targets without a latency sample yet score zero so each target is tried
+            return target.ewmaLatencyMillis * (target.outstandingRequests.get() + 1);
+        } else {
+            return target.outstandingRequests.get();
+        }
+    }
+
+    /**
+     * records the outcome of a request sent to a target returned by {@link #select(List, HttpForward.LoadBalancing)}
+     *
+     * @param target     the target the request was sent to
+     * @param startNanos {@link System#nanoTime()} when the request was sent
+     * @param throwable  the failure or null if a response was received
+     */
+    public void complete(UpstreamTarget target, long startNanos, Throwable throwable) {
+        target.outstandingRequests.decrementAndGet();
+        target.requestCount.incrementAndGet();
+        if (throwable != null) {
+            target.failureCount.incrementAndGet();
+            Metrics.increment(FORWARD_UPSTREAM_FAILURE_COUNT);
+            int consecutiveFailures = target.consecutiveFailures.incrementAndGet();
+            int ejectionConsecutiveFailures = ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures();
+            if (ejectionConsecutiveFailures > 0 && consecutiveFailures >= ejectionConsecutiveFailures && target.consecutiveFailures.compareAndSet(consecutiveFailures, 0)) {
+                long ejectionTime = ConfigurationProperties.forwardUpstreamEjectionTime();
+                target.ejectedUntil = System.currentTimeMillis() + ejectionTime;
+                target.ejectionCount.incrementAndGet();
+                Metrics.increment(FORWARD_UPSTREAM_EJECTED_COUNT);
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("ejecting upstream{}for{}ms after{}consecutive failures, last failure " + throwable.getMessage())
+                        .setArguments(target.socketAddress, ejectionTime, consecutiveFailures)
+                        .setThrowable(throwable)
+                );
+            }
+        } else {
+            target.consecutiveFailures.set(0);
+            double latencyMillis = (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            synchronized (target) {
+                target.ewmaLatencyMillis = target.ewmaLatencyMillis == 0 ? latencyMillis : target.ewmaLatencyMillis + EWMA_WEIGHT * (latencyMillis - target.ewmaLatencyMillis);
+            }
+        }
+    }
+
+    /**
+     * releases a target returned by {@link #select(List, HttpForward.LoadBalancing)} without recording an outcome, for
+     * example because the response was served from the cache
+     */
+    public void release(UpstreamTarget target) {
+        target.outstandingRequests.decrementAndGet();
+    }
+
+    /**
+     * @return statistics for the target or null if no request has been sent to it
+     */
+    public UpstreamTarget target(SocketAddress upstream) {
+        return targets.get(key(upstream));
+    }
+
+    /**
+     * @return statistics for every target a request has been sent to since the load balancer was last cleared
+     */
+    public List<UpstreamTarget> targets() {
+        List<UpstreamTarget> upstreamTargets = new ArrayList<>(targets.values());
+        upstreamTargets.sort(Comparator.comparing(upstreamTarget -> upstreamTarget.key));
+        return upstreamTargets;
+    }
+
+    /**
+     * forgets the statistics, ejections and round robin position of every target, requests still outstanding complete
+     * against their old statistics
+     */
+    public void clear() {
+        targets.clear();
+        roundRobinCounters.clear();
+    }
+
+    private static String key(SocketAddress upstream) {
+        return upstream.getScheme() + "://" + upstream.getHost() + ":" + upstream.getPort();
+    }
+
+    public static class UpstreamTarget {
+        private final String key;
+        private final SocketAddress socketAddress;
+        private final AtomicInteger outstandingRequests = new AtomicInteger();
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+        private final AtomicLong ejectionCount = new AtomicLong();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile double ewmaLatencyMillis;
+        private volatile long ejectedUntil;
+
+        private UpstreamTarget(SocketAddress socketAddress) {
+            this.key = key(socketAddress);
+            this.socketAddress = new SocketAddress()
+                .withHost(socketAddress.getHost())
+                .withPort(socketAddress.getPort())
+                .withScheme(socketAddress.getScheme());
+        }
+
+        public SocketAddress getSocketAddress() {
+            return socketAddress;
+        }
+
+        public int getOutstandingRequests() {
+            return outstandingRequests.get();
+        }
+
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        public long getFailureCount() {
+            return failureCount.get();
+        }
+
+        public long getEjectionCount() {
+            return ejectionCount.get();
+        }
+
+        public double getEwmaLatencyMillis() {
+            return ewmaLatencyMillis;
+        }
+
+        public boolean isEjected() {
+            return isEjected(System.currentTimeMillis());
+        }
+
+        public boolean isEjected(long now) {
+            return ejectedUntil > now;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package org.mockserver.mock.action;
+
+import io.netty.handler.codec.DateFormatter;
+import org.apache.commons.lang3.StringUtils;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.Parameter;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockserver.metrics.Metrics.Name.*;
+
+/**
+ * In memory cache of the responses to forwarded GET requests that follows the HTTP caching rules for a shared cache,
+ * responses are only stored if Cache-Control, Expires or a validator (ETag or Last-Modified) allow it and are stored
+ * separately for each set of request headers named by Vary, stale responses with a validator are revalidated with a
+ * conditional request and unsafe requests, such as POST, remove the cached responses for the same uri
+ * <p>
+ * the cache is bounded by the approximate size in bytes of the cached responses, when it is full the least recently
+ * used responses are evicted
+ *
+ * @author jamesdbloom
+ */
+public class HttpForwardResponseCache {
+
+    private static final Set<Integer> CACHEABLE_STATUS_CODES = new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501));
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private final LinkedHashMap<String, List<CachedResponse>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    /**
+     * @return a copy of the cached response if a fresh response is cached for the request, otherwise null
+     */
+    public HttpResponse get(HttpRequest request, InetSocketAddress remoteAddress) {
+        if (ConfigurationProperties.forwardResponseCacheSize() <= 0 || !isGet(request)) {
+            return null;
+        }
+        CacheControl requestCacheControl = new CacheControl(request.getHeader("cache-control"));
+        if (requestCacheControl.noCache || requestCacheControl.noStore || request.getHeader("pragma").contains("no-cache")) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CachedResponse cachedResponse = lookup(key(request, remoteAddress), request);
+        if (cachedResponse != null && cachedResponse.isFresh(now, requestCacheControl.maxAge)) {
+            Metrics.increment(FORWARD_RESPONSE_CACHE_HIT_COUNT);
+            return cachedResponse.copy(now);
+        }
+        return null;
+    }
+
+    /**
+     * Sends a request that wasn't served by {@link #get(HttpRequest, InetSocketAddress)}, a stale cached response with a
+     * validator is revalidated and returned if the remote host replies 304 Not Modified, cacheable responses are stored
+     *
+     * @param request       the request to forward
+     * @param remoteAddress the address the request is forwarded to
+     * @param sendRequest   sends a request to the remote address
+     * @return the response
+     */
+    public CompletableFuture<HttpResponse> sendRequest(HttpRequest request, InetSocketAddress remoteAddress, Function<HttpRequest, CompletableFuture<HttpResponse>> sendRequest) {
+        if (ConfigurationProperties.forwardResponseCacheSize() <= 0) {
+            return sendRequest.apply(request);
+        }
+        String key = key(request, remoteAddress);
+        if (!isGet(request)) {
+            if (!isSafe(request)) {
+                return sendRequest.apply(request).thenApply(response -> {
+                    if (response != null && response.getStatusCode() != null && response.getStatusCode() < 400) {
+                        invalidate(key);
+                    }
+                    return response;
+                });
+            }
+            return sendRequest.apply(request);
+        }
+        Metrics.increment(FORWARD_RESPONSE_CACHE_MISS_COUNT);
+        CacheControl requestCacheControl = new CacheControl(request.getHeader("cache-control"));
+        CachedResponse staleResponse = requestCacheControl.noStore ? null : lookup(key, request);
+        HttpRequest forwardedRequest = request;
+        if (staleResponse != null && staleResponse.hasValidator() && !request.containsHeader("if-none-match") && !request.containsHeader("if-modified-since")) {
+            forwardedRequest = request.clone();
+            if (StringUtils.isNotBlank(staleResponse.etag)) {
+                forwardedRequest.withHeader("if-none-match", staleResponse.etag);
+            } else {
+                forwardedRequest.withHeader("if-modified-since", staleResponse.lastModified);
+            }
+        } else {
+            staleResponse = null;
+        }
+        CachedResponse revalidatedResponse = staleResponse;
+        long requestTime = System.currentTimeMillis();
+        return sendRequest.apply(forwardedRequest).thenApply(response -> {
+            long responseTime = System.currentTimeMillis();
+            if (response != null && revalidatedResponse != null && response.getStatusCode() != null && response.getStatusCode() == 304) {
+                Metrics.increment(FORWARD_RESPONSE_CACHE_REVALIDATED_COUNT);
+                return refresh(key, revalidatedResponse, response, requestTime, responseTime).copy(responseTime);
+            }
+            if (response != null && !requestCacheControl.noStore) {
+                store(key, request, response, requestTime, responseTime);
+            }
+            return response;
+        });
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        sizeInBytes = 0;
+    }
+
+    /**
+     * @return approximate size in bytes of the cached responses
+     */
+    public synchronized long size() {
+        return sizeInBytes;
+    }
+
+    private synchronized CachedResponse lookup(String key, HttpRequest request) {
+        List<CachedResponse> variants = cache.get(key);
+        if (variants != null) {
+            for (CachedResponse variant : variants) {
+                if (variant.matches(request)) {
+                    return variant;
+                }
+            }
+        }
+        return null;
+    }
+
+    private synchronized void invalidate(String key) {
+        List<CachedResponse> variants = cache.remove(key);
+        if (variants != null) {
+            for (CachedResponse variant : variants) {
+                sizeInBytes -= variant.size;
+            }
+        }
+    }
+
+    private void store(String key, HttpRequest request, HttpResponse response, long requestTime, long responseTime) {
+        if (response.getStatusCode() == null || !CACHEABLE_STATUS_CODES.contains(response.getStatusCode())) {
+            return;
+        }
+        CacheControl responseCacheControl = new CacheControl(response.getHeader("cache-control"));
+        if (responseCacheControl.noStore || responseCacheControl.isPrivate) {
+            return;
+        }
+        if (request.containsHeader("authorization") && !responseCacheControl.isPublic && responseCacheControl.sharedMaxAge == null) {
+            return;
+        }
+        List<String> varyHeaderNames = new ArrayList<>();
+        for (String vary : response.getHeader("vary")) {
+            for (String name : vary.split(",")) {
+                if (name.trim().equals("*")) {
+                    return;
+                } else if (!name.trim().isEmpty()) {
+                    varyHeaderNames.add(name.trim().toLowerCase());
+                }
+            }
+        }
+        CachedResponse cachedResponse = new CachedResponse(response.clone(), responseCacheControl, varyHeaderNames, request, requestTime, responseTime);
+        if (cachedResponse.freshnessLifetime <= 0 && !cachedResponse.hasValidator()) {
+            return;
+        }
+        synchronized (this) {
+            long maxSize = ConfigurationProperties.forwardResponseCacheSize();
+            if (cachedResponse.size > maxSize) {
+                return;
+            }
+            List<CachedResponse> variants = cache.computeIfAbsent(key, k -> new ArrayList<>());
+            for (Iterator<CachedResponse> iterator = variants.iterator(); iterator.hasNext(); ) {
+                CachedResponse variant = iterator.next();
+                if (variant.matches(request)) {
+                    sizeInBytes -= variant.size;
+                    iterator.remove();
+                }
+            }
+            variants.add(cachedResponse);
+            sizeInBytes += cachedResponse.size;
+            Iterator<List<CachedResponse>> leastRecentlyUsed = cache.values().iterator();
+            while (sizeInBytes > maxSize && leastRecentlyUsed.hasNext()) {
+                for (CachedResponse evicted : leastRecentlyUsed.next()) {
+                    sizeInBytes -= evicted.size;
+                }
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    private CachedResponse refresh(String key, CachedResponse staleResponse, HttpResponse notModifiedResponse, long requestTime, long responseTime) {
+        HttpResponse response = staleResponse.response.clone();
+        for (Header header : notModifiedResponse.getHeaderList()) {
+            String name = header.getName().getValue().toLowerCase();
+            if (!name.equals("content-length") && !name.equals("transfer-encoding") && !name.equals("connection")) {
+                response.replaceHeader(header);
+            }
+        }
+        CachedResponse refreshedResponse = new CachedResponse(response, new CacheControl(response.getHeader("cache-control")), staleResponse.varyHeaderNames, staleResponse.varyRequestHeaders, requestTime, responseTime);
+        synchronized (this) {
+            List<CachedResponse> variants = cache.get(key);
+            if (variants != null && variants.remove(staleResponse)) {
+                sizeInBytes += refreshedResponse.size - staleResponse.size;
+                variants.add(refreshedResponse);
+            }
+        }
+        return refreshedResponse;
+    }
+
+    private static boolean isGet(HttpRequest request) {
+        return request.getMethod("GET").equalsIgnoreCase("GET");
+    }
+
+    private static boolean isSafe(HttpRequest request) {
+        String method = request.getMethod("GET").toUpperCase();
+        return method.equals("HEAD") || method.equals("OPTIONS") || method.equals("TRACE");
+    }
+
+    private static String key(HttpRequest request, InetSocketAddress remoteAddress) {
+        StringBuilder key = new StringBuilder();
+        key.append(Boolean.TRUE.equals(request.isSecure()) ? "https://" : "http://");
+        key.append(remoteAddress != null ? remoteAddress.getHostString() + ":" + remoteAddress.getPort() : "").append("/");
+        key.append(request.getFirstHeader("host"));
+        key.append(request.getPath() != null ? request.getPath().getValue() : "");
+        char separator = '?';
+        for (Parameter parameter : request.getQueryStringParameterList()) {
+            for (NottableString value : parameter.getValues()) {
+                key.append(separator).append(parameter.getName().getValue()).append('=').append(value.getValue());
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static class CachedResponse {
+        private final HttpResponse response;
+        private final List<String> varyHeaderNames;
+        private final Map<String, List<String>> varyRequestHeaders;
+        private final String etag;
+        private final String lastModified;
+        private final long responseTime;
+        private final long initialAge;
+        private final long freshnessLifetime;
+        private final long size;
+
+        private CachedResponse(HttpResponse response, CacheControl cacheControl, List<String> varyHeaderNames, HttpRequest request, long requestTime, long responseTime) {
+            this(response, cacheControl, varyHeaderNames, varyRequestHeaders(varyHeaderNames, request), requestTime, responseTime);
+        }
+
+        private CachedResponse(HttpResponse response, CacheControl cacheControl, List<String> varyHeaderNames, Map<String, List<String>> varyRequestHeaders, long requestTime, long responseTime) {
+            this.response = response;
+            this.varyHeaderNames = varyHeaderNames;
+            this.varyRequestHeaders = varyRequestHeaders;
+            this.etag = response.getFirstHeader("etag");
+            this.lastModified = response.getFirstHeader("last-modified");
+            this.responseTime = responseTime;
+            Long ageSeconds = parseSeconds(response.getFirstHeader("age"));
+            this.initialAge = (ageSeconds != null ? TimeUnit.SECONDS.toMillis(ageSeconds) : 0) + (responseTime - requestTime);
+            this.freshnessLifetime = freshnessLifetime(response, cacheControl, responseTime);
+            long size = ENTRY_OVERHEAD_BYTES + response.getBodyAsRawBytes().length;
+            for (Header header : response.getHeaderList()) {
+                size += header.getName().getValue().length();
+                for (NottableString value : header.getValues()) {
+                    size += value.getValue().length();
+                }
+            }
+            this.size = size;
+        }
+
+        private static Map<String, List<String>> varyRequestHeaders(List<String> varyHeaderNames, HttpRequest request) {
+            Map<String, List<String>> varyRequestHeaders = new HashMap<>();
+            for (String name : varyHeaderNames) {
+                varyRequestHeaders.put(name, request.getHeader(name));
+            }
+            return varyRequestHeaders;
+        }
+
+        private static long freshnessLifetime(HttpResponse response, CacheControl cacheControl, long responseTime) {
+            if (cacheControl.noCache) {
+                return 0;
+            } else if (cacheControl.sharedMaxAge != null) {
+                return TimeUnit.SECONDS.toMillis(cacheControl.sharedMaxAge);
+            } else if (cacheControl.maxAge != null) {
+                return TimeUnit.SECONDS.toMillis(cacheControl.maxAge);
+            } else if (StringUtils.isNotBlank(response.getFirstHeader("expires"))) {
+                Date expires = DateFormatter.parseHttpDate(response.getFirstHeader("expires"));
+                Date date = DateFormatter.parseHttpDate(response.getFirstHeader("date"));
+                // an invalid Expires header, such as "0", means already expired
+                return expires != null ? expires.getTime() - (date != null ? date.getTime() : responseTime) : 0;
+            } else {
+                return 0;
+            }
+        }
+
+        private boolean matches(HttpRequest request) {
+            for (String name : varyHeaderNames) {
+                if (!varyRequestHeaders.get(name).equals(request.getHeader(name))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long currentAge(long now) {
+            return initialAge + (now - responseTime);
+        }
+
+        private boolean isFresh(long now, Long requestMaxAge) {
+            long currentAge = currentAge(now);
+            return currentAge < freshnessLifetime && (requestMaxAge == null || currentAge <= TimeUnit.SECONDS.toMillis(requestMaxAge));
+        }
+
+        private boolean hasValidator() {
+            return StringUtils.isNotBlank(etag) || StringUtils.isNotBlank(lastModified);
+        }
+
+        private HttpResponse copy(long now) {
+            return response.clone().replaceHeader("age", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(currentAge(now))));
+        }
+    }
+
+    private static class CacheControl {
+        private boolean noStore;
+        private boolean noCache;
+        private boolean isPrivate;
+        private boolean isPublic;
+        private Long maxAge;
+        private Long sharedMaxAge;
+
+        private CacheControl(List<String> headerValues) {
+            for (String headerValue : headerValues) {
+                for (String directive : headerValue.split(",")) {
+                    String[] nameAndValue = directive.trim().split("=", 2);
+                    String name = nameAndValue[0].trim().toLowerCase();
+                    String value = nameAndValue.length > 1 ? StringUtils.strip(nameAndValue[1].trim(), "\"") : null;
+                    switch (name) {
+                        case "no-store":
+                            noStore = true;
+                            break;
+                        case "no-cache":
+                            noCache = true;
+                            break;
+                        case "private":
+                            isPrivate = true;
+                            break;
+                        case "public":
+                            isPublic = true;
+                            break;
+                        case "max-age":
+                            maxAge = parseSeconds(value);
+                            break;
+                        case "s-maxage":
+                            sharedMaxAge = parseSeconds(value);
+                            break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static Long parseSeconds(String value) {
+        try {
+            long seconds = Long.parseLong(StringUtils.trimToEmpty(value));
+            return seconds >= 0 ? seconds : null;
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+}
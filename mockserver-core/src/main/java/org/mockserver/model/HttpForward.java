@@ -2,6 +2,9 @@ package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,6 +15,8 @@ public class HttpForward extends Action<HttpForward> {
     private String host;
     private Integer port = 80;
     private Scheme scheme = Scheme.HTTP;
+    private List<SocketAddress> upstreams;
+    private LoadBalancing loadBalancing;
 
     /**
      * Static builder to create a forward.
@@ -71,11 +76,69 @@ public class HttpForward extends Action<HttpForward> {
         return this;
     }
 
+    public List<SocketAddress> getUpstreams() {
+        return upstreams;
+    }
+
+    /**
+     * The upstream targets to forward the request to, each request is forwarded to one target chosen by the load balancing
+     * strategy, targets that repeatedly fail to connect are ejected for a period of time.  When specified the host, port and
+     * scheme are ignored and the scheme of each target is used.
+     *
+     * @param upstreams the targets to forward to
+     */
+    public HttpForward withUpstreams(SocketAddress... upstreams) {
+        return withUpstreams(Arrays.asList(upstreams));
+    }
+
+    /**
+     * The upstream targets to forward the request to, each request is forwarded to one target chosen by the load balancing
+     * strategy, targets that repeatedly fail to connect are ejected for a period of time.  When specified the host, port and
+     * scheme are ignored and the scheme of each target is used.
+     *
+     * @param upstreams the targets to forward to
+     */
+    public HttpForward withUpstreams(List<SocketAddress> upstreams) {
+        this.upstreams = upstreams != null ? new ArrayList<>(upstreams) : null;
+        this.hashCode = 0;
+        return this;
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * The strategy used to choose between the upstream targets.  If not specified the strategy defaults to ROUND_ROBIN.
+     *
+     * @param loadBalancing the strategy as a HttpForward.LoadBalancing value
+     */
+    public HttpForward withLoadBalancing(LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+        this.hashCode = 0;
+        return this;
+    }
+
     public enum Scheme {
         HTTP,
         HTTPS
     }
 
+    public enum LoadBalancing {
+        /**
+         * each target in turn
+         */
+        ROUND_ROBIN,
+        /**
+         * the target with the fewest requests in flight
+         */
+        LEAST_OUTSTANDING_REQUESTS,
+        /**
+         * the target with the lowest exponentially weighted moving average latency, weighted by the requests in flight
+         */
+        EWMA_LATENCY
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -90,13 +153,15 @@ public class HttpForward extends Action<HttpForward> {
         HttpForward that = (HttpForward) o;
         return Objects.equals(host, that.host) &&
             Objects.equals(port, that.port) &&
-            scheme == that.scheme;
+            scheme == that.scheme &&
+            Objects.equals(upstreams, that.upstreams) &&
+            loadBalancing == that.loadBalancing;
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            hashCode = Objects.hash(super.hashCode(), host, port, scheme);
+            hashCode = Objects.hash(super.hashCode(), host, port, scheme, upstreams, loadBalancing);
         }
         return hashCode;
     }
@@ -718,11 +718,11 @@ public class HttpRequest extends Not implements HttpMessage<HttpRequest, Body> {
     public InetSocketAddress socketAddressFromHostHeader() {
         if (socketAddress != null && socketAddress.getHost() != null) {
             boolean isSsl = socketAddress.getScheme() != null && socketAddress.getScheme().equals(SocketAddress.Scheme.HTTPS);
-            return new InetSocketAddress(socketAddress.getHost(), socketAddress.getPort() != null ? socketAddress.getPort() : isSsl ? 443 : 80);
+            return InetSocketAddress.createUnresolved(socketAddress.getHost(), socketAddress.getPort() != null ? socketAddress.getPort() : isSsl ? 443 : 80);
         } else if (isNotBlank(getFirstHeader(HOST.toString()))) {
             boolean isSsl = isSecure() != null && isSecure();
             String[] hostHeaderParts = getFirstHeader(HOST.toString()).split(":");
-            return new InetSocketAddress(hostHeaderParts[0], hostHeaderParts.length > 1 ? Integer.parseInt(hostHeaderParts[1]) : isSsl ? 443 : 80);
+            return InetSocketAddress.createUnresolved(hostHeaderParts[0], hostHeaderParts.length > 1 ? Integer.parseInt(hostHeaderParts[1]) : isSsl ? 443 : 80);
         } else {
             throw new IllegalArgumentException("Host header must be provided to determine remote socket address, the request does not include the \"Host\" header:" + NEW_LINE + this);
         }
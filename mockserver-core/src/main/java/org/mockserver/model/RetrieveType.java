@@ -8,5 +8,7 @@ public enum RetrieveType {
     REQUESTS,
     REQUEST_RESPONSES,
     RECORDED_EXPECTATIONS,
-    ACTIVE_EXPECTATIONS
+    ACTIVE_EXPECTATIONS,
+    AGGREGATES,
+    UPSTREAMS
 }
@@ -1,6 +1,7 @@
 package org.mockserver.scheduler;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.channel.EventLoop;
 import org.mockserver.client.SocketCommunicationException;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
@@ -132,6 +133,14 @@ public class Scheduler {
     }
 
     public void submit(HttpForwardActionResult future, Runnable command, boolean synchronous) {
+        submit(future, command, synchronous, null);
+    }
+
+    /**
+     * @param eventLoop event loop of the inbound channel or null, requests sent from an inbound channel's event loop also
+     *                  receive their response on it so the command runs there instead of hopping to the scheduler threads
+     */
+    public void submit(HttpForwardActionResult future, Runnable command, boolean synchronous, EventLoop eventLoop) {
         if (future != null) {
             if (this.synchronous || synchronous) {
                 try {
@@ -142,6 +151,14 @@ public class Scheduler {
                     future.getHttpResponse().completeExceptionally(ex);
                 }
                 run(command);
+            } else if (eventLoop != null) {
+                future.getHttpResponse().whenComplete((httpResponse, throwable) -> {
+                    if (eventLoop.inEventLoop()) {
+                        run(command);
+                    } else {
+                        eventLoop.execute(() -> run(command));
+                    }
+                });
             } else {
                 future.getHttpResponse().whenCompleteAsync((httpResponse, throwable) -> command.run(), scheduler);
             }
@@ -0,0 +1,48 @@
+package org.mockserver.serialization;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.log.EventLogAggregates;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author jamesdbloom
+ */
+public class EventLogAggregatesSerializer {
+    private final MockServerLogger mockServerLogger;
+    private final ObjectWriter objectWriter;
+
+    public EventLogAggregatesSerializer(MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+
+        DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
+            .withArrayIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE)
+            .withObjectIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+
+        objectWriter = ObjectMapperFactory.createObjectMapper().writer(prettyPrinter);
+    }
+
+    public String serialize(EventLogAggregates eventLogAggregates) {
+        try {
+            Map<String, Object> aggregates = new LinkedHashMap<>();
+            aggregates.put("routes", eventLogAggregates.routes());
+            aggregates.put("expectations", eventLogAggregates.expectationMatchCounts());
+            return objectWriter.writeValueAsString(aggregates);
+        } catch (Exception e) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(LogEntry.LogMessageType.EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while serializing event log aggregates to JSON")
+                    .setThrowable(e)
+            );
+            throw new RuntimeException("Exception while serializing event log aggregates to JSON", e);
+        }
+    }
+}
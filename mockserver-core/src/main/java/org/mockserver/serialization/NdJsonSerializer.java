@@ -0,0 +1,64 @@
+package org.mockserver.serialization;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.LogEventRequestAndResponse;
+import org.mockserver.serialization.model.ExpectationDTO;
+import org.mockserver.serialization.model.HttpRequestDTO;
+import org.mockserver.serialization.model.LogEventRequestAndResponseDTO;
+import org.slf4j.event.Level;
+
+/**
+ * Serializes each object as a single line of JSON (i.e. newline delimited JSON) so that
+ * objects can be appended one at a time without building an array of all objects first
+ *
+ * @author jamesdbloom
+ */
+public class NdJsonSerializer {
+    private static final char NDJSON_LINE_SEPARATOR = '\n';
+    private final MockServerLogger mockServerLogger;
+    private final ObjectWriter objectWriter = ObjectMapperFactory.createObjectMapper().writer();
+
+    public NdJsonSerializer(MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+    }
+
+    public String serialize(Object object) {
+        return append(new StringBuilder(), object).toString();
+    }
+
+    public StringBuilder append(StringBuilder ndJson, Object object) {
+        if (object != null) {
+            try {
+                return ndJson
+                    .append(objectWriter.writeValueAsString(toDTO(object)))
+                    .append(NDJSON_LINE_SEPARATOR);
+            } catch (Exception e) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(LogEntry.LogMessageType.EXCEPTION)
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while serializing " + object.getClass().getSimpleName() + " to NDJSON with value " + object)
+                        .setThrowable(e)
+                );
+                throw new RuntimeException("Exception while serializing " + object.getClass().getSimpleName() + " to NDJSON with value " + object, e);
+            }
+        }
+        return ndJson;
+    }
+
+    private Object toDTO(Object object) {
+        if (object instanceof HttpRequest) {
+            return new HttpRequestDTO((HttpRequest) object);
+        } else if (object instanceof Expectation) {
+            return new ExpectationDTO((Expectation) object);
+        } else if (object instanceof LogEventRequestAndResponse) {
+            return new LogEventRequestAndResponseDTO((LogEventRequestAndResponse) object);
+        } else {
+            return object;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.mockserver.serialization;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.action.HttpForwardLoadBalancer.UpstreamTarget;
+import org.slf4j.event.Level;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jamesdbloom
+ */
+public class UpstreamTargetSerializer {
+    private final MockServerLogger mockServerLogger;
+    private final ObjectWriter objectWriter;
+
+    public UpstreamTargetSerializer(MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+
+        DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
+            .withArrayIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE)
+            .withObjectIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+
+        objectWriter = ObjectMapperFactory.createObjectMapper().writer(prettyPrinter);
+    }
+
+    public String serialize(List<UpstreamTarget> upstreamTargets) {
+        try {
+            Map<String, Object> upstreams = new LinkedHashMap<>();
+            upstreams.put("upstreams", upstreamTargets);
+            return objectWriter.writeValueAsString(upstreams);
+        } catch (Exception e) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(LogEntry.LogMessageType.EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while serializing forward upstream statistics to JSON")
+                    .setThrowable(e)
+            );
+            throw new RuntimeException("Exception while serializing forward upstream statistics to JSON", e);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package org.mockserver.serialization.java;
 
 import com.google.common.base.Strings;
 import org.mockserver.model.HttpForward;
+import org.mockserver.model.SocketAddress;
+
+import java.util.Iterator;
 
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.serialization.java.ExpectationToJavaSerializer.INDENT_SIZE;
@@ -25,6 +28,19 @@ public class HttpForwardToJavaSerializer implements ToJavaSerializer<HttpForward
             if (httpForward.getScheme() != null) {
                 appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withScheme(HttpForward.Scheme.").append(httpForward.getScheme()).append(")");
             }
+            if (httpForward.getUpstreams() != null) {
+                appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withUpstreams(");
+                for (Iterator<SocketAddress> upstreams = httpForward.getUpstreams().iterator(); upstreams.hasNext(); ) {
+                    output.append(new SocketAddressToJavaSerializer().serialize(numberOfSpacesToIndent + 2, upstreams.next()));
+                    if (upstreams.hasNext()) {
+                        output.append(",");
+                    }
+                }
+                appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(")");
+            }
+            if (httpForward.getLoadBalancing() != null) {
+                appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withLoadBalancing(HttpForward.LoadBalancing.").append(httpForward.getLoadBalancing()).append(")");
+            }
             if (httpForward.getDelay() != null) {
                 appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withDelay(").append(new DelayToJavaSerializer().serialize(0, httpForward.getDelay())).append(")");
             }
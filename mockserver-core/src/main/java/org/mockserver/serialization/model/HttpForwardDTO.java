@@ -3,6 +3,10 @@ package org.mockserver.serialization.model;
 import org.mockserver.model.Delay;
 import org.mockserver.model.HttpForward;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+import org.mockserver.model.SocketAddress;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author jamesdbloom
@@ -11,6 +15,8 @@ public class HttpForwardDTO extends ObjectWithReflectiveEqualsHashCodeToString i
     private String host;
     private Integer port;
     private HttpForward.Scheme scheme;
+    private List<SocketAddressDTO> upstreams;
+    private HttpForward.LoadBalancing loadBalancing;
     private DelayDTO delay;
 
     public HttpForwardDTO(HttpForward httpForward) {
@@ -18,6 +24,13 @@ public class HttpForwardDTO extends ObjectWithReflectiveEqualsHashCodeToString i
             host = httpForward.getHost();
             port = httpForward.getPort();
             scheme = httpForward.getScheme();
+            if (httpForward.getUpstreams() != null) {
+                upstreams = new ArrayList<>();
+                for (SocketAddress upstream : httpForward.getUpstreams()) {
+                    upstreams.add(new SocketAddressDTO(upstream));
+                }
+            }
+            loadBalancing = httpForward.getLoadBalancing();
             if (httpForward.getDelay() != null) {
                 delay = new DelayDTO(httpForward.getDelay());
             }
@@ -32,10 +45,19 @@ public class HttpForwardDTO extends ObjectWithReflectiveEqualsHashCodeToString i
         if (this.delay != null) {
             delay = this.delay.buildObject();
         }
+        List<SocketAddress> upstreams = null;
+        if (this.upstreams != null) {
+            upstreams = new ArrayList<>();
+            for (SocketAddressDTO upstream : this.upstreams) {
+                upstreams.add(upstream.buildObject());
+            }
+        }
         return new HttpForward()
             .withHost(host)
             .withPort(port != null ? port : 80)
             .withScheme((scheme != null ? scheme : HttpForward.Scheme.HTTP))
+            .withUpstreams(upstreams)
+            .withLoadBalancing(loadBalancing)
             .withDelay(delay);
     }
 
@@ -66,6 +88,24 @@ public class HttpForwardDTO extends ObjectWithReflectiveEqualsHashCodeToString i
         return this;
     }
 
+    public List<SocketAddressDTO> getUpstreams() {
+        return upstreams;
+    }
+
+    public HttpForwardDTO setUpstreams(List<SocketAddressDTO> upstreams) {
+        this.upstreams = upstreams;
+        return this;
+    }
+
+    public HttpForward.LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public HttpForwardDTO setLoadBalancing(HttpForward.LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+        return this;
+    }
+
     public DelayDTO getDelay() {
         return delay;
     }
@@ -0,0 +1,166 @@
+package org.mockserver.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Socket transport used for event loops and channels, the native transports are loaded by reflection so they are only
+ * used when the matching netty native transport jar is on the classpath, otherwise NIO is used
+ *
+ * @author jamesdbloom
+ */
+public enum NettyTransport {
+    /**
+     * epoll on Linux if available, then io_uring on Linux if available, otherwise NIO, the default
+     */
+    AUTO(null, null, null, null, null),
+    /**
+     * java NIO, available on all platforms
+     */
+    NIO("io.netty.channel.nio.", null, null, null, null),
+    /**
+     * native epoll, requires Linux and netty-transport-native-epoll
+     */
+    EPOLL("io.netty.channel.epoll.", "io.netty.channel.epoll.Epoll", "io.netty.channel.epoll.EpollEventLoopGroup", "io.netty.channel.epoll.EpollSocketChannel", "io.netty.channel.epoll.EpollServerSocketChannel"),
+    /**
+     * native io_uring, requires a recent Linux kernel and netty-incubator-transport-native-io_uring
+     */
+    IO_URING("io.netty.incubator.channel.uring.", "io.netty.incubator.channel.uring.IOUring", "io.netty.incubator.channel.uring.IOUringEventLoopGroup", "io.netty.incubator.channel.uring.IOUringSocketChannel", "io.netty.incubator.channel.uring.IOUringServerSocketChannel");
+
+    private static final MockServerLogger MOCK_SERVER_LOGGER = new MockServerLogger(NettyTransport.class);
+    private final String packageName;
+    private final String availabilityClassName;
+    private final String eventLoopGroupClassName;
+    private final String socketChannelClassName;
+    private final String serverSocketChannelClassName;
+    private volatile Boolean available;
+    private volatile Class<? extends SocketChannel> socketChannelClass;
+    private volatile Class<? extends ServerSocketChannel> serverSocketChannelClass;
+
+    NettyTransport(String packageName, String availabilityClassName, String eventLoopGroupClassName, String socketChannelClassName, String serverSocketChannelClassName) {
+        this.packageName = packageName;
+        this.availabilityClassName = availabilityClassName;
+        this.eventLoopGroupClassName = eventLoopGroupClassName;
+        this.socketChannelClassName = socketChannelClassName;
+        this.serverSocketChannelClassName = serverSocketChannelClassName;
+    }
+
+    /**
+     * @return the configured transport, if it isn't available falls back to NIO
+     */
+    public static NettyTransport transport() {
+        NettyTransport configured = ConfigurationProperties.nettyTransport();
+        if (configured == AUTO) {
+            if (EPOLL.isAvailable()) {
+                return EPOLL;
+            } else if (IO_URING.isAvailable()) {
+                return IO_URING;
+            } else {
+                return NIO;
+            }
+        } else if (configured.isAvailable()) {
+            return configured;
+        } else {
+            MOCK_SERVER_LOGGER.logEvent(
+                new LogEntry()
+                    .setType(LogEntry.LogMessageType.SERVER_CONFIGURATION)
+                    .setLogLevel(Level.WARN)
+                    .setMessageFormat("netty transport " + configured + " is not available on this platform or classpath, using NIO")
+            );
+            return NIO;
+        }
+    }
+
+    /**
+     * @return event loop group for the configured transport
+     */
+    public static EventLoopGroup eventLoopGroup(int threadCount, ThreadFactory threadFactory) {
+        return transport().createEventLoopGroup(threadCount, threadFactory);
+    }
+
+    /**
+     * @return socket channel class that can be registered with the event loop group (or event loop)
+     */
+    public static Class<? extends SocketChannel> socketChannelClass(EventLoopGroup eventLoopGroup) {
+        NettyTransport transport = forEventLoopGroup(eventLoopGroup);
+        if (transport.socketChannelClass == null) {
+            transport.socketChannelClass = loadClass(transport.socketChannelClassName, NioSocketChannel.class);
+        }
+        return transport.socketChannelClass;
+    }
+
+    /**
+     * @return server socket channel class that can be registered with the event loop group
+     */
+    public static Class<? extends ServerSocketChannel> serverSocketChannelClass(EventLoopGroup eventLoopGroup) {
+        NettyTransport transport = forEventLoopGroup(eventLoopGroup);
+        if (transport.serverSocketChannelClass == null) {
+            transport.serverSocketChannelClass = loadClass(transport.serverSocketChannelClassName, NioServerSocketChannel.class);
+        }
+        return transport.serverSocketChannelClass;
+    }
+
+    private static NettyTransport forEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        String className = eventLoopGroup.getClass().getName();
+        for (NettyTransport transport : new NettyTransport[]{EPOLL, IO_URING}) {
+            if (className.startsWith(transport.packageName)) {
+                return transport;
+            }
+        }
+        return NIO;
+    }
+
+    public boolean isAvailable() {
+        if (available == null) {
+            if (this == AUTO || this == NIO) {
+                available = true;
+            } else {
+                try {
+                    available = (Boolean) Class.forName(availabilityClassName).getMethod("isAvailable").invoke(null);
+                } catch (Throwable throwable) {
+                    available = false;
+                }
+            }
+        }
+        return available;
+    }
+
+    private EventLoopGroup createEventLoopGroup(int threadCount, ThreadFactory threadFactory) {
+        if (eventLoopGroupClassName != null) {
+            try {
+                return (EventLoopGroup) Class.forName(eventLoopGroupClassName).getConstructor(int.class, ThreadFactory.class).newInstance(threadCount, threadFactory);
+            } catch (Throwable throwable) {
+                MOCK_SERVER_LOGGER.logEvent(
+                    new LogEntry()
+                        .setType(LogEntry.LogMessageType.SERVER_CONFIGURATION)
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception creating " + this + " event loop group, using NIO")
+                        .setThrowable(throwable)
+                );
+            }
+        }
+        return new NioEventLoopGroup(threadCount, threadFactory);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<? extends T> loadClass(String className, Class<? extends T> defaultClass) {
+        if (className != null) {
+            try {
+                return (Class<? extends T>) Class.forName(className);
+            } catch (Throwable throwable) {
+                // fall through to NIO
+            }
+        }
+        return defaultClass;
+    }
+}
@@ -1,12 +1,15 @@
 package org.mockserver.socket.tls;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.socket.tls.jdk.JDKKeyAndCertificateFactory;
 import org.mockserver.socket.tls.jdk.X509Generator;
 import org.slf4j.event.Level;
@@ -71,7 +74,10 @@ public class NettySslContextFactory {
                 } else {
                     sslContextBuilder.trustManager(trustCertificateChain());
                 }
-                clientSslContext = sslContextBuilder.build();
+                clientSslContext = sslContextBuilder
+                    .sessionCacheSize(forwardProxyTLSSessionCacheSize())
+                    .sessionTimeout(forwardProxyTLSSessionTimeout())
+                    .build();
                 rebuildTLSContext(false);
             } catch (Throwable throwable) {
                 throw new RuntimeException("Exception creating SSL context for client", throwable);
@@ -80,6 +86,28 @@ public class NettySslContextFactory {
         return clientSslContext;
     }
 
+    /**
+     * Creates a client TLS handler for the remote host and port, the JVM caches client TLS sessions for each host and port so
+     * later connections to the same host and port resume the session instead of performing a full handshake
+     * <p>
+     * the number of full and resumed handshakes are counted in the TLS_CLIENT_FULL_HANDSHAKE_COUNT and TLS_CLIENT_RESUMED_HANDSHAKE_COUNT metrics
+     */
+    public SslHandler createClientSslHandler(boolean forwardProxyClient, ByteBufAllocator allocator, String host, int port) {
+        SslHandler sslHandler = createClientSslContext(forwardProxyClient).newHandler(allocator, host, port);
+        long handshakeStarted = System.currentTimeMillis();
+        sslHandler.handshakeFuture().addListener(future -> {
+            if (future.isSuccess()) {
+                // a resumed session keeps the creation time of the handshake that created it
+                if (sslHandler.engine().getSession().getCreationTime() < handshakeStarted) {
+                    Metrics.increment(Metrics.Name.TLS_CLIENT_RESUMED_HANDSHAKE_COUNT);
+                } else {
+                    Metrics.increment(Metrics.Name.TLS_CLIENT_FULL_HANDSHAKE_COUNT);
+                }
+            }
+        });
+        return sslHandler;
+    }
+
     private PrivateKey forwardProxyPrivateKey() {
         if (isNotBlank(ConfigurationProperties.forwardProxyPrivateKey())) {
             return X509Generator.privateKeyFromPEMFile(ConfigurationProperties.forwardProxyPrivateKey());
@@ -1,6 +1,8 @@
 package org.mockserver.ui;
 
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.model.Delay;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 import org.mockserver.scheduler.Scheduler;
 
@@ -8,6 +10,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 /**
  * @author jamesdbloom
  */
@@ -16,6 +20,10 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
     private boolean listenerAdded = false;
     private final List<MockServerLogListener> listeners = Collections.synchronizedList(new ArrayList<>());
     private final Scheduler scheduler;
+    private long lastPendingSequence = 0;
+    private long lastNotifiedSequence = 0;
+    private long lastNotificationTime;
+    private boolean notificationScheduled;
 
     public MockServerEventLogNotifier(Scheduler scheduler) {
         this.scheduler = scheduler;
@@ -31,6 +39,54 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
         }
     }
 
+    /**
+     * Coalesces notifications for new log entries so listeners are notified at most once per
+     * eventLogNotificationInterval with the range of all log entries added since the last notification
+     */
+    protected synchronized void notifyListeners(final MockServerEventLog notifier, long firstSequence, long lastSequence) {
+        if (listenerAdded && !listeners.isEmpty()) {
+            // ranges from different event log shards interleave so a range may already have been notified
+            if (lastSequence <= lastNotifiedSequence) {
+                return;
+            }
+            lastPendingSequence = Math.max(lastPendingSequence, lastSequence);
+            if (!notificationScheduled) {
+                long remainingInterval = lastNotificationTime + ConfigurationProperties.eventLogNotificationInterval() - System.currentTimeMillis();
+                if (remainingInterval <= 0) {
+                    notifyPendingListeners(notifier);
+                } else {
+                    notificationScheduled = true;
+                    scheduler.schedule(() -> {
+                        synchronized (this) {
+                            notificationScheduled = false;
+                            notifyPendingListeners(notifier);
+                        }
+                    }, false, new Delay(MILLISECONDS, remainingInterval));
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the range from the last notified log entry up to the low-water mark of the event log, so every log entry is
+     * in exactly one notified range even when shards report their ranges out of order, log entries above the low-water
+     * mark are notified once the shard still processing them reports its range
+     */
+    private void notifyPendingListeners(final MockServerEventLog notifier) {
+        long lowWaterMark = notifier.lowWaterMark();
+        if (lastPendingSequence > lastNotifiedSequence && lowWaterMark > lastNotifiedSequence) {
+            final long firstSequence = lastNotifiedSequence + 1;
+            final long lastSequence = lowWaterMark;
+            lastNotifiedSequence = lastSequence;
+            lastNotificationTime = System.currentTimeMillis();
+            scheduler.submit(() -> {
+                for (MockServerLogListener listener : listeners.toArray(new MockServerLogListener[0])) {
+                    listener.updated(notifier, firstSequence, lastSequence);
+                }
+            });
+        }
+    }
+
     public void registerListener(MockServerLogListener listener) {
         listeners.add(listener);
         listenerAdded = true;
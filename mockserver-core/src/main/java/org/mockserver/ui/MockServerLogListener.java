@@ -9,4 +9,17 @@ public interface MockServerLogListener {
 
     void updated(MockServerEventLog mockServerLog);
 
+    /**
+     * Called at most once per batch of new log entries, instead of once per log entry, with the range of
+     * sequence numbers added since the previous notification so the new entries can be retrieved using a
+     * cursor instead of re-reading the whole log
+     *
+     * @param mockServerLog the updated log
+     * @param firstSequence sequence number of the first new log entry
+     * @param lastSequence  sequence number of the last new log entry
+     */
+    default void updated(MockServerEventLog mockServerLog, long firstSequence, long lastSequence) {
+        updated(mockServerLog);
+    }
+
 }
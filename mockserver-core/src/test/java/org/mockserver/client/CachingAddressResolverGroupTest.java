@@ -0,0 +1,128 @@
+package org.mockserver.client;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class CachingAddressResolverGroupTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    // stand-in for a DNS server that resolves every host name to the same address
+    private InetAddress[] lookup(String hostName) throws UnknownHostException {
+        lookups.incrementAndGet();
+        return new InetAddress[]{InetAddress.getByAddress(hostName, new byte[]{10, 0, 0, 1})};
+    }
+
+    private InetSocketAddress resolve(CachingAddressResolverGroup addressResolverGroup, String hostName) throws Exception {
+        AddressResolver<InetSocketAddress> resolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+        return resolver.resolve(InetSocketAddress.createUnresolved(hostName, 80)).get(10, SECONDS);
+    }
+
+    @Test
+    public void shouldCacheResolvedHostName() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(this::lookup, SECONDS.toMillis(60));
+
+        // when
+        InetSocketAddress firstAddress = resolve(addressResolverGroup, "some.host");
+        InetSocketAddress secondAddress = resolve(addressResolverGroup, "some.host");
+        resolve(addressResolverGroup, "some.other.host");
+
+        // then
+        assertThat(firstAddress.getAddress().getHostAddress(), is("10.0.0.1"));
+        assertThat(secondAddress.getAddress().getHostAddress(), is("10.0.0.1"));
+        assertThat(firstAddress.getPort(), is(80));
+        assertThat(lookups.get(), is(2));
+        assertThat(addressResolverGroup.size(), is(2));
+    }
+
+    @Test
+    public void shouldLookUpHostNameAgainAfterTimeToLive() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(this::lookup, 0);
+
+        // when
+        resolve(addressResolverGroup, "some.host");
+        resolve(addressResolverGroup, "some.host");
+
+        // then
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void shouldShareLookupInProgressWithoutBlocking() throws Exception {
+        // given
+        CountDownLatch lookupBlocked = new CountDownLatch(1);
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(hostName -> {
+            try {
+                lookupBlocked.await(10, SECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return lookup(hostName);
+        }, SECONDS.toMillis(60));
+        AddressResolver<InetSocketAddress> resolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        Future<InetSocketAddress> firstAddress = resolver.resolve(InetSocketAddress.createUnresolved("slow.host", 80));
+        Future<InetSocketAddress> secondAddress = resolver.resolve(InetSocketAddress.createUnresolved("slow.host", 80));
+
+        // then - resolving returns before the lookup completes
+        assertThat(firstAddress.isDone(), is(false));
+        assertThat(secondAddress.isDone(), is(false));
+
+        // when
+        lookupBlocked.countDown();
+
+        // then
+        assertThat(firstAddress.get(10, SECONDS).getAddress().getHostAddress(), is("10.0.0.1"));
+        assertThat(secondAddress.get(10, SECONDS).getAddress().getHostAddress(), is("10.0.0.1"));
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void shouldNotCacheFailedLookup() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(hostName -> {
+            lookups.incrementAndGet();
+            throw new UnknownHostException(hostName);
+        }, SECONDS.toMillis(60));
+        AddressResolver<InetSocketAddress> resolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        Future<InetSocketAddress> firstAddress = resolver.resolve(InetSocketAddress.createUnresolved("unknown.host", 80)).await();
+        Future<InetSocketAddress> secondAddress = resolver.resolve(InetSocketAddress.createUnresolved("unknown.host", 80)).await();
+
+        // then
+        assertThat(firstAddress.cause(), instanceOf(UnknownHostException.class));
+        assertThat(secondAddress.cause(), instanceOf(UnknownHostException.class));
+        assertThat(lookups.get(), is(2));
+        assertThat(addressResolverGroup.size(), is(0));
+    }
+
+    @Test
+    public void shouldNotLookUpIpAddress() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(this::lookup, SECONDS.toMillis(60));
+
+        // when
+        InetSocketAddress address = resolve(addressResolverGroup, "127.0.0.1");
+
+        // then
+        assertThat(address.getAddress().getHostAddress(), is("127.0.0.1"));
+        assertThat(lookups.get(), is(0));
+    }
+}
@@ -0,0 +1,284 @@
+package org.mockserver.client.netty;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.client.NettyHttpClient;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.fail;
+import static org.mockserver.model.HttpRequest.request;
+
+public class NettyHttpClientConnectionPoolTest {
+
+    private static final EventLoopGroup clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(NettyHttpClientConnectionPoolTest.class.getSimpleName() + "-eventLoop"));
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ServerSocket serverSocket;
+    private volatile boolean closeConnections;
+    private volatile String protocolVersion = "HTTP/1.1";
+    private volatile int responsesPerConnection = Integer.MAX_VALUE;
+    private volatile boolean respond = true;
+    private volatile boolean closeDelimited;
+    private int originalMaxConnections;
+    private long originalMaxSocketTimeout;
+
+    @Before
+    public void startServer() throws IOException {
+        originalMaxConnections = ConfigurationProperties.forwardConnectionPoolMaxConnections();
+        originalMaxSocketTimeout = ConfigurationProperties.maxSocketTimeout();
+        serverSocket = new ServerSocket(0);
+        new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    new Thread(() -> respond(socket)).start();
+                } catch (IOException ignore) {
+                    // server socket closed
+                }
+            }
+        }).start();
+    }
+
+    private void respond(Socket socket) {
+        try (Socket ignored = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+            OutputStream outputStream = socket.getOutputStream();
+            String line;
+            int responses = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() && responses++ >= responsesPerConnection) {
+                    // close the connection without responding
+                    return;
+                } else if (line.isEmpty() && closeDelimited) {
+                    // no content-length so the body ends when the connection is closed
+                    outputStream.write("HTTP/1.1 200 OK\r\n\r\nclose_delimited_body".getBytes(UTF_8));
+                    outputStream.flush();
+                    return;
+                } else if (line.isEmpty() && respond) {
+                    // end of request headers, the requests sent have no body
+                    outputStream.write((protocolVersion + " 200 OK\r\ncontent-length: 0\r\n" + (closeConnections ? "connection: close\r\n" : "") + "\r\n").getBytes(UTF_8));
+                    outputStream.flush();
+                    if (closeConnections) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException ignore) {
+            // connection closed by client
+        }
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(originalMaxConnections);
+        ConfigurationProperties.maxSocketTimeout(originalMaxSocketTimeout);
+        serverSocket.close();
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    private void sendRequests(NettyHttpClient nettyHttpClient, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            assertThat(nettyHttpClient.sendRequest(request("/some_path"), new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort())).get(10, SECONDS).getStatusCode(), is(200));
+        }
+    }
+
+    @Test
+    public void shouldReuseConnectionForForwardedRequests() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        sendRequests(nettyHttpClient, 3);
+
+        // then
+        assertThat(connections.get(), is(1));
+    }
+
+    private void sendRequestFromEventLoop(NettyHttpClient nettyHttpClient, EventLoop eventLoop) throws Exception {
+        CompletableFuture<HttpResponse> responseFuture = eventLoop.submit(() -> nettyHttpClient.sendRequest(request("/some_path"), new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort()))).get(10, SECONDS);
+        assertThat(responseFuture.get(10, SECONDS).getStatusCode(), is(200));
+    }
+
+    @Test
+    public void shouldReuseConnectionOnSameEventLoopAsCaller() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+        EventLoop firstEventLoop = clientEventLoopGroup.next();
+        EventLoop secondEventLoop = clientEventLoopGroup.next();
+
+        // when
+        sendRequestFromEventLoop(nettyHttpClient, firstEventLoop);
+        sendRequestFromEventLoop(nettyHttpClient, firstEventLoop);
+
+        // then
+        assertThat(connections.get(), is(1));
+
+        // when - connections are not shared between event loops
+        sendRequestFromEventLoop(nettyHttpClient, secondEventLoop);
+        sendRequestFromEventLoop(nettyHttpClient, secondEventLoop);
+
+        // then
+        assertThat(connections.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionClosedByServer() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        closeConnections = true;
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        sendRequests(nettyHttpClient, 3);
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionForHttp10ResponseWithoutKeepAlive() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        // the server leaves the connection open so only the protocol version tells the client not to reuse it
+        protocolVersion = "HTTP/1.0";
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        sendRequests(nettyHttpClient, 3);
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldReturnResponseDelimitedByConnectionClose() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(1);
+        closeDelimited = true;
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when - each request needs the only connection the pool allows
+        for (int i = 0; i < 3; i++) {
+            assertThat(nettyHttpClient.sendRequest(request("/some_path"), new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort())).get(10, SECONDS).getBodyAsString(), is("close_delimited_body"));
+        }
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldReleaseConnectionClosedByServerBeforeResponse() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(1);
+        responsesPerConnection = 0;
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when - each request needs the only connection the pool allows
+        for (int i = 0; i < 3; i++) {
+            try {
+                nettyHttpClient.sendRequest(request("/some_path"), new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort())).get(10, SECONDS);
+                fail("expected exception to be thrown");
+            } catch (ExecutionException ee) {
+                assertThat(ee.getCause().getMessage(), containsString("before valid response has been received"));
+            }
+        }
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldReleaseConnectionWhenResponseNotReceivedBeforeTimeout() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(1);
+        ConfigurationProperties.maxSocketTimeout(500);
+        respond = false;
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        try {
+            nettyHttpClient.sendRequest(request("/some_path"), new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort())).get(10, SECONDS);
+            fail("expected exception to be thrown");
+        } catch (ExecutionException ee) {
+            assertThat(ee.getCause().getMessage(), containsString("Response was not received after 500 milliseconds"));
+        }
+        respond = true;
+
+        // then - the only connection the pool allows has been released
+        sendRequests(nettyHttpClient, 1);
+        assertThat(connections.get(), is(2));
+    }
+
+    @Test
+    public void shouldRetryOnNewConnectionWhenReusedConnectionClosedBeforeResponse() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        // the server closes each connection when the second request arrives, as if it timed out the idle connection
+        responsesPerConnection = 1;
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        sendRequests(nettyHttpClient, 2);
+
+        // then
+        assertThat(connections.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenPoolingDisabled() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(0);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        sendRequests(nettyHttpClient, 3);
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+
+    @Test
+    public void shouldNotPoolConnectionsForNonForwardingClient() throws Exception {
+        // given
+        ConfigurationProperties.forwardConnectionPoolMaxConnections(10);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, false);
+
+        // when
+        sendRequests(nettyHttpClient, 3);
+
+        // then
+        assertThat(connections.get(), is(3));
+    }
+}
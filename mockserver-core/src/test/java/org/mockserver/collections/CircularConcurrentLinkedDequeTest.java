@@ -2,8 +2,11 @@ package org.mockserver.collections;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
@@ -45,4 +48,69 @@ public class CircularConcurrentLinkedDequeTest {
         assertThat(concurrentLinkedQueue, contains("2", "3", "4"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldEvictOldestEntry() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<String>(3, evicted::add);
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3"));
+
+        // when
+        concurrentLinkedQueue.evictOldest();
+
+        // then
+        assertThat(evicted, contains("1"));
+        assertThat(concurrentLinkedQueue, contains("2", "3"));
+
+        // when
+        concurrentLinkedQueue.add("4");
+        concurrentLinkedQueue.add("5");
+
+        // then
+        assertThat(evicted, contains("1", "2"));
+        assertThat(concurrentLinkedQueue, contains("3", "4", "5"));
+    }
+
+    @Test
+    public void shouldKeepSizeInSyncWhenRemoving() {
+        // given
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<String>(5, null);
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3", "4", "5"));
+
+        // when
+        concurrentLinkedQueue.poll();
+        concurrentLinkedQueue.removeLast();
+        concurrentLinkedQueue.pop();
+        concurrentLinkedQueue.removeItem("3");
+
+        // then
+        assertEquals(1, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("4"));
+
+        // when
+        concurrentLinkedQueue.addAll(Arrays.asList("6", "7", "8", "9", "10"));
+
+        // then
+        assertEquals(5, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("6", "7", "8", "9", "10"));
+    }
+
+    @Test
+    public void shouldOnlyCallEvictCallbackWhenItemRemoved() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<String>(3, evicted::add);
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3"));
+
+        // when
+        boolean firstRemove = concurrentLinkedQueue.removeItem("2");
+        boolean secondRemove = concurrentLinkedQueue.removeItem("2");
+
+        // then
+        assertThat(firstRemove, is(true));
+        assertThat(secondRemove, is(false));
+        assertThat(evicted, contains("2"));
+        assertEquals(2, concurrentLinkedQueue.size());
+    }
+
+}
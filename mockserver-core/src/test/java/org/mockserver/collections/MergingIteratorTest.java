@@ -0,0 +1,59 @@
+package org.mockserver.collections;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author jamesdbloom
+ */
+public class MergingIteratorTest {
+
+    @Test
+    public void shouldMergeSortedIterators() {
+        // given
+        MergingIterator<Integer> mergingIterator = new MergingIterator<>(Comparator.naturalOrder(), Arrays.asList(
+            Arrays.asList(1, 4, 7).iterator(),
+            Collections.<Integer>emptyIterator(),
+            Arrays.asList(2, 3, 8, 9).iterator(),
+            Arrays.asList(5, 6).iterator()
+        ));
+
+        // when
+        List<Integer> merged = new ArrayList<>();
+        mergingIterator.forEachRemaining(merged::add);
+
+        // then
+        assertThat(merged, contains(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+
+    @Test
+    public void shouldMergeInReverseOrder() {
+        // given
+        MergingIterator<Integer> mergingIterator = new MergingIterator<>(Comparator.reverseOrder(), Arrays.asList(
+            Arrays.asList(7, 4, 1).iterator(),
+            Arrays.asList(6, 5, 2).iterator()
+        ));
+
+        // when
+        List<Integer> merged = new ArrayList<>();
+        mergingIterator.forEachRemaining(merged::add);
+
+        // then
+        assertThat(merged, contains(7, 6, 5, 4, 2, 1));
+    }
+
+    @Test
+    public void shouldMergeNoIterators() {
+        // when
+        List<Integer> merged = new ArrayList<>();
+        new MergingIterator<Integer>(Comparator.naturalOrder(), Collections.emptyList()).forEachRemaining(merged::add);
+
+        // then
+        assertThat(merged, empty());
+    }
+}
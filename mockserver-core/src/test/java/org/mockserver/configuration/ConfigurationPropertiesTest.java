@@ -4,7 +4,11 @@ import io.netty.util.NettyRuntime;
 import io.netty.util.internal.SystemPropertyUtil;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
+import org.mockserver.log.EventLogOverflowPolicy;
+import org.mockserver.log.EventLogWaitStrategy;
+import org.mockserver.log.model.LogEntry;
 import org.mockserver.server.initialize.ExpectationInitializerExample;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.jdk.CertificateSigningRequest;
 import org.slf4j.event.Level;
@@ -146,6 +150,285 @@ public class ConfigurationPropertiesTest {
         assertEquals(defaultMaxLogEntries(), maxLogEntries());
     }
 
+    @Test
+    public void shouldSetAndReadMaxLogRetainedBytes() {
+        // given
+        System.clearProperty("mockserver.maxLogRetainedBytes");
+
+        // when
+        assertEquals(0L, maxLogRetainedBytes());
+        maxLogRetainedBytes(1024 * 1024);
+
+        // then
+        assertEquals("1048576", System.getProperty("mockserver.maxLogRetainedBytes"));
+        assertEquals(1024 * 1024L, maxLogRetainedBytes());
+    }
+
+    @Test
+    public void shouldSetAndReadMaxLogEntryAge() {
+        // given
+        System.clearProperty("mockserver.maxLogEntryAge");
+
+        // when
+        assertEquals(0L, maxLogEntryAge());
+        maxLogEntryAge(60000);
+
+        // then
+        assertEquals("60000", System.getProperty("mockserver.maxLogEntryAge"));
+        assertEquals(60000L, maxLogEntryAge());
+    }
+
+    @Test
+    public void shouldSetAndReadMaxVerificationFailureRequests() {
+        // given
+        System.clearProperty("mockserver.maxVerificationFailureRequests");
+
+        // when
+        assertEquals(50, maxVerificationFailureRequests());
+        maxVerificationFailureRequests(10);
+
+        // then
+        assertEquals("10", System.getProperty("mockserver.maxVerificationFailureRequests"));
+        assertEquals(10, maxVerificationFailureRequests());
+    }
+
+    @Test
+    public void shouldSetAndReadMaxVerificationFailureMessageLength() {
+        // given
+        System.clearProperty("mockserver.maxVerificationFailureMessageLength");
+
+        // when
+        assertEquals(65536, maxVerificationFailureMessageLength());
+        maxVerificationFailureMessageLength(1024);
+
+        // then
+        assertEquals("1024", System.getProperty("mockserver.maxVerificationFailureMessageLength"));
+        assertEquals(1024, maxVerificationFailureMessageLength());
+    }
+
+    @Test
+    public void shouldSetAndReadFullVerificationFailureReports() {
+        // given
+        System.clearProperty("mockserver.fullVerificationFailureReports");
+
+        // when
+        assertFalse(fullVerificationFailureReports());
+        fullVerificationFailureReports(true);
+
+        // then
+        assertEquals("true", System.getProperty("mockserver.fullVerificationFailureReports"));
+        assertTrue(fullVerificationFailureReports());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogNotificationInterval() {
+        // given
+        System.clearProperty("mockserver.eventLogNotificationInterval");
+
+        // when
+        assertEquals(0L, eventLogNotificationInterval());
+        eventLogNotificationInterval(250L);
+
+        // then
+        assertEquals("250", System.getProperty("mockserver.eventLogNotificationInterval"));
+        assertEquals(250L, eventLogNotificationInterval());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogShards() {
+        // given
+        System.clearProperty("mockserver.eventLogShards");
+
+        // when
+        assertEquals(1, eventLogShards());
+        eventLogShards(4);
+
+        // then
+        assertEquals("4", System.getProperty("mockserver.eventLogShards"));
+        assertEquals(4, eventLogShards());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogWaitStrategy() {
+        // given
+        System.clearProperty("mockserver.eventLogWaitStrategy");
+
+        // when
+        assertEquals(EventLogWaitStrategy.BLOCKING, eventLogWaitStrategy());
+        eventLogWaitStrategy("yielding");
+
+        // then
+        assertEquals("yielding", System.getProperty("mockserver.eventLogWaitStrategy"));
+        assertEquals(EventLogWaitStrategy.YIELDING, eventLogWaitStrategy());
+    }
+
+    @Test
+    public void shouldHandleInvalidEventLogWaitStrategy() {
+        // given
+        System.setProperty("mockserver.eventLogWaitStrategy", "invalid");
+
+        // then
+        assertEquals(EventLogWaitStrategy.BLOCKING, eventLogWaitStrategy());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogOverflowPolicy() {
+        // given
+        System.clearProperty("mockserver.eventLogOverflowPolicy");
+
+        // when
+        assertEquals(EventLogOverflowPolicy.DROP, eventLogOverflowPolicy());
+        eventLogOverflowPolicy("DROP_DEBUG_AND_TRACE");
+
+        // then
+        assertEquals("DROP_DEBUG_AND_TRACE", System.getProperty("mockserver.eventLogOverflowPolicy"));
+        assertEquals(EventLogOverflowPolicy.DROP_DEBUG_AND_TRACE, eventLogOverflowPolicy());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogOverflowSampleRate() {
+        // given
+        System.clearProperty("mockserver.eventLogOverflowSampleRate");
+
+        // when
+        assertEquals(10, eventLogOverflowSampleRate());
+        eventLogOverflowSampleRate(100);
+
+        // then
+        assertEquals("100", System.getProperty("mockserver.eventLogOverflowSampleRate"));
+        assertEquals(100, eventLogOverflowSampleRate());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogAggregateOnly() {
+        // given
+        System.clearProperty("mockserver.eventLogAggregateOnly");
+
+        // when
+        assertFalse(eventLogAggregateOnly());
+        eventLogAggregateOnly(true);
+
+        // then
+        assertEquals("true", System.getProperty("mockserver.eventLogAggregateOnly"));
+        assertTrue(eventLogAggregateOnly());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogAggregateSampleRate() {
+        // given
+        System.clearProperty("mockserver.eventLogAggregateSampleRate");
+
+        // when
+        assertEquals(1000, eventLogAggregateSampleRate());
+        eventLogAggregateSampleRate(10);
+
+        // then
+        assertEquals("10", System.getProperty("mockserver.eventLogAggregateSampleRate"));
+        assertEquals(10, eventLogAggregateSampleRate());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogSampleRates() {
+        // given
+        System.clearProperty("mockserver.eventLogSampleRates");
+
+        // when
+        assertThat(eventLogSampleRates().isEmpty(), is(true));
+        eventLogSampleRates("RECEIVED_REQUEST=10, expectation_response=0.5,INVALID=2,EXPECTATION_MATCHED");
+
+        // then
+        assertEquals("RECEIVED_REQUEST=10, expectation_response=0.5,INVALID=2,EXPECTATION_MATCHED", System.getProperty("mockserver.eventLogSampleRates"));
+        assertThat(eventLogSampleRates().size(), is(2));
+        assertThat(eventLogSampleRates().get(LogEntry.LogMessageType.RECEIVED_REQUEST), is(10.0));
+        assertThat(eventLogSampleRates().get(LogEntry.LogMessageType.EXPECTATION_RESPONSE), is(0.5));
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogExpectationSampleRates() {
+        // given
+        System.clearProperty("mockserver.eventLogExpectationSampleRates");
+
+        // when
+        assertThat(eventLogExpectationSampleRates().isEmpty(), is(true));
+        eventLogExpectationSampleRates("health-check=100,other=0");
+
+        // then
+        assertEquals("health-check=100,other=0", System.getProperty("mockserver.eventLogExpectationSampleRates"));
+        assertThat(eventLogExpectationSampleRates().size(), is(2));
+        assertThat(eventLogExpectationSampleRates().get("health-check"), is(100.0));
+        assertThat(eventLogExpectationSampleRates().get("other"), is(0.0));
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogBodyDeduplicationMinSize() {
+        // given
+        System.clearProperty("mockserver.eventLogBodyDeduplicationMinSize");
+
+        // when
+        assertEquals(1024, eventLogBodyDeduplicationMinSize());
+        eventLogBodyDeduplicationMinSize(-1);
+
+        // then
+        assertEquals("-1", System.getProperty("mockserver.eventLogBodyDeduplicationMinSize"));
+        assertEquals(-1, eventLogBodyDeduplicationMinSize());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogExportDirectory() {
+        // given
+        System.clearProperty("mockserver.eventLogExportDirectory");
+
+        // when
+        assertEquals("", eventLogExportDirectory());
+        eventLogExportDirectory("/tmp/event-log");
+
+        // then
+        assertEquals("/tmp/event-log", System.getProperty("mockserver.eventLogExportDirectory"));
+        assertEquals("/tmp/event-log", eventLogExportDirectory());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogExportTypes() {
+        // given
+        System.clearProperty("mockserver.eventLogExportTypes");
+
+        // when
+        assertThat(eventLogExportTypes(), empty());
+        eventLogExportTypes("RECEIVED_REQUEST, expectation_response,INVALID");
+
+        // then
+        assertEquals("RECEIVED_REQUEST, expectation_response,INVALID", System.getProperty("mockserver.eventLogExportTypes"));
+        assertThat(eventLogExportTypes(), containsInAnyOrder(LogEntry.LogMessageType.RECEIVED_REQUEST, LogEntry.LogMessageType.EXPECTATION_RESPONSE));
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogExportMaxFileSize() {
+        // given
+        System.clearProperty("mockserver.eventLogExportMaxFileSize");
+
+        // when
+        assertEquals(100 * 1024 * 1024L, eventLogExportMaxFileSize());
+        eventLogExportMaxFileSize(1024);
+
+        // then
+        assertEquals("1024", System.getProperty("mockserver.eventLogExportMaxFileSize"));
+        assertEquals(1024L, eventLogExportMaxFileSize());
+    }
+
+    @Test
+    public void shouldSetAndReadEventLogExportCompress() {
+        // given
+        System.clearProperty("mockserver.eventLogExportCompress");
+
+        // when
+        assertFalse(eventLogExportCompress());
+        eventLogExportCompress(true);
+
+        // then
+        assertEquals("true", System.getProperty("mockserver.eventLogExportCompress"));
+        assertTrue(eventLogExportCompress());
+    }
+
     @Test
     public void shouldSetAndReadMaxWebSocketExpectations() {
         // given
@@ -289,6 +572,160 @@ public class ConfigurationPropertiesTest {
         assertEquals(100, socketConnectionTimeout());
     }
 
+    @Test
+    public void shouldSetAndReadForwardProxyTLSSessionCacheSize() {
+        // given
+        System.clearProperty("mockserver.forwardProxyTLSSessionCacheSize");
+
+        // when
+        assertEquals(1000, forwardProxyTLSSessionCacheSize());
+        forwardProxyTLSSessionCacheSize(10);
+
+        // then
+        assertEquals("10", System.getProperty("mockserver.forwardProxyTLSSessionCacheSize"));
+        assertEquals(10, forwardProxyTLSSessionCacheSize());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardProxyTLSSessionTimeout() {
+        // given
+        System.clearProperty("mockserver.forwardProxyTLSSessionTimeout");
+
+        // when
+        assertEquals(3600L, forwardProxyTLSSessionTimeout());
+        forwardProxyTLSSessionTimeout(60L);
+
+        // then
+        assertEquals("60", System.getProperty("mockserver.forwardProxyTLSSessionTimeout"));
+        assertEquals(60L, forwardProxyTLSSessionTimeout());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardConnectionPoolMaxConnections() {
+        // given
+        System.clearProperty("mockserver.forwardConnectionPoolMaxConnections");
+
+        // when
+        assertEquals(100, forwardConnectionPoolMaxConnections());
+        forwardConnectionPoolMaxConnections(0);
+
+        // then
+        assertEquals("0", System.getProperty("mockserver.forwardConnectionPoolMaxConnections"));
+        assertEquals(0, forwardConnectionPoolMaxConnections());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardConnectionPoolIdleTimeout() {
+        // given
+        System.clearProperty("mockserver.forwardConnectionPoolIdleTimeout");
+
+        // when
+        assertEquals(30000L, forwardConnectionPoolIdleTimeout());
+        forwardConnectionPoolIdleTimeout(100L);
+
+        // then
+        assertEquals("100", System.getProperty("mockserver.forwardConnectionPoolIdleTimeout"));
+        assertEquals(100L, forwardConnectionPoolIdleTimeout());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardUpstreamEjectionConsecutiveFailures() {
+        // given
+        System.clearProperty("mockserver.forwardUpstreamEjectionConsecutiveFailures");
+
+        // when
+        assertEquals(3, forwardUpstreamEjectionConsecutiveFailures());
+        forwardUpstreamEjectionConsecutiveFailures(5);
+
+        // then
+        assertEquals("5", System.getProperty("mockserver.forwardUpstreamEjectionConsecutiveFailures"));
+        assertEquals(5, forwardUpstreamEjectionConsecutiveFailures());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardUpstreamEjectionTime() {
+        // given
+        System.clearProperty("mockserver.forwardUpstreamEjectionTime");
+
+        // when
+        assertEquals(30000L, forwardUpstreamEjectionTime());
+        forwardUpstreamEjectionTime(100L);
+
+        // then
+        assertEquals("100", System.getProperty("mockserver.forwardUpstreamEjectionTime"));
+        assertEquals(100L, forwardUpstreamEjectionTime());
+    }
+
+    @Test
+    public void shouldSetAndReadForwardResponseCacheSize() {
+        // given
+        System.clearProperty("mockserver.forwardResponseCacheSize");
+
+        // when
+        assertEquals(0L, forwardResponseCacheSize());
+        forwardResponseCacheSize(1048576L);
+
+        // then
+        assertEquals("1048576", System.getProperty("mockserver.forwardResponseCacheSize"));
+        assertEquals(1048576L, forwardResponseCacheSize());
+    }
+
+    @Test
+    public void shouldSetAndReadStreamingProxy() {
+        // given
+        System.clearProperty("mockserver.streamingProxy");
+
+        // when
+        assertFalse(streamingProxy());
+        streamingProxy(true);
+
+        // then
+        assertEquals("true", System.getProperty("mockserver.streamingProxy"));
+        assertTrue(streamingProxy());
+    }
+
+    @Test
+    public void shouldSetAndReadStreamingProxyCapturedBodySize() {
+        // given
+        System.clearProperty("mockserver.streamingProxyCapturedBodySize");
+
+        // when
+        assertEquals(65536, streamingProxyCapturedBodySize());
+        streamingProxyCapturedBodySize(100);
+
+        // then
+        assertEquals("100", System.getProperty("mockserver.streamingProxyCapturedBodySize"));
+        assertEquals(100, streamingProxyCapturedBodySize());
+    }
+
+    @Test
+    public void shouldSetAndReadNettyTransport() {
+        // given
+        System.clearProperty("mockserver.nettyTransport");
+
+        // when
+        assertEquals(NettyTransport.AUTO, nettyTransport());
+        nettyTransport("epoll");
+
+        // then
+        assertEquals("epoll", System.getProperty("mockserver.nettyTransport"));
+        assertEquals(NettyTransport.EPOLL, nettyTransport());
+    }
+
+    @Test
+    public void shouldSetAndReadDnsCacheTimeToLive() {
+        // given
+        System.clearProperty("mockserver.dnsCacheTimeToLive");
+
+        // when
+        assertEquals(30L, dnsCacheTimeToLive());
+        dnsCacheTimeToLive(100L);
+
+        // then
+        assertEquals("100", System.getProperty("mockserver.dnsCacheTimeToLive"));
+        assertEquals(100L, dnsCacheTimeToLive());
+    }
+
     @Test
     public void shouldSetAndReadAlwaysCloseSocketConnections() {
         // given
@@ -795,6 +1232,31 @@ public class ConfigurationPropertiesTest {
         }
     }
 
+    @Test
+    public void shouldSetAndReadSummariseExpectationsNotMatched() {
+        boolean originalSetting = summariseExpectationsNotMatched();
+        try {
+            // then - default value
+            assertFalse(summariseExpectationsNotMatched());
+
+            // when
+            summariseExpectationsNotMatched(true);
+
+            // then
+            assertTrue(summariseExpectationsNotMatched());
+            assertEquals("true", System.getProperty("mockserver.summariseExpectationsNotMatched"));
+
+            // when
+            summariseExpectationsNotMatched(false);
+
+            // then
+            assertFalse(summariseExpectationsNotMatched());
+            assertEquals("false", System.getProperty("mockserver.summariseExpectationsNotMatched"));
+        } finally {
+            summariseExpectationsNotMatched(originalSetting);
+        }
+    }
+
     @Test
     public void shouldSetAndReadLocalBoundIP() {
         // given
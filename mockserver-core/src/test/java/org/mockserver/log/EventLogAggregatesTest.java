@@ -0,0 +1,71 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class EventLogAggregatesTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(new MockServerLogger());
+
+    @Test
+    public void shouldCountRoutesReceivedAfterLimitTogether() {
+        // given
+        EventLogAggregates eventLogAggregates = new EventLogAggregates(0);
+
+        // when
+        for (int i = 0; i < EventLogAggregates.MAX_ROUTES + 2; i++) {
+            eventLogAggregates.aggregate(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/users/" + i).withMethod("GET")));
+        }
+        eventLogAggregates.aggregate(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/users/0").withMethod("GET")));
+
+        // then
+        List<EventLogAggregates.RouteAggregate> routes = eventLogAggregates.routes();
+        assertThat(routes.size(), is(EventLogAggregates.MAX_ROUTES + 1));
+        assertThat(routes.get(routes.size() - 1).getPath(), is("*"));
+        assertThat(routes.get(routes.size() - 1).getCount(), is(2L));
+        assertThat(eventLogAggregates.hasOtherRoutes(), is(true));
+        assertThat(eventLogAggregates.count(matcherBuilder.transformsToMatcher(request("/users/0"))), is(2L));
+        assertThat(eventLogAggregates.count(matcherBuilder.transformsToMatcher(request())), is((long) EventLogAggregates.MAX_ROUTES + 3));
+
+        // when
+        eventLogAggregates.clear(null);
+
+        // then
+        assertThat(eventLogAggregates.routes().size(), is(0));
+        assertThat(eventLogAggregates.hasOtherRoutes(), is(false));
+    }
+
+    @Test
+    public void shouldKeepNewestPendingRequestsWhenFull() {
+        // given
+        EventLogAggregates eventLogAggregates = new EventLogAggregates(0);
+        HttpRequest httpRequest = request("/some_path").withMethod("GET");
+        for (int i = 0; i < EventLogAggregates.MAX_PENDING_REQUESTS - 1; i++) {
+            eventLogAggregates.aggregate(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/other_path").withMethod("GET")).setEpochTime(100));
+        }
+        eventLogAggregates.aggregate(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(httpRequest).setEpochTime(100));
+
+        // when - another request received while the pending requests are full
+        eventLogAggregates.aggregate(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/other_path").withMethod("GET")).setEpochTime(100));
+        eventLogAggregates.aggregate(new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(httpRequest).setHttpResponse(response()).setEpochTime(150));
+
+        // then
+        assertThat(eventLogAggregates.routes().get(1).getPath(), is("/some_path"));
+        assertThat(eventLogAggregates.routes().get(1).getMaxLatency(), is(50L));
+    }
+}
@@ -0,0 +1,126 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+public class EventLogBodyStoreTest {
+
+    private static final String LARGE_BODY = new String(new char[2048]).replace('\0', 'a');
+
+    @Test
+    public void shouldNotCreateBodyStoreWithNegativeMinSize() {
+        assertThat(EventLogBodyStore.eventLogBodyStore(-1), nullValue());
+        assertThat(EventLogBodyStore.eventLogBodyStore(0), notNullValue());
+    }
+
+    @Test
+    public void shouldShareIdenticalBodies() {
+        // given
+        EventLogBodyStore eventLogBodyStore = new EventLogBodyStore(1024);
+        HttpRequest firstRequest = request("some_path").withBody(LARGE_BODY);
+        HttpRequest secondRequest = request("some_path").withBody(new String(LARGE_BODY));
+        HttpResponse response = response().withBody(new String(LARGE_BODY));
+        LogEntry firstLogEntry = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(firstRequest);
+        LogEntry secondLogEntry = new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(secondRequest).setHttpResponse(response);
+
+        // when
+        long firstShared = eventLogBodyStore.share(firstLogEntry);
+        long secondShared = eventLogBodyStore.share(secondLogEntry);
+
+        // then
+        assertThat(firstShared, is(0L));
+        assertThat(secondShared, is(2 * LogEntry.estimatedBodySize(firstRequest.getBody())));
+        assertThat(firstLogEntry.getHttpRequest(), sameInstance(firstRequest));
+        assertThat(secondLogEntry.getHttpRequest().getBody(), sameInstance(firstRequest.getBody()));
+        assertThat(secondLogEntry.getHttpRequest(), is(secondRequest));
+        assertThat(secondLogEntry.getHttpResponse().getBody(), sameInstance(firstRequest.getBody()));
+        assertThat(secondLogEntry.getHttpResponse(), is(response));
+        assertThat(eventLogBodyStore.size(), is(1));
+        assertThat(eventLogBodyStore.storedBytes(), is(LogEntry.estimatedBodySize(firstRequest.getBody())));
+    }
+
+    @Test
+    public void shouldNotModifyLoggedRequestsAndResponses() {
+        // given
+        EventLogBodyStore eventLogBodyStore = new EventLogBodyStore(1024);
+        HttpRequest firstRequest = request("some_path").withBody(LARGE_BODY);
+        HttpRequest secondRequest = request("some_path").withBody(new String(LARGE_BODY));
+        HttpResponse response = response().withBody(new String(LARGE_BODY));
+        Object secondRequestBody = secondRequest.getBody();
+        Object responseBody = response.getBody();
+
+        // when
+        eventLogBodyStore.share(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(firstRequest));
+        eventLogBodyStore.share(new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(secondRequest).setHttpResponse(response));
+
+        // then - the request and response may still be in use by the thread that logged them
+        assertThat(secondRequest.getBody(), sameInstance(secondRequestBody));
+        assertThat(response.getBody(), sameInstance(responseBody));
+    }
+
+    @Test
+    public void shouldNotShareBodiesWithDifferentContent() {
+        // given
+        EventLogBodyStore eventLogBodyStore = new EventLogBodyStore(1024);
+        HttpRequest firstRequest = request("some_path").withBody(LARGE_BODY);
+        HttpRequest secondRequest = request("some_path").withBody(LARGE_BODY + "b");
+
+        // when
+        eventLogBodyStore.share(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(firstRequest));
+        long secondShared = eventLogBodyStore.share(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(secondRequest));
+
+        // then
+        assertThat(secondShared, is(0L));
+        assertThat(secondRequest.getBody(), not(sameInstance(firstRequest.getBody())));
+        assertThat(eventLogBodyStore.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotShareBodiesSmallerThanMinSize() {
+        // given
+        EventLogBodyStore eventLogBodyStore = new EventLogBodyStore(1024);
+        HttpRequest firstRequest = request("some_path").withBody("small_body");
+        HttpRequest secondRequest = request("some_path").withBody("small_body");
+
+        // when
+        eventLogBodyStore.share(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(firstRequest));
+        long secondShared = eventLogBodyStore.share(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(secondRequest));
+
+        // then
+        assertThat(secondShared, is(0L));
+        assertThat(secondRequest.getBody(), not(sameInstance(firstRequest.getBody())));
+        assertThat(eventLogBodyStore.size(), is(0));
+    }
+
+    @Test
+    public void shouldReleaseBodyWhenLastLogEntryReleased() {
+        // given
+        EventLogBodyStore eventLogBodyStore = new EventLogBodyStore(1024);
+        LogEntry firstLogEntry = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("some_path").withBody(LARGE_BODY));
+        LogEntry secondLogEntry = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("some_path").withBody(new String(LARGE_BODY)));
+        eventLogBodyStore.share(firstLogEntry);
+        eventLogBodyStore.share(secondLogEntry);
+
+        // when
+        eventLogBodyStore.release(firstLogEntry);
+
+        // then
+        assertThat(eventLogBodyStore.size(), is(1));
+
+        // when
+        eventLogBodyStore.release(secondLogEntry);
+
+        // then
+        assertThat(eventLogBodyStore.size(), is(0));
+        assertThat(eventLogBodyStore.storedBytes(), is(0L));
+    }
+}
@@ -0,0 +1,115 @@
+package org.mockserver.log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+
+public class EventLogExporterTest {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("mockserver-event-log").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private List<String> readLines(boolean compressed) throws IOException {
+        File[] files = directory.listFiles();
+        assertThat(files, notNullValue());
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        List<String> lines = new ArrayList<>();
+        for (File file : files) {
+            InputStream inputStream = compressed ? new GZIPInputStream(new FileInputStream(file)) : new FileInputStream(file);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, UTF_8))) {
+                lines.addAll(reader.lines().collect(Collectors.toList()));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void shouldExportLogEntriesAsNdJson() throws IOException {
+        // given
+        EventLogExporter eventLogExporter = new EventLogExporter(new MockServerLogger(), directory.getAbsolutePath(), EnumSet.noneOf(LogEntry.LogMessageType.class), 1024 * 1024, false);
+
+        // when
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_one")));
+        eventLogExporter.export(new LogEntry().setType(INFO).setMessageFormat("some message"));
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_two")));
+        eventLogExporter.stop();
+
+        // then
+        assertThat(directory.list(), arrayWithSize(1));
+        List<String> lines = readLines(false);
+        assertThat(lines, hasSize(3));
+        assertThat(lines.get(0), allOf(containsString("\"type\":\"RECEIVED_REQUEST\""), containsString("\"path\":\"request_one\"")));
+        assertThat(lines.get(1), allOf(containsString("\"type\":\"INFO\""), containsString("some message")));
+        assertThat(lines.get(2), allOf(containsString("\"type\":\"RECEIVED_REQUEST\""), containsString("\"path\":\"request_two\"")));
+    }
+
+    @Test
+    public void shouldOnlyExportConfiguredTypes() throws IOException {
+        // given
+        EventLogExporter eventLogExporter = new EventLogExporter(new MockServerLogger(), directory.getAbsolutePath(), EnumSet.of(RECEIVED_REQUEST), 1024 * 1024, false);
+
+        // when
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_one")));
+        eventLogExporter.export(new LogEntry().setType(INFO).setMessageFormat("some message"));
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_two")));
+        eventLogExporter.stop();
+
+        // then
+        List<String> lines = readLines(false);
+        assertThat(lines, hasSize(2));
+        assertThat(lines.get(0), containsString("\"path\":\"request_one\""));
+        assertThat(lines.get(1), containsString("\"path\":\"request_two\""));
+    }
+
+    @Test
+    public void shouldRotateCompressedFiles() throws IOException {
+        // given - every file is full after a single log entry
+        EventLogExporter eventLogExporter = new EventLogExporter(new MockServerLogger(), directory.getAbsolutePath(), EnumSet.noneOf(LogEntry.LogMessageType.class), 1, true);
+
+        // when
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_one")));
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_two")));
+        eventLogExporter.export(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_three")));
+        eventLogExporter.stop();
+
+        // then
+        assertThat(directory.list(), arrayWithSize(3));
+        for (String fileName : Objects.requireNonNull(directory.list())) {
+            assertThat(fileName, endsWith(".ndjson.gz"));
+        }
+        List<String> lines = readLines(true);
+        assertThat(lines, hasSize(3));
+        assertThat(lines.get(0), containsString("\"path\":\"request_one\""));
+        assertThat(lines.get(1), containsString("\"path\":\"request_two\""));
+        assertThat(lines.get(2), containsString("\"path\":\"request_three\""));
+    }
+}
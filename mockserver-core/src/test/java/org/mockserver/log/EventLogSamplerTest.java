@@ -0,0 +1,134 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+public class EventLogSamplerTest {
+
+    private List<Boolean> sampleRequest(EventLogSampler eventLogSampler, HttpRequest httpRequest, Expectation expectation) {
+        return Arrays.asList(
+            eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(httpRequest)),
+            eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_MATCHED).setHttpRequest(httpRequest).setExpectation(expectation)),
+            eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(httpRequest).setHttpResponse(response()))
+        );
+    }
+
+    @Test
+    public void shouldNotCreateSamplerWithoutSampleRates() {
+        assertThat(EventLogSampler.eventLogSampler(new EnumMap<>(LogEntry.LogMessageType.class), new HashMap<>()), nullValue());
+    }
+
+    @Test
+    public void shouldKeepOneInEveryNRequestsWithTheirMatchAndResponse() {
+        // given
+        Map<LogEntry.LogMessageType, Double> typeSampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        typeSampleRates.put(RECEIVED_REQUEST, 2.0);
+        EventLogSampler eventLogSampler = new EventLogSampler(typeSampleRates, new HashMap<>());
+        Expectation expectation = new Expectation(request("some_path"));
+
+        // then
+        assertThat(sampleRequest(eventLogSampler, request("some_path"), expectation), contains(true, true, true));
+        assertThat(sampleRequest(eventLogSampler, request("some_path"), expectation), contains(false, false, false));
+        assertThat(sampleRequest(eventLogSampler, request("some_path"), expectation), contains(true, true, true));
+        assertThat(sampleRequest(eventLogSampler, request("some_path"), expectation), contains(false, false, false));
+    }
+
+    @Test
+    public void shouldOverrideSampleRateForExpectation() {
+        // given
+        Map<String, Double> expectationSampleRates = new HashMap<>();
+        expectationSampleRates.put("health-check", 0.0);
+        EventLogSampler eventLogSampler = new EventLogSampler(new EnumMap<>(LogEntry.LogMessageType.class), expectationSampleRates);
+
+        // then
+        assertThat(sampleRequest(eventLogSampler, request("health"), new Expectation(request("health")).withId("health-check")), contains(true, false, false));
+        assertThat(sampleRequest(eventLogSampler, request("other"), new Expectation(request("other")).withId("other")), contains(true, true, true));
+    }
+
+    @Test
+    public void shouldSampleWithProbability() {
+        // given
+        Map<LogEntry.LogMessageType, Double> typeSampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        typeSampleRates.put(RECEIVED_REQUEST, 0.5);
+        EventLogSampler eventLogSampler = new EventLogSampler(typeSampleRates, new HashMap<>());
+
+        // when
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("some_path")))) {
+                sampled++;
+            }
+        }
+
+        // then
+        assertThat(sampled, allOf(greaterThan(350), lessThan(650)));
+    }
+
+    @Test
+    public void shouldNotSampleOtherLogMessageTypes() {
+        // given
+        Map<LogEntry.LogMessageType, Double> typeSampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        typeSampleRates.put(RECEIVED_REQUEST, 0.0);
+        typeSampleRates.put(INFO, 0.0);
+        EventLogSampler eventLogSampler = new EventLogSampler(typeSampleRates, new HashMap<>());
+
+        // then
+        assertThat(eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("some_path"))), is(false));
+        assertThat(eventLogSampler.sampled(new LogEntry().setType(INFO).setHttpRequest(request("some_path"))), is(true));
+        assertThat(eventLogSampler.sampled(new LogEntry().setType(FORWARDED_REQUEST).setHttpRequest(request("some_path"))), is(true));
+    }
+
+    @Test
+    public void shouldRemovePendingRequestOnceResponseLogged() {
+        // given
+        Map<LogEntry.LogMessageType, Double> typeSampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        typeSampleRates.put(RECEIVED_REQUEST, 2.0);
+        EventLogSampler eventLogSampler = new EventLogSampler(typeSampleRates, new HashMap<>());
+        HttpRequest matched = request("matched");
+        HttpRequest notMatched = request("not_matched");
+        HttpRequest forwarded = request("forwarded");
+
+        // when
+        for (HttpRequest httpRequest : Arrays.asList(matched, notMatched, forwarded)) {
+            eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(httpRequest));
+        }
+        eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(matched).setHttpResponse(response()));
+        eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_NOT_MATCHED_RESPONSE).setHttpRequest(notMatched).setHttpResponse(response()));
+        eventLogSampler.sampled(new LogEntry().setType(FORWARDED_REQUEST).setHttpRequest(forwarded).setHttpResponse(response()));
+
+        // then
+        assertThat(eventLogSampler.pendingRequestCount(), is(0));
+    }
+
+    @Test
+    public void shouldRemoveOldestPendingRequestWhenFull() {
+        // given
+        Map<LogEntry.LogMessageType, Double> typeSampleRates = new EnumMap<>(LogEntry.LogMessageType.class);
+        typeSampleRates.put(RECEIVED_REQUEST, 0.0);
+        EventLogSampler eventLogSampler = new EventLogSampler(typeSampleRates, new HashMap<>());
+        HttpRequest oldest = request("oldest");
+        HttpRequest newest = request("newest");
+
+        // when
+        eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(oldest));
+        for (int i = 0; i < EventLogSampler.MAX_PENDING_REQUESTS - 1; i++) {
+            eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("some_path")));
+        }
+        eventLogSampler.sampled(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(newest));
+
+        // then - without a decision a matched entry is kept, with one it follows its request
+        assertThat(eventLogSampler.pendingRequestCount(), is(EventLogSampler.MAX_PENDING_REQUESTS));
+        assertThat(eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_MATCHED).setHttpRequest(oldest)), is(true));
+        assertThat(eventLogSampler.sampled(new LogEntry().setType(EXPECTATION_MATCHED).setHttpRequest(newest)), is(false));
+    }
+}
@@ -3,6 +3,7 @@ package org.mockserver.log;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.scheduler.Scheduler;
@@ -869,4 +870,175 @@ public class MockServerEventLogRequestLogEntryVerificationSequenceTest {
                 "} ]>"));
     }
 
+
+    @Test
+    public void shouldVerifySequenceUsingRegisteredVerificationCounters() {
+        // given
+        mockServerEventLog.registerVerification(request("one"), request("multi"), request("three"), request("four"));
+
+        // when
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("multi"))
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("three"))
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("multi"))
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("four"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // then
+        assertThat(verify(new VerificationSequence().withRequests(request("one"), request("multi"), request("multi"), request("four"))), is(""));
+        assertThat(verify(new VerificationSequence().withRequests(request("three"), request("multi"), request("four"))), is(""));
+        assertThat(verify(new VerificationSequence().withRequests(request("multi"), request("multi"), request("multi"))).startsWith("Request sequence not found"), is(true));
+        assertThat(verify(new VerificationSequence().withRequests(request("four"), request("one"))).startsWith("Request sequence not found"), is(true));
+    }
+
+    @Test
+    public void shouldLimitRequestsInVerificationSequenceFailure() {
+        int originalMaxVerificationFailureRequests = ConfigurationProperties.maxVerificationFailureRequests();
+        try {
+            // given
+            ConfigurationProperties.maxVerificationFailureRequests(2);
+
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("one"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("multi"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("three"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("multi"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("four"))
+                    .setType(RECEIVED_REQUEST)
+            );
+
+            // then
+            assertThat(verify(
+                new VerificationSequence()
+                    .withRequests(
+                        request("multi"),
+                        request("five")
+                    )
+                ),
+                is("Request sequence not found, expected:<[ {" + NEW_LINE +
+                    "  \"path\" : \"multi\"" + NEW_LINE +
+                    "}, {" + NEW_LINE +
+                    "  \"path\" : \"five\"" + NEW_LINE +
+                    "} ]> but was:<[ {" + NEW_LINE +
+                    "  \"path\" : \"multi\"" + NEW_LINE +
+                    "}, {" + NEW_LINE +
+                    "  \"path\" : \"three\"" + NEW_LINE +
+                    "} ]>, matched first 1 of 2 requests in sequence, showing 2 of 5 requests from request 2"));
+        } finally {
+            ConfigurationProperties.maxVerificationFailureRequests(originalMaxVerificationFailureRequests);
+        }
+    }
+
+    @Test
+    public void shouldLimitLengthOfVerificationSequenceFailure() {
+        int originalMaxVerificationFailureMessageLength = ConfigurationProperties.maxVerificationFailureMessageLength();
+        try {
+            // given
+            ConfigurationProperties.maxVerificationFailureMessageLength(10);
+
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("one"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("multi"))
+                    .setType(RECEIVED_REQUEST)
+            );
+
+            // then
+            assertThat(verify(
+                new VerificationSequence()
+                    .withRequests(
+                        request("five")
+                    )
+                ),
+                is("Request sequence not found, expected:<[ {" + NEW_LINE +
+                    "  \"path\" : \"five\"" + NEW_LINE +
+                    "} ]> but was:<[ {" + NEW_LINE +
+                    "  \"pat...>, matched first 0 of 1 requests in sequence, showing 2 of 2 requests from request 1"));
+        } finally {
+            ConfigurationProperties.maxVerificationFailureMessageLength(originalMaxVerificationFailureMessageLength);
+        }
+    }
+
+    @Test
+    public void shouldReportAllRequestsInVerificationSequenceFailureWhenFullReportEnabled() {
+        int originalMaxVerificationFailureRequests = ConfigurationProperties.maxVerificationFailureRequests();
+        boolean originalFullVerificationFailureReports = ConfigurationProperties.fullVerificationFailureReports();
+        try {
+            // given
+            ConfigurationProperties.maxVerificationFailureRequests(1);
+            ConfigurationProperties.fullVerificationFailureReports(true);
+
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("one"))
+                    .setType(RECEIVED_REQUEST)
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request("multi"))
+                    .setType(RECEIVED_REQUEST)
+            );
+
+            // then
+            assertThat(verify(
+                new VerificationSequence()
+                    .withRequests(
+                        request("five")
+                    )
+                ),
+                is("Request sequence not found, expected:<[ {" + NEW_LINE +
+                    "  \"path\" : \"five\"" + NEW_LINE +
+                    "} ]> but was:<[ {" + NEW_LINE +
+                    "  \"path\" : \"one\"" + NEW_LINE +
+                    "}, {" + NEW_LINE +
+                    "  \"path\" : \"multi\"" + NEW_LINE +
+                    "} ]>"));
+        } finally {
+            ConfigurationProperties.maxVerificationFailureRequests(originalMaxVerificationFailureRequests);
+            ConfigurationProperties.fullVerificationFailureReports(originalFullVerificationFailureReports);
+        }
+    }
 }
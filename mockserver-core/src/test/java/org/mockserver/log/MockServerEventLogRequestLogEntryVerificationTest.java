@@ -485,4 +485,102 @@ public class MockServerEventLogRequestLogEntryVerificationTest {
             ),
             is("Request not found exactly 0 times, expected:<{ }> but was:<{ }>"));
     }
+
+    @Test
+    public void shouldVerifyUsingRegisteredVerificationCounter() {
+        // given
+        HttpRequest httpRequest = new HttpRequest().withPath("some_path");
+        HttpRequest otherHttpRequest = new HttpRequest().withPath("some_other_path");
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(httpRequest)
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        mockServerEventLog.registerVerification(request().withPath("some_path"));
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(otherHttpRequest)
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(httpRequest)
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // then
+        assertThat(mockServerEventLog.isVerificationRegistered(request().withPath("some_path")), is(true));
+        assertThat(verify(
+            verification()
+                .withRequest(request().withPath("some_path"))
+                .withTimes(exactly(2))
+        ), is(""));
+        assertThat(verify(
+            verification()
+                .withRequest(request().withPath("some_path"))
+                .withTimes(exactly(3))
+            ),
+            is("Request not found exactly 3 times, expected:<{" + NEW_LINE +
+                "  \"path\" : \"some_path\"" + NEW_LINE +
+                "}> but was:<[ {" + NEW_LINE +
+                "  \"path\" : \"some_path\"" + NEW_LINE +
+                "}, {" + NEW_LINE +
+                "  \"path\" : \"some_other_path\"" + NEW_LINE +
+                "}, {" + NEW_LINE +
+                "  \"path\" : \"some_path\"" + NEW_LINE +
+                "} ]>"));
+    }
+
+    @Test
+    public void shouldUpdateRegisteredVerificationCounterWhenLogCleared() {
+        // given
+        HttpRequest httpRequest = new HttpRequest().withPath("some_path");
+        HttpRequest otherHttpRequest = new HttpRequest().withPath("some_other_path");
+        mockServerEventLog.registerVerification(request().withPath("some_path"));
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(httpRequest)
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(otherHttpRequest)
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        mockServerEventLog.clear(request().withPath("some_path"));
+
+        // then
+        assertThat(verify(
+            verification()
+                .withRequest(request().withPath("some_path"))
+                .withTimes(exactly(0))
+        ), is(""));
+    }
+
+    @Test
+    public void shouldUpdateRegisteredVerificationCounterWhenLogEntriesEvicted() {
+        // given
+        mockServerEventLog.setMaxSize(2);
+        mockServerEventLog.registerVerification(request().withPath("some_path"));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request().withPath("some_path"))
+                    .setType(RECEIVED_REQUEST)
+            );
+        }
+
+        // then
+        assertThat(verify(
+            verification()
+                .withRequest(request().withPath("some_path"))
+                .withTimes(exactly(2))
+        ), is(""));
+    }
 }
@@ -9,24 +9,41 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
 import org.mockserver.mock.Expectation;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.HttpStateHandler;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.ui.MockServerLogListener;
+import org.mockserver.verify.VerificationSequence;
 import org.slf4j.event.Level;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.log.model.LogEntryPage.logEntryPage;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.Verification.verification;
+import static org.mockserver.verify.VerificationTimes.atLeast;
+import static org.mockserver.verify.VerificationTimes.exactly;
 import static org.slf4j.event.Level.INFO;
 
 public class MockServerEventLogTest {
@@ -674,4 +691,461 @@ public class MockServerEventLogTest {
             ConfigurationProperties.logLevel(originalLevel.name());
         }
     }
+
+    @Test
+    public void shouldEvictOldestLogEntriesWhenRetainedBytesExceeded() {
+        // given
+        String body = new String(new char[1000]).replace('\0', 'a');
+        long retainedSize = new LogEntry().setHttpRequest(request("request_one").withBody(body)).getRetainedSize();
+        mockServerEventLog.setMaxRetainedBytes(3 * retainedSize);
+
+        // when
+        for (String path : new String[]{"request_one", "request_two", "request_three", "request_four", "request_five"}) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request(path).withBody(body))
+            );
+        }
+
+        // then
+        assertThat(retrieveRequests(null), contains(
+            request("request_three").withBody(body),
+            request("request_four").withBody(body),
+            request("request_five").withBody(body)
+        ));
+        assertThat(mockServerEventLog.retainedBytes(), is(3 * retainedSize));
+    }
+
+    @Test
+    public void shouldEvictLogEntriesOlderThanMaxAge() {
+        // given
+        mockServerEventLog.setMaxLogEntryAge(SECONDS.toMillis(5));
+
+        // when
+        mockServerEventLog.add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setEpochTime(TimeService.currentTimeMillis() - SECONDS.toMillis(10))
+                .setHttpRequest(request("request_one"))
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setEpochTime(TimeService.currentTimeMillis() - SECONDS.toMillis(6))
+                .setHttpRequest(request("request_two"))
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setEpochTime(TimeService.currentTimeMillis())
+                .setHttpRequest(request("request_three"))
+        );
+
+        // then
+        assertThat(retrieveRequests(null), contains(
+            request("request_three")
+        ));
+    }
+
+    @Test
+    public void shouldOnlyCountRequestsInAggregateOnlyMode() throws Exception {
+        // given
+        boolean originalEventLogAggregateOnly = ConfigurationProperties.eventLogAggregateOnly();
+        int originalEventLogAggregateSampleRate = ConfigurationProperties.eventLogAggregateSampleRate();
+        ConfigurationProperties.eventLogAggregateOnly(true);
+        ConfigurationProperties.eventLogAggregateSampleRate(2);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        try {
+            // when
+            for (int i = 0; i < 4; i++) {
+                HttpRequest httpRequest = i < 3 ? request("/a").withMethod("GET") : request("/b").withMethod("POST");
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(httpRequest)
+                );
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(EXPECTATION_RESPONSE)
+                        .setHttpRequest(httpRequest)
+                        .setHttpResponse(i == 1 ? notFoundResponse() : response("some_body"))
+                );
+            }
+
+            // then - only one in every two requests kept
+            CompletableFuture<List<HttpRequest>> requests = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequests(null, requests::complete);
+            assertThat(requests.get(10, SECONDS), contains(
+                request("/a").withMethod("GET"),
+                request("/a").withMethod("GET")
+            ));
+
+            // and - verifications answered from counts
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/a").withMethod("GET")).withTimes(exactly(3))).get(10, SECONDS), is(""));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/b")).withTimes(exactly(1))).get(10, SECONDS), is(""));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/a")).withTimes(atLeast(4))).get(10, SECONDS).startsWith("Request not found at least 4 times"), is(true));
+
+            // and - aggregates by method and path
+            CompletableFuture<EventLogAggregates> aggregates = new CompletableFuture<>();
+            mockServerEventLog.retrieveAggregates(aggregates::complete);
+            List<EventLogAggregates.RouteAggregate> routes = aggregates.get(10, SECONDS).routes();
+            assertThat(routes.size(), is(2));
+            assertThat(routes.get(0).getMethod(), is("GET"));
+            assertThat(routes.get(0).getPath(), is("/a"));
+            assertThat(routes.get(0).getCount(), is(3L));
+            assertThat(routes.get(0).getStatusCodes().get(200), is(2L));
+            assertThat(routes.get(0).getStatusCodes().get(404), is(1L));
+            assertThat(routes.get(0).getMinLatency(), is(0L));
+            assertThat(routes.get(1).getMethod(), is("POST"));
+            assertThat(routes.get(1).getCount(), is(1L));
+        } finally {
+            mockServerEventLog.stop();
+            ConfigurationProperties.eventLogAggregateOnly(originalEventLogAggregateOnly);
+            ConfigurationProperties.eventLogAggregateSampleRate(originalEventLogAggregateSampleRate);
+        }
+    }
+
+    @Test
+    public void shouldCountSampledOutRequestsForRegisteredVerifications() throws Exception {
+        // given
+        ConfigurationProperties.eventLogSampleRates("RECEIVED_REQUEST=0");
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        try {
+            mockServerEventLog.registerVerification(request("/a"));
+
+            // when
+            for (int i = 0; i < 3; i++) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/a"))
+                );
+            }
+
+            // then
+            CompletableFuture<List<HttpRequest>> requests = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequests(null, requests::complete);
+            assertThat(requests.get(10, SECONDS), empty());
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/a")).withTimes(exactly(3))).get(10, SECONDS), is(""));
+            assertThat(mockServerEventLog.storedLogEntriesCount(), is(0L));
+        } finally {
+            mockServerEventLog.stop();
+            System.clearProperty("mockserver.eventLogSampleRates");
+        }
+    }
+
+    @Test
+    public void shouldCountAggregatedRequestsForRegisteredVerifications() throws Exception {
+        // given
+        boolean originalEventLogAggregateOnly = ConfigurationProperties.eventLogAggregateOnly();
+        int originalEventLogAggregateSampleRate = ConfigurationProperties.eventLogAggregateSampleRate();
+        ConfigurationProperties.eventLogAggregateOnly(true);
+        ConfigurationProperties.eventLogAggregateSampleRate(0);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        try {
+            // verification matches on a header so can't be answered from the aggregates
+            mockServerEventLog.registerVerification(request("/a").withHeader("name", "value"));
+
+            // when
+            for (int i = 0; i < 3; i++) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/a").withHeader("name", "value"))
+                );
+            }
+
+            // then
+            CompletableFuture<List<HttpRequest>> requests = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequests(null, requests::complete);
+            assertThat(requests.get(10, SECONDS), empty());
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/a").withHeader("name", "value")).withTimes(exactly(3))).get(10, SECONDS), is(""));
+        } finally {
+            mockServerEventLog.stop();
+            ConfigurationProperties.eventLogAggregateOnly(originalEventLogAggregateOnly);
+            ConfigurationProperties.eventLogAggregateSampleRate(originalEventLogAggregateSampleRate);
+        }
+    }
+
+    @Test
+    public void shouldClearCountOfAggregatedRequestsForRegisteredVerifications() throws Exception {
+        // given
+        boolean originalEventLogAggregateOnly = ConfigurationProperties.eventLogAggregateOnly();
+        int originalEventLogAggregateSampleRate = ConfigurationProperties.eventLogAggregateSampleRate();
+        ConfigurationProperties.eventLogAggregateOnly(true);
+        ConfigurationProperties.eventLogAggregateSampleRate(0);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        try {
+            mockServerEventLog.registerVerification(request("/a").withHeader("name", "value"), request("/b").withHeader("name", "value"));
+            for (int i = 0; i < 3; i++) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/a").withHeader("name", "value"))
+                );
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/b").withHeader("name", "value"))
+                );
+            }
+
+            // when
+            mockServerEventLog.clear(request("/a"));
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/a").withHeader("name", "value"))
+            );
+
+            // then
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/a").withHeader("name", "value")).withTimes(exactly(1))).get(10, SECONDS), is(""));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/b").withHeader("name", "value")).withTimes(exactly(3))).get(10, SECONDS), is(""));
+        } finally {
+            mockServerEventLog.stop();
+            ConfigurationProperties.eventLogAggregateOnly(originalEventLogAggregateOnly);
+            ConfigurationProperties.eventLogAggregateSampleRate(originalEventLogAggregateSampleRate);
+        }
+    }
+
+    @Test
+    public void shouldPageTimeRangeInSequenceOrder() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        try {
+            // time is set when a log entry is created so can be out of order with the sequence
+            for (long epochTime : new long[]{300, 100, 200, 150, 250}) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setEpochTime(epochTime)
+                        .setHttpRequest(request("/" + epochTime))
+                );
+            }
+
+            // when
+            List<String> paths = new ArrayList<>();
+            Long cursor = null;
+            for (int page = 0; page < 3; page++) {
+                CompletableFuture<List<LogEntry>> logEntries = new CompletableFuture<>();
+                mockServerEventLog.retrieveRequestLogEntries(null, logEntryPage().withFrom(100L).withTo(300L).withLimit(2).withCursor(cursor), stream -> logEntries.complete(stream.collect(Collectors.toList())));
+                for (LogEntry logEntry : logEntries.get(10, SECONDS)) {
+                    paths.add(logEntry.getHttpRequest().getPath().getValue());
+                    cursor = logEntry.getSequence();
+                }
+            }
+
+            // then
+            assertThat(paths, contains("/300", "/100", "/200", "/150", "/250"));
+        } finally {
+            mockServerEventLog.stop();
+        }
+    }
+
+    @Test
+    public void shouldNotifyListenersWithRangeOfNewLogEntries() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        List<long[]> notifiedRanges = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<String> allNotified = new CompletableFuture<>();
+        mockServerEventLog.registerListener(new MockServerLogListener() {
+            @Override
+            public void updated(MockServerEventLog mockServerLog) {
+                fail("listener should be notified with range of new log entries");
+            }
+
+            @Override
+            public void updated(MockServerEventLog mockServerLog, long firstSequence, long lastSequence) {
+                notifiedRanges.add(new long[]{firstSequence, lastSequence});
+                if (lastSequence == 100) {
+                    allNotified.complete("done");
+                }
+            }
+        });
+
+        try {
+            // when
+            for (int i = 0; i < 100; i++) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("request_" + i))
+                );
+            }
+
+            // then
+            allNotified.get(10, SECONDS);
+            long expectedFirstSequence = 1;
+            for (long[] notifiedRange : notifiedRanges) {
+                assertThat(notifiedRange[0], is(expectedFirstSequence));
+                expectedFirstSequence = notifiedRange[1] + 1;
+            }
+            assertThat(expectedFirstSequence, is(101L));
+        } finally {
+            mockServerEventLog.stop();
+        }
+    }
+
+    @Test
+    public void shouldRetrieveLogEntriesInOrderFromAllShards() throws Exception {
+        // given
+        int originalEventLogShards = ConfigurationProperties.eventLogShards();
+        ConfigurationProperties.eventLogShards(4);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            // when
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int threadNumber = thread;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        mockServerEventLog.add(
+                            new LogEntry()
+                                .setType(RECEIVED_REQUEST)
+                                .setHttpRequest(request("thread_" + threadNumber + "_request_" + i))
+                        );
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, SECONDS);
+            }
+
+            // then
+            CompletableFuture<List<LogEntry>> result = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequestLogEntries(null, result::complete);
+            List<LogEntry> logEntries = result.get(10, SECONDS);
+            assertThat(logEntries.size(), is(400));
+            assertThat(mockServerEventLog.size(), is(400));
+            for (int i = 1; i < logEntries.size(); i++) {
+                assertThat(logEntries.get(i).getSequence() > logEntries.get(i - 1).getSequence(), is(true));
+            }
+            String verificationResult = mockServerEventLog.verify(
+                new VerificationSequence().withRequests(request("thread_3_request_0"), request("thread_3_request_49"))
+            ).get(10, SECONDS);
+            assertThat(verificationResult, is(""));
+        } finally {
+            executorService.shutdown();
+            mockServerEventLog.stop();
+            ConfigurationProperties.eventLogShards(originalEventLogShards);
+        }
+    }
+
+    @Test
+    public void shouldNotPageOrNotifyPastLogEntriesStillBeingAddedByOtherShards() throws Exception {
+        // given
+        int originalEventLogShards = ConfigurationProperties.eventLogShards();
+        ConfigurationProperties.eventLogShards(4);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        List<long[]> notifiedRanges = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong notifiedCount = new AtomicLong();
+        CompletableFuture<String> allNotified = new CompletableFuture<>();
+        mockServerEventLog.registerListener(new MockServerLogListener() {
+            @Override
+            public void updated(MockServerEventLog mockServerLog) {
+            }
+
+            @Override
+            public void updated(MockServerEventLog mockServerLog, long firstSequence, long lastSequence) {
+                notifiedRanges.add(new long[]{firstSequence, lastSequence});
+                if (notifiedCount.addAndGet(lastSequence - firstSequence + 1) >= 1600) {
+                    allNotified.complete("done");
+                }
+            }
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            // when - pages are retrieved while the shards are adding log entries
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        mockServerEventLog.add(
+                            new LogEntry()
+                                .setType(RECEIVED_REQUEST)
+                                .setHttpRequest(request("some_path"))
+                        );
+                    }
+                }));
+            }
+            List<Long> sequences = new ArrayList<>();
+            Long cursor = null;
+            boolean added = false;
+            while (true) {
+                added = added || futures.stream().allMatch(Future::isDone);
+                CompletableFuture<List<LogEntry>> page = new CompletableFuture<>();
+                mockServerEventLog.retrieveRequestLogEntries(null, logEntryPage().withLimit(7).withCursor(cursor), stream -> page.complete(stream.collect(Collectors.toList())));
+                List<LogEntry> logEntries = page.get(10, SECONDS);
+                if (logEntries.isEmpty() && added) {
+                    break;
+                }
+                for (LogEntry logEntry : logEntries) {
+                    sequences.add(logEntry.getSequence());
+                    cursor = logEntry.getSequence();
+                }
+            }
+
+            // then - every log entry is retrieved once in sequence order
+            assertThat(sequences.size(), is(1600));
+            for (int i = 0; i < sequences.size(); i++) {
+                assertThat(sequences.get(i), is(i + 1L));
+            }
+
+            // and - notified ranges don't overlap or leave gaps, listeners are notified asynchronously so can receive them in any order
+            allNotified.get(10, SECONDS);
+            List<long[]> sortedRanges = new ArrayList<>(notifiedRanges);
+            sortedRanges.sort(Comparator.comparingLong(range -> range[0]));
+            long expectedFirstSequence = 1;
+            for (long[] notifiedRange : sortedRanges) {
+                assertThat(notifiedRange[0], is(expectedFirstSequence));
+                expectedFirstSequence = notifiedRange[1] + 1;
+            }
+            assertThat(expectedFirstSequence, is(1601L));
+        } finally {
+            executorService.shutdown();
+            mockServerEventLog.stop();
+            ConfigurationProperties.eventLogShards(originalEventLogShards);
+        }
+    }
+
+    @Test
+    public void shouldDropAndCountLogEntriesWhenRingBufferFull() throws Exception {
+        // given
+        int originalDefaultMaxLogEntries = ConfigurationProperties.defaultMaxLogEntries();
+        boolean originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        ConfigurationProperties.defaultMaxLogEntries(10);
+        ConfigurationProperties.metricsEnabled(true);
+        Metrics.clear();
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+        CountDownLatch ringBufferBlocked = new CountDownLatch(1);
+        try {
+            // when - ring buffer thread blocked so ring buffer fills up
+            mockServerEventLog.retrieveRequests(null, requests -> {
+                try {
+                    ringBufferBlocked.await(10, SECONDS);
+                } catch (InterruptedException ignore) {
+                    // ignore
+                }
+            });
+            for (int i = 0; i < 50; i++) {
+                mockServerEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("request_" + i))
+                );
+            }
+
+            // then
+            assertThat(mockServerEventLog.ringBufferOccupancy(), is((long) ConfigurationProperties.ringBufferSize()));
+            assertThat(Metrics.get(Metrics.Name.EVENT_LOG_DROPPED_COUNT), is(50 - ConfigurationProperties.ringBufferSize() + 1));
+        } finally {
+            ringBufferBlocked.countDown();
+            mockServerEventLog.stop();
+            ConfigurationProperties.defaultMaxLogEntries(originalDefaultMaxLogEntries);
+            ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+            Metrics.clear();
+        }
+    }
 }
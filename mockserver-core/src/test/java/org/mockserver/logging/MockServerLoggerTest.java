@@ -88,6 +88,7 @@ public class MockServerLoggerTest {
             // given
             logLevel("INFO");
             Logger mockLogger = mock(Logger.class);
+            when(mockLogger.isErrorEnabled()).thenReturn(true);
             MockServerLogger logFormatter = new MockServerLogger(mockLogger);
             HttpRequest request = request("some_path");
 
@@ -126,6 +127,7 @@ public class MockServerLoggerTest {
             // given
             logLevel("INFO");
             Logger mockLogger = mock(Logger.class);
+            when(mockLogger.isErrorEnabled()).thenReturn(true);
             MockServerLogger logFormatter = new MockServerLogger(mockLogger);
             HttpRequest request = request("some_path");
             RuntimeException exception = new RuntimeException("TEST EXCEPTION");
@@ -173,6 +175,7 @@ public class MockServerLoggerTest {
             // given
             logLevel("INFO");
             Logger mockLogger = mock(Logger.class);
+            when(mockLogger.isErrorEnabled()).thenReturn(true);
             MockServerLogger logFormatter = new MockServerLogger(mockLogger);
             HttpRequest request = request("some_path");
 
@@ -211,4 +214,30 @@ public class MockServerLoggerTest {
         }
     }
 
+    @Test
+    public void shouldNotFormatLogMessagesWhenLoggerLevelDisabled() {
+        Level originalLevel = logLevel();
+        try {
+            // given
+            logLevel("INFO");
+            Logger mockLogger = mock(Logger.class);
+            when(mockLogger.isInfoEnabled()).thenReturn(false);
+            MockServerLogger logFormatter = new MockServerLogger(mockLogger);
+            LogEntry logEntry = new LogEntry()
+                .setType(LogEntry.LogMessageType.INFO)
+                .setLogLevel(Level.INFO)
+                .setMessageFormat("some random message with{}")
+                .setArguments(request("some_path"));
+
+            // when
+            logFormatter.logEvent(logEntry);
+
+            // then
+            verify(mockLogger).isInfoEnabled();
+            verifyNoMoreInteractions(mockLogger);
+        } finally {
+            logLevel(originalLevel.toString());
+        }
+    }
+
 }
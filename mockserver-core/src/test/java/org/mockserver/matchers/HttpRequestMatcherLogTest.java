@@ -13,17 +13,18 @@ import org.mockserver.scheduler.Scheduler;
 import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
-import java.util.Date;
-
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.ConfigurationProperties.logLevel;
 import static org.mockserver.configuration.ConfigurationProperties.matchersFailFast;
-import static org.mockserver.log.model.LogEntry.LOG_DATE_FORMAT;
+import static org.mockserver.configuration.ConfigurationProperties.summariseExpectationsNotMatched;
+import static org.mockserver.log.model.LogEntry.formatTimestamp;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.JsonBody.json;
@@ -78,7 +79,7 @@ public class HttpRequestMatcherLogTest {
                     .withQueryStringParameter("type", "logs")
             );
         assertThat(response.getBodyAsString(), is(
-            LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+            formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                 NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"method\" : \"HEAD\"" + NEW_LINE +
@@ -91,7 +92,7 @@ public class HttpRequestMatcherLogTest {
                 "  }" + NEW_LINE +
                 NEW_LINE +
                 "------------------------------------" + NEW_LINE +
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                 NEW_LINE +
                 "  { }" + NEW_LINE +
                 NEW_LINE
@@ -123,7 +124,7 @@ public class HttpRequestMatcherLogTest {
                     .withQueryStringParameter("type", "logs")
             );
         assertThat(response.getBodyAsString(), is(
-            LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+            formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                 NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"method\" : \"POST\"," + NEW_LINE +
@@ -157,7 +158,7 @@ public class HttpRequestMatcherLogTest {
                 NEW_LINE +
                 NEW_LINE +
                 "------------------------------------" + NEW_LINE +
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                 NEW_LINE +
                 "  { }" + NEW_LINE +
                 NEW_LINE
@@ -191,7 +192,7 @@ public class HttpRequestMatcherLogTest {
                     .withQueryStringParameter("type", "logs")
             );
         assertThat(response.getBodyAsString(), is(
-            LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+            formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                 NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"method\" : \"POST\"," + NEW_LINE +
@@ -235,7 +236,7 @@ public class HttpRequestMatcherLogTest {
                 NEW_LINE +
                 NEW_LINE +
                 "------------------------------------" + NEW_LINE +
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                 NEW_LINE +
                 "  { }" + NEW_LINE +
                 NEW_LINE
@@ -270,7 +271,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"method\" : \"POST\"," + NEW_LINE +
@@ -347,7 +348,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -387,7 +388,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"method\" : \"POST\"," + NEW_LINE +
@@ -474,7 +475,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -497,7 +498,7 @@ public class HttpRequestMatcherLogTest {
                     .withQueryStringParameter("type", "logs")
             );
         assertThat(response.getBodyAsString(), is(
-            LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+            formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                 NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"keepAlive\" : false" + NEW_LINE +
@@ -529,7 +530,7 @@ public class HttpRequestMatcherLogTest {
                 NEW_LINE +
                 NEW_LINE +
                 "------------------------------------" + NEW_LINE +
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                 NEW_LINE +
                 "  { }" + NEW_LINE +
                 NEW_LINE +
@@ -559,7 +560,7 @@ public class HttpRequestMatcherLogTest {
                 NEW_LINE +
                 NEW_LINE +
                 "------------------------------------" + NEW_LINE +
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                 NEW_LINE +
                 "  { }" + NEW_LINE +
                 NEW_LINE
@@ -582,7 +583,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"keepAlive\" : false" + NEW_LINE +
@@ -615,7 +616,7 @@ public class HttpRequestMatcherLogTest {
                     "  sslMatches matched" + NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE +
@@ -646,7 +647,7 @@ public class HttpRequestMatcherLogTest {
                     "  sslMatches matched" + NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -672,7 +673,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"keepAlive\" : false" + NEW_LINE +
@@ -715,7 +716,7 @@ public class HttpRequestMatcherLogTest {
                     "  sslMatches matched" + NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE +
@@ -756,7 +757,7 @@ public class HttpRequestMatcherLogTest {
                     "  sslMatches matched" + NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -781,7 +782,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"secure\" : false" + NEW_LINE +
@@ -814,7 +815,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE +
@@ -845,7 +846,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -869,7 +870,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"method\" : \"OPTIONS\"" + NEW_LINE +
@@ -895,7 +896,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -919,7 +920,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"method\" : \"POST\"" + NEW_LINE +
@@ -945,7 +946,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -969,7 +970,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"/dWM/dWM+ZA==\"" + NEW_LINE +
@@ -996,7 +997,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1020,7 +1021,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"pathsome\"" + NEW_LINE +
@@ -1047,7 +1048,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1071,7 +1072,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"somePath\"" + NEW_LINE +
@@ -1098,7 +1099,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1122,7 +1123,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"queryStringParameters\" : {" + NEW_LINE +
@@ -1165,7 +1166,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1189,7 +1190,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"queryStringParameters\" : {" + NEW_LINE +
@@ -1232,7 +1233,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1256,7 +1257,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : {" + NEW_LINE +
@@ -1302,7 +1303,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1326,7 +1327,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : {" + NEW_LINE +
@@ -1372,7 +1373,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1396,7 +1397,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"bodysome\"" + NEW_LINE +
@@ -1424,7 +1425,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1448,7 +1449,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE +
@@ -1474,7 +1475,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1502,7 +1503,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"<element>\\n   <key>some_key</key>\\n</element>\"" + NEW_LINE +
@@ -1539,7 +1540,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1571,7 +1572,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"<element>\\n   <key>some_key</key>\\n</element>\"" + NEW_LINE +
@@ -1611,7 +1612,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1669,7 +1670,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"<?xml version=\\\"1.0\\\" encoding=\\\"utf-8\\\"?>" + StringEscapeUtils.escapeJava(NEW_LINE) +
@@ -1770,7 +1771,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1799,7 +1800,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"{" + StringEscapeUtils.escapeJava(NEW_LINE) +
@@ -1840,7 +1841,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -1900,7 +1901,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"{" + StringEscapeUtils.escapeJava(NEW_LINE) +
@@ -2004,7 +2005,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2053,7 +2054,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"{" + StringEscapeUtils.escapeJava(NEW_LINE) +
@@ -2134,7 +2135,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2159,7 +2160,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"body\" : \"c29tZSBvdGhlciBiaW5hcnkgdmFsdWUgdGhhdCBpcyBtdWNoIG11Y2ggbG9uZ2VyIHNvIHRoYXQgdGhlIGJpbmFyeSBkYXRhIGlzIHdyYXBwZWQ=\"" + NEW_LINE +
@@ -2201,7 +2202,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2225,7 +2226,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"headers\" : {" + NEW_LINE +
@@ -2266,7 +2267,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2290,7 +2291,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"headers\" : {" + NEW_LINE +
@@ -2331,7 +2332,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2355,7 +2356,7 @@ public class HttpRequestMatcherLogTest {
                         .withQueryStringParameter("type", "logs")
                 );
             assertThat(response.getBodyAsString(), is(
-                LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"cookies\" : {" + NEW_LINE +
@@ -2397,7 +2398,7 @@ public class HttpRequestMatcherLogTest {
                     NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     NEW_LINE +
                     "  { }" + NEW_LINE +
                     NEW_LINE
@@ -2406,4 +2407,35 @@ public class HttpRequestMatcherLogTest {
             matchersFailFast(originalMatchersFailFast);
         }
     }
+
+    @Test
+    public void doesNotMatchExpectationsSummarisedInSingleLogEntry() {
+        boolean originalSummariseExpectationsNotMatched = summariseExpectationsNotMatched();
+        try {
+            // given
+            summariseExpectationsNotMatched(true);
+            httpStateHandler.add(
+                new Expectation(request().withMethod("POST").withPath("some_path")).withId("one").thenRespond(HttpResponse.response()),
+                new Expectation(request().withMethod("GET").withPath("some_other_path")).withId("two").thenRespond(HttpResponse.response()),
+                new Expectation(request().withMethod("GET").withPath("some_path")).withId("three").thenRespond(HttpResponse.response())
+            );
+
+            // when
+            Expectation expectation = httpStateHandler.firstMatchingExpectation(request().withMethod("GET").withPath("some_path"));
+
+            // then
+            assertThat(expectation.getId(), is("three"));
+            HttpResponse response = httpStateHandler
+                .retrieve(
+                    request()
+                        .withQueryStringParameter("type", "logs")
+                );
+            assertThat(response.getBodyAsString(), containsString(" didn't match expectations:" + NEW_LINE +
+                NEW_LINE +
+                "  {one=method, two=path}" + NEW_LINE));
+            assertThat(response.getBodyAsString(), not(containsString(" didn't match expectation:")));
+        } finally {
+            summariseExpectationsNotMatched(originalSummariseExpectationsNotMatched);
+        }
+    }
 }
@@ -86,6 +86,7 @@ public class JsonSchemaMatcherTest {
         initMocks(this);
 
         when(logger.isTraceEnabled()).thenReturn(true);
+        when(logger.isDebugEnabled()).thenReturn(true);
         when(logger.isInfoEnabled()).thenReturn(true);
         when(logger.isErrorEnabled()).thenReturn(true);
     }
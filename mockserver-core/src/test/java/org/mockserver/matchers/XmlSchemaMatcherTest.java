@@ -70,6 +70,7 @@ public class XmlSchemaMatcherTest {
         initMocks(this);
 
         when(logger.isTraceEnabled()).thenReturn(true);
+        when(logger.isDebugEnabled()).thenReturn(true);
         when(logger.isInfoEnabled()).thenReturn(true);
         when(logger.isErrorEnabled()).thenReturn(true);
     }
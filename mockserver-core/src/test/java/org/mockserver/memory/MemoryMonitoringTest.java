@@ -0,0 +1,64 @@
+package org.mockserver.memory;
+
+import org.junit.Test;
+import org.mockserver.log.MockServerEventLog;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.HttpStateHandler;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+public class MemoryMonitoringTest {
+
+    @Test
+    public void shouldCalculateCapacityWithinLimits() {
+        assertThat(MemoryMonitoring.capacity(1024 * 1024, 1024, 10, 10000), is(1024));
+        assertThat(MemoryMonitoring.capacity(1024 * 1024, 1024 * 1024, 10, 10000), is(10));
+        assertThat(MemoryMonitoring.capacity(1024 * 1024, 1, 10, 10000), is(10000));
+        assertThat(MemoryMonitoring.capacity(1024 * 1024, 0, 10, 10000), is(10000));
+    }
+
+    @Test
+    public void shouldIncreaseGraduallyAndDecreaseImmediately() {
+        assertThat(MemoryMonitoring.smoothed(1000, 2000), is(1500));
+        assertThat(MemoryMonitoring.smoothed(1500, 2000), is(1750));
+        assertThat(MemoryMonitoring.smoothed(2000, 2001), is(2001));
+        assertThat(MemoryMonitoring.smoothed(2000, 500), is(500));
+        assertThat(MemoryMonitoring.smoothed(0, 500), is(500));
+    }
+
+    @Test
+    public void shouldMeasureAverageLogEntrySize() throws Exception {
+        // given
+        HttpStateHandler httpStateHandler = new HttpStateHandler(new MockServerLogger(), mock(Scheduler.class));
+        MockServerEventLog mockServerEventLog = httpStateHandler.getMockServerLog();
+        MemoryMonitoring memoryMonitoring = new MemoryMonitoring(mockServerEventLog, null);
+        assertThat(memoryMonitoring.averageLogEntrySize(), is(0L));
+
+        // when
+        char[] body = new char[10 * 1024];
+        for (int i = 0; i < 10; i++) {
+            // distinct bodies so they aren't shared between log entries
+            Arrays.fill(body, (char) ('a' + i));
+            mockServerEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("request_" + i).withBody(new String(body))));
+        }
+        CompletableFuture<List<LogEntry>> logEntries = new CompletableFuture<>();
+        mockServerEventLog.retrieveRequestLogEntries(null, logEntries::complete);
+        assertThat(logEntries.get(10, SECONDS), hasSize(10));
+        assertThat(mockServerEventLog.storedLogEntriesCount(), is(10L));
+
+        // then - each log entry retains its body
+        assertThat(memoryMonitoring.averageLogEntrySize(), greaterThan(10 * 1024L));
+        assertThat(memoryMonitoring.adjustedMaxLogEntries(), greaterThanOrEqualTo(100));
+    }
+}
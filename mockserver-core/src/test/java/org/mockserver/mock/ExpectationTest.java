@@ -7,7 +7,9 @@ import org.mockserver.model.*;
 
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
 import static org.mockserver.model.HttpRequest.request;
@@ -149,6 +151,28 @@ public class ExpectationTest {
         assertThat(expectation.getTimes().getRemainingTimes(), is(0));
     }
 
+    @Test
+    public void shouldReuseSnapshotUntilRemainingMatchesChange() {
+        // given
+        Expectation expectation = new Expectation(request(), Times.exactly(2), TimeToLive.unlimited(), 0);
+
+        // when
+        Expectation firstSnapshot = expectation.snapshot();
+
+        // then
+        assertThat(expectation.snapshot(), sameInstance(firstSnapshot));
+        assertThat(firstSnapshot, is(expectation));
+
+        // when
+        expectation.decrementRemainingMatches();
+        Expectation secondSnapshot = expectation.snapshot();
+
+        // then
+        assertThat(secondSnapshot, not(sameInstance(firstSnapshot)));
+        assertThat(firstSnapshot.getTimes().getRemainingTimes(), is(2));
+        assertThat(secondSnapshot.getTimes().getRemainingTimes(), is(1));
+    }
+
     @Test
     public void shouldCalculateRemainingMatches() {
         assertThat(new Expectation(null, Times.once(), TimeToLive.unlimited(), 0).isActive(), is(true));
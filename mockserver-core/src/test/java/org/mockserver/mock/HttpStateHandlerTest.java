@@ -12,8 +12,12 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
+import org.mockserver.mock.action.HttpForwardLoadBalancer;
+import org.mockserver.mock.action.HttpForwardResponseCache;
+import org.mockserver.model.HttpForward;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.MediaType;
+import org.mockserver.model.SocketAddress;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.ExpectationSerializer;
 import org.mockserver.serialization.HttpRequestSerializer;
@@ -22,9 +26,10 @@ import org.mockserver.serialization.java.ExpectationToJavaSerializer;
 import org.mockserver.serialization.java.HttpRequestToJavaSerializer;
 import org.slf4j.event.Level;
 
+import java.net.InetSocketAddress;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static junit.framework.TestCase.fail;
@@ -36,8 +41,10 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.character.Character.NEW_LINE;
-import static org.mockserver.log.model.LogEntry.LOG_DATE_FORMAT;
+import static org.mockserver.log.model.LogEntry.formatTimestamp;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.mock.HttpStateHandler.NDJSON_UTF_8;
+import static org.mockserver.mock.HttpStateHandler.NEXT_CURSOR_HEADER_NAME;
 import static org.mockserver.model.Format.LOG_ENTRIES;
 import static org.mockserver.model.HttpError.error;
 import static org.mockserver.model.HttpRequest.request;
@@ -134,7 +141,7 @@ public class HttpStateHandlerTest {
             // then
             assertThat(response,
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - no expectation for:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - no expectation for:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -148,7 +155,7 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - returning error:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - returning error:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_two\"" + NEW_LINE +
@@ -171,7 +178,7 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -199,7 +206,7 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_two\"" + NEW_LINE +
@@ -227,13 +234,13 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - some random" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - some random" + NEW_LINE +
                         NEW_LINE +
                         "  argument_one" + NEW_LINE +
                         NEW_LINE +
                         " message" + NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  { }" + NEW_LINE +
                         NEW_LINE,
@@ -306,7 +313,7 @@ public class HttpStateHandlerTest {
             // then
             assertThat(response,
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - no expectation for:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - no expectation for:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -320,7 +327,7 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - request:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - request:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -348,7 +355,7 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -370,7 +377,7 @@ public class HttpStateHandlerTest {
         } catch (Throwable throwable) {
             // then
             assertThat(throwable, instanceOf(IllegalArgumentException.class));
-            assertThat(throwable.getMessage(), is("\"invalid\" is not a valid value for \"type\" parameter, only the following values are supported [logs, requests, request_responses, recorded_expectations, active_expectations]"));
+            assertThat(throwable.getMessage(), is("\"invalid\" is not a valid value for \"type\" parameter, only the following values are supported [logs, requests, request_responses, recorded_expectations, active_expectations, aggregates, upstreams]"));
         }
     }
 
@@ -383,7 +390,7 @@ public class HttpStateHandlerTest {
         } catch (Throwable throwable) {
             // then
             assertThat(throwable, instanceOf(IllegalArgumentException.class));
-            assertThat(throwable.getMessage(), is("\"invalid\" is not a valid value for \"format\" parameter, only the following values are supported [java, json, log_entries]"));
+            assertThat(throwable.getMessage(), is("\"invalid\" is not a valid value for \"format\" parameter, only the following values are supported [java, json, log_entries, ndjson]"));
         }
     }
 
@@ -438,7 +445,7 @@ public class HttpStateHandlerTest {
                             .withQueryStringParameter("type", "logs")
                     ),
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - removed expectation:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - removed expectation:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"id\" : \"one\"," + NEW_LINE +
@@ -460,12 +467,12 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - clearing expectations and logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - clearing expectations and logs that match:" + NEW_LINE +
                         NEW_LINE +
                         "  {}" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         NEW_LINE +
                         "  { }" + NEW_LINE +
                         NEW_LINE,
@@ -535,7 +542,7 @@ public class HttpStateHandlerTest {
                             .withQueryStringParameter("type", "logs")
                     ),
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - creating expectation:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - creating expectation:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"id\" : \"key_one\"," + NEW_LINE +
@@ -557,13 +564,13 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         "" + NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - some random" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - some random" + NEW_LINE +
                         "" + NEW_LINE +
                         "  argument_one" + NEW_LINE +
                         "" + NEW_LINE +
                         " message" + NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - removed expectation:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - removed expectation:" + NEW_LINE +
                         NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"id\" : \"key_four\"," + NEW_LINE +
@@ -585,14 +592,14 @@ public class HttpStateHandlerTest {
                         "  }" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - clearing expectations and logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - clearing expectations and logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  {" + NEW_LINE +
                         "    \"path\" : \"request_four\"" + NEW_LINE +
                         "  }" + NEW_LINE +
                         "" + NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  { }" + NEW_LINE +
                         NEW_LINE,
@@ -677,12 +684,12 @@ public class HttpStateHandlerTest {
                             .withQueryStringParameter("type", "logs")
                     ),
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - clearing logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - clearing logs that match:" + NEW_LINE +
                         NEW_LINE +
                         "  {}" + NEW_LINE +
                         NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  { }" + NEW_LINE +
                         NEW_LINE,
@@ -820,6 +827,249 @@ public class HttpStateHandlerTest {
         );
     }
 
+    @Test
+    public void shouldRetrieveRecordedRequestsInPages() {
+        // given
+        httpStateHandler.log(
+            new LogEntry()
+                .setHttpRequest(request("request_one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setHttpRequest(request("request_two"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setHttpRequest(request("request_three"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        HttpResponse firstPage = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("limit", "2")
+            );
+
+        // then
+        assertThat(firstPage.getBodyAsString(), is(httpRequestSerializer.serialize(Arrays.asList(
+            request("request_one"),
+            request("request_two")
+        ))));
+        String cursor = firstPage.getFirstHeader(NEXT_CURSOR_HEADER_NAME);
+        assertThat(cursor.isEmpty(), is(false));
+
+        // when
+        HttpResponse secondPage = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("limit", "2")
+                    .withQueryStringParameter("cursor", cursor)
+            );
+
+        // then
+        assertThat(secondPage.getBodyAsString(), is(httpRequestSerializer.serialize(Collections.singletonList(
+            request("request_three")
+        ))));
+        cursor = secondPage.getFirstHeader(NEXT_CURSOR_HEADER_NAME);
+        assertThat(cursor.isEmpty(), is(false));
+
+        // when
+        HttpResponse lastPage = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("limit", "2")
+                    .withQueryStringParameter("cursor", cursor)
+            );
+
+        // then
+        assertThat(lastPage.getBodyAsString(), is("[]"));
+        assertThat(lastPage.containsHeader(NEXT_CURSOR_HEADER_NAME), is(false));
+    }
+
+    @Test
+    public void shouldRetrieveRecordedRequestsSince() {
+        // given
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(1000L)
+                .setHttpRequest(request("request_one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(2000L)
+                .setHttpRequest(request("request_two"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(3000L)
+                .setHttpRequest(request("request_three"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        HttpResponse response = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("since", "2000")
+            );
+
+        // then
+        assertThat(response,
+            is(response().withBody(httpRequestSerializer.serialize(Arrays.asList(
+                request("request_two"),
+                request("request_three")
+            )), MediaType.JSON_UTF_8).withStatusCode(200))
+        );
+    }
+
+    @Test
+    public void shouldRetrieveRecordedRequestsBetweenFromAndTo() {
+        // given
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(1000L)
+                .setHttpRequest(request("request_one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(2000L)
+                .setHttpRequest(request("request_two"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(3000L)
+                .setHttpRequest(request("request_three"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(4000L)
+                .setHttpRequest(request("request_four"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        HttpResponse response = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("from", "2000")
+                    .withQueryStringParameter("to", "3000")
+            );
+
+        // then
+        assertThat(response,
+            is(response().withBody(httpRequestSerializer.serialize(Arrays.asList(
+                request("request_two"),
+                request("request_three")
+            )), MediaType.JSON_UTF_8).withStatusCode(200))
+        );
+    }
+
+    @Test
+    public void shouldClearRecordedRequestsUpToTime() {
+        // given
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(1000L)
+                .setHttpRequest(request("request_one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(3000L)
+                .setHttpRequest(request("request_three"))
+                .setType(RECEIVED_REQUEST)
+        );
+        // logged out of time order
+        httpStateHandler.log(
+            new LogEntry()
+                .setEpochTime(2000L)
+                .setHttpRequest(request("request_two"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        httpStateHandler.clear(
+            request()
+                .withQueryStringParameter("type", "log")
+                .withQueryStringParameter("to", "2000")
+        );
+
+        // then
+        HttpResponse response = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("type", "requests")
+            );
+        assertThat(response,
+            is(response().withBody(httpRequestSerializer.serialize(Collections.singletonList(
+                request("request_three")
+            )), MediaType.JSON_UTF_8).withStatusCode(200))
+        );
+    }
+
+    @Test
+    public void shouldRetrieveRecordedRequestsAsNdJson() {
+        // given
+        httpStateHandler.log(
+            new LogEntry()
+                .setHttpRequest(request("request_one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpStateHandler.log(
+            new LogEntry()
+                .setHttpRequest(request("request_two"))
+                .setType(RECEIVED_REQUEST)
+        );
+
+        // when
+        HttpResponse response = httpStateHandler
+            .retrieve(
+                request()
+                    .withQueryStringParameter("format", "ndjson")
+            );
+
+        // then
+        assertThat(response.getBodyAsString(), is("" +
+            "{\"path\":\"request_one\"}\n" +
+            "{\"path\":\"request_two\"}\n"
+        ));
+        assertThat(response.getBody().getContentType(), is(NDJSON_UTF_8.toString()));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidRetrieveLimit() {
+        try {
+            // when
+            httpStateHandler.retrieve(request().withQueryStringParameter("limit", "invalid"));
+            fail("expected exception to be thrown");
+        } catch (Throwable throwable) {
+            // then
+            assertThat(throwable, instanceOf(IllegalArgumentException.class));
+            assertThat(throwable.getMessage(), is("\"invalid\" is not a valid value for \"limit\" parameter, only numeric values are supported"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForRetrieveLimitLargerThanMaximum() {
+        try {
+            // when
+            httpStateHandler.retrieve(request().withQueryStringParameter("limit", "4294967297"));
+            fail("expected exception to be thrown");
+        } catch (Throwable throwable) {
+            // then
+            assertThat(throwable, instanceOf(IllegalArgumentException.class));
+            assertThat(throwable.getMessage(), is("\"4294967297\" is not a valid value for \"limit\" parameter, the maximum value is 2147483647"));
+        }
+    }
+
     @Test
     public void shouldRetrieveRecordedRequestsAsLogEntries() {
         // given
@@ -948,13 +1198,13 @@ public class HttpStateHandlerTest {
         assertThat(response,
             is(response().withBody("[" + NEW_LINE +
                 "  {" + NEW_LINE +
-                "    \"timestamp\" : \"" + LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + "\"," + NEW_LINE +
+                "    \"timestamp\" : \"" + formatTimestamp(TimeService.currentTimeMillis()) + "\"," + NEW_LINE +
                 "    \"httpRequest\" : {" + NEW_LINE +
                 "      \"path\" : \"request_one\"" + NEW_LINE +
                 "    }" + NEW_LINE +
                 "  }," + NEW_LINE +
                 "  {" + NEW_LINE +
-                "    \"timestamp\" : \"" + LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + "\"," + NEW_LINE +
+                "    \"timestamp\" : \"" + formatTimestamp(TimeService.currentTimeMillis()) + "\"," + NEW_LINE +
                 "    \"httpRequest\" : {" + NEW_LINE +
                 "      \"path\" : \"request_two\"" + NEW_LINE +
                 "    }," + NEW_LINE +
@@ -1004,7 +1254,7 @@ public class HttpStateHandlerTest {
             is(response().withBody("[" + NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"logLevel\" : \"INFO\"," + NEW_LINE +
-                "    \"timestamp\" : \"" + LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + "\"," + NEW_LINE +
+                "    \"timestamp\" : \"" + formatTimestamp(TimeService.currentTimeMillis()) + "\"," + NEW_LINE +
                 "    \"type\" : \"EXPECTATION_NOT_MATCHED_RESPONSE\"," + NEW_LINE +
                 "    \"httpRequest\" : {" + NEW_LINE +
                 "      \"path\" : \"request_one\"" + NEW_LINE +
@@ -1044,7 +1294,7 @@ public class HttpStateHandlerTest {
                 "  }," + NEW_LINE +
                 "  {" + NEW_LINE +
                 "    \"logLevel\" : \"INFO\"," + NEW_LINE +
-                "    \"timestamp\" : \"" + LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + "\"," + NEW_LINE +
+                "    \"timestamp\" : \"" + formatTimestamp(TimeService.currentTimeMillis()) + "\"," + NEW_LINE +
                 "    \"type\" : \"EXPECTATION_RESPONSE\"," + NEW_LINE +
                 "    \"httpRequest\" : {" + NEW_LINE +
                 "      \"path\" : \"request_two\"" + NEW_LINE +
@@ -1294,9 +1544,9 @@ public class HttpStateHandlerTest {
                             .withQueryStringParameter("type", "logs")
                     ),
                 is(response().withBody("" +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - resetting all expectations and request logs" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - resetting all expectations and request logs" + NEW_LINE +
                         "------------------------------------" + NEW_LINE +
-                        LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                        formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                         "" + NEW_LINE +
                         "  { }" + NEW_LINE +
                         NEW_LINE,
@@ -1316,4 +1566,50 @@ public class HttpStateHandlerTest {
         }
     }
 
+    @Test
+    public void shouldClearForwardResponseCacheOnReset() throws Exception {
+        long originalCacheSize = ConfigurationProperties.forwardResponseCacheSize();
+        try {
+            // given
+            ConfigurationProperties.forwardResponseCacheSize(1048576);
+            InetSocketAddress remoteAddress = InetSocketAddress.createUnresolved("some_host", 1080);
+            HttpForwardResponseCache responseCache = httpStateHandler.getHttpForwardResponseCache();
+            responseCache.sendRequest(request("/some_path"), remoteAddress, request -> CompletableFuture.completedFuture(response("some_body").withHeader("cache-control", "max-age=60"))).get();
+            assertThat(responseCache.get(request("/some_path"), remoteAddress).getBodyAsString(), is("some_body"));
+
+            // when
+            httpStateHandler.reset();
+
+            // then
+            assertThat(responseCache.get(request("/some_path"), remoteAddress), nullValue());
+            assertThat(responseCache.size(), is(0L));
+        } finally {
+            ConfigurationProperties.forwardResponseCacheSize(originalCacheSize);
+        }
+    }
+
+    @Test
+    public void shouldRetrieveForwardUpstreamsAndClearOnReset() {
+        // given
+        SocketAddress upstream = new SocketAddress().withHost("some_host").withPort(1080);
+        HttpForwardLoadBalancer loadBalancer = httpStateHandler.getHttpForwardLoadBalancer();
+        HttpForwardLoadBalancer.UpstreamTarget target = loadBalancer.select(Collections.singletonList(upstream), HttpForward.LoadBalancing.ROUND_ROBIN);
+        loadBalancer.complete(target, System.nanoTime(), null);
+
+        // when
+        HttpResponse response = httpStateHandler.retrieve(request().withQueryStringParameter("type", "upstreams"));
+
+        // then
+        assertThat(response.getBodyAsString(), containsString("\"host\" : \"some_host\""));
+        assertThat(response.getBodyAsString(), containsString("\"requestCount\" : 1"));
+        assertThat(response.getBodyAsString(), containsString("\"ejected\" : false"));
+
+        // when
+        httpStateHandler.reset();
+
+        // then
+        assertThat(loadBalancer.target(upstream), nullValue());
+        assertThat(loadBalancer.targets().size(), is(0));
+    }
+
 }
@@ -11,8 +11,7 @@ import org.mockserver.scheduler.Scheduler;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.model.HttpResponse.response;
@@ -50,6 +49,20 @@ public class MockServerMatcherSequentialResponsesTest {
         assertEquals(expectationTwo, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath")));
     }
 
+    @Test
+    public void shouldNotDecrementRemainingMatchesWhenCheckingForMatchingExpectation() {
+        // when
+        Expectation expectation = new Expectation(new HttpRequest().withPath("somepath"), Times.exactly(1), TimeToLive.unlimited(), 0).thenRespond(response().withBody("somebody"));
+        requestMatchers.add(expectation, API);
+
+        // then
+        assertTrue(requestMatchers.hasMatchingExpectation(new HttpRequest().withPath("somepath")));
+        assertTrue(requestMatchers.hasMatchingExpectation(new HttpRequest().withPath("somepath")));
+        assertFalse(requestMatchers.hasMatchingExpectation(new HttpRequest().withPath("someotherpath")));
+        assertEquals(expectation, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath")));
+        assertFalse(requestMatchers.hasMatchingExpectation(new HttpRequest().withPath("somepath")));
+    }
+
     @Test
     public void respondWhenPathMatchesExpectationWithPriorityAndLimitedMatchesWithMultipleResponses() {
         // when
@@ -104,6 +104,7 @@ public class ActionHandlerTest {
         mockHttpStateHandler = mock(HttpStateHandler.class);
         scheduler = spy(new Scheduler(mockServerLogger));
         when(mockHttpStateHandler.getScheduler()).thenReturn(scheduler);
+        when(mockHttpStateHandler.getHttpForwardResponseCache()).thenReturn(new HttpForwardResponseCache());
         when(mockHttpStateHandler.getUniqueLoopPreventionHeaderValue()).thenReturn("MockServer_" + UUID.randomUUID().toString());
         actionHandler = new ActionHandler(null, mockHttpStateHandler, null, null);
 
@@ -3,10 +3,12 @@ package org.mockserver.mock.action;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockserver.client.NettyHttpClient;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpForward;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.model.SocketAddress;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.CompletableFuture;
@@ -18,6 +20,7 @@ import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.model.HttpForward.forward;
 import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 
 /**
  * @author jamesdbloom
@@ -44,7 +47,7 @@ public class HttpForwardActionHandlerTest {
             .withHost("some_host")
             .withPort(1080)
             .withScheme(HttpForward.Scheme.HTTP);
-        when(mockHttpClient.sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()))).thenReturn(responseFuture);
+        when(mockHttpClient.sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()))).thenReturn(responseFuture);
 
         // when
         CompletableFuture<HttpResponse> actualHttpResponse = httpForwardActionHandler
@@ -53,7 +56,7 @@ public class HttpForwardActionHandlerTest {
 
         // then
         assertThat(actualHttpResponse, is(sameInstance(responseFuture)));
-        verify(mockHttpClient).sendRequest(httpRequest.withSecure(false), new InetSocketAddress(httpForward.getHost(), httpForward.getPort()));
+        verify(mockHttpClient).sendRequest(httpRequest.withSecure(false), InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()));
     }
 
     @Test
@@ -65,7 +68,7 @@ public class HttpForwardActionHandlerTest {
             .withHost("some_host")
             .withPort(1080)
             .withScheme(HttpForward.Scheme.HTTPS);
-        when(mockHttpClient.sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()))).thenReturn(httpResponse);
+        when(mockHttpClient.sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()))).thenReturn(httpResponse);
 
         // when
         CompletableFuture<HttpResponse> actualHttpResponse = httpForwardActionHandler
@@ -74,6 +77,55 @@ public class HttpForwardActionHandlerTest {
 
         // then
         assertThat(actualHttpResponse, is(sameInstance(httpResponse)));
-        verify(mockHttpClient).sendRequest(httpRequest.withSecure(true), new InetSocketAddress(httpForward.getHost(), httpForward.getPort()));
+        verify(mockHttpClient).sendRequest(httpRequest.withSecure(true), InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()));
+    }
+
+    @Test
+    public void shouldHandleHttpRequestsWithUpstreamsInRoundRobinOrder() {
+        // given
+        CompletableFuture<HttpResponse> responseFuture = new CompletableFuture<>();
+        HttpForward httpForward = forward()
+            .withUpstreams(
+                new SocketAddress().withHost("first_host").withPort(1080).withScheme(SocketAddress.Scheme.HTTPS),
+                new SocketAddress().withHost("second_host").withPort(1081)
+            );
+        when(mockHttpClient.sendRequest(any(HttpRequest.class), any(InetSocketAddress.class))).thenReturn(responseFuture);
+
+        // when
+        HttpRequest firstRequest = request("/first");
+        httpForwardActionHandler.handle(httpForward, firstRequest);
+        HttpRequest secondRequest = request("/second");
+        httpForwardActionHandler.handle(httpForward, secondRequest);
+
+        // then
+        verify(mockHttpClient).sendRequest(firstRequest.withSecure(true), InetSocketAddress.createUnresolved("first_host", 1080));
+        verify(mockHttpClient).sendRequest(secondRequest.withSecure(false), InetSocketAddress.createUnresolved("second_host", 1081));
+    }
+
+    @Test
+    public void shouldServeCacheableResponseFromCache() throws Exception {
+        // given
+        long originalCacheSize = ConfigurationProperties.forwardResponseCacheSize();
+        try {
+            ConfigurationProperties.forwardResponseCacheSize(1048576);
+            httpForwardActionHandler = new HttpForwardActionHandler(mock(MockServerLogger.class), mockHttpClient, new HttpForwardResponseCache());
+            HttpForward httpForward = forward()
+                .withHost("some_host")
+                .withPort(1080);
+            when(mockHttpClient.sendRequest(any(HttpRequest.class), any(InetSocketAddress.class))).thenReturn(CompletableFuture.completedFuture(response("some_body").withHeader("cache-control", "max-age=60")));
+
+            // when
+            HttpForwardActionResult firstResult = httpForwardActionHandler.handle(httpForward, request("/some_path"));
+            HttpForwardActionResult secondResult = httpForwardActionHandler.handle(httpForward, request("/some_path"));
+
+            // then
+            assertThat(firstResult.isCacheHit(), is(false));
+            assertThat(firstResult.getHttpResponse().get().getBodyAsString(), is("some_body"));
+            assertThat(secondResult.isCacheHit(), is(true));
+            assertThat(secondResult.getHttpResponse().get().getBodyAsString(), is("some_body"));
+            verify(mockHttpClient, times(1)).sendRequest(any(HttpRequest.class), any(InetSocketAddress.class));
+        } finally {
+            ConfigurationProperties.forwardResponseCacheSize(originalCacheSize);
+        }
     }
 }
@@ -0,0 +1,180 @@
+package org.mockserver.mock.action;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpForward;
+import org.mockserver.model.SocketAddress;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpForwardLoadBalancerTest {
+
+    private final SocketAddress first = new SocketAddress().withHost("first_host").withPort(1080);
+    private final SocketAddress second = new SocketAddress().withHost("second_host").withPort(1080);
+    private final SocketAddress third = new SocketAddress().withHost("third_host").withPort(1080);
+    private final List<SocketAddress> upstreams = Arrays.asList(first, second, third);
+    private HttpForwardLoadBalancer loadBalancer;
+    private int originalEjectionConsecutiveFailures;
+    private long originalEjectionTime;
+
+    @Before
+    public void createLoadBalancer() {
+        originalEjectionConsecutiveFailures = ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures();
+        originalEjectionTime = ConfigurationProperties.forwardUpstreamEjectionTime();
+        loadBalancer = new HttpForwardLoadBalancer(new MockServerLogger());
+    }
+
+    @After
+    public void resetConfiguration() {
+        ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures(originalEjectionConsecutiveFailures);
+        ConfigurationProperties.forwardUpstreamEjectionTime(originalEjectionTime);
+    }
+
+    private SocketAddress selectAndComplete(HttpForward.LoadBalancing loadBalancing, Throwable throwable) {
+        HttpForwardLoadBalancer.UpstreamTarget target = loadBalancer.select(upstreams, loadBalancing);
+        loadBalancer.complete(target, System.nanoTime(), throwable);
+        return target.getSocketAddress();
+    }
+
+    @Test
+    public void shouldSelectUpstreamsInRoundRobinOrder() {
+        assertThat(selectAndComplete(HttpForward.LoadBalancing.ROUND_ROBIN, null), is(first));
+        assertThat(selectAndComplete(HttpForward.LoadBalancing.ROUND_ROBIN, null), is(second));
+        assertThat(selectAndComplete(HttpForward.LoadBalancing.ROUND_ROBIN, null), is(third));
+        assertThat(selectAndComplete(null, null), is(first));
+    }
+
+    @Test
+    public void shouldSelectUpstreamWithLeastOutstandingRequests() {
+        // given
+        HttpForwardLoadBalancer.UpstreamTarget firstTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS);
+        HttpForwardLoadBalancer.UpstreamTarget secondTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS);
+        HttpForwardLoadBalancer.UpstreamTarget thirdTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS);
+        assertThat(firstTarget.getSocketAddress(), is(first));
+        assertThat(secondTarget.getSocketAddress(), is(second));
+        assertThat(thirdTarget.getSocketAddress(), is(third));
+
+        // when
+        loadBalancer.complete(secondTarget, System.nanoTime(), null);
+
+        // then
+        assertThat(loadBalancer.select(upstreams, HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS).getSocketAddress(), is(second));
+        assertThat(firstTarget.getOutstandingRequests(), is(1));
+        assertThat(secondTarget.getOutstandingRequests(), is(1));
+        assertThat(secondTarget.getRequestCount(), is(1L));
+    }
+
+    @Test
+    public void shouldSelectUpstreamWithLowestLatency() {
+        // given
+        HttpForwardLoadBalancer.UpstreamTarget firstTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.EWMA_LATENCY);
+        HttpForwardLoadBalancer.UpstreamTarget secondTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.EWMA_LATENCY);
+        HttpForwardLoadBalancer.UpstreamTarget thirdTarget = loadBalancer.select(upstreams, HttpForward.LoadBalancing.EWMA_LATENCY);
+        long now = System.nanoTime();
+        loadBalancer.complete(firstTarget, now - 300_000_000L, null);
+        loadBalancer.complete(secondTarget, now - 10_000_000L, null);
+        loadBalancer.complete(thirdTarget, now - 200_000_000L, null);
+
+        // then
+        assertThat(secondTarget.getEwmaLatencyMillis() < thirdTarget.getEwmaLatencyMillis(), is(true));
+        for (int i = 0; i < 3; i++) {
+            assertThat(selectAndComplete(HttpForward.LoadBalancing.EWMA_LATENCY, null), is(second));
+        }
+    }
+
+    @Test
+    public void shouldEjectUpstreamAfterConsecutiveFailures() {
+        // given
+        ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures(2);
+        ConfigurationProperties.forwardUpstreamEjectionTime(60000);
+        List<SocketAddress> upstreams = Arrays.asList(first, second);
+
+        // when - two consecutive failures to first
+        for (int i = 0; i < 2; i++) {
+            HttpForwardLoadBalancer.UpstreamTarget target = loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN);
+            assertThat(target.getSocketAddress(), is(first));
+            loadBalancer.complete(target, System.nanoTime(), new ConnectException("Connection refused"));
+            loadBalancer.complete(loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN), System.nanoTime(), null);
+        }
+
+        // then
+        for (int i = 0; i < 4; i++) {
+            HttpForwardLoadBalancer.UpstreamTarget target = loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN);
+            assertThat(target.getSocketAddress(), is(second));
+            loadBalancer.complete(target, System.nanoTime(), null);
+        }
+        assertThat(loadBalancer.target(first).getFailureCount(), is(2L));
+        assertThat(loadBalancer.target(first).getEjectionCount(), is(1L));
+        assertThat(loadBalancer.target(second).getFailureCount(), is(0L));
+    }
+
+    @Test
+    public void shouldReturnUpstreamAfterEjectionTime() {
+        // given
+        ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures(1);
+        ConfigurationProperties.forwardUpstreamEjectionTime(0);
+        List<SocketAddress> upstreams = Arrays.asList(first, second);
+
+        // when
+        loadBalancer.complete(loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN), System.nanoTime(), new ConnectException("Connection refused"));
+
+        // then
+        assertThat(loadBalancer.target(first).getEjectionCount(), is(1L));
+        assertThat(selectAndComplete(upstreams), is(second));
+        assertThat(selectAndComplete(upstreams), is(first));
+    }
+
+    @Test
+    public void shouldUseAllUpstreamsWhenAllEjected() {
+        // given
+        ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures(1);
+        ConfigurationProperties.forwardUpstreamEjectionTime(60000);
+        List<SocketAddress> upstreams = Arrays.asList(first, second);
+
+        // when
+        loadBalancer.complete(loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN), System.nanoTime(), new ConnectException("Connection refused"));
+        loadBalancer.complete(loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN), System.nanoTime(), new ConnectException("Connection refused"));
+
+        // then
+        assertThat(selectAndComplete(upstreams), is(first));
+        assertThat(selectAndComplete(upstreams), is(second));
+    }
+
+    @Test
+    public void shouldForgetTargetsWhenCleared() {
+        // given
+        ConfigurationProperties.forwardUpstreamEjectionConsecutiveFailures(1);
+        ConfigurationProperties.forwardUpstreamEjectionTime(60000);
+        List<SocketAddress> upstreams = Arrays.asList(first, second);
+        loadBalancer.complete(loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN), System.nanoTime(), new ConnectException("Connection refused"));
+        assertThat(loadBalancer.targets().size(), is(2));
+        assertThat(loadBalancer.target(first).isEjected(), is(true));
+
+        // when
+        loadBalancer.clear();
+
+        // then
+        assertThat(loadBalancer.targets().size(), is(0));
+        assertThat(loadBalancer.target(first), nullValue());
+        assertThat(selectAndComplete(upstreams), is(first));
+        assertThat(loadBalancer.target(first).getFailureCount(), is(0L));
+    }
+
+    private SocketAddress selectAndComplete(List<SocketAddress> upstreams) {
+        HttpForwardLoadBalancer.UpstreamTarget target = loadBalancer.select(upstreams, HttpForward.LoadBalancing.ROUND_ROBIN);
+        loadBalancer.complete(target, System.nanoTime(), null);
+        return target.getSocketAddress();
+    }
+}
@@ -0,0 +1,198 @@
+package org.mockserver.mock.action;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpForwardResponseCacheTest {
+
+    private final InetSocketAddress remoteAddress = InetSocketAddress.createUnresolved("some_host", 1080);
+    private final List<HttpRequest> sentRequests = new ArrayList<>();
+    private final LinkedList<HttpResponse> responses = new LinkedList<>();
+    private final Function<HttpRequest, CompletableFuture<HttpResponse>> sendRequest = request -> {
+        sentRequests.add(request);
+        return CompletableFuture.completedFuture(responses.removeFirst());
+    };
+    private HttpForwardResponseCache responseCache;
+    private long originalCacheSize;
+
+    @Before
+    public void createCache() {
+        originalCacheSize = ConfigurationProperties.forwardResponseCacheSize();
+        ConfigurationProperties.forwardResponseCacheSize(1048576);
+        responseCache = new HttpForwardResponseCache();
+    }
+
+    @After
+    public void resetConfiguration() {
+        ConfigurationProperties.forwardResponseCacheSize(originalCacheSize);
+    }
+
+    private HttpResponse forward(HttpRequest request) throws Exception {
+        HttpResponse cachedResponse = responseCache.get(request, remoteAddress);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        return responseCache.sendRequest(request, remoteAddress, sendRequest).get();
+    }
+
+    @Test
+    public void shouldServeFreshResponseFromCache() throws Exception {
+        // given
+        responses.add(response("some_body").withHeader("cache-control", "max-age=60"));
+
+        // when
+        HttpResponse firstResponse = forward(request("/some_path").withMethod("GET"));
+        HttpResponse secondResponse = forward(request("/some_path").withMethod("GET"));
+
+        // then
+        assertThat(sentRequests.size(), is(1));
+        assertThat(firstResponse.getBodyAsString(), is("some_body"));
+        assertThat(secondResponse.getBodyAsString(), is("some_body"));
+        assertThat(secondResponse.getFirstHeader("age"), is("0"));
+    }
+
+    @Test
+    public void shouldNotCacheWhenDisabled() throws Exception {
+        // given
+        ConfigurationProperties.forwardResponseCacheSize(0);
+        responses.add(response("some_body").withHeader("cache-control", "max-age=60"));
+        responses.add(response("some_body").withHeader("cache-control", "max-age=60"));
+
+        // when
+        forward(request("/some_path"));
+        forward(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotCacheResponsesThatAreNotStorable() throws Exception {
+        // given
+        responses.add(response("some_body").withHeader("cache-control", "no-store"));
+        responses.add(response("some_body").withHeader("cache-control", "private, max-age=60"));
+        responses.add(response("some_body"));
+        responses.add(response("some_body").withStatusCode(500).withHeader("cache-control", "max-age=60"));
+
+        // when
+        forward(request("/no_store"));
+        forward(request("/private"));
+        forward(request("/no_freshness"));
+        forward(request("/server_error"));
+
+        // then
+        assertThat(responseCache.get(request("/no_store"), remoteAddress), is(nullValue()));
+        assertThat(responseCache.get(request("/private"), remoteAddress), is(nullValue()));
+        assertThat(responseCache.get(request("/no_freshness"), remoteAddress), is(nullValue()));
+        assertThat(responseCache.get(request("/server_error"), remoteAddress), is(nullValue()));
+        assertThat(responseCache.size(), is(0L));
+    }
+
+    @Test
+    public void shouldNotServeFromCacheWhenRequestHasNoCache() throws Exception {
+        // given
+        responses.add(response("first_body").withHeader("cache-control", "max-age=60"));
+        responses.add(response("second_body").withHeader("cache-control", "max-age=60"));
+
+        // when
+        forward(request("/some_path"));
+        HttpResponse response = forward(request("/some_path").withHeader("cache-control", "no-cache"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+        assertThat(response.getBodyAsString(), is("second_body"));
+        assertThat(forward(request("/some_path")).getBodyAsString(), is("second_body"));
+    }
+
+    @Test
+    public void shouldCacheSeparateResponseForEachVariant() throws Exception {
+        // given
+        responses.add(response("json_body").withHeader("cache-control", "max-age=60").withHeader("vary", "Accept"));
+        responses.add(response("xml_body").withHeader("cache-control", "max-age=60").withHeader("vary", "Accept"));
+
+        // when
+        forward(request("/some_path").withHeader("accept", "application/json"));
+        forward(request("/some_path").withHeader("accept", "application/xml"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+        assertThat(forward(request("/some_path").withHeader("accept", "application/json")).getBodyAsString(), is("json_body"));
+        assertThat(forward(request("/some_path").withHeader("accept", "application/xml")).getBodyAsString(), is("xml_body"));
+        assertThat(sentRequests.size(), is(2));
+    }
+
+    @Test
+    public void shouldRevalidateStaleResponseWithETag() throws Exception {
+        // given
+        responses.add(response("some_body").withHeader("cache-control", "no-cache").withHeader("etag", "\"some_etag\""));
+        responses.add(response().withStatusCode(304).withHeader("etag", "\"some_etag\""));
+
+        // when
+        forward(request("/some_path"));
+        HttpResponse response = forward(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+        assertThat(sentRequests.get(1).getFirstHeader("if-none-match"), is("\"some_etag\""));
+        assertThat(response.getStatusCode(), is(200));
+        assertThat(response.getBodyAsString(), is("some_body"));
+    }
+
+    @Test
+    public void shouldInvalidateCachedResponseAfterUnsafeRequest() throws Exception {
+        // given
+        responses.add(response("first_body").withHeader("cache-control", "max-age=60"));
+        responses.add(response().withStatusCode(201));
+        responses.add(response("second_body").withHeader("cache-control", "max-age=60"));
+
+        // when
+        forward(request("/some_path"));
+        forward(request("/some_path").withMethod("POST"));
+        HttpResponse response = forward(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(3));
+        assertThat(response.getBodyAsString(), is("second_body"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResponsesWhenFull() throws Exception {
+        // given
+        ConfigurationProperties.forwardResponseCacheSize(1024);
+        for (int i = 0; i < 3; i++) {
+            responses.add(response(new String(new char[200]).replace('\0', 'a')).withHeader("cache-control", "max-age=60"));
+        }
+
+        // when
+        forward(request("/first"));
+        forward(request("/second"));
+        forward(request("/first"));
+        forward(request("/third"));
+
+        // then
+        assertThat(sentRequests.size(), is(3));
+        assertThat(responseCache.get(request("/first"), remoteAddress) != null, is(true));
+        assertThat(responseCache.get(request("/second"), remoteAddress), is(nullValue()));
+        assertThat(responseCache.get(request("/third"), remoteAddress) != null, is(true));
+    }
+}
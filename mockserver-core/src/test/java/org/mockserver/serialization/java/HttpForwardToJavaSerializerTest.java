@@ -2,6 +2,7 @@ package org.mockserver.serialization.java;
 
 import org.junit.Test;
 import org.mockserver.model.HttpForward;
+import org.mockserver.model.SocketAddress;
 
 import java.util.concurrent.TimeUnit;
 
@@ -31,4 +32,32 @@ public class HttpForwardToJavaSerializerTest {
         );
     }
 
+    @Test
+    public void shouldSerializeForwardWithUpstreamsAsJava() {
+        assertEquals(NEW_LINE +
+                "        forward()" + NEW_LINE +
+                "                .withPort(80)" + NEW_LINE +
+                "                .withScheme(HttpForward.Scheme.HTTP)" + NEW_LINE +
+                "                .withUpstreams(" + NEW_LINE +
+                "                        new SocketAddress()" + NEW_LINE +
+                "                                .withHost(\"first_host\")" + NEW_LINE +
+                "                                .withPort(9090)" + NEW_LINE +
+                "                                .withScheme(SocketAddress.Scheme.HTTPS)," + NEW_LINE +
+                "                        new SocketAddress()" + NEW_LINE +
+                "                                .withHost(\"second_host\")" + NEW_LINE +
+                "                                .withPort(9091)" + NEW_LINE +
+                "                                .withScheme(SocketAddress.Scheme.HTTP)" + NEW_LINE +
+                "                )" + NEW_LINE +
+                "                .withLoadBalancing(HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS)",
+            new HttpForwardToJavaSerializer().serialize(1,
+                new HttpForward()
+                    .withUpstreams(
+                        new SocketAddress().withHost("first_host").withPort(9090).withScheme(SocketAddress.Scheme.HTTPS),
+                        new SocketAddress().withHost("second_host").withPort(9091)
+                    )
+                    .withLoadBalancing(HttpForward.LoadBalancing.LEAST_OUTSTANDING_REQUESTS)
+            )
+        );
+    }
+
 }
@@ -2,6 +2,9 @@ package org.mockserver.serialization.model;
 
 import org.junit.Test;
 import org.mockserver.model.HttpForward;
+import org.mockserver.model.SocketAddress;
+
+import java.util.Arrays;
 
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -54,6 +57,28 @@ public class HttpForwardDTOTest {
         assertThat(builtHttpForward.getScheme(), is(scheme));
     }
 
+    @Test
+    public void shouldBuildObjectWithUpstreams() {
+        // given
+        HttpForward httpForward = new HttpForward()
+            .withUpstreams(
+                new SocketAddress().withHost("first_host").withPort(9090).withScheme(SocketAddress.Scheme.HTTPS),
+                new SocketAddress().withHost("second_host").withPort(9091)
+            )
+            .withLoadBalancing(HttpForward.LoadBalancing.EWMA_LATENCY);
+
+        // when
+        HttpForward builtHttpForward = new HttpForwardDTO(httpForward).buildObject();
+
+        // then
+        assertThat(builtHttpForward.getUpstreams(), is(Arrays.asList(
+            new SocketAddress().withHost("first_host").withPort(9090).withScheme(SocketAddress.Scheme.HTTPS),
+            new SocketAddress().withHost("second_host").withPort(9091)
+        )));
+        assertThat(builtHttpForward.getLoadBalancing(), is(HttpForward.LoadBalancing.EWMA_LATENCY));
+        assertThat(builtHttpForward, is(httpForward));
+    }
+
     @Test
     public void shouldReturnValuesSetInSetter() {
         // given
@@ -0,0 +1,70 @@
+package org.mockserver.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.After;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.scheduler.Scheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author jamesdbloom
+ */
+public class NettyTransportTest {
+
+    @After
+    public void resetTransport() {
+        System.clearProperty("mockserver.nettyTransport");
+    }
+
+    @Test
+    public void shouldUseNioWhenNativeTransportNotOnClasspath() {
+        // given
+        ConfigurationProperties.nettyTransport("AUTO");
+
+        // then - native transports are optional dependencies that aren't on the test classpath
+        assertThat(NettyTransport.EPOLL.isAvailable(), is(false));
+        assertThat(NettyTransport.IO_URING.isAvailable(), is(false));
+        assertThat(NettyTransport.transport(), is(NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldFallBackToNioWhenConfiguredTransportNotAvailable() {
+        // given
+        ConfigurationProperties.nettyTransport("EPOLL");
+
+        // when
+        EventLoopGroup eventLoopGroup = NettyTransport.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportTest.class.getSimpleName()));
+
+        // then
+        try {
+            assertThat(NettyTransport.transport(), is(NettyTransport.NIO));
+            assertThat(eventLoopGroup, instanceOf(NioEventLoopGroup.class));
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void shouldReturnChannelClassesMatchingEventLoopGroup() {
+        // given
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1, new Scheduler.SchedulerThreadFactory(NettyTransportTest.class.getSimpleName()));
+
+        // then
+        try {
+            assertEquals(NioSocketChannel.class, NettyTransport.socketChannelClass(eventLoopGroup));
+            assertEquals(NioSocketChannel.class, NettyTransport.socketChannelClass(eventLoopGroup.next()));
+            assertEquals(NioServerSocketChannel.class, NettyTransport.serverSocketChannelClass(eventLoopGroup));
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.mockserver.socket.tls;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.client.NettyHttpClient;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class NettySslContextFactoryTest {
+
+    private static EchoServer echoServer;
+    private static final EventLoopGroup clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(NettySslContextFactoryTest.class.getSimpleName() + "-eventLoop"));
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+    private boolean originalMetricsEnabled;
+
+    @BeforeClass
+    public static void startEchoServer() {
+        // a single server context so the server can also resume sessions
+        echoServer = new EchoServer(new NettySslContextFactory(new MockServerLogger()).createServerSslContext());
+    }
+
+    @AfterClass
+    public static void stopEchoServer() {
+        stopQuietly(echoServer);
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Before
+    public void enableMetrics() {
+        originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        ConfigurationProperties.metricsEnabled(true);
+        Metrics.clear();
+    }
+
+    @After
+    public void resetMetrics() {
+        ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+        Metrics.clear();
+    }
+
+    @Test
+    public void shouldResumeTLSSessionForSameHostAndPort() throws Exception {
+        // given - a new connection for each request
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, false, new NettySslContextFactory(mockServerLogger));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            nettyHttpClient.sendRequest(request().withSecure(true), new InetSocketAddress("127.0.0.1", echoServer.getPort())).get(10, SECONDS);
+        }
+
+        // then
+        assertThat(Metrics.get(Metrics.Name.TLS_CLIENT_FULL_HANDSHAKE_COUNT), is(1));
+        assertThat(Metrics.get(Metrics.Name.TLS_CLIENT_RESUMED_HANDSHAKE_COUNT), is(2));
+    }
+}
@@ -4,7 +4,6 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.MockServerEventLog;
@@ -12,6 +11,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpStateHandler;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
@@ -34,8 +34,9 @@ import static org.slf4j.event.Level.*;
 public abstract class LifeCycle implements Stoppable {
 
     protected final MockServerLogger mockServerLogger;
-    protected EventLoopGroup bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-    protected EventLoopGroup workerGroup = new NioEventLoopGroup(ConfigurationProperties.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+    // accepting connections is cheap so a single thread accepts connections for all ports
+    protected EventLoopGroup bossGroup = NettyTransport.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+    protected EventLoopGroup workerGroup = NettyTransport.eventLoopGroup(ConfigurationProperties.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
     protected HttpStateHandler httpStateHandler;
     protected ServerBootstrap serverServerBootstrap;
     private List<Future<Channel>> serverChannelFutures = new ArrayList<>();
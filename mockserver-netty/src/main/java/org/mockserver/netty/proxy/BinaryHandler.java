@@ -1,103 +1,167 @@
 package org.mockserver.netty.proxy;
 
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelHandler;
-import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.SimpleChannelInboundHandler;
-import org.mockserver.client.NettyHttpClient;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.client.CachingAddressResolverGroup;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
-import org.mockserver.model.BinaryMessage;
-import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static org.mockserver.configuration.ConfigurationProperties.maxFutureTimeout;
 import static org.mockserver.exception.ExceptionHandling.closeOnFlush;
 import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
 import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
 import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
 import static org.mockserver.mock.action.ActionHandler.getRemoteAddress;
-import static org.mockserver.model.BinaryMessage.bytes;
 import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledUpstream;
+import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
 
 /**
+ * Relays binary messages to the remote address over a single upstream connection per client connection, bytes are
+ * passed between the connections without being copied and reads are paused on either side while the other side can't
+ * keep up
+ *
  * @author jamesdbloom
  */
-@ChannelHandler.Sharable
 public class BinaryHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
-    private MockServerLogger mockServerLogger;
-    private final Scheduler scheduler;
-    private final NettyHttpClient httpClient;
+    private final MockServerLogger mockServerLogger;
+    private final List<ByteBuf> pending = new ArrayList<>();
+    private InetSocketAddress remoteAddress;
+    private Channel upstreamChannel;
 
-    public BinaryHandler(final MockServerLogger mockServerLogger, final Scheduler scheduler, final NettyHttpClient httpClient) {
+    public BinaryHandler(final MockServerLogger mockServerLogger) {
         super(false);
         this.mockServerLogger = mockServerLogger;
-        this.scheduler = scheduler;
-        this.httpClient = httpClient;
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf byteBuf) {
-        BinaryMessage binaryRequest = bytes(ByteBufUtil.getBytes(byteBuf));
         mockServerLogger.logEvent(
             new LogEntry()
                 .setType(RECEIVED_REQUEST)
                 .setLogLevel(Level.INFO)
                 .setMessageFormat("received binary request:{}")
-                .setArguments(ByteBufUtil.hexDump(binaryRequest.getBytes()))
+                .setArguments(new HexDump(byteBuf))
         );
-        final InetSocketAddress remoteAddress = getRemoteAddress(ctx);
-        if (remoteAddress != null) {
-            boolean synchronous = true;
-            CompletableFuture<BinaryMessage> binaryResponseFuture = httpClient.sendRequest(binaryRequest, isSslEnabledUpstream(ctx.channel()), remoteAddress, ConfigurationProperties.socketConnectionTimeout());
-            scheduler.submit(binaryResponseFuture, () -> {
-                try {
-                    BinaryMessage binaryResponse = binaryResponseFuture.get(maxFutureTimeout(), MILLISECONDS);
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setType(FORWARDED_REQUEST)
-                            .setLogLevel(Level.INFO)
-                            .setMessageFormat("returning binary response:{}from:{}for forwarded binary request:{}")
-                            .setArguments(ByteBufUtil.hexDump(binaryResponse.getBytes()), remoteAddress, ByteBufUtil.hexDump(binaryRequest.getBytes()))
-                    );
-                    ctx.writeAndFlush(Unpooled.copiedBuffer(binaryResponse.getBytes()));
-                } catch (Throwable throwable) {
+        if (upstreamChannel != null) {
+            relayUpstream(ctx, byteBuf);
+        } else if (remoteAddress != null) {
+            // still connecting
+            pending.add(byteBuf);
+        } else {
+            remoteAddress = getRemoteAddress(ctx);
+            if (remoteAddress != null) {
+                pending.add(byteBuf);
+                connect(ctx);
+            } else {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.INFO)
+                        .setMessageFormat("unknown message format{}")
+                        .setArguments(new HexDump(byteBuf))
+                );
+                byteBuf.release();
+                ctx.writeAndFlush(Unpooled.copiedBuffer("unknown message format".getBytes(StandardCharsets.UTF_8)));
+                ctx.close();
+            }
+        }
+    }
+
+    private void connect(ChannelHandlerContext ctx) {
+        // stop reading until the upstream connection is established
+        ctx.channel().config().setAutoRead(false);
+        boolean secure = isSslEnabledUpstream(ctx.channel());
+        new Bootstrap()
+            .group(ctx.channel().eventLoop())
+            .channel(NettyTransport.socketChannelClass(ctx.channel().eventLoop()))
+            .resolver(CachingAddressResolverGroup.getInstance())
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ConfigurationProperties.socketConnectionTimeout())
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    if (secure) {
+                        channel.pipeline().addLast(nettySslContextFactory(ctx.channel()).createClientSslHandler(true, channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
+                    }
+                    channel.pipeline().addLast(new UpstreamRelayHandler(ctx));
+                }
+            })
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess() && ctx.channel().isActive()) {
+                    upstreamChannel = future.channel();
+                    for (ByteBuf byteBuf : pending) {
+                        upstreamChannel.write(byteBuf);
+                    }
+                    pending.clear();
+                    upstreamChannel.flush();
+                    ctx.channel().config().setAutoRead(upstreamChannel.isWritable());
+                } else {
                     mockServerLogger.logEvent(
                         new LogEntry()
                             .setLogLevel(Level.WARN)
-                            .setMessageFormat("exception " + throwable.getMessage() + " sending hex{}to{}closing connection")
-                            .setArguments(ByteBufUtil.hexDump(binaryRequest.getBytes()), remoteAddress)
-                            .setThrowable(throwable)
+                            .setMessageFormat("exception " + (future.cause() != null ? future.cause().getMessage() : "client connection closed") + " connecting to{}closing connection")
+                            .setArguments(remoteAddress)
+                            .setThrowable(future.cause())
                     );
+                    releasePending();
+                    future.channel().close();
                     ctx.close();
                 }
-            }, synchronous);
-        } else {
-            mockServerLogger.logEvent(
-                new LogEntry()
-                    .setLogLevel(Level.INFO)
-                    .setMessageFormat("unknown message format{}")
-                    .setArguments(ByteBufUtil.hexDump(binaryRequest.getBytes()))
-            );
-            ctx.writeAndFlush(Unpooled.copiedBuffer("unknown message format".getBytes(StandardCharsets.UTF_8)));
-            ctx.close();
+            });
+    }
+
+    private void relayUpstream(ChannelHandlerContext ctx, ByteBuf byteBuf) {
+        upstreamChannel.write(byteBuf);
+        if (!upstreamChannel.isWritable()) {
+            upstreamChannel.flush();
+            ctx.channel().config().setAutoRead(false);
         }
     }
 
+    private void releasePending() {
+        for (ByteBuf byteBuf : pending) {
+            ReferenceCountUtil.safeRelease(byteBuf);
+        }
+        pending.clear();
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) {
+        if (upstreamChannel != null) {
+            upstreamChannel.flush();
+        }
         ctx.flush();
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (upstreamChannel != null) {
+            upstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        releasePending();
+        closeOnFlush(upstreamChannel);
+        ctx.fireChannelInactive();
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         if (connectionClosedException(cause)) {
@@ -111,4 +175,82 @@ public class BinaryHandler extends SimpleChannelInboundHandler<ByteBuf> {
         }
         closeOnFlush(ctx.channel());
     }
+
+    private class UpstreamRelayHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final ChannelHandlerContext downstream;
+
+        private UpstreamRelayHandler(ChannelHandlerContext downstream) {
+            super(false);
+            this.downstream = downstream;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf byteBuf) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setMessageFormat("returning binary response:{}from:{}")
+                    .setArguments(new HexDump(byteBuf), remoteAddress)
+            );
+            downstream.write(byteBuf);
+            if (!downstream.channel().isWritable()) {
+                downstream.flush();
+                ctx.channel().config().setAutoRead(false);
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            downstream.flush();
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            downstream.channel().config().setAutoRead(ctx.channel().isWritable());
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            closeOnFlush(downstream.channel());
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            if (connectionClosedException(cause)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception " + cause.getMessage() + " relaying binary response from{}closing connection")
+                        .setArguments(remoteAddress)
+                        .setThrowable(cause)
+                );
+            }
+            ctx.close();
+        }
+    }
+
+    /**
+     * log argument that only hex dumps the bytes when the log message is formatted, i.e. when it is written to the
+     * console or retrieved, the bytes are copied because the buffer is released once it has been relayed
+     */
+    private static class HexDump {
+
+        private final byte[] bytes;
+        private String hexDump;
+
+        private HexDump(ByteBuf byteBuf) {
+            this.bytes = ByteBufUtil.getBytes(byteBuf);
+        }
+
+        @Override
+        @JsonValue
+        public String toString() {
+            if (hexDump == null) {
+                hexDump = ByteBufUtil.hexDump(bytes);
+            }
+            return hexDump;
+        }
+    }
 }
@@ -12,6 +12,7 @@ import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.netty.proxy.relay.RelayConnectHandler;
+import org.mockserver.netty.proxy.streaming.StreamingProxyHandler;
 import org.mockserver.codec.MockServerServerCodec;
 
 import static org.mockserver.model.HttpResponse.response;
@@ -27,6 +28,7 @@ public final class HttpConnectHandler extends RelayConnectHandler<HttpRequest> {
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, HttpServerCodec.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, StreamingProxyHandler.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
         removeHandler(pipeline, MockServerServerCodec.class);
         if (pipeline.get(this.getClass()) != null) {
@@ -3,7 +3,6 @@ package org.mockserver.netty.proxy.relay;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -14,6 +13,7 @@ import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
@@ -42,9 +42,11 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
     @Override
     public void channelRead0(final ChannelHandlerContext serverCtx, final T request) {
+        // when streaming requests and responses are relayed in parts instead of being aggregated
+        final boolean streamingProxy = ConfigurationProperties.streamingProxy();
         Bootstrap bootstrap = new Bootstrap()
             .group(serverCtx.channel().eventLoop())
-            .channel(NioSocketChannel.class)
+            .channel(NettyTransport.socketChannelClass(serverCtx.channel().eventLoop()))
             .handler(new ChannelInboundHandlerAdapter() {
                 @Override
                 public void channelActive(final ChannelHandlerContext clientCtx) {
@@ -58,7 +60,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
                             ChannelPipeline downstreamPipeline = clientCtx.channel().pipeline();
 
                             if (isSslEnabledDownstream(serverCtx.channel())) {
-                                downstreamPipeline.addLast(nettySslContextFactory(serverCtx.channel()).createClientSslContext(true).newHandler(clientCtx.alloc(), host, port));
+                                downstreamPipeline.addLast(nettySslContextFactory(serverCtx.channel()).createClientSslHandler(true, clientCtx.alloc(), host, port));
                             }
 
                             if (MockServerLogger.isEnabled(Level.TRACE)) {
@@ -69,7 +71,9 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
                             downstreamPipeline.addLast(new HttpContentDecompressor());
 
-                            downstreamPipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                            if (!streamingProxy) {
+                                downstreamPipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                            }
 
                             downstreamPipeline.addLast(new DownstreamProxyRelayHandler(mockServerLogger, serverCtx.channel()));
 
@@ -88,7 +92,9 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
                             upstreamPipeline.addLast(new HttpContentDecompressor());
 
-                            upstreamPipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                            if (!streamingProxy) {
+                                upstreamPipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                            }
 
                             upstreamPipeline.addLast(new UpstreamProxyRelayHandler(mockServerLogger, serverCtx.channel(), clientCtx.channel()));
                         });
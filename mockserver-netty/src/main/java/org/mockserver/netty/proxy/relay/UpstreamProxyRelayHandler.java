@@ -5,12 +5,14 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.ssl.SslHandler;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.slf4j.event.Level;
 
+import java.net.InetSocketAddress;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.ClosedSelectorException;
 
@@ -19,7 +21,7 @@ import static org.mockserver.exception.ExceptionHandling.connectionClosedExcepti
 import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledDownstream;
 import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
 
-public class UpstreamProxyRelayHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+public class UpstreamProxyRelayHandler extends SimpleChannelInboundHandler<HttpObject> {
 
     private final MockServerLogger mockServerLogger;
     private final Channel upstreamChannel;
@@ -39,9 +41,11 @@ public class UpstreamProxyRelayHandler extends SimpleChannelInboundHandler<FullH
     }
 
     @Override
-    public void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+    public void channelRead0(final ChannelHandlerContext ctx, final HttpObject request) {
         if (isSslEnabledDownstream(upstreamChannel) && downstreamChannel.pipeline().get(SslHandler.class) == null) {
-            downstreamChannel.pipeline().addFirst(nettySslContextFactory(ctx.channel()).createClientSslContext(true).newHandler(ctx.alloc()));
+            // the remote host and port are needed for the TLS session to be cached and resumed
+            InetSocketAddress remoteAddress = (InetSocketAddress) downstreamChannel.remoteAddress();
+            downstreamChannel.pipeline().addFirst(nettySslContextFactory(ctx.channel()).createClientSslHandler(true, ctx.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
         }
         downstreamChannel.writeAndFlush(request).addListener((ChannelFutureListener) future -> {
             if (future.isSuccess()) {
@@ -52,13 +56,22 @@ public class UpstreamProxyRelayHandler extends SimpleChannelInboundHandler<FullH
                         new LogEntry()
                             .setType(LogEntry.LogMessageType.EXCEPTION)
                             .setLogLevel(Level.ERROR)
-                            .setMessageFormat("exception while returning response for request \"" + request.method() + " " + request.uri() + "\"")
+                            .setMessageFormat("exception while returning response for request" + (request instanceof HttpRequest ? " \"" + ((HttpRequest) request).method() + " " + ((HttpRequest) request).uri() + "\"" : ""))
                             .setThrowable(future.cause())
                     );
                 }
                 future.channel().close();
             }
         });
+        if (!downstreamChannel.isWritable()) {
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        downstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+        ctx.fireChannelWritabilityChanged();
     }
 
     private boolean isNotSocketClosedException(Throwable cause) {
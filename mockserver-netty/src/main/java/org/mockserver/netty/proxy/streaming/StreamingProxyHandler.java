@@ -0,0 +1,415 @@
+package org.mockserver.netty.proxy.streaming;
+
+import com.google.common.collect.ImmutableSet;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.client.CachingAddressResolverGroup;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpRequestToMockServerRequest;
+import org.mockserver.mock.HttpStateHandler;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.socket.NettyTransport;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.configuration.ConfigurationProperties.attemptToProxyIfNoMatchingExpectation;
+import static org.mockserver.exception.ExceptionHandling.closeOnFlush;
+import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.mock.HttpStateHandler.PATH_PREFIX;
+import static org.mockserver.mock.action.ActionHandler.getRemoteAddress;
+import static org.mockserver.netty.MockServerHandler.LOCAL_HOST_HEADERS;
+import static org.mockserver.netty.MockServerHandler.PROXYING;
+import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledUpstream;
+import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
+
+/**
+ * Streams requests that would be proxied because they don't match any expectation to the remote host, and streams the
+ * response back, so large request and response bodies are never held in memory
+ * <p>
+ * each request is held until its body is complete or more than the captured body size has been received, if it then
+ * matches an expectation (using only the captured start of the body) it continues along the pipeline to be aggregated
+ * and handled as normal, requests for MockServer itself, CONNECT requests and upgrades are never streamed
+ * <p>
+ * reading from either side is paused while the other side is not writable so a slow client or remote host limits how
+ * much is buffered
+ *
+ * @author jamesdbloom
+ */
+public class StreamingProxyHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Set<String> CONTROL_PLANE_PATHS = ImmutableSet.of(
+        "/expectation", "/clear", "/reset", "/retrieve", "/registerVerification", "/verify", "/verifySequence", "/status", "/bind", "/stop"
+    );
+    private static final Set<String> HOP_BY_HOP_HEADERS = ImmutableSet.of(
+        "proxy-connection", "connection", "keep-alive", "te", "trailer", "proxy-authorization", "proxy-authenticate", "upgrade"
+    );
+
+    private enum State {
+        IDLE,
+        BUFFERING,
+        CONNECTING,
+        STREAMING,
+        NOT_STREAMED,
+        DISCARDING
+    }
+
+    private final HttpStateHandler httpStateHandler;
+    private final MockServerLogger mockServerLogger;
+    private final int capturedBodySize;
+    // messages of the current request held until it is known whether it is streamed
+    private final List<HttpObject> pending = new ArrayList<>();
+    // messages of pipelined requests received before the current response is complete
+    private final List<Object> deferred = new ArrayList<>();
+    private ChannelHandlerContext ctx;
+    private State state = State.IDLE;
+    private io.netty.handler.codec.http.HttpRequest request;
+    private ByteArrayOutputStream capturedBody;
+    private long bodySize;
+    private boolean requestComplete;
+    private boolean keepAlive;
+    private Channel upstreamChannel;
+
+    public StreamingProxyHandler(HttpStateHandler httpStateHandler, int capturedBodySize) {
+        this.httpStateHandler = httpStateHandler;
+        this.mockServerLogger = httpStateHandler.getMockServerLogger();
+        this.capturedBodySize = capturedBodySize;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof HttpObject)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        if (requestComplete && (state == State.CONNECTING || state == State.STREAMING)) {
+            deferred.add(msg);
+            return;
+        }
+        if (state == State.IDLE && msg instanceof io.netty.handler.codec.http.HttpRequest) {
+            request = (io.netty.handler.codec.http.HttpRequest) msg;
+            keepAlive = HttpUtil.isKeepAlive(request);
+            requestComplete = false;
+            bodySize = 0;
+            if (streamable(ctx, request)) {
+                state = State.BUFFERING;
+                capturedBody = new ByteArrayOutputStream();
+            } else {
+                state = State.NOT_STREAMED;
+            }
+        }
+        switch (state) {
+            case BUFFERING:
+                pending.add((HttpObject) msg);
+                if (msg instanceof HttpContent) {
+                    ByteBuf content = ((HttpContent) msg).content();
+                    bodySize += content.readableBytes();
+                    capture(capturedBody, content, capturedBodySize);
+                    requestComplete = msg instanceof LastHttpContent;
+                    if (requestComplete || bodySize > capturedBodySize) {
+                        streamOrHandle(ctx);
+                    }
+                }
+                break;
+            case CONNECTING:
+                pending.add((HttpObject) msg);
+                requestComplete = msg instanceof LastHttpContent;
+                break;
+            case STREAMING:
+                requestComplete = msg instanceof LastHttpContent;
+                upstreamChannel.writeAndFlush(msg).addListener(writeFailureListener());
+                updateAutoRead();
+                break;
+            case DISCARDING:
+                ReferenceCountUtil.release(msg);
+                if (msg instanceof LastHttpContent) {
+                    state = State.IDLE;
+                }
+                break;
+            default:
+                if (msg instanceof LastHttpContent) {
+                    state = State.IDLE;
+                }
+                ctx.fireChannelRead(msg);
+                break;
+        }
+    }
+
+    private boolean streamable(ChannelHandlerContext ctx, io.netty.handler.codec.http.HttpRequest request) {
+        String host = request.headers().get(HOST);
+        Set<String> localAddresses = ctx.channel().attr(LOCAL_HOST_HEADERS).get();
+        boolean proxyingRequest = Boolean.TRUE.equals(ctx.channel().attr(PROXYING).get());
+        boolean potentiallyHttpProxy = attemptToProxyIfNoMatchingExpectation() && isNotBlank(host) && (localAddresses == null || !localAddresses.contains(host));
+        return (proxyingRequest || potentiallyHttpProxy)
+            && !request.method().equals(HttpMethod.CONNECT)
+            && !request.headers().contains(UPGRADE)
+            && !request.headers().contains(EXPECT)
+            && !request.headers().contains(httpStateHandler.getUniqueLoopPreventionHeaderName())
+            && !controlPlaneRequest(request);
+    }
+
+    private boolean controlPlaneRequest(io.netty.handler.codec.http.HttpRequest request) {
+        String path = new QueryStringDecoder(request.uri()).path();
+        return path.startsWith(PATH_PREFIX)
+            || request.method().equals(HttpMethod.PUT) && CONTROL_PLANE_PATHS.contains(path)
+            || request.method().equals(HttpMethod.GET) && path.equals(ConfigurationProperties.livenessHttpGetPath());
+    }
+
+    static void capture(ByteArrayOutputStream capturedBody, ByteBuf content, int capturedBodySize) {
+        int length = Math.min(content.readableBytes(), capturedBodySize - capturedBody.size());
+        if (length > 0) {
+            byte[] bytes = new byte[length];
+            content.getBytes(content.readerIndex(), bytes);
+            capturedBody.write(bytes, 0, length);
+        }
+    }
+
+    private void streamOrHandle(ChannelHandlerContext ctx) {
+        HttpRequest capturedRequest = null;
+        InetSocketAddress remoteAddress = null;
+        try {
+            capturedRequest = new FullHttpRequestToMockServerRequest(mockServerLogger, isSslEnabledUpstream(ctx.channel())).mapFullHttpRequestToMockServerRequest(
+                new DefaultFullHttpRequest(request.protocolVersion(), request.method(), request.uri(), Unpooled.wrappedBuffer(capturedBody.toByteArray()), request.headers(), EmptyHttpHeaders.INSTANCE)
+            );
+            if (!httpStateHandler.hasMatchingExpectation(capturedRequest)) {
+                remoteAddress = getRemoteAddress(ctx) != null ? getRemoteAddress(ctx) : capturedRequest.socketAddressFromHostHeader();
+            }
+        } catch (RuntimeException throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.DEBUG)
+                    .setMessageFormat("not streaming request:{}because:{}")
+                    .setArguments(request, throwable.getMessage())
+            );
+        }
+        if (remoteAddress != null) {
+            connect(ctx, capturedRequest, remoteAddress);
+        } else {
+            // continue along the pipeline to be aggregated and handled as normal
+            state = requestComplete ? State.IDLE : State.NOT_STREAMED;
+            firePending(ctx);
+        }
+    }
+
+    private void connect(ChannelHandlerContext ctx, HttpRequest capturedRequest, InetSocketAddress remoteAddress) {
+        state = State.CONNECTING;
+        updateAutoRead();
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(Level.INFO)
+                .setHttpRequest(capturedRequest)
+                .setMessageFormat("received request:{}")
+                .setArguments(capturedRequest)
+        );
+        boolean secure = isSslEnabledUpstream(ctx.channel());
+        boolean proxyingRequest = Boolean.TRUE.equals(ctx.channel().attr(PROXYING).get());
+        new Bootstrap()
+            .group(ctx.channel().eventLoop())
+            .channel(NettyTransport.socketChannelClass(ctx.channel().eventLoop()))
+            .resolver(CachingAddressResolverGroup.getInstance())
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, proxyingRequest ? ConfigurationProperties.socketConnectionTimeout() : 1000)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    ChannelPipeline pipeline = channel.pipeline();
+                    if (secure) {
+                        pipeline.addLast(nettySslContextFactory(ctx.channel()).createClientSslHandler(true, channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
+                    }
+                    pipeline.addLast(new HttpClientCodec(ConfigurationProperties.maxInitialLineLength(), ConfigurationProperties.maxHeaderSize(), ConfigurationProperties.maxChunkSize()));
+                    pipeline.addLast(new StreamingProxyResponseHandler(StreamingProxyHandler.this, httpStateHandler, capturedRequest, request.protocolVersion(), keepAlive, capturedBodySize));
+                }
+            })
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (state != State.CONNECTING) {
+                    // inbound connection closed while connecting
+                    future.channel().close();
+                } else if (future.isSuccess()) {
+                    upstreamChannel = future.channel();
+                    state = State.STREAMING;
+                    HttpHeaders headers = request.headers();
+                    for (String hopByHopHeader : HOP_BY_HOP_HEADERS) {
+                        headers.remove(hopByHopHeader);
+                    }
+                    headers.set(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue());
+                    for (HttpObject httpObject : pending) {
+                        upstreamChannel.write(httpObject).addListener(writeFailureListener());
+                    }
+                    pending.clear();
+                    upstreamChannel.flush();
+                    updateAutoRead();
+                } else {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.INFO)
+                            .setHttpRequest(capturedRequest)
+                            .setMessageFormat("failed to connect to remote socket:{}while streaming request:{}")
+                            .setArguments(remoteAddress, capturedRequest)
+                            .setThrowable(future.cause())
+                    );
+                    releasePending();
+                    failed();
+                }
+            });
+    }
+
+    private ChannelFutureListener writeFailureListener() {
+        return future -> {
+            if (!future.isSuccess()) {
+                future.channel().close();
+            }
+        };
+    }
+
+    private void firePending(ChannelHandlerContext ctx) {
+        List<HttpObject> httpObjects = new ArrayList<>(pending);
+        pending.clear();
+        for (HttpObject httpObject : httpObjects) {
+            ctx.fireChannelRead(httpObject);
+        }
+    }
+
+    private void releasePending() {
+        for (HttpObject httpObject : pending) {
+            ReferenceCountUtil.release(httpObject);
+        }
+        pending.clear();
+    }
+
+    private void updateAutoRead() {
+        boolean autoRead;
+        switch (state) {
+            case CONNECTING:
+                autoRead = false;
+                break;
+            case STREAMING:
+                // pipelined requests are only read once the response is complete
+                autoRead = !requestComplete && upstreamChannel.isWritable();
+                break;
+            default:
+                autoRead = true;
+        }
+        ctx.channel().config().setAutoRead(autoRead);
+    }
+
+    void upstreamWritabilityChanged() {
+        if (state == State.STREAMING) {
+            updateAutoRead();
+        }
+    }
+
+    void writeResponse(HttpObject httpObject) {
+        ctx.writeAndFlush(httpObject);
+        if (upstreamChannel != null && !ctx.channel().isWritable()) {
+            upstreamChannel.config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * The end of the response can only be detected by the client when the connection is closed
+     */
+    void closeAfterResponse() {
+        keepAlive = false;
+    }
+
+    /**
+     * The response has been written, any remaining request body is discarded and pipelined requests are processed
+     */
+    void responseComplete() {
+        upstreamChannel = null;
+        state = requestComplete ? State.IDLE : State.DISCARDING;
+        if (!keepAlive) {
+            closeOnFlush(ctx.channel());
+        } else {
+            updateAutoRead();
+            List<Object> messages = new ArrayList<>(deferred);
+            deferred.clear();
+            for (Object message : messages) {
+                channelRead(ctx, message);
+            }
+        }
+    }
+
+    /**
+     * The response couldn't be streamed, if no part of the response has been written a 404 is returned otherwise the
+     * connection is closed as the client can't detect the response was truncated any other way
+     */
+    void failed() {
+        upstreamChannel = null;
+        if (state == State.CONNECTING || state == State.STREAMING) {
+            DefaultFullHttpResponse notFoundResponse = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND);
+            HttpUtil.setContentLength(notFoundResponse, 0);
+            HttpUtil.setKeepAlive(notFoundResponse, keepAlive);
+            ctx.writeAndFlush(notFoundResponse);
+            responseComplete();
+        }
+    }
+
+    void failedAfterResponseStarted() {
+        upstreamChannel = null;
+        ctx.channel().close();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (upstreamChannel != null) {
+            upstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        if (upstreamChannel != null) {
+            upstreamChannel.close();
+            upstreamChannel = null;
+        }
+        state = State.IDLE;
+        releasePending();
+        for (Object message : deferred) {
+            ReferenceCountUtil.release(message);
+        }
+        deferred.clear();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (state == State.IDLE || state == State.NOT_STREAMED) {
+            ctx.fireExceptionCaught(cause);
+        } else {
+            if (connectionClosedException(cause)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(LogEntry.LogMessageType.EXCEPTION)
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception caught by streaming proxy handler -> closing pipeline " + ctx.channel())
+                        .setThrowable(cause)
+                );
+            }
+            closeOnFlush(ctx.channel());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.mockserver.netty.proxy.streaming;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpResponseToMockServerResponse;
+import org.mockserver.mock.HttpStateHandler;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.mockserver.character.Character.NEW_LINE;
+import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_NOT_MATCHED_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
+import static org.mockserver.model.HttpResponse.notFoundResponse;
+
+/**
+ * Streams the response from the remote host back to the client, capturing the start of the response body for the event log
+ *
+ * @author jamesdbloom
+ */
+class StreamingProxyResponseHandler extends ChannelInboundHandlerAdapter {
+
+    private final StreamingProxyHandler streamingProxyHandler;
+    private final HttpStateHandler httpStateHandler;
+    private final MockServerLogger mockServerLogger;
+    private final HttpRequest capturedRequest;
+    private final HttpVersion requestProtocolVersion;
+    private final boolean keepAlive;
+    private final int capturedBodySize;
+    private final ByteArrayOutputStream capturedBody = new ByteArrayOutputStream();
+    private io.netty.handler.codec.http.HttpResponse response;
+    private boolean proxyLoop;
+    private boolean complete;
+
+    StreamingProxyResponseHandler(StreamingProxyHandler streamingProxyHandler, HttpStateHandler httpStateHandler, HttpRequest capturedRequest, HttpVersion requestProtocolVersion, boolean keepAlive, int capturedBodySize) {
+        this.streamingProxyHandler = streamingProxyHandler;
+        this.httpStateHandler = httpStateHandler;
+        this.mockServerLogger = httpStateHandler.getMockServerLogger();
+        this.capturedRequest = capturedRequest;
+        this.requestProtocolVersion = requestProtocolVersion;
+        this.keepAlive = keepAlive;
+        this.capturedBodySize = capturedBodySize;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (complete || !(msg instanceof HttpObject)) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        HttpObject httpObject = (HttpObject) msg;
+        if (msg instanceof io.netty.handler.codec.http.HttpResponse) {
+            response = (io.netty.handler.codec.http.HttpResponse) msg;
+            // the request was proxied back to MockServer so it must not match any expectation
+            proxyLoop = httpStateHandler.getUniqueLoopPreventionHeaderValue().equals(response.headers().get(httpStateHandler.getUniqueLoopPreventionHeaderName()));
+            HttpUtil.setKeepAlive(response, keepAlive);
+            if (keepAlive && closeDelimited(response)) {
+                // the upstream ends the response body by closing its connection, which the client can't see, a copy is
+                // changed as the decoder still needs the original headers to detect the end of the body
+                boolean chunked = HttpVersion.HTTP_1_1.equals(requestProtocolVersion);
+                io.netty.handler.codec.http.HttpResponse downstreamResponse = new DefaultHttpResponse(chunked ? HttpVersion.HTTP_1_1 : response.protocolVersion(), response.status(), response.headers().copy());
+                if (chunked) {
+                    HttpUtil.setTransferEncodingChunked(downstreamResponse, true);
+                } else {
+                    HttpUtil.setKeepAlive(downstreamResponse, false);
+                    streamingProxyHandler.closeAfterResponse();
+                }
+                httpObject = downstreamResponse;
+            }
+        }
+        if (msg instanceof HttpContent) {
+            StreamingProxyHandler.capture(capturedBody, ((HttpContent) msg).content(), capturedBodySize);
+        }
+        if (proxyLoop) {
+            ReferenceCountUtil.release(msg);
+        } else {
+            streamingProxyHandler.writeResponse(httpObject);
+        }
+        if (msg instanceof LastHttpContent) {
+            complete = true;
+            if (proxyLoop) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(EXPECTATION_NOT_MATCHED_RESPONSE)
+                        .setLogLevel(Level.INFO)
+                        .setHttpRequest(capturedRequest)
+                        .setHttpResponse(notFoundResponse())
+                        .setMessageFormat("no expectation for:{}returning response:{}")
+                        .setArguments(capturedRequest, notFoundResponse())
+                );
+                streamingProxyHandler.failed();
+            } else {
+                HttpResponse capturedResponse = capturedResponse();
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(FORWARDED_REQUEST)
+                        .setLogLevel(Level.INFO)
+                        .setHttpRequest(capturedRequest)
+                        .setHttpResponse(capturedResponse)
+                        .setExpectation(capturedRequest, capturedResponse)
+                        .setMessageFormat("returning streamed response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}")
+                        .setArguments(capturedResponse, capturedRequest)
+                );
+                streamingProxyHandler.responseComplete();
+            }
+            ctx.close();
+        }
+    }
+
+    private boolean closeDelimited(io.netty.handler.codec.http.HttpResponse response) {
+        int statusCode = response.status().code();
+        boolean bodyAllowed = statusCode >= 200 && statusCode != 204 && statusCode != 304 && !"HEAD".equalsIgnoreCase(capturedRequest.getMethod(""));
+        return bodyAllowed && !HttpUtil.isContentLengthSet(response) && !HttpUtil.isTransferEncodingChunked(response);
+    }
+
+    private HttpResponse capturedResponse() {
+        FullHttpResponse fullHttpResponse = new DefaultFullHttpResponse(response.protocolVersion(), response.status(), Unpooled.wrappedBuffer(capturedBody.toByteArray()), response.headers(), EmptyHttpHeaders.INSTANCE);
+        return new FullHttpResponseToMockServerResponse(mockServerLogger).mapFullHttpResponseToMockServerResponse(fullHttpResponse);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        streamingProxyHandler.upstreamWritabilityChanged();
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        if (!complete) {
+            complete = true;
+            if (response == null || proxyLoop) {
+                streamingProxyHandler.failed();
+            } else {
+                streamingProxyHandler.failedAfterResponseStarted();
+            }
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (connectionClosedException(cause)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(LogEntry.LogMessageType.EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception caught while streaming response for request:{}")
+                    .setArguments(capturedRequest)
+                    .setThrowable(cause)
+            );
+        }
+        ctx.close();
+    }
+}
@@ -29,6 +29,7 @@ import org.mockserver.netty.MockServerHandler;
 import org.mockserver.netty.proxy.socks.Socks4ProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.netty.proxy.socks.SocksDetector;
+import org.mockserver.netty.proxy.streaming.StreamingProxyHandler;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.mockserver.socket.tls.SniHandler;
 import org.slf4j.event.Level;
@@ -193,6 +194,9 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         ));
         addLastIfNotPresent(pipeline, new HttpContentDecompressor());
         addLastIfNotPresent(pipeline, httpContentLengthRemover);
+        if (ConfigurationProperties.streamingProxy()) {
+            addLastIfNotPresent(pipeline, new StreamingProxyHandler(httpStateHandler, ConfigurationProperties.streamingProxyCapturedBodySize()));
+        }
         addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
         if (MockServerLogger.isEnabled(TRACE)) {
             addLastIfNotPresent(pipeline, loggingHandlerLast);
@@ -233,7 +237,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     }
 
     private void switchToBinary(ChannelHandlerContext ctx, ByteBuf msg) {
-        addLastIfNotPresent(ctx.pipeline(), new BinaryHandler(httpStateHandler.getMockServerLogger(), httpStateHandler.getScheduler(), actionHandler.getHttpClient()));
+        addLastIfNotPresent(ctx.pipeline(), new BinaryHandler(httpStateHandler.getMockServerLogger()));
         // fire message back through pipeline
         ctx.fireChannelRead(msg.readBytes(actualReadableBytes()));
     }
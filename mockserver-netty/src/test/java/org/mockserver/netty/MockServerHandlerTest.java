@@ -33,7 +33,6 @@ import org.slf4j.event.Level;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -44,7 +43,7 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.character.Character.NEW_LINE;
-import static org.mockserver.log.model.LogEntry.LOG_DATE_FORMAT;
+import static org.mockserver.log.model.LogEntry.formatTimestamp;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.mock.action.ActionHandler.REMOTE_SOCKET;
 import static org.mockserver.netty.MockServerHandler.LOCAL_HOST_HEADERS;
@@ -273,7 +272,7 @@ public class MockServerHandlerTest {
             assertThat(response.getStatusCode(), is(200));
             assertThat(
                 response.getBodyAsString(),
-                is(endsWith(LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - creating expectation:" + NEW_LINE +
+                is(endsWith(formatTimestamp(TimeService.currentTimeMillis()) + " - creating expectation:" + NEW_LINE +
                     NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"id\" : \"key_one\"," + NEW_LINE +
@@ -295,7 +294,7 @@ public class MockServerHandlerTest {
                     "  }" + NEW_LINE +
                     NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     "" + NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"request_one\"" + NEW_LINE +
@@ -149,6 +149,67 @@ public class BinaryProxyIntegrationTest {
         }
     }
 
+    @Test
+    public void shouldRelayMultipleBinaryMessagesOverSingleConnection() throws Exception {
+        // given
+        byte[] firstRequestBytes = RandomUtils.nextBytes(100);
+        byte[] secondRequestBytes = RandomUtils.nextBytes(100);
+        byte[] firstResponseBytes = RandomUtils.nextBytes(100);
+        byte[] secondResponseBytes = RandomUtils.nextBytes(100);
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            // and
+            ClientAndServer proxyClientAndServer = startClientAndServer("127.0.0.1", serverSocket.getLocalPort());
+
+            CompletableFuture<Socket> socketFuture = new CompletableFuture<>();
+            new Thread(() -> {
+                try {
+                    socketFuture.complete(serverSocket.accept());
+                } catch (Throwable throwable) {
+                    socketFuture.completeExceptionally(throwable);
+                }
+            }).start();
+
+            try (Socket clientSocket = new Socket("127.0.0.1", proxyClientAndServer.getLocalPort())) {
+                // when
+                clientSocket.getOutputStream().write(firstRequestBytes);
+
+                // then
+                Socket socket = socketFuture.get(10, SECONDS);
+                assertThat(ByteBufUtil.hexDump(readBytes(socket, 100)), is(ByteBufUtil.hexDump(firstRequestBytes)));
+
+                // when
+                socket.getOutputStream().write(firstResponseBytes);
+
+                // then
+                assertThat(ByteBufUtil.hexDump(readBytes(clientSocket, 100)), is(ByteBufUtil.hexDump(firstResponseBytes)));
+
+                // when - second message is relayed over the same upstream connection
+                clientSocket.getOutputStream().write(secondRequestBytes);
+
+                // then
+                assertThat(ByteBufUtil.hexDump(readBytes(socket, 100)), is(ByteBufUtil.hexDump(secondRequestBytes)));
+
+                // when
+                socket.getOutputStream().write(secondResponseBytes);
+
+                // then
+                assertThat(ByteBufUtil.hexDump(readBytes(clientSocket, 100)), is(ByteBufUtil.hexDump(secondResponseBytes)));
+            }
+        }
+    }
+
+    private byte[] readBytes(Socket socket, int length) throws Exception {
+        socket.setSoTimeout((int) SECONDS.toMillis(10));
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int bytesRead = socket.getInputStream().read(bytes, offset, length - offset);
+            assertThat(bytesRead > 0, is(true));
+            offset += bytesRead;
+        }
+        return bytes;
+    }
+
     @Test
     public void shouldCloseConnectionForBinaryMessagesWithNoRemoteAddress() throws Exception {
         // given
@@ -0,0 +1,274 @@
+package org.mockserver.netty.integration.proxy.http;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.client.NettyHttpClient;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.scheduler.Scheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.proxyconfiguration.ProxyConfiguration.proxyConfiguration;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+/**
+ * @author jamesdbloom
+ */
+public class StreamingProxyIntegrationTest {
+
+    private static final String LARGE_REQUEST_BODY = new String(new char[1024 * 1024]).replace('\0', 'a');
+    private static final String LARGE_RESPONSE_BODY = new String(new char[1024 * 1024]).replace('\0', 'b');
+    private static final int CAPTURED_BODY_SIZE = 16;
+
+    private static ClientAndServer targetClientAndServer;
+    private static ClientAndServer proxyClientAndServer;
+    private static boolean originalStreamingProxy;
+    private static int originalStreamingProxyCapturedBodySize;
+
+    private static final EventLoopGroup clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(StreamingProxyIntegrationTest.class.getSimpleName() + "-eventLoop"));
+
+    @BeforeClass
+    public static void startServer() {
+        originalStreamingProxy = ConfigurationProperties.streamingProxy();
+        originalStreamingProxyCapturedBodySize = ConfigurationProperties.streamingProxyCapturedBodySize();
+        ConfigurationProperties.streamingProxy(true);
+        ConfigurationProperties.streamingProxyCapturedBodySize(CAPTURED_BODY_SIZE);
+        targetClientAndServer = startClientAndServer();
+        proxyClientAndServer = startClientAndServer();
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        stopQuietly(targetClientAndServer);
+        stopQuietly(proxyClientAndServer);
+        ConfigurationProperties.streamingProxy(originalStreamingProxy);
+        ConfigurationProperties.streamingProxyCapturedBodySize(originalStreamingProxyCapturedBodySize);
+    }
+
+    @Before
+    public void reset() {
+        targetClientAndServer.reset();
+        proxyClientAndServer.reset();
+    }
+
+    private HttpResponse sendRequestViaProxy(ProxyConfiguration.Type proxyType, HttpRequest request) throws Exception {
+        return new NettyHttpClient(
+            new MockServerLogger(),
+            clientEventLoopGroup,
+            proxyConfiguration(proxyType, "localhost:" + proxyClientAndServer.getLocalPort()),
+            false
+        )
+            .sendRequest(request.withHeader("Host", "localhost:" + targetClientAndServer.getLocalPort()))
+            .get(10, SECONDS);
+    }
+
+    @Test
+    public void shouldStreamLargeRequestAndResponseBodies() throws Exception {
+        // given
+        targetClientAndServer
+            .when(
+                request()
+                    .withPath("/large")
+                    .withBody(LARGE_REQUEST_BODY)
+            )
+            .respond(
+                response()
+                    .withBody(LARGE_RESPONSE_BODY)
+            );
+
+        // when
+        HttpResponse httpResponse = sendRequestViaProxy(
+            ProxyConfiguration.Type.HTTP,
+            request()
+                .withMethod("POST")
+                .withPath("/large")
+                .withBody(LARGE_REQUEST_BODY)
+        );
+
+        // then - whole bodies are proxied
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is(LARGE_RESPONSE_BODY));
+
+        // and - only the start of the bodies are captured by the proxy
+        HttpRequest[] recordedRequests = proxyClientAndServer.retrieveRecordedRequests(request("/large"));
+        assertThat(recordedRequests, arrayWithSize(1));
+        assertThat(recordedRequests[0].getBodyAsString(), is(LARGE_REQUEST_BODY.substring(0, CAPTURED_BODY_SIZE)));
+    }
+
+    @Test
+    public void shouldStreamLargeResponseBodyForSecureRequest() throws Exception {
+        // given
+        targetClientAndServer
+            .when(
+                request()
+                    .withPath("/large")
+            )
+            .respond(
+                response()
+                    .withBody(LARGE_RESPONSE_BODY)
+            );
+
+        // when
+        HttpResponse httpResponse = sendRequestViaProxy(
+            ProxyConfiguration.Type.HTTPS,
+            request()
+                .withSecure(true)
+                .withPath("/large")
+        );
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is(LARGE_RESPONSE_BODY));
+
+        // and - only the start of the response body is captured by the proxy
+        Expectation[] recordedExpectations = proxyClientAndServer.retrieveRecordedExpectations(request("/large"));
+        assertThat(recordedExpectations, arrayWithSize(1));
+        assertThat(recordedExpectations[0].getHttpResponse().getBodyAsString(), is(LARGE_RESPONSE_BODY.substring(0, CAPTURED_BODY_SIZE)));
+    }
+
+    @Test
+    public void shouldNotStreamRequestMatchingExpectation() throws Exception {
+        // given
+        proxyClientAndServer
+            .when(
+                request()
+                    .withPath("/mocked")
+            )
+            .respond(
+                response()
+                    .withBody("mocked_response")
+            );
+
+        // when
+        HttpResponse httpResponse = sendRequestViaProxy(
+            ProxyConfiguration.Type.HTTP,
+            request()
+                .withMethod("POST")
+                .withPath("/mocked")
+                .withBody("some_body")
+        );
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is("mocked_response"));
+        assertThat(targetClientAndServer.retrieveRecordedRequests(request("/mocked")), arrayWithSize(0));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenRemoteHostCannotBeReached() throws Exception {
+        // when
+        HttpResponse httpResponse = new NettyHttpClient(
+            new MockServerLogger(),
+            clientEventLoopGroup,
+            proxyConfiguration(ProxyConfiguration.Type.HTTP, "localhost:" + proxyClientAndServer.getLocalPort()),
+            false
+        )
+            .sendRequest(request().withPath("/unreachable").withHeader("Host", "localhost:1"))
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(404));
+    }
+
+    @Test
+    public void shouldChunkCloseDelimitedResponseForKeepAliveRequest() throws Exception {
+        try (ServerSocket upstream = closeDelimitedUpstream(2); Socket socket = new Socket("localhost", proxyClientAndServer.getLocalPort())) {
+            socket.setSoTimeout(10000);
+            for (int i = 0; i < 2; i++) {
+                // when
+                write(socket, "GET /close_delimited HTTP/1.1\r\nHost: localhost:" + upstream.getLocalPort() + "\r\n\r\n");
+
+                // then - the response is chunked so the same connection can be used for the next request
+                String response = readUntil(socket.getInputStream(), "\r\n0\r\n\r\n");
+                assertThat(response, containsString("HTTP/1.1 200 OK"));
+                assertThat(response.toLowerCase(), containsString("transfer-encoding: chunked"));
+                assertThat(response, containsString("close_delimited_body"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldCloseConnectionAfterCloseDelimitedResponseForHttp10KeepAliveRequest() throws Exception {
+        try (ServerSocket upstream = closeDelimitedUpstream(1); Socket socket = new Socket("localhost", proxyClientAndServer.getLocalPort())) {
+            socket.setSoTimeout(10000);
+
+            // when
+            write(socket, "GET /close_delimited HTTP/1.0\r\nHost: localhost:" + upstream.getLocalPort() + "\r\nConnection: keep-alive\r\n\r\n");
+
+            // then - HTTP/1.0 clients can't receive chunks so the end of the response is signalled by closing the connection
+            String response = readUntil(socket.getInputStream(), null);
+            assertThat(response.toLowerCase(), containsString("connection: close"));
+            assertThat(response, containsString("close_delimited_body"));
+        }
+    }
+
+    private ServerSocket closeDelimitedUpstream(int connections) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0);
+        new Thread(() -> {
+            for (int i = 0; i < connections; i++) {
+                try (Socket socket = serverSocket.accept()) {
+                    readUntil(socket.getInputStream(), "\r\n\r\n");
+                    // no content-length or chunked transfer encoding so the body ends when the connection closes
+                    write(socket, "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n\r\nclose_delimited_body");
+                } catch (IOException ioe) {
+                    return;
+                }
+            }
+        }, "close-delimited-upstream").start();
+        return serverSocket;
+    }
+
+    private static void write(Socket socket, String message) throws IOException {
+        OutputStream outputStream = socket.getOutputStream();
+        outputStream.write(message.getBytes(US_ASCII));
+        outputStream.flush();
+    }
+
+    /**
+     * @param terminator read until the terminator or, if null, until the connection is closed
+     */
+    private static String readUntil(InputStream inputStream, String terminator) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            bytes.write(b);
+            if (terminator != null && new String(bytes.toByteArray(), US_ASCII).endsWith(terminator)) {
+                return new String(bytes.toByteArray(), US_ASCII);
+            }
+        }
+        if (terminator != null) {
+            throw new IOException("connection closed before \"" + terminator.replace("\r\n", "\\r\\n") + "\" received: " + new String(bytes.toByteArray(), US_ASCII));
+        }
+        return new String(bytes.toByteArray(), US_ASCII);
+    }
+}
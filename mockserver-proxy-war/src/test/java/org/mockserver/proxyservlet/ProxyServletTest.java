@@ -28,7 +28,6 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.util.Collections;
-import java.util.Date;
 
 import static org.apache.commons.codec.Charsets.UTF_8;
 import static org.hamcrest.CoreMatchers.endsWith;
@@ -38,7 +37,7 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.character.Character.NEW_LINE;
-import static org.mockserver.log.model.LogEntry.LOG_DATE_FORMAT;
+import static org.mockserver.log.model.LogEntry.formatTimestamp;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
@@ -270,14 +269,14 @@ public class ProxyServletTest {
             assertThat(response.getStatus(), is(200));
             assertThat(
                 new String(response.getContentAsByteArray(), UTF_8),
-                is(endsWith(LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - received request:" + NEW_LINE +
+                is(endsWith(formatTimestamp(TimeService.currentTimeMillis()) + " - received request:" + NEW_LINE +
                     "" + NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"request_one\"" + NEW_LINE +
                     "  }" + NEW_LINE +
                     "" + NEW_LINE +
                     "------------------------------------" + NEW_LINE +
-                    LOG_DATE_FORMAT.format(new Date(TimeService.currentTimeMillis())) + " - retrieving logs that match:" + NEW_LINE +
+                    formatTimestamp(TimeService.currentTimeMillis()) + " - retrieving logs that match:" + NEW_LINE +
                     "" + NEW_LINE +
                     "  {" + NEW_LINE +
                     "    \"path\" : \"request_one\"" + NEW_LINE +